@@ -33,18 +33,25 @@ import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.servlet.AbstractServletListener;
 import org.b3log.latke.util.*;
 import org.b3log.symphony.cache.DomainCache;
+import org.b3log.symphony.cache.PageCache;
 import org.b3log.symphony.cache.TagCache;
+import org.b3log.symphony.cache.TagRelationCache;
 import org.b3log.symphony.event.*;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Option;
 import org.b3log.symphony.model.UserExt;
-import org.b3log.symphony.repository.OptionRepository;
 import org.b3log.symphony.repository.UserRepository;
+import org.b3log.symphony.service.CronMgmtService;
 import org.b3log.symphony.service.InitMgmtService;
+import org.b3log.symphony.service.OptionQueryService;
+import org.b3log.symphony.service.TagMgmtService;
 import org.b3log.symphony.service.UserMgmtService;
+import org.b3log.symphony.service.UserPresenceService;
 import org.b3log.symphony.service.UserQueryService;
 import org.b3log.symphony.util.Crypts;
+import org.b3log.symphony.util.RequestContext;
 import org.b3log.symphony.util.Symphonys;
+import org.b3log.symphony.util.ThreadPools;
 import org.json.JSONObject;
 
 import javax.servlet.ServletContextEvent;
@@ -60,7 +67,7 @@ import java.util.Locale;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author Bill Ho
- * @version 3.19.10.5, Mar 14, 2018
+ * @version 3.20.1.2, Oct 19, 2026
  * @since 0.2.0
  */
 public final class SymphonyServletListener extends AbstractServletListener {
@@ -99,6 +106,7 @@ public final class SymphonyServletListener extends AbstractServletListener {
 
         final InitMgmtService initMgmtService = beanManager.getReference(InitMgmtService.class);
         initMgmtService.initSym();
+        initMgmtService.initIndexes();
 
         // Register event listeners
         final EventManager eventManager = beanManager.getReference(EventManager.class);
@@ -133,12 +141,34 @@ public final class SymphonyServletListener extends AbstractServletListener {
         final ArticleUpdateAudioHandler articleUpdateAudioHandler = beanManager.getReference(ArticleUpdateAudioHandler.class);
         eventManager.registerListener(articleUpdateAudioHandler);
 
+        final PageCache pageCache = beanManager.getReference(PageCache.class);
+        eventManager.registerListener(new PageCacheInvalidator(EventTypes.ADD_ARTICLE, pageCache));
+        eventManager.registerListener(new PageCacheInvalidator(EventTypes.UPDATE_ARTICLE, pageCache));
+        eventManager.registerListener(new PageCacheInvalidator(EventTypes.ADD_COMMENT_TO_ARTICLE, pageCache));
+        eventManager.registerListener(new PageCacheInvalidator(EventTypes.UPDATE_COMMENT, pageCache));
+        eventManager.registerListener(new PageCacheInvalidator(EventTypes.REMOVE_ARTICLE, pageCache));
+        eventManager.registerListener(new PageCacheInvalidator(EventTypes.REMOVE_COMMENT, pageCache));
+
         final TagCache tagCache = beanManager.getReference(TagCache.class);
         tagCache.loadTags();
 
+        final TagRelationCache tagRelationCache = beanManager.getReference(TagRelationCache.class);
+        tagRelationCache.ensureLoaded();
+
         final DomainCache domainCache = beanManager.getReference(DomainCache.class);
         domainCache.loadDomains();
 
+        final UserPresenceService userPresenceService = beanManager.getReference(UserPresenceService.class);
+        userPresenceService.start();
+
+        final CronMgmtService cronMgmtService = beanManager.getReference(CronMgmtService.class);
+        cronMgmtService.start();
+
+        if (StringUtils.isBlank(Symphonys.get("geo.ipDataFile"))) {
+            LOGGER.warn("[geo.ipDataFile] is not configured in symphony.properties, IP addresses can only be resolved by "
+                    + "the remote APIs (geo.remote.enabled) and will show as unknown before resolved");
+        }
+
         JdbcRepository.dispose();
 
         LOGGER.info("Initialized the context");
@@ -152,7 +182,16 @@ public final class SymphonyServletListener extends AbstractServletListener {
     public void contextDestroyed(final ServletContextEvent servletContextEvent) {
         super.contextDestroyed(servletContextEvent);
 
-        Symphonys.EXECUTOR_SERVICE.shutdown();
+        final CronMgmtService cronMgmtService = beanManager.getReference(CronMgmtService.class);
+        cronMgmtService.stop();
+
+        final UserPresenceService userPresenceService = beanManager.getReference(UserPresenceService.class);
+        userPresenceService.stop();
+
+        final TagMgmtService tagMgmtService = beanManager.getReference(TagMgmtService.class);
+        tagMgmtService.flushTagRelations();
+
+        ThreadPools.shutdown();
 
         LOGGER.info("Destroyed the context");
     }
@@ -186,6 +225,7 @@ public final class SymphonyServletListener extends AbstractServletListener {
         Locales.setLocale(Latkes.getLocale());
 
         final HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequestEvent.getServletRequest();
+        RequestContext.start(httpServletRequest.getRequestURI());
 
         httpServletRequest.setAttribute(Keys.TEMAPLTE_DIR_NAME, Symphonys.get("skinDirName"));
         httpServletRequest.setAttribute(Common.IS_MOBILE, false);
@@ -262,9 +302,22 @@ public final class SymphonyServletListener extends AbstractServletListener {
                 if (elapsed > Symphonys.getInt("perfromance.threshold")) {
                     LOGGER.log(Level.INFO, "Stopwatch: {0}{1}", Strings.LINE_SEPARATOR, Stopwatchs.getTimingStat());
                 }
+
+                final RequestContext requestContext = RequestContext.get();
+                if (null != requestContext) {
+                    final int repositoryCalls = requestContext.getRepositoryCalls();
+                    if (repositoryCalls > Symphonys.getInt("perfromance.repositoryCallThreshold")) {
+                        LOGGER.log(Level.INFO, "Request [" + requestContext.getRequestURI() + "] made ["
+                                + repositoryCalls + "] repository calls");
+                    } else {
+                        LOGGER.log(Level.DEBUG, "Request [" + requestContext.getRequestURI() + "] made ["
+                                + repositoryCalls + "] repository calls");
+                    }
+                }
             }
         } finally {
             Stopwatchs.release();
+            RequestContext.end();
         }
     }
 
@@ -283,9 +336,10 @@ public final class SymphonyServletListener extends AbstractServletListener {
         try {
             final UserQueryService userQueryService = beanManager.getReference(UserQueryService.class);
             final UserRepository userRepository = beanManager.getReference(UserRepository.class);
-            final OptionRepository optionRepository = beanManager.getReference(OptionRepository.class);
+            final OptionQueryService optionQueryService = beanManager.getReference(OptionQueryService.class);
+            final RequestContext requestContext = RequestContext.get();
 
-            final JSONObject optionLang = optionRepository.get(Option.ID_C_MISC_LANGUAGE);
+            final JSONObject optionLang = optionQueryService.getOption(Option.ID_C_MISC_LANGUAGE);
             final String optionLangValue = optionLang.optString(Option.OPTION_VALUE);
             if ("0".equals(optionLangValue)) {
                 Locales.setLocale(request.getLocale());
@@ -318,10 +372,16 @@ public final class SymphonyServletListener extends AbstractServletListener {
                             break;
                         }
 
-                        user = userRepository.get(userId);
+                        user = requestContext.getUser(userId);
+                        if (null == user) {
+                            user = userRepository.get(userId);
+                        }
+
                         if (null == user) {
                             return;
                         } else {
+                            requestContext.putUser(user);
+
                             break;
                         }
                     }
@@ -40,16 +40,15 @@ import org.b3log.symphony.util.JSONs;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Date;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Article cache.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.0.3, Jun 11, 2018
+ * @version 1.6.0.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Named
@@ -72,24 +71,119 @@ public class ArticleCache {
     private static final Cache ARTICLE_ABSTRACT_CACHE = CacheFactory.getCache(Article.ARTICLES + "_"
             + Article.ARTICLE_T_PREVIEW_CONTENT);
 
+    /**
+     * Article thumbnail cache.
+     */
+    private static final Cache ARTICLE_THUMBNAIL_CACHE = CacheFactory.getCache(Article.ARTICLES + "_"
+            + Article.ARTICLE_T_THUMBNAIL_URL);
+
+    /**
+     * Interval (ms) of rebuilding a list snapshot after its articles changed.
+     */
+    private static final long REBUILD_INTERVAL = 10000;
+
+    /**
+     * Hot articles are selected from articles created in the last days.
+     */
+    private static final int HOT_DAYS = 7;
+
+    /**
+     * Max count of side hot article candidates, the top-K articles are selected from them.
+     */
+    private static final int HOT_CAPACITY = Symphonys.getInt("sideHotArticlesCnt") * 4;
+
+    /**
+     * Size of the side random articles reservoir.
+     */
+    private static final int RANDOM_CAPACITY = Symphonys.getInt("sideRandomArticlesCnt") * 5;
+
+    /**
+     * Order of side hot articles, by comment count descending and then id ascending.
+     */
+    private static final Comparator<JSONObject> HOT_ORDER = Comparator.
+            <JSONObject>comparingInt(article -> -article.optInt(Article.ARTICLE_COMMENT_CNT)).
+            thenComparingLong(article -> article.optLong(Keys.OBJECT_ID));
+
+    /**
+     * Order of perfect articles, by id descending.
+     */
+    private static final Comparator<JSONObject> PERFECT_ORDER = Comparator.
+            <JSONObject>comparingLong(article -> article.optLong(Keys.OBJECT_ID)).reversed();
+
+    /**
+     * Fields of side hot and random articles.
+     */
+    private static final String[] SIDE_FIELDS = {Keys.OBJECT_ID, Article.ARTICLE_TITLE, Article.ARTICLE_PERMALINK,
+            Article.ARTICLE_AUTHOR_ID, Article.ARTICLE_COMMENT_CNT};
+
+    /**
+     * Fields of perfect articles.
+     */
+    private static final String[] PERFECT_FIELDS = {Keys.OBJECT_ID, Article.ARTICLE_STICK, Article.ARTICLE_CREATE_TIME,
+            Article.ARTICLE_UPDATE_TIME, Article.ARTICLE_LATEST_CMT_TIME, Article.ARTICLE_AUTHOR_ID, Article.ARTICLE_TITLE,
+            Article.ARTICLE_STATUS, Article.ARTICLE_VIEW_CNT, Article.ARTICLE_TYPE, Article.ARTICLE_PERMALINK,
+            Article.ARTICLE_TAGS, Article.ARTICLE_LATEST_CMTER_NAME, Article.ARTICLE_SYNC_TO_CLIENT,
+            Article.ARTICLE_COMMENT_CNT, Article.ARTICLE_ANONYMOUS, Article.ARTICLE_PERFECT, Article.ARTICLE_QNA_OFFER_POINT};
+
     /**
      * Side hot articles cache.
      */
-    private static final List<JSONObject> SIDE_HOT_ARTICLES = new ArrayList<>();
+    private static volatile Snapshot SIDE_HOT_ARTICLES = Snapshot.EMPTY;
 
     /**
      * Side random articles cache.
      */
-    private static final List<JSONObject> SIDE_RANDOM_ARTICLES = new ArrayList<>();
+    private static volatile Snapshot SIDE_RANDOM_ARTICLES = Snapshot.EMPTY;
 
     /**
      * Perfect articles cache.
      */
-    private static final List<JSONObject> PERFECT_ARTICLES = new ArrayList<>();
+    private static volatile Snapshot PERFECT_ARTICLES = Snapshot.EMPTY;
+
+    /**
+     * Side hot article candidates &lt;id, article&gt;, bounded by {@link #HOT_CAPACITY}.
+     */
+    private static final Map<String, JSONObject> HOT_CANDIDATES = new HashMap<>();
+
+    /**
+     * Side random articles reservoir.
+     */
+    private static final List<JSONObject> RANDOM_RESERVOIR = new ArrayList<>();
+
+    /**
+     * Count of articles offered to the random articles reservoir.
+     */
+    private static long randomSeen;
+
+    /**
+     * Perfect article candidates, ordered by {@link #PERFECT_ORDER} and bounded by {@code indexPerfectCnt}.
+     */
+    private static final List<JSONObject> PERFECT_CANDIDATES = new ArrayList<>();
+
+    /**
+     * Whether the side hot articles snapshot is out of date.
+     */
+    private static final AtomicBoolean HOT_DIRTY = new AtomicBoolean();
+
+    /**
+     * Whether the side random articles snapshot is out of date.
+     */
+    private static final AtomicBoolean RANDOM_DIRTY = new AtomicBoolean();
+
+    /**
+     * Whether the perfect articles snapshot is out of date.
+     */
+    private static final AtomicBoolean PERFECT_DIRTY = new AtomicBoolean();
+
+    /**
+     * Whether perfect articles should be reloaded, a perfect article has been removed from the list.
+     */
+    private static final AtomicBoolean PERFECT_RELOAD = new AtomicBoolean();
 
     static {
         ARTICLE_CACHE.setMaxCount(Symphonys.getInt("cache.articleCnt"));
         ARTICLE_ABSTRACT_CACHE.setMaxCount(Symphonys.getInt("cache.articleCnt"));
+        ARTICLE_THUMBNAIL_CACHE.setMaxCount(Symphonys.getInt("cache.articleCnt"));
     }
 
     /**
@@ -98,26 +192,26 @@ public class ArticleCache {
      * @return side hot articles
      */
     public List<JSONObject> getSideHotArticles() {
-        if (SIDE_HOT_ARTICLES.isEmpty()) {
-            return Collections.emptyList();
+        if (isStale(SIDE_HOT_ARTICLES, HOT_DIRTY)) {
+            rebuildSideHotArticles();
         }
 
-        return new ArrayList<>(SIDE_HOT_ARTICLES);
+        return SIDE_HOT_ARTICLES.getItems();
     }
 
     /**
-     * Loads side hot articles.
+     * Loads side hot article candidates and rebuilds side hot articles.
      */
     public void loadSideHotArticles() {
         final LatkeBeanManager beanManager = LatkeBeanManagerImpl.getInstance();
         final ArticleRepository articleRepository = beanManager.getReference(ArticleRepository.class);
-        final ArticleQueryService articleQueryService = beanManager.getReference(ArticleQueryService.class);
 
         Stopwatchs.start("Load side hot articles");
         try {
-            final String id = String.valueOf(DateUtils.addDays(new Date(), -7).getTime());
+            final String id = String.valueOf(DateUtils.addDays(new Date(), -HOT_DAYS).getTime());
             final Query query = new Query().addSort(Article.ARTICLE_COMMENT_CNT, SortDirection.DESCENDING).
-                    addSort(Keys.OBJECT_ID, SortDirection.ASCENDING).setCurrentPageNum(1).setPageSize(Symphonys.getInt("sideHotArticlesCnt"));
+                    addSort(Keys.OBJECT_ID, SortDirection.ASCENDING).setCurrentPageNum(1).setPageSize(HOT_CAPACITY).
+                    setPageCount(1);
 
             final List<Filter> filters = new ArrayList<>();
             filters.add(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN_OR_EQUAL, id));
@@ -125,16 +219,23 @@ public class ArticleCache {
             filters.add(new PropertyFilter(Article.ARTICLE_TAGS, FilterOperator.NOT_EQUAL, Tag.TAG_TITLE_C_SANDBOX));
 
             query.setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters)).
+                    addProjection(Keys.OBJECT_ID, String.class).
                     addProjection(Article.ARTICLE_TITLE, String.class).
                     addProjection(Article.ARTICLE_PERMALINK, String.class).
-                    addProjection(Article.ARTICLE_AUTHOR_ID, String.class);
+                    addProjection(Article.ARTICLE_AUTHOR_ID, String.class).
+                    addProjection(Article.ARTICLE_COMMENT_CNT, Integer.class);
 
             final JSONObject result = articleRepository.get(query);
             final List<JSONObject> articles = CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS));
-            articleQueryService.organizeArticles(UserExt.USER_AVATAR_VIEW_MODE_C_STATIC, articles);
 
-            SIDE_HOT_ARTICLES.clear();
-            SIDE_HOT_ARTICLES.addAll(articles);
+            synchronized (HOT_CANDIDATES) {
+                HOT_CANDIDATES.clear();
+                for (final JSONObject article : articles) {
+                    HOT_CANDIDATES.put(article.optString(Keys.OBJECT_ID), article);
+                }
+            }
+
+            rebuildSideHotArticles();
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Loads side hot articles failed", e);
         } finally {
@@ -148,28 +249,34 @@ public class ArticleCache {
      * @return side random articles
      */
     public List<JSONObject> getSideRandomArticles() {
-        int size = Symphonys.getInt("sideRandomArticlesCnt");
-        size = size > SIDE_RANDOM_ARTICLES.size() ? SIDE_RANDOM_ARTICLES.size() : size;
-        Collections.shuffle(SIDE_RANDOM_ARTICLES);
+        if (isStale(SIDE_RANDOM_ARTICLES, RANDOM_DIRTY)) {
+            rebuildSideRandomArticles();
+        }
 
-        return new ArrayList<>(SIDE_RANDOM_ARTICLES.subList(0, size));
+        return SIDE_RANDOM_ARTICLES.sample(Symphonys.getInt("sideRandomArticlesCnt"));
     }
 
     /**
-     * Loads side random articles.
+     * Loads the side random articles reservoir and rebuilds side random articles.
      */
     public void loadSideRandomArticles() {
         final LatkeBeanManager beanManager = LatkeBeanManagerImpl.getInstance();
         final ArticleRepository articleRepository = beanManager.getReference(ArticleRepository.class);
-        final ArticleQueryService articleQueryService = beanManager.getReference(ArticleQueryService.class);
 
         Stopwatchs.start("Load side random articles");
         try {
-            final List<JSONObject> articles = articleRepository.getRandomly(Symphonys.getInt("sideRandomArticlesCnt") * 5);
-            articleQueryService.organizeArticles(UserExt.USER_AVATAR_VIEW_MODE_C_STATIC, articles);
-
-            SIDE_RANDOM_ARTICLES.clear();
-            SIDE_RANDOM_ARTICLES.addAll(articles);
+            final List<JSONObject> articles = articleRepository.getRandomly(RANDOM_CAPACITY);
+            final long cnt = articleRepository.count(new Query().setFilter(CompositeFilterOperator.and(
+                    new PropertyFilter(Article.ARTICLE_STATUS, FilterOperator.NOT_EQUAL, Article.ARTICLE_STATUS_C_INVALID),
+                    new PropertyFilter(Article.ARTICLE_TYPE, FilterOperator.NOT_EQUAL, Article.ARTICLE_TYPE_C_DISCUSSION))));
+
+            synchronized (RANDOM_RESERVOIR) {
+                RANDOM_RESERVOIR.clear();
+                RANDOM_RESERVOIR.addAll(articles);
+                randomSeen = Math.max(cnt, articles.size());
+            }
+
+            rebuildSideRandomArticles();
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Loads side random articles failed", e);
         } finally {
@@ -177,6 +284,24 @@ public class ArticleCache {
         }
     }
 
+    /**
+     * Gets the statistic of side hot, side random and perfect articles.
+     *
+     * @return for example, <pre>
+     * {
+     *     "sideHotArticles": {"size": 10, "loadedTime": long, "loadElapsed": 23},
+     *     "sideRandomArticles": {....},
+     *     "perfectArticles": {....}
+     * }
+     * </pre>
+     * @see Snapshot#getStat()
+     */
+    public JSONObject getStat() {
+        return new JSONObject().put("sideHotArticles", SIDE_HOT_ARTICLES.getStat()).
+                put("sideRandomArticles", SIDE_RANDOM_ARTICLES.getStat()).
+                put("perfectArticles", PERFECT_ARTICLES.getStat());
+    }
+
     /**
      * Gets an article abstract by the specified article id.
      *
@@ -198,20 +323,21 @@ public class ArticleCache {
      * @return side random articles
      */
     public List<JSONObject> getPerfectArticles() {
-        if (PERFECT_ARTICLES.isEmpty()) {
-            return Collections.emptyList();
+        if (PERFECT_RELOAD.compareAndSet(true, false)) {
+            loadPerfectArticles();
+        } else if (isStale(PERFECT_ARTICLES, PERFECT_DIRTY)) {
+            rebuildPerfectArticles();
         }
 
-        return new ArrayList<>(PERFECT_ARTICLES);
+        return PERFECT_ARTICLES.getItems();
     }
 
     /**
-     * Loads perfect articles.
+     * Loads perfect article candidates and rebuilds perfect articles.
      */
     public void loadPerfectArticles() {
         final LatkeBeanManager beanManager = LatkeBeanManagerImpl.getInstance();
         final ArticleRepository articleRepository = beanManager.getReference(ArticleRepository.class);
-        final ArticleQueryService articleQueryService = beanManager.getReference(ArticleQueryService.class);
 
         Stopwatchs.start("Query perfect articles");
         try {
@@ -241,10 +367,12 @@ public class ArticleCache {
             final JSONObject result = articleRepository.get(query);
             final List<JSONObject> articles = CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS));
 
-            articleQueryService.organizeArticles(UserExt.USER_AVATAR_VIEW_MODE_C_STATIC, articles);
+            synchronized (PERFECT_CANDIDATES) {
+                PERFECT_CANDIDATES.clear();
+                PERFECT_CANDIDATES.addAll(articles);
+            }
 
-            PERFECT_ARTICLES.clear();
-            PERFECT_ARTICLES.addAll(articles);
+            rebuildPerfectArticles();
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Loads perfect articles failed", e);
         } finally {
@@ -252,6 +380,271 @@ public class ArticleCache {
         }
     }
 
+    /**
+     * Offers the specified newly added article to side random articles, and then updates lists as
+     * {@link #articleUpdated(JSONObject)}.
+     *
+     * @param article the specified article
+     */
+    public void articleAdded(final JSONObject article) {
+        if (isRandomCandidate(article)) {
+            synchronized (RANDOM_RESERVOIR) {
+                randomSeen++;
+                if (RANDOM_RESERVOIR.size() < RANDOM_CAPACITY) {
+                    RANDOM_RESERVOIR.add(project(article, SIDE_FIELDS));
+                    RANDOM_DIRTY.set(true);
+                } else { // reservoir sampling, keeps each article with probability capacity / seen
+                    final long slot = ThreadLocalRandom.current().nextLong(randomSeen);
+                    if (slot < RANDOM_CAPACITY) {
+                        RANDOM_RESERVOIR.set((int) slot, project(article, SIDE_FIELDS));
+                        RANDOM_DIRTY.set(true);
+                    }
+                }
+            }
+        }
+
+        articleUpdated(article);
+    }
+
+    /**
+     * Updates side hot, side random and perfect articles with the specified changed article.
+     *
+     * @param article the specified article
+     */
+    public void articleUpdated(final JSONObject article) {
+        final String id = article.optString(Keys.OBJECT_ID);
+
+        synchronized (HOT_CANDIDATES) {
+            final JSONObject old = HOT_CANDIDATES.get(id);
+            if (!isHotCandidate(article)) {
+                if (null != HOT_CANDIDATES.remove(id)) {
+                    HOT_DIRTY.set(true);
+                }
+            } else {
+                final JSONObject candidate = project(article, SIDE_FIELDS);
+                if (null == old ? HOT_CANDIDATES.size() < HOT_CAPACITY
+                        || 0 > HOT_ORDER.compare(candidate, Collections.max(HOT_CANDIDATES.values(), HOT_ORDER))
+                        : !old.similar(candidate)) {
+                    HOT_CANDIDATES.put(id, candidate);
+                    while (HOT_CANDIDATES.size() > HOT_CAPACITY) {
+                        HOT_CANDIDATES.remove(Collections.max(HOT_CANDIDATES.values(), HOT_ORDER).optString(Keys.OBJECT_ID));
+                    }
+                    HOT_DIRTY.set(true);
+                }
+            }
+        }
+
+        synchronized (RANDOM_RESERVOIR) {
+            for (int i = 0; i < RANDOM_RESERVOIR.size(); i++) {
+                if (!id.equals(RANDOM_RESERVOIR.get(i).optString(Keys.OBJECT_ID))) {
+                    continue;
+                }
+
+                if (!isRandomCandidate(article)) {
+                    RANDOM_RESERVOIR.remove(i);
+                    RANDOM_DIRTY.set(true);
+                } else {
+                    final JSONObject candidate = project(article, SIDE_FIELDS);
+                    if (!RANDOM_RESERVOIR.get(i).similar(candidate)) {
+                        RANDOM_RESERVOIR.set(i, candidate);
+                        RANDOM_DIRTY.set(true);
+                    }
+                }
+
+                break;
+            }
+        }
+
+        synchronized (PERFECT_CANDIDATES) {
+            int index = -1;
+            for (int i = 0; i < PERFECT_CANDIDATES.size(); i++) {
+                if (id.equals(PERFECT_CANDIDATES.get(i).optString(Keys.OBJECT_ID))) {
+                    index = i;
+
+                    break;
+                }
+            }
+
+            if (Article.ARTICLE_PERFECT_C_PERFECT != article.optInt(Article.ARTICLE_PERFECT)) {
+                if (-1 < index) {
+                    PERFECT_CANDIDATES.remove(index);
+                    PERFECT_RELOAD.set(true); // back fills the list
+                }
+
+                return;
+            }
+
+            final JSONObject candidate = project(article, PERFECT_FIELDS);
+            if (-1 < index) {
+                if (!PERFECT_CANDIDATES.get(index).similar(candidate)) {
+                    PERFECT_CANDIDATES.set(index, candidate);
+                    PERFECT_DIRTY.set(true);
+                }
+
+                return;
+            }
+
+            final int capacity = Symphonys.getInt("indexPerfectCnt");
+            if (PERFECT_CANDIDATES.size() < capacity
+                    || 0 > PERFECT_ORDER.compare(candidate, PERFECT_CANDIDATES.get(PERFECT_CANDIDATES.size() - 1))) {
+                PERFECT_CANDIDATES.add(candidate);
+                PERFECT_CANDIDATES.sort(PERFECT_ORDER);
+                while (PERFECT_CANDIDATES.size() > capacity) {
+                    PERFECT_CANDIDATES.remove(PERFECT_CANDIDATES.size() - 1);
+                }
+                PERFECT_DIRTY.set(true);
+            }
+        }
+    }
+
+    /**
+     * Removes an article specified by the given id from side hot, side random and perfect articles.
+     *
+     * @param id the given id
+     */
+    public void articleRemoved(final String id) {
+        synchronized (HOT_CANDIDATES) {
+            if (null != HOT_CANDIDATES.remove(id)) {
+                HOT_DIRTY.set(true);
+            }
+        }
+
+        synchronized (RANDOM_RESERVOIR) {
+            if (RANDOM_RESERVOIR.removeIf(article -> id.equals(article.optString(Keys.OBJECT_ID)))) {
+                RANDOM_DIRTY.set(true);
+            }
+        }
+
+        synchronized (PERFECT_CANDIDATES) {
+            if (PERFECT_CANDIDATES.removeIf(article -> id.equals(article.optString(Keys.OBJECT_ID)))) {
+                PERFECT_RELOAD.set(true);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds side hot articles with the top-K candidates created in the last {@link #HOT_DAYS} days.
+     */
+    private static void rebuildSideHotArticles() {
+        final long start = System.currentTimeMillis();
+        final long threshold = DateUtils.addDays(new Date(start), -HOT_DAYS).getTime();
+        final List<JSONObject> articles = new ArrayList<>();
+        synchronized (HOT_CANDIDATES) {
+            HOT_CANDIDATES.values().removeIf(article -> article.optLong(Keys.OBJECT_ID) < threshold);
+            for (final JSONObject article : HOT_CANDIDATES.values()) {
+                articles.add(JSONs.clone(article));
+            }
+        }
+
+        articles.sort(HOT_ORDER);
+        final int cnt = Symphonys.getInt("sideHotArticlesCnt");
+        SIDE_HOT_ARTICLES = Snapshot.of(organize(articles.size() > cnt ? articles.subList(0, cnt) : articles), start);
+    }
+
+    /**
+     * Rebuilds side random articles with the reservoir.
+     */
+    private static void rebuildSideRandomArticles() {
+        final long start = System.currentTimeMillis();
+        final List<JSONObject> articles = new ArrayList<>();
+        synchronized (RANDOM_RESERVOIR) {
+            for (final JSONObject article : RANDOM_RESERVOIR) {
+                articles.add(JSONs.clone(article));
+            }
+        }
+
+        SIDE_RANDOM_ARTICLES = Snapshot.of(organize(articles), start);
+    }
+
+    /**
+     * Rebuilds perfect articles with the candidates.
+     */
+    private static void rebuildPerfectArticles() {
+        final long start = System.currentTimeMillis();
+        final List<JSONObject> articles = new ArrayList<>();
+        synchronized (PERFECT_CANDIDATES) {
+            for (final JSONObject article : PERFECT_CANDIDATES) {
+                articles.add(JSONs.clone(article));
+            }
+        }
+
+        PERFECT_ARTICLES = Snapshot.of(organize(articles), start);
+    }
+
+    /**
+     * Organizes the specified articles.
+     *
+     * @param articles the specified articles
+     * @return organized articles, returns an empty list if failed
+     */
+    private static List<JSONObject> organize(final List<JSONObject> articles) {
+        final ArticleQueryService articleQueryService = LatkeBeanManagerImpl.getInstance().getReference(ArticleQueryService.class);
+        final List<JSONObject> ret = new ArrayList<>(articles);
+        try {
+            articleQueryService.organizeArticles(UserExt.USER_AVATAR_VIEW_MODE_C_STATIC, ret);
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Organizes articles failed", e);
+
+            return Collections.emptyList();
+        }
+
+        return ret;
+    }
+
+    /**
+     * Determines whether the specified snapshot should be rebuilt, a dirty snapshot is rebuilt at most once every
+     * {@link #REBUILD_INTERVAL} milliseconds. The dirty flag is cleared if returns {@code true}.
+     *
+     * @param snapshot the specified snapshot
+     * @param dirty    the dirty flag of the snapshot
+     * @return {@code true} if the caller should rebuild it, otherwise returns {@code false}
+     */
+    private static boolean isStale(final Snapshot snapshot, final AtomicBoolean dirty) {
+        return System.currentTimeMillis() - snapshot.getLoadedTime() > REBUILD_INTERVAL && dirty.compareAndSet(true, false);
+    }
+
+    /**
+     * Determines whether the specified article could be a side hot article.
+     *
+     * @param article the specified article
+     * @return {@code true} if it could, otherwise returns {@code false}
+     */
+    private static boolean isHotCandidate(final JSONObject article) {
+        return article.optLong(Keys.OBJECT_ID) >= DateUtils.addDays(new Date(), -HOT_DAYS).getTime()
+                && Article.ARTICLE_TYPE_C_DISCUSSION != article.optInt(Article.ARTICLE_TYPE)
+                && !Tag.TAG_TITLE_C_SANDBOX.equals(article.optString(Article.ARTICLE_TAGS));
+    }
+
+    /**
+     * Determines whether the specified article could be a side random article.
+     *
+     * @param article the specified article
+     * @return {@code true} if it could, otherwise returns {@code false}
+     */
+    private static boolean isRandomCandidate(final JSONObject article) {
+        return Article.ARTICLE_STATUS_C_INVALID != article.optInt(Article.ARTICLE_STATUS)
+                && Article.ARTICLE_TYPE_C_DISCUSSION != article.optInt(Article.ARTICLE_TYPE);
+    }
+
+    /**
+     * Projects the specified article to the specified fields.
+     *
+     * @param article the specified article
+     * @param fields  the specified fields
+     * @return projected article
+     */
+    private static JSONObject project(final JSONObject article, final String[] fields) {
+        final JSONObject ret = new JSONObject();
+        for (final String field : fields) {
+            final Object value = article.opt(field);
+            if (null != value) {
+                ret.put(field, value);
+            }
+        }
+
+        return ret;
+    }
+
     /**
      * Puts an article abstract by the specified article id and article abstract.
      *
@@ -264,6 +657,34 @@ public class ArticleCache {
         ARTICLE_ABSTRACT_CACHE.put(articleId, value);
     }
 
+    /**
+     * Gets an article thumbnail URL by the specified article id.
+     *
+     * @param articleId the specified article id
+     * @return article thumbnail URL, returns {@code ""} if the article has no thumbnail, returns {@code null} if
+     * not found
+     */
+    public String getArticleThumbnail(final String articleId) {
+        final JSONObject value = ARTICLE_THUMBNAIL_CACHE.get(articleId);
+        if (null == value) {
+            return null;
+        }
+
+        return value.optString(Common.DATA);
+    }
+
+    /**
+     * Puts an article thumbnail URL by the specified article id and thumbnail URL.
+     *
+     * @param articleId    the specified article id
+     * @param thumbnailURL the specified thumbnail URL
+     */
+    public void putArticleThumbnail(final String articleId, final String thumbnailURL) {
+        final JSONObject value = new JSONObject();
+        value.put(Common.DATA, thumbnailURL);
+        ARTICLE_THUMBNAIL_CACHE.put(articleId, value);
+    }
+
     /**
      * Gets an article by the specified article id.
      *
@@ -279,6 +700,16 @@ public class ArticleCache {
         return JSONs.clone(article);
     }
 
+    /**
+     * Gets an article by the specified article id without copying it.
+     *
+     * @param id the specified article id
+     * @return article shared with the cache, callers must not modify it, returns {@code null} if not found
+     */
+    public JSONObject getReadOnlyArticle(final String id) {
+        return ARTICLE_CACHE.get(id);
+    }
+
     /**
      * Adds or updates the specified article.
      *
@@ -289,6 +720,7 @@ public class ArticleCache {
 
         ARTICLE_CACHE.put(articleId, JSONs.clone(article));
         ARTICLE_ABSTRACT_CACHE.remove(articleId);
+        ARTICLE_THUMBNAIL_CACHE.remove(articleId);
     }
 
     /**
@@ -299,5 +731,6 @@ public class ArticleCache {
     public void removeArticle(final String id) {
         ARTICLE_CACHE.remove(id);
         ARTICLE_ABSTRACT_CACHE.remove(id);
+        ARTICLE_THUMBNAIL_CACHE.remove(id);
     }
 }
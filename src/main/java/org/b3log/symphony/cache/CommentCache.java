@@ -31,7 +31,7 @@ import org.json.JSONObject;
  * Comment cache.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Sep 1, 2016
+ * @version 1.1.0.0, Oct 19, 2026
  * @since 1.6.0
  */
 @Named
@@ -62,6 +62,16 @@ public class CommentCache {
         return JSONs.clone(comment);
     }
 
+    /**
+     * Gets a comment by the specified comment id without copying it.
+     *
+     * @param id the specified comment id
+     * @return comment shared with the cache, callers must not modify it, returns {@code null} if not found
+     */
+    public JSONObject getReadOnlyComment(final String id) {
+        return cache.get(id);
+    }
+
     /**
      * Adds or updates the specified comment.
      *
@@ -0,0 +1,302 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.symphony.util.JSONs;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Article comment page cache.
+ * <p>
+ * Caches organized comment pages of an article, per-viewer flags (vote, reward, thank label, etc.) are not stored and
+ * should be overlaid by callers. All pages of an article are dropped together once one of its comments changes. The
+ * cache is bounded by {@code cache.commentPageArticleCnt} articles, the least recently read article is evicted, and
+ * a page expires after {@code cache.commentPageExpire} milliseconds so that commenter profile changes get visible.
+ * </p>
+ * <p>
+ * A page loaded from repository should be put with the version got before loading, it will be discarded if the
+ * article has been invalidated in the meantime.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+@Named
+@Singleton
+public class CommentPageCache {
+
+    /**
+     * Max count of cached articles.
+     */
+    private static final int MAX_ARTICLE_CNT = Symphonys.getInt("cache.commentPageArticleCnt");
+
+    /**
+     * Expiration of a page in milliseconds.
+     */
+    private static final long EXPIRE = Symphonys.getLong("cache.commentPageExpire");
+
+    /**
+     * &lt;articleId, pages&gt;
+     */
+    private static final Map<String, Pages> ARTICLES = new ConcurrentHashMap<>();
+
+    /**
+     * Version generator.
+     */
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    /**
+     * Hit count.
+     */
+    private static final LongAdder HITS = new LongAdder();
+
+    /**
+     * Miss count.
+     */
+    private static final LongAdder MISSES = new LongAdder();
+
+    /**
+     * Invalidation count.
+     */
+    private static final LongAdder INVALIDATIONS = new LongAdder();
+
+    /**
+     * Generates a page key.
+     *
+     * @param avatarViewMode the specified avatar view mode
+     * @param sortMode       the specified sort mode
+     * @param pageNum        the specified page number
+     * @param pageSize       the specified page size
+     * @param locale         the specified locale
+     * @return page key
+     */
+    public static String pageKey(final int avatarViewMode, final int sortMode, final int pageNum, final int pageSize,
+                                 final Locale locale) {
+        return sortMode + ":" + pageNum + ":" + pageSize + ":" + avatarViewMode + ":" + locale;
+    }
+
+    /**
+     * Gets a comment page of an article specified by the given article id and page key.
+     *
+     * @param articleId the given article id
+     * @param pageKey   the given page key, see {@link #pageKey(int, int, int, int, Locale)}
+     * @return comments copied from the cache (top level fields only, nested objects are shared and must not be
+     * modified), returns {@code null} if not found or expired
+     */
+    public List<JSONObject> getPage(final String articleId, final String pageKey) {
+        final Pages pages = ARTICLES.get(articleId);
+        final Page page = null == pages ? null : pages.pages.get(pageKey);
+        if (null == page || System.currentTimeMillis() - page.loadedTime > EXPIRE) {
+            MISSES.increment();
+
+            return null;
+        }
+
+        HITS.increment();
+        pages.lastRead = System.currentTimeMillis();
+
+        final List<JSONObject> ret = new ArrayList<>(page.comments.size());
+        for (final JSONObject comment : page.comments) {
+            ret.add(JSONs.clone(comment));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the current version of an article specified by the given article id. Gets it before loading a page from
+     * repository and passes it to {@link #putPage(String, long, String, List)}.
+     *
+     * @param articleId the given article id
+     * @return version
+     */
+    public long getVersion(final String articleId) {
+        final boolean[] created = {false};
+        final Pages pages = ARTICLES.computeIfAbsent(articleId, id -> {
+            created[0] = true;
+
+            return new Pages(VERSION.incrementAndGet());
+        });
+
+        if (created[0] && ARTICLES.size() > MAX_ARTICLE_CNT) {
+            evict();
+        }
+
+        return pages.version;
+    }
+
+    /**
+     * Puts the specified comment page of an article. The page is discarded if the article has been invalidated after
+     * the specified version got.
+     *
+     * @param articleId the specified article id
+     * @param version   the specified version, see {@link #getVersion(String)}
+     * @param pageKey   the specified page key
+     * @param comments  the specified organized comments
+     */
+    public void putPage(final String articleId, final long version, final String pageKey, final List<JSONObject> comments) {
+        final Pages pages = ARTICLES.get(articleId);
+        if (null == pages || version != pages.version) {
+            return;
+        }
+
+        final List<JSONObject> copies = new ArrayList<>(comments.size());
+        for (final JSONObject comment : comments) {
+            copies.add(JSONs.clone(comment));
+        }
+
+        pages.pages.put(pageKey, new Page(Collections.unmodifiableList(copies)));
+        pages.lastRead = System.currentTimeMillis();
+    }
+
+    /**
+     * Removes all pages of an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     */
+    public void removeArticle(final String articleId) {
+        if (null != ARTICLES.remove(articleId)) {
+            INVALIDATIONS.increment();
+        }
+    }
+
+    /**
+     * Clears the cache.
+     */
+    public void clear() {
+        ARTICLES.clear();
+    }
+
+    /**
+     * Gets statistic of the cache.
+     *
+     * @return statistic, for example,
+     * <pre>
+     * {
+     *     "size": 12, // count of cached articles
+     *     "maxSize": 512,
+     *     "pages": 20,
+     *     "hits": 100,
+     *     "misses": 10,
+     *     "hitRate": 0.91,
+     *     "invalidations": 3
+     * }
+     * </pre>
+     */
+    public JSONObject getStat() {
+        int pageCnt = 0;
+        for (final Pages pages : ARTICLES.values()) {
+            pageCnt += pages.pages.size();
+        }
+
+        final long hits = HITS.sum();
+        final long misses = MISSES.sum();
+        final long total = hits + misses;
+
+        return new JSONObject().put("size", ARTICLES.size()).put("maxSize", MAX_ARTICLE_CNT).put("pages", pageCnt).
+                put("hits", hits).put("misses", misses).put("hitRate", 0 == total ? 0D : (double) hits / total).
+                put("invalidations", INVALIDATIONS.sum());
+    }
+
+    /**
+     * Evicts the least recently read articles until the cache fits the max count.
+     */
+    private static void evict() {
+        while (ARTICLES.size() > MAX_ARTICLE_CNT) {
+            String eldestId = null;
+            long eldestTime = Long.MAX_VALUE;
+            for (final Map.Entry<String, Pages> entry : ARTICLES.entrySet()) {
+                final long lastRead = entry.getValue().lastRead;
+                if (lastRead < eldestTime) {
+                    eldestTime = lastRead;
+                    eldestId = entry.getKey();
+                }
+            }
+
+            if (null == eldestId) {
+                return;
+            }
+
+            ARTICLES.remove(eldestId);
+        }
+    }
+
+    /**
+     * Cached pages of an article.
+     */
+    private static final class Pages {
+
+        /**
+         * Version, unique among all articles.
+         */
+        private final long version;
+
+        /**
+         * &lt;pageKey, page&gt;
+         */
+        private final Map<String, Page> pages = new ConcurrentHashMap<>();
+
+        /**
+         * Last read time.
+         */
+        private volatile long lastRead = System.currentTimeMillis();
+
+        /**
+         * Constructs pages with the specified version.
+         *
+         * @param version the specified version
+         */
+        private Pages(final long version) {
+            this.version = version;
+        }
+    }
+
+    /**
+     * A cached page.
+     */
+    private static final class Page {
+
+        /**
+         * Organized comments.
+         */
+        private final List<JSONObject> comments;
+
+        /**
+         * Loaded time.
+         */
+        private final long loadedTime = System.currentTimeMillis();
+
+        /**
+         * Constructs a page with the specified comments.
+         *
+         * @param comments the specified comments
+         */
+        private Page(final List<JSONObject> comments) {
+            this.comments = comments;
+        }
+    }
+}
@@ -20,19 +20,18 @@ package org.b3log.symphony.cache;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.ioc.inject.Named;
 import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.symphony.service.DomainQueryService;
 import org.json.JSONObject;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
  * Domain cache.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.2.1, Apr 26, 2017
+ * @version 1.1.0.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Named
@@ -47,7 +46,7 @@ public class DomainCache {
     /**
      * Domains.
      */
-    private static final List<JSONObject> DOMAINS = new ArrayList<>();
+    private static volatile Snapshot DOMAINS = Snapshot.EMPTY;
 
     /**
      * Domain query service.
@@ -62,20 +61,31 @@ public class DomainCache {
      * @return domains
      */
     public List<JSONObject> getDomains(final int fetchSize) {
-        if (DOMAINS.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        final int end = fetchSize >= DOMAINS.size() ? DOMAINS.size() : fetchSize;
-
-        return new ArrayList<>(DOMAINS.subList(0, end));
+        return DOMAINS.head(fetchSize);
     }
 
     /**
      * Loads domains.
      */
     public void loadDomains() {
-        DOMAINS.clear();
-        DOMAINS.addAll(domainQueryService.getMostTagNaviDomains(Integer.MAX_VALUE));
+        final long start = System.currentTimeMillis();
+        final List<JSONObject> domains = domainQueryService.getMostTagNaviDomains(Integer.MAX_VALUE);
+        DOMAINS = Snapshot.of(domains, start);
+
+        LOGGER.log(Level.DEBUG, "Loaded [" + domains.size() + "] domains in [" + DOMAINS.getLoadElapsed() + "]ms");
+    }
+
+    /**
+     * Gets the statistic of domains.
+     *
+     * @return for example, <pre>
+     * {
+     *     "domains": {"size": 10, "loadedTime": long, "loadElapsed": 23}
+     * }
+     * </pre>
+     * @see Snapshot#getStat()
+     */
+    public JSONObject getStat() {
+        return new JSONObject().put("domains", DOMAINS.getStat());
     }
 }
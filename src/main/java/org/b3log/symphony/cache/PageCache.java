@@ -0,0 +1,386 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Page cache.
+ * <p>
+ * Caches rendered pages served to anonymous visitors and search engine bots, bodies are stored both plain and gzip
+ * compressed. A page expires after {@code pageCache.expire} milliseconds, pages of an article and all list pages are
+ * dropped once the article or one of its comments is added or updated. The cache is bounded by {@code pageCache.cnt}
+ * pages.
+ * </p>
+ * <p>
+ * Concurrent misses on the same key are coalesced, only the first request renders the page (see
+ * {@link #lock(String)}), the others wait for it (see {@link #await(String)}).
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+@Named
+@Singleton
+public class PageCache {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(PageCache.class);
+
+    /**
+     * Max count of cached pages.
+     */
+    private static final int MAX_CNT = Symphonys.getInt("pageCache.cnt");
+
+    /**
+     * Expiration of a page in milliseconds.
+     */
+    private static final long EXPIRE = Symphonys.getLong("pageCache.expire");
+
+    /**
+     * Max time in milliseconds to wait for a page being rendered by another request.
+     */
+    private static final long AWAIT_TIMEOUT = 3000;
+
+    /**
+     * &lt;key, page&gt;
+     */
+    private static final Map<String, Page> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Pages being rendered &lt;key, rendering&gt;.
+     */
+    private static final Map<String, Rendering> RENDERINGS = new ConcurrentHashMap<>();
+
+    /**
+     * Invalidation generation, a page rendered across an invalidation will not be cached.
+     */
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    /**
+     * Hit count.
+     */
+    private static final LongAdder HITS = new LongAdder();
+
+    /**
+     * Miss count.
+     */
+    private static final LongAdder MISSES = new LongAdder();
+
+    /**
+     * Coalesced request count.
+     */
+    private static final LongAdder COALESCED = new LongAdder();
+
+    /**
+     * Invalidation count.
+     */
+    private static final LongAdder INVALIDATIONS = new LongAdder();
+
+    /**
+     * Gets a page by the specified key.
+     *
+     * @param key the specified key
+     * @return page, returns {@code null} if not found or expired
+     */
+    public Page getPage(final String key) {
+        final Page ret = CACHE.get(key);
+        if (null == ret || System.currentTimeMillis() - ret.createTime > EXPIRE) {
+            return null;
+        }
+
+        HITS.increment();
+
+        return ret;
+    }
+
+    /**
+     * Locks the specified key for rendering.
+     *
+     * @param key the specified key
+     * @return {@code true} if the caller should render the page and then call {@link #unlock(String, Page)},
+     * returns {@code false} if another request is rendering it
+     */
+    public boolean lock(final String key) {
+        final boolean ret = null == RENDERINGS.putIfAbsent(key, new Rendering(GENERATION.get()));
+        if (ret) {
+            MISSES.increment();
+        }
+
+        return ret;
+    }
+
+    /**
+     * Unlocks the specified key, caches the specified page and wakes up requests waiting for it.
+     *
+     * @param key  the specified key
+     * @param page the specified page, {@code null} if the rendered response is not cacheable
+     */
+    public void unlock(final String key, final Page page) {
+        final Rendering rendering = RENDERINGS.remove(key);
+        if (null != page && null != rendering && rendering.generation == GENERATION.get()) {
+            CACHE.put(key, page);
+            if (CACHE.size() > MAX_CNT) {
+                evict();
+            }
+        }
+
+        if (null != rendering) {
+            rendering.future.complete(page);
+        }
+    }
+
+    /**
+     * Waits for the page of the specified key being rendered by another request.
+     *
+     * @param key the specified key
+     * @return page, returns {@code null} if the rendered response is not cacheable or timeout
+     */
+    public Page await(final String key) {
+        final Rendering rendering = RENDERINGS.get(key);
+        if (null == rendering) {
+            return getPage(key);
+        }
+
+        try {
+            final Page ret = rendering.future.get(AWAIT_TIMEOUT, TimeUnit.MILLISECONDS);
+            if (null != ret) {
+                COALESCED.increment();
+            }
+
+            return ret;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            return null;
+        } catch (final ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Removes pages of an article specified by the given article id and all list pages.
+     *
+     * @param articleId the given article id
+     */
+    public void removeArticle(final String articleId) {
+        GENERATION.incrementAndGet();
+        CACHE.entrySet().removeIf(entry -> null == entry.getValue().articleId || entry.getValue().articleId.equals(articleId));
+        INVALIDATIONS.increment();
+    }
+
+    /**
+     * Clears the cache.
+     */
+    public void clear() {
+        GENERATION.incrementAndGet();
+        CACHE.clear();
+    }
+
+    /**
+     * Gets statistic of the cache.
+     *
+     * @return statistic, for example,
+     * <pre>
+     * {
+     *     "size": 120,
+     *     "maxSize": 1024,
+     *     "hits": 100,
+     *     "misses": 10,
+     *     "hitRate": 0.91,
+     *     "coalesced": 6,
+     *     "invalidations": 3
+     * }
+     * </pre>
+     */
+    public JSONObject getStat() {
+        final long hits = HITS.sum();
+        final long misses = MISSES.sum();
+        final long total = hits + misses;
+
+        return new JSONObject().put("size", CACHE.size()).put("maxSize", MAX_CNT).
+                put("hits", hits).put("misses", misses).put("hitRate", 0 == total ? 0D : (double) hits / total).
+                put("coalesced", COALESCED.sum()).put("invalidations", INVALIDATIONS.sum());
+    }
+
+    /**
+     * Evicts expired pages, and then the oldest pages until the cache fits the max count.
+     */
+    private static void evict() {
+        final long now = System.currentTimeMillis();
+        CACHE.values().removeIf(page -> now - page.createTime > EXPIRE);
+
+        while (CACHE.size() > MAX_CNT) {
+            String oldestKey = null;
+            long oldestTime = Long.MAX_VALUE;
+            for (final Map.Entry<String, Page> entry : CACHE.entrySet()) {
+                if (entry.getValue().createTime < oldestTime) {
+                    oldestTime = entry.getValue().createTime;
+                    oldestKey = entry.getKey();
+                }
+            }
+
+            if (null == oldestKey) {
+                return;
+            }
+
+            CACHE.remove(oldestKey);
+        }
+    }
+
+    /**
+     * A page being rendered.
+     */
+    private static final class Rendering {
+
+        /**
+         * Future of the rendered page.
+         */
+        private final CompletableFuture<Page> future = new CompletableFuture<>();
+
+        /**
+         * Invalidation generation when rendering started.
+         */
+        private final long generation;
+
+        /**
+         * Constructs a rendering with the specified generation.
+         *
+         * @param generation the specified generation
+         */
+        private Rendering(final long generation) {
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * A cached page.
+     */
+    public static final class Page {
+
+        /**
+         * Content type.
+         */
+        private final String contentType;
+
+        /**
+         * Body.
+         */
+        private final byte[] body;
+
+        /**
+         * Gzip compressed body.
+         */
+        private final byte[] gzipBody;
+
+        /**
+         * Id of the article shown in this page, {@code null} for list pages.
+         */
+        private final String articleId;
+
+        /**
+         * Create time.
+         */
+        private final long createTime = System.currentTimeMillis();
+
+        /**
+         * Constructs a page with the specified content type, body and article id.
+         *
+         * @param contentType the specified content type
+         * @param body        the specified body
+         * @param articleId   the specified article id, {@code null} for list pages
+         */
+        public Page(final String contentType, final byte[] body, final String articleId) {
+            this.contentType = contentType;
+            this.body = body;
+            this.gzipBody = gzip(body);
+            this.articleId = articleId;
+        }
+
+        /**
+         * Gets the content type.
+         *
+         * @return content type
+         */
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * Gets the body.
+         *
+         * @return body, callers must not modify it
+         */
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * Gets the gzip compressed body.
+         *
+         * @return gzip compressed body, callers must not modify it, returns {@code null} if compression failed
+         */
+        public byte[] getGzipBody() {
+            return gzipBody;
+        }
+
+        /**
+         * Gets the article id.
+         *
+         * @return article id, returns {@code null} for list pages
+         */
+        public String getArticleId() {
+            return articleId;
+        }
+
+        /**
+         * Compresses the specified bytes with gzip.
+         *
+         * @param bytes the specified bytes
+         * @return compressed bytes, returns {@code null} if failed
+         */
+        private static byte[] gzip(final byte[] bytes) {
+            final ByteArrayOutputStream ret = new ByteArrayOutputStream(bytes.length / 4 + 64);
+            try (final GZIPOutputStream gzipOutputStream = new GZIPOutputStream(ret)) {
+                gzipOutputStream.write(bytes);
+            } catch (final IOException e) {
+                LOGGER.log(Level.ERROR, "Compresses page failed", e);
+
+                return null;
+            }
+
+            return ret.toByteArray();
+        }
+    }
+}
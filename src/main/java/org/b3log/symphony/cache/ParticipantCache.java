@@ -0,0 +1,297 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.symphony.model.Comment;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Article participant cache.
+ * <p>
+ * Holds the latest distinct commenters of an article, each one is a comment projection with comment id
+ * ({@code oId}) and comment author id, newest first. A new comment is prepended to the cached list, a removed comment
+ * invalidates the list. The cache is bounded by {@code cache.participantArticleCnt} articles, the least recently
+ * read article is evicted, and at most {@code cache.participantCnt} participants are held for an article.
+ * </p>
+ * <p>
+ * A list loaded from repository should be put with the version got before loading, it will be discarded if the
+ * article has been changed in the meantime.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+@Named
+@Singleton
+public class ParticipantCache {
+
+    /**
+     * Max count of participants held for an article.
+     */
+    public static final int PARTICIPANT_CNT = Symphonys.getInt("cache.participantCnt");
+
+    /**
+     * Max count of cached articles.
+     */
+    private static final int MAX_ARTICLE_CNT = Symphonys.getInt("cache.participantArticleCnt");
+
+    /**
+     * &lt;articleId, participants&gt;
+     */
+    private static final Map<String, Participants> ARTICLES = new ConcurrentHashMap<>();
+
+    /**
+     * Version generator.
+     */
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    /**
+     * Hit count.
+     */
+    private static final LongAdder HITS = new LongAdder();
+
+    /**
+     * Miss count.
+     */
+    private static final LongAdder MISSES = new LongAdder();
+
+    /**
+     * Gets participants of an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     * @return participants shared with the cache, callers must not modify them, returns {@code null} if not loaded
+     */
+    public List<JSONObject> getParticipants(final String articleId) {
+        final Participants participants = ARTICLES.get(articleId);
+        if (null == participants || null == participants.comments) {
+            MISSES.increment();
+
+            return null;
+        }
+
+        HITS.increment();
+        participants.lastRead = System.currentTimeMillis();
+
+        return participants.comments;
+    }
+
+    /**
+     * Gets the current version of an article specified by the given article id. Gets it before loading participants
+     * from repository and passes it to {@link #putParticipants(String, long, List)}.
+     *
+     * @param articleId the given article id
+     * @return version
+     */
+    public long getVersion(final String articleId) {
+        final boolean[] created = {false};
+        final Participants participants = ARTICLES.computeIfAbsent(articleId, id -> {
+            created[0] = true;
+
+            return new Participants(VERSION.incrementAndGet(), null);
+        });
+
+        if (created[0] && ARTICLES.size() > MAX_ARTICLE_CNT) {
+            evict();
+        }
+
+        return participants.version;
+    }
+
+    /**
+     * Puts the specified participants of an article. The participants are discarded if the article has been changed
+     * after the specified version got.
+     *
+     * @param articleId the specified article id
+     * @param version   the specified version, see {@link #getVersion(String)}
+     * @param comments  the specified latest comments (projections of comment id and comment author id) of distinct
+     *                  commenters, newest first
+     */
+    public void putParticipants(final String articleId, final long version, final List<JSONObject> comments) {
+        final List<JSONObject> held = copy(comments, null);
+        ARTICLES.computeIfPresent(articleId, (id, participants) -> {
+            if (version != participants.version) {
+                return participants;
+            }
+
+            return new Participants(version, held);
+        });
+    }
+
+    /**
+     * Prepends the specified comment to participants of its article if they are cached.
+     *
+     * @param comment the specified comment
+     */
+    public void commentAdded(final JSONObject comment) {
+        final String articleId = comment.optString(Comment.COMMENT_ON_ARTICLE_ID);
+        ARTICLES.computeIfPresent(articleId, (id, participants) -> {
+            if (null == participants.comments) { // being loaded, discards the loading one
+                return new Participants(VERSION.incrementAndGet(), null);
+            }
+
+            final Participants ret = new Participants(VERSION.incrementAndGet(), copy(participants.comments, comment));
+            ret.lastRead = participants.lastRead;
+
+            return ret;
+        });
+    }
+
+    /**
+     * Removes participants of an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     */
+    public void removeArticle(final String articleId) {
+        ARTICLES.remove(articleId);
+    }
+
+    /**
+     * Clears the cache.
+     */
+    public void clear() {
+        ARTICLES.clear();
+    }
+
+    /**
+     * Gets statistic of the cache.
+     *
+     * @return statistic, for example,
+     * <pre>
+     * {
+     *     "size": 12, // count of cached articles
+     *     "maxSize": 2048,
+     *     "hits": 100,
+     *     "misses": 10,
+     *     "hitRate": 0.91
+     * }
+     * </pre>
+     */
+    public JSONObject getStat() {
+        final long hits = HITS.sum();
+        final long misses = MISSES.sum();
+        final long total = hits + misses;
+
+        return new JSONObject().put("size", ARTICLES.size()).put("maxSize", MAX_ARTICLE_CNT).
+                put("hits", hits).put("misses", misses).put("hitRate", 0 == total ? 0D : (double) hits / total);
+    }
+
+    /**
+     * Copies the specified comments as an unmodifiable list of distinct commenters, the specified latest comment is
+     * prepended if it is not {@code null}.
+     *
+     * @param comments      the specified comments, newest first
+     * @param latestComment the specified latest comment, may be {@code null}
+     * @return participants
+     */
+    private static List<JSONObject> copy(final List<JSONObject> comments, final JSONObject latestComment) {
+        final List<JSONObject> ret = new ArrayList<>(PARTICIPANT_CNT);
+        final Set<String> commenterIds = new HashSet<>();
+        if (null != latestComment) {
+            ret.add(project(latestComment));
+            commenterIds.add(latestComment.optString(Comment.COMMENT_AUTHOR_ID));
+        }
+
+        for (final JSONObject comment : comments) {
+            if (ret.size() >= PARTICIPANT_CNT) {
+                break;
+            }
+
+            if (commenterIds.add(comment.optString(Comment.COMMENT_AUTHOR_ID))) {
+                ret.add(project(comment));
+            }
+        }
+
+        return Collections.unmodifiableList(ret);
+    }
+
+    /**
+     * Projects the specified comment to comment id and comment author id.
+     *
+     * @param comment the specified comment
+     * @return projected comment
+     */
+    private static JSONObject project(final JSONObject comment) {
+        return new JSONObject().put(Keys.OBJECT_ID, comment.optString(Keys.OBJECT_ID)).
+                put(Comment.COMMENT_AUTHOR_ID, comment.optString(Comment.COMMENT_AUTHOR_ID));
+    }
+
+    /**
+     * Evicts the least recently read articles until the cache fits the max count.
+     */
+    private static void evict() {
+        while (ARTICLES.size() > MAX_ARTICLE_CNT) {
+            String eldestId = null;
+            long eldestTime = Long.MAX_VALUE;
+            for (final Map.Entry<String, Participants> entry : ARTICLES.entrySet()) {
+                final long lastRead = entry.getValue().lastRead;
+                if (lastRead < eldestTime) {
+                    eldestTime = lastRead;
+                    eldestId = entry.getKey();
+                }
+            }
+
+            if (null == eldestId) {
+                return;
+            }
+
+            ARTICLES.remove(eldestId);
+        }
+    }
+
+    /**
+     * Cached participants of an article.
+     */
+    private static final class Participants {
+
+        /**
+         * Version, unique among all articles.
+         */
+        private final long version;
+
+        /**
+         * Latest comments of distinct commenters, {@code null} if not loaded yet.
+         */
+        private final List<JSONObject> comments;
+
+        /**
+         * Last read time.
+         */
+        private volatile long lastRead = System.currentTimeMillis();
+
+        /**
+         * Constructs participants with the specified version and comments.
+         *
+         * @param version  the specified version
+         * @param comments the specified comments
+         */
+        private Participants(final long version, final List<JSONObject> comments) {
+            this.version = version;
+            this.comments = comments;
+        }
+    }
+}
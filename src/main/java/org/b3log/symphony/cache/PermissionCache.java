@@ -0,0 +1,238 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.json.JSONObject;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Permission cache.
+ * <p>
+ * Holds the permission table and every role grant. Every permission id is assigned a bit index once, role permissions
+ * are held as {@link BitSet}s keyed by role id, and the grant maps built from them are kept per role. Cached
+ * objects are never modified after being put, so they can be read without locking.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+@Named
+@Singleton
+public class PermissionCache {
+
+    /**
+     * Permission bit indexes &lt;permissionId, index&gt;.
+     */
+    private static final Map<String, Integer> PERMISSION_INDEXES = new ConcurrentHashMap<>();
+
+    /**
+     * Permission ids, indexed by bit index.
+     */
+    private static volatile String[] PERMISSION_IDS = new String[0];
+
+    /**
+     * Role permissions &lt;roleId, permission bits&gt;.
+     */
+    private static final Map<String, BitSet> ROLE_PERMISSIONS = new ConcurrentHashMap<>();
+
+    /**
+     * Role grants &lt;roleId, &lt;permissionId, permission&gt;&gt;.
+     */
+    private static final Map<String, Map<String, JSONObject>> ROLE_GRANTS = new ConcurrentHashMap<>();
+
+    /**
+     * Permissions &lt;permissionId, permission&gt;, in table order, {@code null} if not loaded.
+     */
+    private static volatile Map<String, JSONObject> PERMISSIONS;
+
+    /**
+     * Gets the bit index of a permission specified by the given permission id, assigns a new index if absent.
+     *
+     * @param permissionId the given permission id
+     * @return bit index
+     */
+    public static int indexOf(final String permissionId) {
+        final Integer ret = PERMISSION_INDEXES.get(permissionId);
+        if (null != ret) {
+            return ret;
+        }
+
+        synchronized (PERMISSION_INDEXES) {
+            Integer index = PERMISSION_INDEXES.get(permissionId);
+            if (null == index) {
+                index = PERMISSION_IDS.length;
+                final String[] permissionIds = Arrays.copyOf(PERMISSION_IDS, index + 1);
+                permissionIds[index] = permissionId;
+                PERMISSION_IDS = permissionIds;
+                PERMISSION_INDEXES.put(permissionId, index);
+            }
+
+            return index;
+        }
+    }
+
+    /**
+     * Converts the specified permission bits to permission ids.
+     *
+     * @param permissions the specified permission bits
+     * @return permission ids
+     */
+    public static Set<String> toIds(final BitSet permissions) {
+        final String[] permissionIds = PERMISSION_IDS;
+        final Set<String> ret = new HashSet<>();
+        for (int i = permissions.nextSetBit(0); i >= 0 && i < permissionIds.length; i = permissions.nextSetBit(i + 1)) {
+            ret.add(permissionIds[i]);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Converts the specified permission ids to bits.
+     *
+     * @param permissionIds the specified permission ids
+     * @return permission bits
+     */
+    public static BitSet toBits(final Collection<String> permissionIds) {
+        final BitSet ret = new BitSet();
+        for (final String permissionId : permissionIds) {
+            ret.set(indexOf(permissionId));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Checks whether the specified grant permission bits contain all the specified requisite permission bits.
+     *
+     * @param requisitePermissions the specified requisite permission bits
+     * @param grantPermissions     the specified grant permission bits
+     * @return {@code true} if contains all, returns {@code false} otherwise
+     */
+    public static boolean hasPermission(final BitSet requisitePermissions, final BitSet grantPermissions) {
+        for (int i = requisitePermissions.nextSetBit(0); i >= 0; i = requisitePermissions.nextSetBit(i + 1)) {
+            if (!grantPermissions.get(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets all permissions.
+     *
+     * @return permissions &lt;permissionId, permission&gt; (read-only), returns {@code null} if not loaded
+     */
+    public Map<String, JSONObject> getPermissions() {
+        return PERMISSIONS;
+    }
+
+    /**
+     * Puts the specified permissions.
+     *
+     * @param permissions the specified permissions
+     * @return cached permissions &lt;permissionId, permission&gt; (read-only)
+     */
+    public Map<String, JSONObject> putPermissions(final List<JSONObject> permissions) {
+        final Map<String, JSONObject> ret = new LinkedHashMap<>();
+        for (final JSONObject permission : permissions) {
+            final String permissionId = permission.optString(Keys.OBJECT_ID);
+            indexOf(permissionId);
+            ret.put(permissionId, permission);
+        }
+
+        PERMISSIONS = Collections.unmodifiableMap(ret);
+        ROLE_GRANTS.clear();
+
+        return PERMISSIONS;
+    }
+
+    /**
+     * Gets grants of a role specified by the given role id.
+     *
+     * @param roleId the given role id
+     * @return grants &lt;permissionId, permission&gt; (read-only), returns {@code null} if not cached
+     */
+    public Map<String, JSONObject> getRoleGrants(final String roleId) {
+        return ROLE_GRANTS.get(roleId);
+    }
+
+    /**
+     * Puts grants of a role specified by the given role id.
+     *
+     * @param roleId the given role id
+     * @param grants the specified grants &lt;permissionId, permission&gt;
+     * @return cached grants (read-only)
+     */
+    public Map<String, JSONObject> putRoleGrants(final String roleId, final Map<String, JSONObject> grants) {
+        final Map<String, JSONObject> ret = Collections.unmodifiableMap(grants);
+        ROLE_GRANTS.put(roleId, ret);
+
+        return ret;
+    }
+
+    /**
+     * Gets permission bits of a role specified by the given role id.
+     *
+     * @param roleId the given role id
+     * @return permission bits (read-only), returns {@code null} if not cached
+     */
+    public BitSet getRolePermissions(final String roleId) {
+        return ROLE_PERMISSIONS.get(roleId);
+    }
+
+    /**
+     * Puts permissions of a role specified by the given role id.
+     *
+     * @param roleId        the given role id
+     * @param permissionIds the specified permission ids
+     * @return cached permission bits
+     */
+    public BitSet putRolePermissions(final String roleId, final Collection<String> permissionIds) {
+        final BitSet ret = toBits(permissionIds);
+        ROLE_PERMISSIONS.put(roleId, ret);
+
+        return ret;
+    }
+
+    /**
+     * Removes permissions of a role specified by the given role id.
+     *
+     * @param roleId the given role id
+     */
+    public void removeRolePermissions(final String roleId) {
+        ROLE_PERMISSIONS.remove(roleId);
+        ROLE_GRANTS.remove(roleId);
+    }
+
+    /**
+     * Clears all permissions and role permissions.
+     */
+    public void clear() {
+        PERMISSIONS = null;
+        ROLE_PERMISSIONS.clear();
+        ROLE_GRANTS.clear();
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Relevant article cache.
+ * <p>
+ * Holds relevant articles of an article as small projections (id, title, permalink, author id, anonymous), which are
+ * built in background from tag overlap and tag co-occurrence. An entry keeps being served after it expires (after
+ * {@code cache.relevantArticleExpire} milliseconds) until it is rebuilt. An entry is dropped once the tags of its
+ * article changes, or one of its relevant articles changes its title, permalink or status, or is removed. The cache is
+ * bounded by {@code cache.relevantArticleCnt} articles, the least recently read article is evicted. An entry holds
+ * up to {@link #MAX_LIST_SIZE} relevant articles, readers take the head they need.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.1, Oct 19, 2026
+ * @since 3.0.0
+ */
+@Named
+@Singleton
+public class RelevantArticleCache {
+
+    /**
+     * Max count of cached articles.
+     */
+    private static final int MAX_ARTICLE_CNT = Symphonys.getInt("cache.relevantArticleCnt");
+
+    /**
+     * Expiration of an entry in milliseconds.
+     */
+    private static final long EXPIRE = Symphonys.getLong("cache.relevantArticleExpire");
+
+    /**
+     * Max count of relevant articles held for an article.
+     */
+    public static final int MAX_LIST_SIZE = Symphonys.getInt("cache.relevantArticleListSize");
+
+    /**
+     * Fields of a relevant article projection.
+     */
+    private static final String[] FIELDS = {Keys.OBJECT_ID, Article.ARTICLE_TITLE, Article.ARTICLE_PERMALINK,
+            Article.ARTICLE_AUTHOR_ID, Article.ARTICLE_ANONYMOUS, Article.ARTICLE_STATUS};
+
+    /**
+     * &lt;articleId, entry&gt;
+     */
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    /**
+     * &lt;relevantArticleId, ids of articles whose entry contains it&gt;
+     */
+    private static final Map<String, Set<String>> REFERRERS = new ConcurrentHashMap<>();
+
+    /**
+     * Ids of articles whose entry is being built.
+     */
+    private static final Set<String> BUILDING = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Hit count.
+     */
+    private static final LongAdder HITS = new LongAdder();
+
+    /**
+     * Miss count.
+     */
+    private static final LongAdder MISSES = new LongAdder();
+
+    /**
+     * Gets relevant articles of an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     * @return relevant article projections shared with the cache, callers must not modify them, returns {@code null}
+     * if not built
+     */
+    public List<JSONObject> getRelevantArticles(final String articleId) {
+        final Entry entry = ENTRIES.get(articleId);
+        if (null == entry) {
+            MISSES.increment();
+
+            return null;
+        }
+
+        HITS.increment();
+        entry.lastRead = System.currentTimeMillis();
+
+        return entry.articles;
+    }
+
+    /**
+     * Determines whether the entry of an article specified by the given article id should be built, the caller
+     * should build it and call {@link #putRelevantArticles(String, String, List)} or {@link #buildFailed(String)} if
+     * returns {@code true}.
+     *
+     * @param articleId the given article id
+     * @return {@code true} if it is absent or expired and nobody is building it, otherwise returns {@code false}
+     */
+    public boolean shouldBuild(final String articleId) {
+        final Entry entry = ENTRIES.get(articleId);
+        if (null != entry && System.currentTimeMillis() - entry.builtTime < EXPIRE) {
+            return false;
+        }
+
+        return BUILDING.add(articleId);
+    }
+
+    /**
+     * Puts the specified relevant articles of an article.
+     *
+     * @param articleId        the specified article id
+     * @param tags             the specified tags of the article, the entry is dropped once they change
+     * @param relevantArticles the specified relevant articles
+     */
+    public void putRelevantArticles(final String articleId, final String tags, final List<JSONObject> relevantArticles) {
+        try {
+            final List<JSONObject> articles = new ArrayList<>(Math.min(relevantArticles.size(), MAX_LIST_SIZE));
+            for (final JSONObject relevantArticle : relevantArticles) {
+                if (articles.size() >= MAX_LIST_SIZE) {
+                    break;
+                }
+
+                articles.add(project(relevantArticle));
+            }
+
+            removeEntry(articleId);
+            ENTRIES.put(articleId, new Entry(tags, Collections.unmodifiableList(articles)));
+            for (final JSONObject article : articles) {
+                REFERRERS.compute(article.optString(Keys.OBJECT_ID), (id, referrers) -> {
+                    final Set<String> ret = null == referrers ? ConcurrentHashMap.newKeySet() : referrers;
+                    ret.add(articleId);
+
+                    return ret;
+                });
+            }
+
+            if (ENTRIES.size() > MAX_ARTICLE_CNT) {
+                evict();
+            }
+        } finally {
+            BUILDING.remove(articleId);
+        }
+    }
+
+    /**
+     * Marks building of an article specified by the given article id failed.
+     *
+     * @param articleId the given article id
+     */
+    public void buildFailed(final String articleId) {
+        BUILDING.remove(articleId);
+    }
+
+    /**
+     * Drops entries affected by the specified changed article.
+     *
+     * @param article the specified article
+     */
+    public void articleUpdated(final JSONObject article) {
+        final String articleId = article.optString(Keys.OBJECT_ID);
+        final Entry entry = ENTRIES.get(articleId);
+        if (null != entry && !entry.tags.equals(article.optString(Article.ARTICLE_TAGS))) {
+            removeEntry(articleId);
+        }
+
+        final Set<String> referrers = REFERRERS.get(articleId);
+        if (null == referrers) {
+            return;
+        }
+
+        final JSONObject projection = project(article);
+        for (final String referrer : new ArrayList<>(referrers)) {
+            final Entry referrerEntry = ENTRIES.get(referrer);
+            if (null == referrerEntry) {
+                continue;
+            }
+
+            for (final JSONObject relevantArticle : referrerEntry.articles) {
+                if (articleId.equals(relevantArticle.optString(Keys.OBJECT_ID)) && !relevantArticle.similar(projection)) {
+                    removeEntry(referrer);
+
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops entries related to an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     */
+    public void articleRemoved(final String articleId) {
+        removeEntry(articleId);
+
+        final Set<String> referrers = REFERRERS.remove(articleId);
+        if (null == referrers) {
+            return;
+        }
+
+        for (final String referrer : referrers) {
+            removeEntry(referrer);
+        }
+    }
+
+    /**
+     * Clears the cache.
+     */
+    public void clear() {
+        ENTRIES.clear();
+        REFERRERS.clear();
+    }
+
+    /**
+     * Gets statistic of the cache.
+     *
+     * @return statistic, for example,
+     * <pre>
+     * {
+     *     "size": 12, // count of cached articles
+     *     "maxSize": 1024,
+     *     "hits": 100,
+     *     "misses": 10,
+     *     "hitRate": 0.91,
+     *     "building": 1
+     * }
+     * </pre>
+     */
+    public JSONObject getStat() {
+        final long hits = HITS.sum();
+        final long misses = MISSES.sum();
+        final long total = hits + misses;
+
+        return new JSONObject().put("size", ENTRIES.size()).put("maxSize", MAX_ARTICLE_CNT).
+                put("hits", hits).put("misses", misses).put("hitRate", 0 == total ? 0D : (double) hits / total).
+                put("building", BUILDING.size());
+    }
+
+    /**
+     * Removes the entry of an article specified by the given article id, and prunes the article from referrers of
+     * its relevant articles.
+     *
+     * @param articleId the given article id
+     */
+    private static void removeEntry(final String articleId) {
+        final Entry entry = ENTRIES.remove(articleId);
+        if (null == entry) {
+            return;
+        }
+
+        for (final JSONObject article : entry.articles) {
+            REFERRERS.computeIfPresent(article.optString(Keys.OBJECT_ID), (id, referrers) -> {
+                referrers.remove(articleId);
+
+                return referrers.isEmpty() ? null : referrers;
+            });
+        }
+    }
+
+    /**
+     * Projects the specified article.
+     *
+     * @param article the specified article
+     * @return projected article
+     */
+    private static JSONObject project(final JSONObject article) {
+        final JSONObject ret = new JSONObject();
+        for (final String field : FIELDS) {
+            final Object value = article.opt(field);
+            if (null != value) {
+                ret.put(field, value);
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Evicts the least recently read articles until the cache fits the max count.
+     */
+    private static void evict() {
+        while (ENTRIES.size() > MAX_ARTICLE_CNT) {
+            String eldestId = null;
+            long eldestTime = Long.MAX_VALUE;
+            for (final Map.Entry<String, Entry> entry : ENTRIES.entrySet()) {
+                final long lastRead = entry.getValue().lastRead;
+                if (lastRead < eldestTime) {
+                    eldestTime = lastRead;
+                    eldestId = entry.getKey();
+                }
+            }
+
+            if (null == eldestId) {
+                return;
+            }
+
+            removeEntry(eldestId);
+        }
+    }
+
+    /**
+     * Relevant articles of an article.
+     */
+    private static final class Entry {
+
+        /**
+         * Tags of the article.
+         */
+        private final String tags;
+
+        /**
+         * Relevant article projections.
+         */
+        private final List<JSONObject> articles;
+
+        /**
+         * Built time.
+         */
+        private final long builtTime = System.currentTimeMillis();
+
+        /**
+         * Last read time.
+         */
+        private volatile long lastRead = System.currentTimeMillis();
+
+        /**
+         * Constructs an entry with the specified tags and relevant articles.
+         *
+         * @param tags     the specified tags
+         * @param articles the specified relevant articles
+         */
+        private Entry(final String tags, final List<JSONObject> articles) {
+            this.tags = tags;
+            this.articles = articles;
+        }
+    }
+}
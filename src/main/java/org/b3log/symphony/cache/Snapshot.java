@@ -0,0 +1,176 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable snapshot of a cached list.
+ * <p>
+ * A cache builds a new snapshot off to the side and publishes it by assigning a volatile field, so readers always see
+ * either the previous or the new list, never a partially refreshed one.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+public final class Snapshot {
+
+    /**
+     * Empty snapshot.
+     */
+    public static final Snapshot EMPTY = new Snapshot(Collections.emptyList(), 0, 0);
+
+    /**
+     * Items.
+     */
+    private final List<JSONObject> items;
+
+    /**
+     * Loaded time.
+     */
+    private final long loadedTime;
+
+    /**
+     * Load elapsed time (ms).
+     */
+    private final long loadElapsed;
+
+    /**
+     * Constructs a snapshot with the specified items, loaded time and load elapsed time.
+     *
+     * @param items       the specified items
+     * @param loadedTime  the specified loaded time
+     * @param loadElapsed the specified load elapsed time
+     */
+    private Snapshot(final List<JSONObject> items, final long loadedTime, final long loadElapsed) {
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
+        this.loadedTime = loadedTime;
+        this.loadElapsed = loadElapsed;
+    }
+
+    /**
+     * Creates a snapshot with the specified items loaded since the specified start time.
+     *
+     * @param items     the specified items
+     * @param startTime the specified start time
+     * @return snapshot
+     */
+    public static Snapshot of(final List<JSONObject> items, final long startTime) {
+        final long now = System.currentTimeMillis();
+
+        return new Snapshot(items, now, now - startTime);
+    }
+
+    /**
+     * Gets a copy of all items.
+     *
+     * @return items
+     */
+    public List<JSONObject> getItems() {
+        return new ArrayList<>(items);
+    }
+
+    /**
+     * Gets a copy of the first items with the specified fetch size.
+     *
+     * @param fetchSize the specified fetch size
+     * @return items
+     */
+    public List<JSONObject> head(final int fetchSize) {
+        final int end = fetchSize >= items.size() ? items.size() : fetchSize;
+
+        return new ArrayList<>(items.subList(0, end));
+    }
+
+    /**
+     * Gets random items with the specified fetch size, the snapshot itself is not changed.
+     *
+     * @param fetchSize the specified fetch size
+     * @return items in random order
+     */
+    public List<JSONObject> sample(final int fetchSize) {
+        final int size = items.size();
+        final int cnt = fetchSize > size ? size : fetchSize;
+        final int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final List<JSONObject> ret = new ArrayList<>(cnt);
+        for (int i = 0; i < cnt; i++) {
+            final int j = i + random.nextInt(size - i);
+            final int index = indexes[j];
+            indexes[j] = indexes[i];
+            indexes[i] = index;
+
+            ret.add(items.get(index));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the size.
+     *
+     * @return size
+     */
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Gets the loaded time.
+     *
+     * @return loaded time, returns {@code 0} if never loaded
+     */
+    public long getLoadedTime() {
+        return loadedTime;
+    }
+
+    /**
+     * Gets the load elapsed time.
+     *
+     * @return load elapsed time (ms)
+     */
+    public long getLoadElapsed() {
+        return loadElapsed;
+    }
+
+    /**
+     * Gets the statistic of this snapshot.
+     *
+     * @return for example, <pre>
+     * {
+     *     "size": 10,
+     *     "loadedTime": long,
+     *     "loadElapsed": 23
+     * }
+     * </pre>
+     */
+    public JSONObject getStat() {
+        return new JSONObject().put("size", items.size()).put("loadedTime", loadedTime).put("loadElapsed", loadElapsed);
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.apache.commons.lang.time.DateUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.*;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Comment;
+import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.repository.ArticleRepository;
+import org.b3log.symphony.repository.CommentRepository;
+import org.b3log.symphony.repository.UserRepository;
+import org.b3log.symphony.util.Times;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.*;
+
+/**
+ * Statistic cache.
+ * <p>
+ * Keeps daily rollups of new user, article and comment counts. A load aggregates only the records created since the
+ * previous load, plus the records of the latest {@value #RECOUNT_DAY_CNT} days to reflect recent status changes, the
+ * first load aggregates the whole history. Monthly rollups are summed up from the daily ones. The statistic data for
+ * rendering is published as an immutable snapshot.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+@Named
+@Singleton
+public class StatisticCache {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(StatisticCache.class);
+
+    /**
+     * Size of a record chunk read from repository.
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * Count of days to show.
+     */
+    private static final int DAY_CNT = 31;
+
+    /**
+     * Count of the latest days to recount on each load.
+     */
+    private static final int RECOUNT_DAY_CNT = 2;
+
+    /**
+     * Rollup index of user count.
+     */
+    private static final int USER_CNT = 0;
+
+    /**
+     * Rollup index of article count.
+     */
+    private static final int ARTICLE_CNT = 1;
+
+    /**
+     * Rollup index of comment count.
+     */
+    private static final int COMMENT_CNT = 2;
+
+    /**
+     * Daily rollups, &lt;day start time, [user count, article count, comment count]&gt;.
+     */
+    private static final TreeMap<Long, int[]> DAY_ROLLUPS = new TreeMap<>();
+
+    /**
+     * Time of the latest load, records created before it have been aggregated.
+     */
+    private static long aggregatedTime;
+
+    /**
+     * Statistic data keys.
+     */
+    private static final String[] STATISTIC_KEYS = new String[]{"monthDays", "userCnts", "articleCnts", "commentCnts",
+            "months", "historyUserCnts", "historyArticleCnts", "historyCommentCnts"};
+
+    /**
+     * Statistic data snapshot.
+     */
+    private static volatile Map<String, Object> statistic = toStatistic(new List[STATISTIC_KEYS.length]);
+
+    /**
+     * Loaded time.
+     */
+    private static volatile long loadedTime;
+
+    /**
+     * Load elapsed time (ms).
+     */
+    private static volatile long loadElapsed;
+
+    /**
+     * User repository.
+     */
+    @Inject
+    private UserRepository userRepository;
+
+    /**
+     * Article repository.
+     */
+    @Inject
+    private ArticleRepository articleRepository;
+
+    /**
+     * Comment repository.
+     */
+    @Inject
+    private CommentRepository commentRepository;
+
+    /**
+     * Gets the statistic data snapshot.
+     *
+     * @return statistic data, for example,
+     * <pre>
+     * {
+     *     "monthDays": ["2026-09-19", ....],
+     *     "userCnts": [3, ....],
+     *     "articleCnts": [12, ....],
+     *     "commentCnts": [56, ....],
+     *     "months": ["2016-10", ....],
+     *     "historyUserCnts": [92, ....],
+     *     "historyArticleCnts": [358, ....],
+     *     "historyCommentCnts": [1678, ....]
+     * }
+     * </pre>, the returned map and lists are unmodifiable
+     */
+    public Map<String, Object> getStatistic() {
+        return statistic;
+    }
+
+    /**
+     * Loads statistic data.
+     */
+    public synchronized void loadStatistic() {
+        final long now = System.currentTimeMillis();
+        final long recountStart = Times.getDayStartTime(DateUtils.addDays(new Date(now), 1 - RECOUNT_DAY_CNT).getTime());
+        final long from = 0 == aggregatedTime ? 0 : Math.min(Times.getDayStartTime(aggregatedTime), recountStart);
+
+        try {
+            final TreeMap<Long, int[]> rollups = new TreeMap<>();
+            aggregate(userRepository, new PropertyFilter(UserExt.USER_STATUS, FilterOperator.EQUAL,
+                    UserExt.USER_STATUS_C_VALID), from, USER_CNT, rollups);
+            aggregate(articleRepository, new PropertyFilter(Article.ARTICLE_STATUS, FilterOperator.NOT_EQUAL,
+                    Article.ARTICLE_STATUS_C_INVALID), from, ARTICLE_CNT, rollups);
+            aggregate(commentRepository, new PropertyFilter(Comment.COMMENT_STATUS, FilterOperator.EQUAL,
+                    Comment.COMMENT_STATUS_C_VALID), from, COMMENT_CNT, rollups);
+
+            DAY_ROLLUPS.tailMap(from, true).clear();
+            DAY_ROLLUPS.putAll(rollups);
+            aggregatedTime = now;
+
+            final List<JSONObject> admins = userRepository.getAdmins();
+            final long firstTime = admins.isEmpty() ? now : admins.get(0).optLong(Keys.OBJECT_ID);
+            statistic = snapshot(now, firstTime);
+            loadedTime = System.currentTimeMillis();
+            loadElapsed = loadedTime - now;
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Loads statistic failed", e);
+        }
+    }
+
+    /**
+     * Gets the statistic of this cache.
+     *
+     * @return for example, <pre>
+     * {
+     *     "days": 3005,
+     *     "loadedTime": long,
+     *     "loadElapsed": 23
+     * }
+     * </pre>
+     */
+    public JSONObject getStat() {
+        final int days;
+        synchronized (this) {
+            days = DAY_ROLLUPS.size();
+        }
+
+        return new JSONObject().put("days", days).put("loadedTime", loadedTime).put("loadElapsed", loadElapsed);
+    }
+
+    /**
+     * Aggregates records of the specified repository created since the specified time into the specified rollups
+     * chunk by chunk.
+     *
+     * @param repository   the specified repository
+     * @param statusFilter the specified filter of valid records
+     * @param from         the specified time
+     * @param index        the specified rollup index to count
+     * @param rollups      the specified rollups
+     * @throws RepositoryException repository exception
+     */
+    private void aggregate(final Repository repository, final Filter statusFilter, final long from, final int index,
+                           final TreeMap<Long, int[]> rollups) throws RepositoryException {
+        String lastId = String.valueOf(from - 1);
+        JSONArray records;
+        do {
+            final Query query = new Query().setFilter(CompositeFilterOperator.and(
+                    new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN, lastId), statusFilter)).
+                    setCurrentPageNum(1).setPageSize(CHUNK_SIZE).setPageCount(1).
+                    addSort(Keys.OBJECT_ID, SortDirection.ASCENDING).
+                    addProjection(Keys.OBJECT_ID, String.class);
+            records = repository.get(query).optJSONArray(Keys.RESULTS);
+
+            for (int i = 0; i < records.length(); i++) {
+                lastId = records.optJSONObject(i).optString(Keys.OBJECT_ID);
+                final long day = Times.getDayStartTime(Long.parseLong(lastId));
+                rollups.computeIfAbsent(day, k -> new int[3])[index]++;
+            }
+        } while (CHUNK_SIZE == records.length());
+    }
+
+    /**
+     * Builds a statistic data snapshot of the latest days and the months since the specified first time.
+     *
+     * @param now       the specified current time
+     * @param firstTime the specified first time
+     * @return statistic data, see {@link #getStatistic()} for details
+     */
+    private Map<String, Object> snapshot(final long now, final long firstTime) {
+        final List<String> monthDays = new ArrayList<>();
+        final List<Integer> userCnts = new ArrayList<>();
+        final List<Integer> articleCnts = new ArrayList<>();
+        final List<Integer> commentCnts = new ArrayList<>();
+
+        final Date end = new Date(now);
+        final Date dayStart = DateUtils.addDays(end, 1 - DAY_CNT);
+        for (int i = 0; i < DAY_CNT; i++) {
+            final Date day = DateUtils.addDays(dayStart, i);
+            monthDays.add(DateFormatUtils.format(day, "yyyy-MM-dd"));
+
+            final int[] cnts = DAY_ROLLUPS.getOrDefault(Times.getDayStartTime(day.getTime()), new int[3]);
+            userCnts.add(cnts[USER_CNT]);
+            articleCnts.add(cnts[ARTICLE_CNT]);
+            commentCnts.add(cnts[COMMENT_CNT]);
+        }
+
+        final List<String> months = new ArrayList<>();
+        final List<Integer> historyUserCnts = new ArrayList<>();
+        final List<Integer> historyArticleCnts = new ArrayList<>();
+        final List<Integer> historyCommentCnts = new ArrayList<>();
+
+        final Date monthStart = new Date(Times.getMonthStartTime(firstTime));
+        for (int i = 1; ; i++) {
+            final Date month = DateUtils.addMonths(monthStart, i);
+            if (month.after(end)) {
+                break;
+            }
+
+            months.add(DateFormatUtils.format(month, "yyyy-MM"));
+
+            final int[] cnts = new int[3];
+            final long time = month.getTime();
+            for (final int[] dayCnts : DAY_ROLLUPS.subMap(Times.getMonthStartTime(time), true,
+                    Times.getMonthEndTime(time), true).values()) {
+                cnts[USER_CNT] += dayCnts[USER_CNT];
+                cnts[ARTICLE_CNT] += dayCnts[ARTICLE_CNT];
+                cnts[COMMENT_CNT] += dayCnts[COMMENT_CNT];
+            }
+            historyUserCnts.add(cnts[USER_CNT]);
+            historyArticleCnts.add(cnts[ARTICLE_CNT]);
+            historyCommentCnts.add(cnts[COMMENT_CNT]);
+        }
+
+        return toStatistic(new List[]{monthDays, userCnts, articleCnts, commentCnts,
+                months, historyUserCnts, historyArticleCnts, historyCommentCnts});
+    }
+
+    /**
+     * Wraps the specified lists into an unmodifiable statistic data map.
+     *
+     * @param lists the specified lists in order of {@link #STATISTIC_KEYS}, a {@code null} element for an empty list
+     * @return statistic data, see {@link #getStatistic()} for details
+     */
+    private static Map<String, Object> toStatistic(final List[] lists) {
+        final Map<String, Object> ret = new HashMap<>();
+        for (int i = 0; i < STATISTIC_KEYS.length; i++) {
+            ret.put(STATISTIC_KEYS[i], null == lists[i] ? Collections.emptyList() : Collections.unmodifiableList(lists[i]));
+        }
+
+        return Collections.unmodifiableMap(ret);
+    }
+}
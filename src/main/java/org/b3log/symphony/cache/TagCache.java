@@ -35,12 +35,13 @@ import org.json.JSONObject;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Tag cache.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.5.6.4, Apr 3, 2018
+ * @version 1.7.0.2, Oct 19, 2026
  * @since 1.4.0
  */
 @Named
@@ -55,22 +56,39 @@ public class TagCache {
     /**
      * Icon tags.
      */
-    private static final List<JSONObject> ICON_TAGS = new ArrayList<>();
+    private static volatile Snapshot ICON_TAGS = Snapshot.EMPTY;
 
     /**
      * New tags.
      */
-    private static final List<JSONObject> NEW_TAGS = new ArrayList<>();
+    private static volatile Snapshot NEW_TAGS = Snapshot.EMPTY;
 
     /**
      * All tags.
      */
-    private static final List<JSONObject> TAGS = new ArrayList<>();
+    private static volatile Snapshot TAGS = Snapshot.EMPTY;
 
     /**
-     * &lt;title, URI&gt;
+     * Tag dictionary &lt;lower case title, id&gt;, holds all committed tags after {@link #loadAllTags()}. An id
+     * may be stale, it is valid only if the cached tag of the id has the title.
      */
-    private static final Map<String, String> TITLE_URIS = new ConcurrentHashMap<>();
+    private static volatile Map<String, String> TITLE_IDS = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the tag dictionary holds all tags.
+     */
+    private static volatile boolean dictionaryLoaded;
+
+    /**
+     * Tag dictionary changes made while {@link #loadAllTags()} is loading, replayed onto the loaded dictionary
+     * before it replaces the current one, {@code null} if not loading. Guarded by {@link #TITLE_LOCK}.
+     */
+    private static List<Consumer<Map<String, String>>> titleChanges;
+
+    /**
+     * Lock of tag dictionary changes.
+     */
+    private static final Object TITLE_LOCK = new Object();
 
     /**
      * &lt;id, tag&gt;
@@ -89,48 +107,137 @@ public class TagCache {
             return null;
         }
 
-        final JSONObject ret = JSONs.clone(tag);
-
-        TITLE_URIS.put(ret.optString(Tag.TAG_TITLE), ret.optString(Tag.TAG_URI));
+        return JSONs.clone(tag);
+    }
 
-        return ret;
+    /**
+     * Gets a tag by the specified tag id without copying it.
+     *
+     * @param id the specified tag id
+     * @return tag shared with the cache, callers must not modify it, returns {@code null} if not found
+     */
+    public JSONObject getReadOnlyTag(final String id) {
+        return CACHE.get(id);
     }
 
     /**
-     * Adds or updates the specified tag.
+     * Adds or updates the specified tag, the tag dictionary is not changed.
      *
      * @param tag the specified tag
+     * @see #putTitle(String, String)
      */
     public void putTag(final JSONObject tag) {
         CACHE.put(tag.optString(Keys.OBJECT_ID), JSONs.clone(tag));
-
-        TITLE_URIS.put(tag.optString(Tag.TAG_TITLE), tag.optString(Tag.TAG_URI));
     }
 
     /**
-     * Removes a tag by the specified tag id.
+     * Removes a tag by the specified tag id, the tag dictionary is not changed.
      *
      * @param id the specified tag id
+     * @see #removeTitle(String, String)
      */
     public void removeTag(final String id) {
-        final JSONObject tag = CACHE.get(id);
-        if (null == tag) {
-            return;
-        }
-
         CACHE.remove(id);
+    }
+
+    /**
+     * Puts the specified title of a tag specified by the given id into the tag dictionary, should be invoked after
+     * the tag committed.
+     *
+     * @param id    the given id
+     * @param title the specified title
+     */
+    public void putTitle(final String id, final String title) {
+        final String key = titleKey(title);
+        synchronized (TITLE_LOCK) {
+            TITLE_IDS.put(key, id);
+            if (null != titleChanges) {
+                titleChanges.add(titleIds -> titleIds.put(key, id));
+            }
+        }
+    }
 
-        TITLE_URIS.remove(tag.optString(Tag.TAG_TITLE));
+    /**
+     * Removes the specified title of a tag specified by the given id from the tag dictionary, should be invoked after
+     * the change committed.
+     *
+     * @param id    the given id
+     * @param title the specified title
+     */
+    public void removeTitle(final String id, final String title) {
+        final String key = titleKey(title);
+        synchronized (TITLE_LOCK) {
+            TITLE_IDS.remove(key, id);
+            if (null != titleChanges) {
+                titleChanges.add(titleIds -> titleIds.remove(key, id));
+            }
+        }
     }
 
     /**
-     * Gets a tag URI with the specified tag title.
+     * Gets a tag URI with the specified tag title, case-insensitive.
      *
      * @param title the specified tag title
      * @return tag URI, returns {@code null} if not found
      */
     public String getURIByTitle(final String title) {
-        return TITLE_URIS.get(title);
+        final JSONObject tag = getReadOnlyTagByTitle(title);
+        if (null == tag) {
+            return null;
+        }
+
+        return tag.optString(Tag.TAG_URI);
+    }
+
+    /**
+     * Gets a tag by the specified tag title, case-insensitive.
+     *
+     * @param title the specified tag title
+     * @return tag, returns {@code null} if not found
+     */
+    public JSONObject getTagByTitle(final String title) {
+        final JSONObject tag = getReadOnlyTagByTitle(title);
+        if (null == tag) {
+            return null;
+        }
+
+        return JSONs.clone(tag);
+    }
+
+    /**
+     * Gets a tag by the specified tag title without copying it, case-insensitive.
+     *
+     * @param title the specified tag title
+     * @return tag shared with the cache, callers must not modify it, returns {@code null} if not found
+     */
+    public JSONObject getReadOnlyTagByTitle(final String title) {
+        if (null == title) {
+            return null;
+        }
+
+        final String key = titleKey(title);
+        final String id = TITLE_IDS.get(key);
+        if (null == id) {
+            return null;
+        }
+
+        final JSONObject ret = CACHE.get(id);
+        if (null == ret || !key.equals(titleKey(ret.optString(Tag.TAG_TITLE)))) { // stale id
+            return null;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Determines whether a tag with the specified title does not exist, that is the tag dictionary holds all tags
+     * and misses the title, case-insensitive.
+     *
+     * @param title the specified title
+     * @return {@code true} if absent, returns {@code false} if it exists or is unknown
+     */
+    public boolean isTitleAbsent(final String title) {
+        return dictionaryLoaded && null != title && !TITLE_IDS.containsKey(titleKey(title));
     }
 
     /**
@@ -139,11 +246,7 @@ public class TagCache {
      * @return new tags
      */
     public List<JSONObject> getNewTags() {
-        if (NEW_TAGS.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        return new ArrayList<>(NEW_TAGS);
+        return NEW_TAGS.getItems();
     }
 
     /**
@@ -153,13 +256,7 @@ public class TagCache {
      * @return icon tags
      */
     public List<JSONObject> getIconTags(final int fetchSize) {
-        if (ICON_TAGS.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        final int end = fetchSize >= ICON_TAGS.size() ? ICON_TAGS.size() : fetchSize;
-
-        return new ArrayList<>(ICON_TAGS.subList(0, end));
+        return ICON_TAGS.head(fetchSize);
     }
 
     /**
@@ -168,11 +265,26 @@ public class TagCache {
      * @return all tags
      */
     public List<JSONObject> getTags() {
-        if (TAGS.isEmpty()) {
-            return Collections.emptyList();
-        }
+        return TAGS.getItems();
+    }
 
-        return new ArrayList<>(TAGS);
+    /**
+     * Gets the statistic of all tags, icon tags and new tags.
+     *
+     * @return for example, <pre>
+     * {
+     *     "tags": {"size": 10, "loadedTime": long, "loadElapsed": 23},
+     *     "iconTags": {....},
+     *     "newTags": {....}
+     * }
+     * </pre>
+     * @see Snapshot#getStat()
+     */
+    public JSONObject getStat() {
+        return new JSONObject().put("tags", TAGS.getStat()).
+                put("iconTags", ICON_TAGS.getStat()).
+                put("newTags", NEW_TAGS.getStat()).
+                put("dictionary", new JSONObject().put("size", TITLE_IDS.size()).put("loaded", dictionaryLoaded));
     }
 
     /**
@@ -196,10 +308,10 @@ public class TagCache {
 
         query.setFilter(new PropertyFilter(Tag.TAG_REFERENCE_CNT, FilterOperator.GREATER_THAN, 0));
 
+        final long start = System.currentTimeMillis();
         try {
             final JSONObject result = tagRepository.get(query);
-            NEW_TAGS.clear();
-            NEW_TAGS.addAll(CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS)));
+            NEW_TAGS = Snapshot.of(CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS)), start);
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Gets new tags failed", e);
         }
@@ -218,6 +330,7 @@ public class TagCache {
                         new PropertyFilter(Tag.TAG_STATUS, FilterOperator.EQUAL, Tag.TAG_STATUS_C_VALID)))
                 .setCurrentPageNum(1).setPageSize(Integer.MAX_VALUE).setPageCount(1)
                 .addSort(Tag.TAG_RANDOM_DOUBLE, SortDirection.ASCENDING);
+        final long start = System.currentTimeMillis();
         try {
             final JSONObject result = tagRepository.get(query);
             final List<JSONObject> tags = CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS));
@@ -228,11 +341,10 @@ public class TagCache {
 
             for (final JSONObject tag : tags) {
                 Tag.fillDescription(tag);
-                tag.put(Tag.TAG_T_TITLE_LOWER_CASE, tag.optString(Tag.TAG_TITLE).toLowerCase());
+                tag.put(Tag.TAG_T_TITLE_LOWER_CASE, titleKey(tag.optString(Tag.TAG_TITLE)));
             }
 
-            ICON_TAGS.clear();
-            ICON_TAGS.addAll(tags);
+            ICON_TAGS = Snapshot.of(tags, start);
 
             // Updates random double
             final Transaction transaction = tagRepository.beginTransaction();
@@ -248,22 +360,48 @@ public class TagCache {
     }
 
     /**
-     * Loads all tags.
+     * Loads all tags, the tag dictionary is reloaded with tags of any status.
      */
-    public void loadAllTags() {
+    public synchronized void loadAllTags() {
+        synchronized (TITLE_LOCK) {
+            titleChanges = new ArrayList<>();
+        }
+
         final LatkeBeanManager beanManager = LatkeBeanManagerImpl.getInstance();
         final TagRepository tagRepository = beanManager.getReference(TagRepository.class);
 
-        final Query query = new Query().setFilter(
-                new PropertyFilter(Tag.TAG_STATUS, FilterOperator.EQUAL, Tag.TAG_STATUS_C_VALID))
-                .setCurrentPageNum(1).setPageSize(Integer.MAX_VALUE).setPageCount(1);
+        final Query query = new Query().setCurrentPageNum(1).setPageSize(Integer.MAX_VALUE).setPageCount(1).
+                addSort(Tag.TAG_REFERENCE_CNT, SortDirection.ASCENDING);
+        final long start = System.currentTimeMillis();
         try {
             final JSONObject result = tagRepository.get(query);
             final List<JSONObject> tags = CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS));
 
+            // Titles are compared case-insensitively as the database does, the most referenced one wins
+            final Map<String, String> titleIds = new HashMap<>();
+            for (final JSONObject tag : tags) {
+                final String id = tag.optString(Keys.OBJECT_ID);
+                CACHE.put(id, JSONs.clone(tag));
+                titleIds.put(titleKey(tag.optString(Tag.TAG_TITLE)), id);
+            }
+            synchronized (TITLE_LOCK) { // the loaded titles may be older than the ones put or removed while loading
+                for (final Consumer<Map<String, String>> change : titleChanges) {
+                    change.accept(titleIds);
+                }
+                titleChanges = null;
+
+                TITLE_IDS = new ConcurrentHashMap<>(titleIds);
+            }
+            dictionaryLoaded = true;
+
             final Iterator<JSONObject> iterator = tags.iterator();
             while (iterator.hasNext()) {
                 final JSONObject tag = iterator.next();
+                if (Tag.TAG_STATUS_C_VALID != tag.optInt(Tag.TAG_STATUS)) {
+                    iterator.remove();
+
+                    continue;
+                }
 
                 String title = tag.optString(Tag.TAG_TITLE);
                 if ("".equals(title)
@@ -283,7 +421,7 @@ public class TagCache {
                 }
 
                 Tag.fillDescription(tag);
-                tag.put(Tag.TAG_T_TITLE_LOWER_CASE, tag.optString(Tag.TAG_TITLE).toLowerCase());
+                tag.put(Tag.TAG_T_TITLE_LOWER_CASE, titleKey(tag.optString(Tag.TAG_TITLE)));
             }
 
             tags.sort((t1, t2) -> {
@@ -293,15 +431,25 @@ public class TagCache {
                 return u1Title.compareTo(u2Title);
             });
 
-            TAGS.clear();
-            TAGS.addAll(tags);
+            TAGS = Snapshot.of(tags, start);
 
-            TITLE_URIS.clear();
-            for (final JSONObject tag : tags) {
-                TITLE_URIS.put(tag.optString(Tag.TAG_TITLE), tag.optString(Tag.TAG_URI));
-            }
+            LOGGER.log(Level.DEBUG, "Loaded [" + tags.size() + "] tags in [" + TAGS.getLoadElapsed() + "]ms");
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Load all tags failed", e);
+        } finally {
+            synchronized (TITLE_LOCK) {
+                titleChanges = null;
+            }
         }
     }
+
+    /**
+     * Gets the dictionary key of the specified tag title.
+     *
+     * @param title the specified tag title
+     * @return dictionary key
+     */
+    private static String titleKey(final String title) {
+        return title.toLowerCase(Locale.ROOT);
+    }
 }
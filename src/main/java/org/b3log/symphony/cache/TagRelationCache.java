@@ -0,0 +1,384 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.LatkeBeanManager;
+import org.b3log.latke.ioc.LatkeBeanManagerImpl;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.Query;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.util.Stopwatchs;
+import org.b3log.symphony.model.Common;
+import org.b3log.symphony.model.Tag;
+import org.b3log.symphony.repository.TagTagRepository;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.*;
+
+/**
+ * Tag-Tag relation cache.
+ * <p>
+ * Holds the whole tag co-occurrence graph, a relation of two tags is keyed by the pair of their interned indexes and
+ * its weight is the count of articles tagged with both of them. Weights are grown in memory, changed relations are
+ * marked dirty and their increments are written to tag_tag in batches, see {@link #drain()}. Only increments are
+ * written so nodes of a cluster can flush relations they grew independently, weights of the graph are the loaded
+ * ones plus the local increments.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+@Named
+@Singleton
+public class TagRelationCache {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(TagRelationCache.class);
+
+    /**
+     * Weight threshold of related tags.
+     */
+    private static final int WEIGHT = Symphonys.getInt("tagRelatedWeight");
+
+    /**
+     * Lock of the graph.
+     */
+    private static final Object LOCK = new Object();
+
+    /**
+     * &lt;tagId, index&gt;
+     */
+    private static final Map<String, Integer> TAG_INDEXES = new HashMap<>();
+
+    /**
+     * &lt;pair key, relation&gt;
+     */
+    private static final Map<Long, Relation> RELATIONS = new HashMap<>();
+
+    /**
+     * &lt;tagId, relations of the tag&gt;
+     */
+    private static final Map<String, List<Relation>> ADJACENT_RELATIONS = new HashMap<>();
+
+    /**
+     * Dirty relations to write.
+     */
+    private static final Set<Relation> DIRTY_RELATIONS = new LinkedHashSet<>();
+
+    /**
+     * Whether the graph has been loaded.
+     */
+    private static volatile boolean loaded;
+
+    /**
+     * Grows the graph with the specified tags of an article, the weight of each pair of them is increased by one.
+     *
+     * @param tagIds the specified tag ids
+     * @return count of dirty relations
+     */
+    public int relate(final List<String> tagIds) {
+        ensureLoaded();
+        if (!loaded) { // weights can not be grown without the persisted ones
+            LOGGER.log(Level.WARN, "Tag relations have not been loaded, skips relating tags " + tagIds);
+
+            return 0;
+        }
+
+        synchronized (LOCK) {
+            for (int i = 0; i < tagIds.size(); i++) {
+                final String tag1Id = tagIds.get(i);
+                for (int j = i + 1; j < tagIds.size(); j++) {
+                    final String tag2Id = tagIds.get(j);
+                    if (tag1Id.equals(tag2Id)) {
+                        continue;
+                    }
+
+                    Relation relation = RELATIONS.get(pairKey(tag1Id, tag2Id));
+                    if (null == relation) {
+                        relation = new Relation(null, tag1Id, tag2Id, 0);
+                        link(relation);
+                    }
+
+                    relation.weight++;
+                    relation.increment++;
+                    DIRTY_RELATIONS.add(relation);
+                }
+            }
+
+            return DIRTY_RELATIONS.size();
+        }
+    }
+
+    /**
+     * Gets ids of the related tags of a tag specified by the given tag id, ordered by weight descending.
+     *
+     * @param tagId     the given tag id
+     * @param fetchSize the specified fetch size
+     * @return related tag ids, returns an empty list if not found
+     */
+    public List<String> getRelatedTagIds(final String tagId, final int fetchSize) {
+        ensureLoaded();
+
+        final List<Relation> relations;
+        synchronized (LOCK) {
+            final List<Relation> adjacentRelations = ADJACENT_RELATIONS.get(tagId);
+            if (null == adjacentRelations) {
+                return Collections.emptyList();
+            }
+
+            relations = new ArrayList<>(adjacentRelations);
+            relations.sort((r1, r2) -> Integer.compare(r2.weight, r1.weight));
+        }
+
+        final List<String> ret = new ArrayList<>();
+        for (final Relation relation : relations) {
+            if (ret.size() >= fetchSize || relation.weight < WEIGHT) {
+                break;
+            }
+
+            ret.add(tagId.equals(relation.tag1Id) ? relation.tag2Id : relation.tag1Id);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Drains dirty relations for writing and resets their increments, the caller should call
+     * {@link #flushed(JSONObject)} for each of them after written, or {@link #redirty(List)} with them if failed.
+     *
+     * @return dirty relations, for example,
+     * <pre>
+     * [{
+     *     "oId": "", // absent if the relation has not been written yet
+     *     "tag1_oId": "",
+     *     "tag2_oId": "",
+     *     "weight": int // increment since the last drain
+     * }, ....]
+     * </pre>
+     */
+    public List<JSONObject> drain() {
+        final List<JSONObject> ret = new ArrayList<>();
+        synchronized (LOCK) {
+            for (final Relation relation : DIRTY_RELATIONS) {
+                final JSONObject record = new JSONObject();
+                if (null != relation.id) {
+                    record.put(Keys.OBJECT_ID, relation.id);
+                }
+                record.put(Tag.TAG + "1_" + Keys.OBJECT_ID, relation.tag1Id);
+                record.put(Tag.TAG + "2_" + Keys.OBJECT_ID, relation.tag2Id);
+                record.put(Common.WEIGHT, relation.increment);
+                relation.increment = 0;
+
+                ret.add(record);
+            }
+            DIRTY_RELATIONS.clear();
+        }
+
+        return ret;
+    }
+
+    /**
+     * Records the id of the specified written relation.
+     *
+     * @param record the specified written relation, see {@link #drain()}
+     */
+    public void flushed(final JSONObject record) {
+        synchronized (LOCK) {
+            final Relation relation = RELATIONS.get(pairKey(record.optString(Tag.TAG + "1_" + Keys.OBJECT_ID),
+                    record.optString(Tag.TAG + "2_" + Keys.OBJECT_ID)));
+            if (null != relation && null == relation.id) {
+                relation.id = record.optString(Keys.OBJECT_ID);
+            }
+        }
+    }
+
+    /**
+     * Marks the specified relations dirty again with their increments, they failed to write.
+     *
+     * @param records the specified relations, see {@link #drain()}
+     */
+    public void redirty(final List<JSONObject> records) {
+        synchronized (LOCK) {
+            for (final JSONObject record : records) {
+                final Relation relation = RELATIONS.get(pairKey(record.optString(Tag.TAG + "1_" + Keys.OBJECT_ID),
+                        record.optString(Tag.TAG + "2_" + Keys.OBJECT_ID)));
+                if (null != relation) {
+                    relation.increment += record.optInt(Common.WEIGHT);
+                    DIRTY_RELATIONS.add(relation);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the statistic of the graph.
+     *
+     * @return for example, <pre>
+     * {
+     *     "loaded": true,
+     *     "tags": 1024,
+     *     "relations": 8192,
+     *     "dirty": 12
+     * }
+     * </pre>
+     */
+    public JSONObject getStat() {
+        synchronized (LOCK) {
+            return new JSONObject().put("loaded", loaded).put("tags", TAG_INDEXES.size()).
+                    put("relations", RELATIONS.size()).put("dirty", DIRTY_RELATIONS.size());
+        }
+    }
+
+    /**
+     * Loads the graph from tag_tag if it has not been loaded.
+     */
+    public void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+
+        synchronized (LOCK) {
+            if (loaded) {
+                return;
+            }
+
+            loadRelations();
+        }
+    }
+
+    /**
+     * Loads all tag-tag relations.
+     */
+    private static void loadRelations() {
+        final LatkeBeanManager beanManager = LatkeBeanManagerImpl.getInstance();
+        final TagTagRepository tagTagRepository = beanManager.getReference(TagTagRepository.class);
+
+        Stopwatchs.start("Load tag relations");
+        try {
+            final Query query = new Query().setCurrentPageNum(1).setPageSize(Integer.MAX_VALUE).setPageCount(1);
+            final JSONArray records = tagTagRepository.get(query).optJSONArray(Keys.RESULTS);
+            for (int i = 0; i < records.length(); i++) {
+                final JSONObject record = records.optJSONObject(i);
+                final String tag1Id = record.optString(Tag.TAG + "1_" + Keys.OBJECT_ID);
+                final String tag2Id = record.optString(Tag.TAG + "2_" + Keys.OBJECT_ID);
+                final int weight = record.optInt(Common.WEIGHT);
+
+                final Relation existing = RELATIONS.get(pairKey(tag1Id, tag2Id));
+                if (null != existing) { // legacy relations in both directions, keeps the heavier one
+                    if (existing.weight < weight) {
+                        existing.id = record.optString(Keys.OBJECT_ID);
+                        existing.weight = weight;
+                    }
+
+                    continue;
+                }
+
+                link(new Relation(record.optString(Keys.OBJECT_ID), tag1Id, tag2Id, weight));
+            }
+
+            loaded = true;
+
+            LOGGER.log(Level.DEBUG, "Loaded [" + RELATIONS.size() + "] tag relations");
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Loads tag relations failed", e);
+        } finally {
+            Stopwatchs.end();
+        }
+    }
+
+    /**
+     * Adds the specified relation into the graph, the caller should hold {@link #LOCK}.
+     *
+     * @param relation the specified relation
+     */
+    private static void link(final Relation relation) {
+        RELATIONS.put(pairKey(relation.tag1Id, relation.tag2Id), relation);
+        ADJACENT_RELATIONS.computeIfAbsent(relation.tag1Id, id -> new ArrayList<>()).add(relation);
+        ADJACENT_RELATIONS.computeIfAbsent(relation.tag2Id, id -> new ArrayList<>()).add(relation);
+    }
+
+    /**
+     * Gets the key of a pair of tags specified by the given tag ids, the key is independent of the order of the tags.
+     * The caller should hold {@link #LOCK}.
+     *
+     * @param tag1Id the given tag1 id
+     * @param tag2Id the given tag2 id
+     * @return pair key
+     */
+    private static long pairKey(final String tag1Id, final String tag2Id) {
+        final int index1 = TAG_INDEXES.computeIfAbsent(tag1Id, id -> TAG_INDEXES.size());
+        final int index2 = TAG_INDEXES.computeIfAbsent(tag2Id, id -> TAG_INDEXES.size());
+
+        return ((long) Math.min(index1, index2) << 32) | Math.max(index1, index2);
+    }
+
+    /**
+     * Tag-Tag relation.
+     */
+    private static final class Relation {
+
+        /**
+         * Id in tag_tag, {@code null} if not written yet.
+         */
+        private String id;
+
+        /**
+         * Tag1 id.
+         */
+        private final String tag1Id;
+
+        /**
+         * Tag2 id.
+         */
+        private final String tag2Id;
+
+        /**
+         * Weight.
+         */
+        private int weight;
+
+        /**
+         * Weight grown since the last drain.
+         */
+        private int increment;
+
+        /**
+         * Constructs a relation with the specified id, tag ids and weight.
+         *
+         * @param id     the specified id
+         * @param tag1Id the specified tag1 id
+         * @param tag2Id the specified tag2 id
+         * @param weight the specified weight
+         */
+        private Relation(final String id, final String tag1Id, final String tag2Id, final int weight) {
+            this.id = id;
+            this.tag1Id = tag1Id;
+            this.tag2Id = tag2Id;
+            this.weight = weight;
+        }
+    }
+}
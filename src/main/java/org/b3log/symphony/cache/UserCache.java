@@ -21,17 +21,30 @@ import org.b3log.latke.Keys;
 import org.b3log.latke.ioc.inject.Named;
 import org.b3log.latke.ioc.inject.Singleton;
 import org.b3log.latke.model.User;
-import org.b3log.symphony.util.JSONs;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * User cache.
+ * <p>
+ * Each user is stored once, keyed by id, in a compact immutable form (a shared field name array plus a value array)
+ * and materialized into a new {@link JSONObject} on read. User names are resolved through a name-to-id index. The
+ * cache is bounded by {@code cache.userCnt} and evicts with the CLOCK (second chance) policy, users read since the
+ * clock hand last passed them are kept.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.0, Oct 2, 2017
+ * @version 2.1.0.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Named
@@ -39,14 +52,54 @@ import java.util.concurrent.ConcurrentHashMap;
 public class UserCache {
 
     /**
-     * Id, User.
+     * Max count of cached users.
      */
-    private static final Map<String, JSONObject> ID_CACHE = new ConcurrentHashMap<>();
+    private static final int MAX_CNT = Symphonys.getInt("cache.userCnt");
 
     /**
-     * Name, User.
+     * Max count of shared field name arrays.
      */
-    private static final Map<String, JSONObject> NAME_CACHE = new ConcurrentHashMap<>();
+    private static final int MAX_SCHEMA_CNT = 64;
+
+    /**
+     * &lt;id, entry&gt;
+     */
+    private static final Map<String, Entry> ID_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * &lt;name, id&gt;
+     */
+    private static final Map<String, String> NAME_INDEX = new ConcurrentHashMap<>();
+
+    /**
+     * Clock of entries, in insertion order.
+     */
+    private static final Queue<Entry> CLOCK = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Count of entries in the clock.
+     */
+    private static final AtomicInteger CLOCK_SIZE = new AtomicInteger();
+
+    /**
+     * Shared field name arrays &lt;names, names&gt;.
+     */
+    private static final Map<List<String>, String[]> SCHEMAS = new ConcurrentHashMap<>();
+
+    /**
+     * Hit count.
+     */
+    private static final LongAdder HITS = new LongAdder();
+
+    /**
+     * Miss count.
+     */
+    private static final LongAdder MISSES = new LongAdder();
+
+    /**
+     * Eviction count.
+     */
+    private static final LongAdder EVICTIONS = new LongAdder();
 
     /**
      * Gets a user by the specified user id.
@@ -55,12 +108,36 @@ public class UserCache {
      * @return user, returns {@code null} if not found
      */
     public JSONObject getUser(final String userId) {
-        final JSONObject user = ID_CACHE.get(userId);
-        if (null == user) {
+        final Entry entry = ID_CACHE.get(userId);
+        if (null == entry) {
+            MISSES.increment();
+
             return null;
         }
 
-        return JSONs.clone(user);
+        HITS.increment();
+        entry.referenced = true;
+
+        return entry.user.toJSONObject();
+    }
+
+    /**
+     * Gets a user by the specified user id without copying it. The user is materialized once and then shared until
+     * it is updated.
+     *
+     * @param userId the specified user id
+     * @return user shared with the cache, callers must not modify it, returns {@code null} if not found
+     */
+    public JSONObject getReadOnlyUser(final String userId) {
+        final Entry entry = ID_CACHE.get(userId);
+        if (null == entry) { // counted as a miss by the following getUser
+            return null;
+        }
+
+        HITS.increment();
+        entry.referenced = true;
+
+        return entry.user.toReadOnlyJSONObject();
     }
 
     /**
@@ -70,12 +147,18 @@ public class UserCache {
      * @return user, returns {@code null} if not found
      */
     public JSONObject getUserByName(final String userName) {
-        final JSONObject user = NAME_CACHE.get(userName);
-        if (null == user) {
+        final String userId = NAME_INDEX.get(userName);
+        final Entry entry = null == userId ? null : ID_CACHE.get(userId);
+        if (null == entry || !userName.equals(entry.user.name)) {
+            MISSES.increment();
+
             return null;
         }
 
-        return JSONs.clone(user);
+        HITS.increment();
+        entry.referenced = true;
+
+        return entry.user.toJSONObject();
     }
 
     /**
@@ -84,8 +167,33 @@ public class UserCache {
      * @param user the specified user
      */
     public void putUser(final JSONObject user) {
-        ID_CACHE.put(user.optString(Keys.OBJECT_ID), JSONs.clone(user));
-        NAME_CACHE.put(user.optString(User.USER_NAME), JSONs.clone(user));
+        final String userId = user.optString(Keys.OBJECT_ID);
+        final CompactUser compactUser = new CompactUser(user);
+
+        final Entry entry = ID_CACHE.get(userId);
+        if (null != entry) {
+            final String oldName = entry.user.name;
+            entry.user = compactUser;
+            if (!oldName.equals(compactUser.name)) {
+                NAME_INDEX.remove(oldName, userId);
+            }
+            NAME_INDEX.put(compactUser.name, userId);
+
+            return;
+        }
+
+        final Entry newEntry = new Entry(userId, compactUser);
+        if (null != ID_CACHE.putIfAbsent(userId, newEntry)) {
+            putUser(user);
+
+            return;
+        }
+
+        NAME_INDEX.put(compactUser.name, userId);
+        CLOCK.offer(newEntry);
+        if (CLOCK_SIZE.incrementAndGet() > MAX_CNT) {
+            evict();
+        }
     }
 
     /**
@@ -94,7 +202,231 @@ public class UserCache {
      * @param user the specified user
      */
     public void RemoveUser(final JSONObject user) {
-        ID_CACHE.remove(user.optString(Keys.OBJECT_ID));
-        NAME_CACHE.remove(user.optString(User.USER_NAME));
+        final String userId = user.optString(Keys.OBJECT_ID);
+        final Entry entry = ID_CACHE.remove(userId);
+        if (null != entry) {
+            NAME_INDEX.remove(entry.user.name, userId);
+        }
+
+        NAME_INDEX.remove(user.optString(User.USER_NAME), userId);
+    }
+
+    /**
+     * Gets the statistic of this cache.
+     *
+     * @return for example, <pre>
+     * {
+     *     "size": 1024,
+     *     "maxSize": 65536,
+     *     "hits": 10240,
+     *     "misses": 1024,
+     *     "hitRate": 0.91,
+     *     "evictions": 0
+     * }
+     * </pre>
+     */
+    public JSONObject getStat() {
+        final long hits = HITS.sum();
+        final long misses = MISSES.sum();
+        final long total = hits + misses;
+
+        return new JSONObject().put("size", ID_CACHE.size()).put("maxSize", MAX_CNT).
+                put("hits", hits).put("misses", misses).put("hitRate", 0 == total ? 0D : (double) hits / total).
+                put("evictions", EVICTIONS.sum());
+    }
+
+    /**
+     * Evicts entries until the clock fits the max count. An entry read since the last pass gets a second chance.
+     */
+    private static void evict() {
+        while (CLOCK_SIZE.get() > MAX_CNT) {
+            final Entry entry = CLOCK.poll();
+            if (null == entry) {
+                return;
+            }
+
+            if (entry != ID_CACHE.get(entry.id)) { // removed
+                CLOCK_SIZE.decrementAndGet();
+
+                continue;
+            }
+
+            if (entry.referenced) {
+                entry.referenced = false;
+                CLOCK.offer(entry);
+
+                continue;
+            }
+
+            CLOCK_SIZE.decrementAndGet();
+            if (ID_CACHE.remove(entry.id, entry)) {
+                NAME_INDEX.remove(entry.user.name, entry.id);
+                EVICTIONS.increment();
+            }
+        }
+    }
+
+    /**
+     * Gets the shared field name array of the specified names.
+     *
+     * @param names the specified names
+     * @return shared names, returns the specified names if there are too many schemas
+     */
+    private static String[] intern(final String[] names) {
+        final List<String> key = Arrays.asList(names);
+        final String[] ret = SCHEMAS.get(key);
+        if (null != ret) {
+            return ret;
+        }
+
+        if (SCHEMAS.size() >= MAX_SCHEMA_CNT) {
+            return names;
+        }
+
+        final String[] existing = SCHEMAS.putIfAbsent(key, names);
+
+        return null == existing ? names : existing;
+    }
+
+    /**
+     * Cache entry.
+     */
+    private static final class Entry {
+
+        /**
+         * User id.
+         */
+        private final String id;
+
+        /**
+         * User.
+         */
+        private volatile CompactUser user;
+
+        /**
+         * Whether read since the clock hand last passed.
+         */
+        private volatile boolean referenced;
+
+        /**
+         * Constructs an entry with the specified user id and user.
+         *
+         * @param id   the specified user id
+         * @param user the specified user
+         */
+        private Entry(final String id, final CompactUser user) {
+            this.id = id;
+            this.user = user;
+        }
+    }
+
+    /**
+     * Compact immutable user.
+     */
+    private static final class CompactUser {
+
+        /**
+         * User name.
+         */
+        private final String name;
+
+        /**
+         * Field names, shared by users with the same fields.
+         */
+        private final String[] names;
+
+        /**
+         * Field values, {@link JSONObject} and {@link JSONArray} values are kept in their string form.
+         */
+        private final Object[] values;
+
+        /**
+         * Shared materialized user, created on the first read-only access.
+         */
+        private volatile JSONObject readOnly;
+
+        /**
+         * Constructs a compact user with the specified user.
+         *
+         * @param user the specified user
+         */
+        private CompactUser(final JSONObject user) {
+            name = user.optString(User.USER_NAME);
+
+            final String[] fieldNames = JSONObject.getNames(user);
+            if (null == fieldNames) {
+                names = new String[0];
+                values = new Object[0];
+
+                return;
+            }
+
+            Arrays.sort(fieldNames);
+            names = intern(fieldNames);
+            values = new Object[names.length];
+            for (int i = 0; i < names.length; i++) {
+                final Object value = user.opt(names[i]);
+                if (value instanceof JSONObject || value instanceof JSONArray) {
+                    values[i] = new JSONText(value.toString());
+                } else {
+                    values[i] = value;
+                }
+            }
+        }
+
+        /**
+         * Gets the shared materialized user.
+         *
+         * @return user, callers must not modify it
+         */
+        private JSONObject toReadOnlyJSONObject() {
+            JSONObject ret = readOnly;
+            if (null == ret) {
+                ret = toJSONObject();
+                readOnly = ret;
+            }
+
+            return ret;
+        }
+
+        /**
+         * Materializes a new user from this compact user.
+         *
+         * @return user
+         */
+        private JSONObject toJSONObject() {
+            final JSONObject ret = new JSONObject();
+            for (int i = 0; i < names.length; i++) {
+                final Object value = values[i];
+                if (value instanceof JSONText) {
+                    final String text = ((JSONText) value).text;
+                    ret.put(names[i], text.startsWith("[") ? new JSONArray(text) : new JSONObject(text));
+                } else {
+                    ret.put(names[i], value);
+                }
+            }
+
+            return ret;
+        }
+    }
+
+    /**
+     * String form of a nested JSON value.
+     */
+    private static final class JSONText {
+
+        /**
+         * Text.
+         */
+        private final String text;
+
+        /**
+         * Constructs a JSON text with the specified text.
+         *
+         * @param text the specified text
+         */
+        private JSONText(final String text) {
+            this.text = text;
+        }
     }
 }
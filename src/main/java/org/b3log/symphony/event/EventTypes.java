@@ -21,7 +21,7 @@ package org.b3log.symphony.event;
  * Event types.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.1, May 6, 2017
+ * @version 1.2.0.0, Oct 19, 2026
  * @since 0.2.0
  */
 public final class EventTypes {
@@ -46,6 +46,16 @@ public final class EventTypes {
      */
     public static final String UPDATE_COMMENT = "Update Comment";
 
+    /**
+     * Indicates a remove article event.
+     */
+    public static final String REMOVE_ARTICLE = "Remove Article";
+
+    /**
+     * Indicates a remove comment event.
+     */
+    public static final String REMOVE_COMMENT = "Remove Comment";
+
     /**
      * Private constructor.
      */
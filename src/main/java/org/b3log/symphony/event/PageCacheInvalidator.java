@@ -0,0 +1,85 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.event;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.event.AbstractEventListener;
+import org.b3log.latke.event.Event;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.symphony.cache.PageCache;
+import org.b3log.symphony.model.Article;
+import org.json.JSONObject;
+
+/**
+ * Drops cached pages of the article in the event data and all cached list pages.
+ * <p>
+ * One instance is registered for each of the article and comment add/update/remove events.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.1, Oct 19, 2026
+ * @since 3.0.0
+ */
+public class PageCacheInvalidator extends AbstractEventListener<JSONObject> {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(PageCacheInvalidator.class);
+
+    /**
+     * Event type.
+     */
+    private final String eventType;
+
+    /**
+     * Page cache.
+     */
+    private final PageCache pageCache;
+
+    /**
+     * Constructs a page cache invalidator with the specified event type and page cache.
+     *
+     * @param eventType the specified event type
+     * @param pageCache the specified page cache
+     */
+    public PageCacheInvalidator(final String eventType, final PageCache pageCache) {
+        this.eventType = eventType;
+        this.pageCache = pageCache;
+    }
+
+    @Override
+    public void action(final Event<JSONObject> event) {
+        final JSONObject data = event.getData();
+        LOGGER.log(Level.TRACE, "Processing an event [type={0}, data={1}]", event.getType(), data);
+
+        final JSONObject article = data.optJSONObject(Article.ARTICLE);
+        pageCache.removeArticle(null == article ? "" : article.optString(Keys.OBJECT_ID));
+    }
+
+    /**
+     * Gets the event type.
+     *
+     * @return event type
+     */
+    @Override
+    public String getEventType() {
+        return eventType;
+    }
+}
@@ -31,7 +31,7 @@ import java.util.List;
  * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.0, Nov 15, 2016
+ * @version 1.1.0.0, Oct 19, 2026
  * @since 1.6.0
  */
 public final class Sitemap {
@@ -65,6 +65,24 @@ public final class Sitemap {
         urls.add(url);
     }
 
+    /**
+     * Gets the start of a sitemap document, used to write a sitemap in streaming.
+     *
+     * @return start of a sitemap document
+     */
+    public static String getStart() {
+        return START_DOCUMENT + START_URL_SET_ELEMENT;
+    }
+
+    /**
+     * Gets the end of a sitemap document, used to write a sitemap in streaming.
+     *
+     * @return end of a sitemap document
+     */
+    public static String getEnd() {
+        return END_URL_SET_ELEMENT;
+    }
+
     @Override
     public String toString() {
         final StringBuilder stringBuilder = new StringBuilder();
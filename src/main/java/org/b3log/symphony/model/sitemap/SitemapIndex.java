@@ -0,0 +1,190 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.model.sitemap;
+
+import org.b3log.latke.util.Strings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sitemap index.
+ *
+ * <p>
+ * See <a href="https://www.sitemaps.org/protocol.html#index">Sitemap index XML format</a>
+ * for more details.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+public final class SitemapIndex {
+
+    /**
+     * Start document.
+     */
+    private static final String START_DOCUMENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+
+    /**
+     * Start sitemap index element.
+     */
+    private static final String START_SITEMAP_INDEX_ELEMENT = "<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">";
+
+    /**
+     * End sitemap index element.
+     */
+    private static final String END_SITEMAP_INDEX_ELEMENT = "</sitemapindex>";
+
+    /**
+     * Entries.
+     */
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Adds the specified entry.
+     *
+     * @param entry the specified entry
+     */
+    public void addEntry(final Entry entry) {
+        entries.add(entry);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder stringBuilder = new StringBuilder();
+
+        stringBuilder.append(START_DOCUMENT);
+        stringBuilder.append(START_SITEMAP_INDEX_ELEMENT);
+
+        for (final Entry entry : entries) {
+            stringBuilder.append(entry.toString());
+        }
+
+        stringBuilder.append(END_SITEMAP_INDEX_ELEMENT);
+
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Sitemap index entry.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.0, Oct 19, 2026
+     * @since 3.0.0
+     */
+    public static final class Entry {
+
+        /**
+         * Start sitemap element.
+         */
+        private static final String START_SITEMAP_ELEMENT = "<sitemap>";
+
+        /**
+         * End sitemap element.
+         */
+        private static final String END_SITEMAP_ELEMENT = "</sitemap>";
+
+        /**
+         * Start location element.
+         */
+        private static final String START_LOC_ELEMENT = "<loc>";
+
+        /**
+         * End location element.
+         */
+        private static final String END_LOC_ELEMENT = "</loc>";
+
+        /**
+         * Start last modified element.
+         */
+        private static final String START_LAST_MOD_ELEMENT = "<lastmod>";
+
+        /**
+         * End last modified element.
+         */
+        private static final String END_LAST_MOD_ELEMENT = "</lastmod>";
+
+        /**
+         * Location.
+         */
+        private String loc;
+
+        /**
+         * Last modified.
+         */
+        private String lastMod;
+
+        /**
+         * Gets the location.
+         *
+         * @return location
+         */
+        public String getLoc() {
+            return loc;
+        }
+
+        /**
+         * Sets the location with the specified location.
+         *
+         * @param loc the specified location
+         */
+        public void setLoc(final String loc) {
+            this.loc = loc;
+        }
+
+        /**
+         * Gets the last modified.
+         *
+         * @return last modified
+         */
+        public String getLastMod() {
+            return lastMod;
+        }
+
+        /**
+         * Sets the last modified with the specified last modified.
+         *
+         * @param lastMod the specified modified
+         */
+        public void setLastMod(final String lastMod) {
+            this.lastMod = lastMod;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder stringBuilder = new StringBuilder();
+
+            stringBuilder.append(START_SITEMAP_ELEMENT);
+
+            stringBuilder.append(START_LOC_ELEMENT);
+            stringBuilder.append(loc);
+            stringBuilder.append(END_LOC_ELEMENT);
+
+            if (!Strings.isEmptyOrNull(lastMod)) {
+                stringBuilder.append(START_LAST_MOD_ELEMENT);
+                stringBuilder.append(lastMod);
+                stringBuilder.append(END_LAST_MOD_ELEMENT);
+            }
+
+            stringBuilder.append(END_SITEMAP_ELEMENT);
+
+            return stringBuilder.toString();
+        }
+    }
+}
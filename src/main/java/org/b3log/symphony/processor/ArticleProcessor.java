@@ -90,7 +90,7 @@ import java.util.List;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://zephyr.b3log.org">Zephyr</a>
- * @version 1.27.0.3, Feb 12, 2018
+ * @version 1.28.1.0, Oct 19, 2026
  * @since 0.2.0
  */
 @RequestProcessor
@@ -101,6 +101,12 @@ public class ArticleProcessor {
      */
     private static final Logger LOGGER = Logger.getLogger(ArticleProcessor.class);
 
+    /**
+     * Cron management service.
+     */
+    @Inject
+    private CronMgmtService cronMgmtService;
+
     /**
      * Revision query service.
      */
@@ -819,21 +825,7 @@ public class ArticleProcessor {
         if (!niceComments.isEmpty()) {
             niceCmtScore = niceComments.get(niceComments.size() - 1).optDouble(Comment.COMMENT_SCORE, 0D);
 
-            for (final JSONObject comment : niceComments) {
-                String thankTemplate = langPropsService.get("thankConfirmLabel");
-                thankTemplate = thankTemplate.replace("{point}", String.valueOf(Symphonys.getInt("pointThankComment")))
-                        .replace("{user}", comment.optJSONObject(Comment.COMMENT_T_COMMENTER).optString(User.USER_NAME));
-                comment.put(Comment.COMMENT_T_THANK_LABEL, thankTemplate);
-
-                final String commentId = comment.optString(Keys.OBJECT_ID);
-                if (isLoggedIn) {
-                   comment.put(Common.REWARDED, rewardQueryService.isRewarded(currentUserId, commentId, Reward.TYPE_C_COMMENT));
-                    final int commentVote = voteQueryService.isVoted(currentUserId, commentId);
-                    comment.put(Comment.COMMENT_T_VOTE, commentVote);
-                }
-
-                comment.put(Common.REWARED_COUNT, rewardQueryService.rewardedCount(commentId, Reward.TYPE_C_COMMENT));
-            }
+            fillCommentViewerStates(niceComments, isLoggedIn, currentUserId);
         }
 
         // Load comments
@@ -844,24 +836,11 @@ public class ArticleProcessor {
         // Fill comment thank
         Stopwatchs.start("Fills comment thank");
         try {
-            final String thankTemplate = langPropsService.get("thankConfirmLabel");
             for (final JSONObject comment : articleComments) {
                 comment.put(Comment.COMMENT_T_NICE, comment.optDouble(Comment.COMMENT_SCORE, 0D) >= niceCmtScore);
-
-                final String thankStr = thankTemplate.replace("{point}", String.valueOf(Symphonys.getInt("pointThankComment")))
-                        .replace("{user}", comment.optJSONObject(Comment.COMMENT_T_COMMENTER).optString(User.USER_NAME));
-                comment.put(Comment.COMMENT_T_THANK_LABEL, thankStr);
-
-                final String commentId = comment.optString(Keys.OBJECT_ID);
-                if (isLoggedIn) {
-                    comment.put(Common.REWARDED,
-                            rewardQueryService.isRewarded(currentUserId, commentId, Reward.TYPE_C_COMMENT));
-                    final int commentVote = voteQueryService.isVoted(currentUserId, commentId);
-                    comment.put(Comment.COMMENT_T_VOTE, commentVote);
-                }
-
-                comment.put(Common.REWARED_COUNT, rewardQueryService.rewardedCount(commentId, Reward.TYPE_C_COMMENT));
             }
+
+            fillCommentViewerStates(articleComments, isLoggedIn, currentUserId);
         } finally {
             Stopwatchs.end();
         }
@@ -897,6 +876,45 @@ public class ArticleProcessor {
         }
     }
 
+    /**
+     * Fills the specified comments with thank label, reward and vote states of the current viewer. Rewards and votes
+     * of all the comments are queried in bulk.
+     *
+     * @param comments      the specified comments
+     * @param isLoggedIn    whether the viewer is logged in
+     * @param currentUserId the viewer's user id
+     */
+    private void fillCommentViewerStates(final List<JSONObject> comments, final boolean isLoggedIn, final String currentUserId) {
+        final List<String> commentIds = new ArrayList<>(comments.size());
+        for (final JSONObject comment : comments) {
+            commentIds.add(comment.optString(Keys.OBJECT_ID));
+        }
+
+        final Map<String, Long> rewardedCounts = rewardQueryService.rewardedCounts(commentIds, Reward.TYPE_C_COMMENT);
+        Set<String> rewardedIds = Collections.emptySet();
+        Map<String, Integer> votes = Collections.emptyMap();
+        if (isLoggedIn) {
+            rewardedIds = rewardQueryService.getRewardedDataIds(currentUserId, commentIds, Reward.TYPE_C_COMMENT);
+            votes = voteQueryService.getVoteTypes(currentUserId, commentIds);
+        }
+
+        final String thankTemplate = langPropsService.get("thankConfirmLabel")
+                .replace("{point}", String.valueOf(Symphonys.getInt("pointThankComment")));
+        for (final JSONObject comment : comments) {
+            final String thankStr = thankTemplate
+                    .replace("{user}", comment.optJSONObject(Comment.COMMENT_T_COMMENTER).optString(User.USER_NAME));
+            comment.put(Comment.COMMENT_T_THANK_LABEL, thankStr);
+
+            final String commentId = comment.optString(Keys.OBJECT_ID);
+            if (isLoggedIn) {
+                comment.put(Common.REWARDED, rewardedIds.contains(commentId));
+                comment.put(Comment.COMMENT_T_VOTE, votes.getOrDefault(commentId, -1));
+            }
+
+            comment.put(Common.REWARED_COUNT, rewardedCounts.getOrDefault(commentId, 0L).longValue());
+        }
+    }
+
     /**
      * Adds an article locally.
      * <p>
@@ -1415,7 +1433,7 @@ public class ArticleProcessor {
             return;
         }
 
-        articleMgmtService.expireStick();
+        cronMgmtService.run(CronMgmtService.JOB_EXPIRE_STICK);
 
         context.renderJSON().renderTrueResult();
     }
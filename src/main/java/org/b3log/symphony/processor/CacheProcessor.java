@@ -24,9 +24,19 @@ import org.b3log.latke.servlet.HTTPRequestMethod;
 import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
 import org.b3log.symphony.cache.ArticleCache;
+import org.b3log.symphony.cache.CommentPageCache;
 import org.b3log.symphony.cache.DomainCache;
+import org.b3log.symphony.cache.PageCache;
+import org.b3log.symphony.cache.ParticipantCache;
+import org.b3log.symphony.cache.RelevantArticleCache;
+import org.b3log.symphony.cache.StatisticCache;
 import org.b3log.symphony.cache.TagCache;
+import org.b3log.symphony.cache.TagRelationCache;
+import org.b3log.symphony.cache.UserCache;
+import org.b3log.symphony.service.CronMgmtService;
+import org.b3log.symphony.util.SingleFlight;
 import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -35,10 +45,11 @@ import javax.servlet.http.HttpServletResponse;
  * Cache processor.
  * <ul>
  * <li>Refreshes cache (/cron/refresh-cache), GET</li>
+ * <li>Gets cache statistic (/cron/cache-stat), GET</li>
  * </ul>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.1, Apr 4, 2018
+ * @version 1.4.0.0, Oct 19, 2026
  * @since 2.6.0
  */
 @RequestProcessor
@@ -49,6 +60,12 @@ public class CacheProcessor {
      */
     private static final Logger LOGGER = Logger.getLogger(CacheProcessor.class);
 
+    /**
+     * Cron management service.
+     */
+    @Inject
+    private CronMgmtService cronMgmtService;
+
     /**
      * Tag cache.
      */
@@ -67,11 +84,55 @@ public class CacheProcessor {
     @Inject
     private ArticleCache articleCache;
 
+    /**
+     * User cache.
+     */
+    @Inject
+    private UserCache userCache;
+
+    /**
+     * Comment page cache.
+     */
+    @Inject
+    private CommentPageCache commentPageCache;
+
+    /**
+     * Participant cache.
+     */
+    @Inject
+    private ParticipantCache participantCache;
+
+    /**
+     * Relevant article cache.
+     */
+    @Inject
+    private RelevantArticleCache relevantArticleCache;
+
+    /**
+     * Statistic cache.
+     */
+    @Inject
+    private StatisticCache statisticCache;
+
+    /**
+     * Tag-Tag relation cache.
+     */
+    @Inject
+    private TagRelationCache tagRelationCache;
+
+    /**
+     * Page cache.
+     */
+    @Inject
+    private PageCache pageCache;
+
     /**
      * Refreshes cache.
      * <ul>
      * <li>Tags</li>
      * <li>Domains</li>
+     * <li>Pages and fragments</li>
+     * <li>Writes pending tag-tag relations</li>
      * </ul>
      *
      * @param context  the specified context
@@ -89,12 +150,42 @@ public class CacheProcessor {
             return;
         }
 
-        domainCache.loadDomains();
-        articleCache.loadPerfectArticles();
-        articleCache.loadSideHotArticles();
-        articleCache.loadSideRandomArticles();
-        tagCache.loadTags();
+        cronMgmtService.run(CronMgmtService.JOB_REFRESH_CACHE);
 
         context.renderJSON().renderTrueResult();
     }
+
+    /**
+     * Gets cache statistic, size, loaded time and load elapsed time of each cached list.
+     *
+     * @param context  the specified context
+     * @param request  the specified request
+     * @param response the specified response
+     * @throws Exception exception
+     */
+    @RequestProcessing(value = "/cron/cache-stat", method = HTTPRequestMethod.GET)
+    public void getCacheStat(final HTTPRequestContext context,
+                             final HttpServletRequest request, final HttpServletResponse response) throws Exception {
+        final String key = Symphonys.get("keyOfSymphony");
+        if (!key.equals(request.getParameter("key"))) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+
+            return;
+        }
+
+        final JSONObject stat = new JSONObject();
+        stat.put("article", articleCache.getStat());
+        stat.put("tag", tagCache.getStat());
+        stat.put("domain", domainCache.getStat());
+        stat.put("user", userCache.getStat());
+        stat.put("commentPage", commentPageCache.getStat());
+        stat.put("participant", participantCache.getStat());
+        stat.put("relevantArticle", relevantArticleCache.getStat());
+        stat.put("statistic", statisticCache.getStat());
+        stat.put("tagRelation", tagRelationCache.getStat());
+        stat.put("page", pageCache.getStat());
+        stat.put("singleFlight", SingleFlight.getStats());
+
+        context.renderJSON(stat).renderTrueResult();
+    }
 }
@@ -23,6 +23,7 @@ import jodd.util.net.MimeTypes;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.servlet.HTTPRequestMethod;
@@ -31,6 +32,7 @@ import org.b3log.latke.servlet.annotation.RequestProcessor;
 import org.b3log.latke.util.MD5;
 import org.b3log.latke.util.Strings;
 import org.b3log.symphony.SymphonyServletListener;
+import org.b3log.symphony.service.ImageQueryService;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
 
@@ -45,7 +47,7 @@ import java.util.UUID;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 2.0.0.2, Apr 28, 2018
+ * @version 2.1.0.1, Oct 19, 2026
  * @since 1.4.0
  */
 @RequestProcessor
@@ -66,6 +68,12 @@ public class FileUploadProcessor {
      */
     private static final Boolean QN_ENABLED = Symphonys.getBoolean("qiniu.enabled");
 
+    /**
+     * Image query service.
+     */
+    @Inject
+    private ImageQueryService imageQueryService;
+
     static {
         if (!QN_ENABLED) {
             final File file = new File(UPLOAD_DIR);
@@ -85,6 +93,10 @@ public class FileUploadProcessor {
 
     /**
      * Gets file by the specified URL.
+     * <p>
+     * Images can be processed with Qiniu imageView2 parameters, for example
+     * /upload/xxx.png?imageView2/1/w/180/h/135/format/jpg/interlace/1/q
+     * </p>
      *
      * @param req  the specified request
      * @param resp the specified response
@@ -112,12 +124,25 @@ public class FileUploadProcessor {
             return;
         }
 
-        final byte[] data = IOUtils.toByteArray(new FileInputStream(path));
+        final String imageView = req.getQueryString();
+        boolean fallback = false;
+        if (StringUtils.startsWith(imageView, "imageView2/")) {
+            final File original = new File(path);
+            final File processed = imageQueryService.getProcessedImage(original, imageView);
+            // The original is served when processing timed out or got rejected, don't let clients keep it for the URL
+            fallback = processed.equals(original);
+            path = processed.getPath();
+        }
+
+        final byte[] data;
+        try (final InputStream input = new FileInputStream(path)) {
+            data = IOUtils.toByteArray(input);
+        }
 
         final String ifNoneMatch = req.getHeader("If-None-Match");
         final String etag = "\"" + MD5.hash(new String(data)) + "\"";
 
-        resp.addHeader("Cache-Control", "public, max-age=31536000");
+        resp.addHeader("Cache-Control", fallback ? "no-store" : "public, max-age=31536000");
         resp.addHeader("ETag", etag);
         resp.setHeader("Server", "Latke Static Server (v" + SymphonyServletListener.VERSION + ")");
         final String ext = StringUtils.substringAfterLast(path, ".");
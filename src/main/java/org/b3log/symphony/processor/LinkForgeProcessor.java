@@ -38,6 +38,7 @@ import org.b3log.symphony.processor.advice.LoginCheck;
 import org.b3log.symphony.processor.advice.PermissionGrant;
 import org.b3log.symphony.processor.advice.stopwatch.StopwatchEndAdvice;
 import org.b3log.symphony.processor.advice.stopwatch.StopwatchStartAdvice;
+import org.b3log.symphony.service.CronMgmtService;
 import org.b3log.symphony.service.DataModelService;
 import org.b3log.symphony.service.LinkForgeMgmtService;
 import org.b3log.symphony.service.LinkForgeQueryService;
@@ -62,7 +63,7 @@ import java.util.concurrent.Executors;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 1.1.0.8, Jun 15, 2017
+ * @version 1.1.1.0, Oct 19, 2026
  * @since 1.6.0
  */
 @RequestProcessor
@@ -73,6 +74,12 @@ public class LinkForgeProcessor {
      */
     private static final ExecutorService FORGE_EXECUTOR_SERVICE = Executors.newFixedThreadPool(1);
 
+    /**
+     * Cron management service.
+     */
+    @Inject
+    private CronMgmtService cronMgmtService;
+
     /**
      * Link forget management service.
      */
@@ -185,7 +192,7 @@ public class LinkForgeProcessor {
             return;
         }
 
-        linkForgeMgmtService.purge();
+        cronMgmtService.run(CronMgmtService.JOB_PURGE_LINK_FORGE);
 
         context.renderJSON().renderTrueResult();
     }
@@ -71,7 +71,7 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 1.13.12.2, May 31, 2018
+ * @version 1.13.13.0, Oct 19, 2026
  * @since 0.2.0
  */
 @RequestProcessor
@@ -90,6 +90,12 @@ public class LoginProcessor {
      */
     private static final Logger LOGGER = Logger.getLogger(LoginProcessor.class);
 
+    /**
+     * Cron management service.
+     */
+    @Inject
+    private CronMgmtService cronMgmtService;
+
     /**
      * User management service.
      */
@@ -843,7 +849,7 @@ public class LoginProcessor {
             return;
         }
 
-        invitecodeMgmtService.expireInvitecodes();
+        cronMgmtService.run(CronMgmtService.JOB_EXPIRE_INVITECODE);
 
         context.renderJSON().renderTrueResult();
     }
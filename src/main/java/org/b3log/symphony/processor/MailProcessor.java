@@ -27,7 +27,7 @@ import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
 import org.b3log.symphony.processor.advice.stopwatch.StopwatchEndAdvice;
 import org.b3log.symphony.processor.advice.stopwatch.StopwatchStartAdvice;
-import org.b3log.symphony.service.MailMgmtService;
+import org.b3log.symphony.service.CronMgmtService;
 import org.b3log.symphony.util.Symphonys;
 
 import javax.servlet.http.HttpServletRequest;
@@ -37,7 +37,7 @@ import javax.servlet.http.HttpServletResponse;
  * Mail processor.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Sep 15, 2016
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 1.6.0
  */
 @RequestProcessor
@@ -49,10 +49,10 @@ public class MailProcessor {
     private static final Logger LOGGER = Logger.getLogger(MailProcessor.class);
 
     /**
-     * Mail management service.
+     * Cron management service.
      */
     @Inject
-    private MailMgmtService mailMgmtService;
+    private CronMgmtService cronMgmtService;
 
     /**
      * Sends weekly newsletter..
@@ -74,7 +74,7 @@ public class MailProcessor {
             return;
         }
 
-        mailMgmtService.sendWeeklyNewsletter();
+        cronMgmtService.run(CronMgmtService.JOB_SEND_WEEKLY_NEWSLETTER);
 
         context.renderJSON().renderTrueResult();
     }
@@ -0,0 +1,399 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.processor;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.LatkeBeanManager;
+import org.b3log.latke.ioc.LatkeBeanManagerImpl;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.model.User;
+import org.b3log.latke.util.AntPathMatcher;
+import org.b3log.latke.util.Locales;
+import org.b3log.symphony.cache.PageCache;
+import org.b3log.symphony.model.Common;
+import org.b3log.symphony.processor.advice.AnonymousViewCheck;
+import org.b3log.symphony.service.ArticleMgmtService;
+import org.b3log.symphony.util.Symphonys;
+
+import javax.servlet.*;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Page cache filter.
+ * <p>
+ * Serves pages configured in {@code pageCache.uris} from {@link PageCache} for anonymous visitors and search engine
+ * bots. Requests with query parameters other than {@code pageCache.params}, pjax requests and requests limited by
+ * {@link AnonymousViewCheck} always go through. Only successful HTML responses not setting cookies are cached, the
+ * key consists of URI, query string, skin, locale, mobile and bot flags.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+@WebFilter(urlPatterns = "/*")
+public class PageCacheFilter implements Filter {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(PageCacheFilter.class);
+
+    /**
+     * Cacheable URI patterns.
+     */
+    private static final String[] URIS = Symphonys.get("pageCache.uris").split(",");
+
+    /**
+     * Allowed query parameter names.
+     */
+    private static final Set<String> PARAMS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList(Symphonys.get("pageCache.params").split(","))));
+
+    /**
+     * Page cache.
+     */
+    private PageCache pageCache;
+
+    /**
+     * Anonymous view check.
+     */
+    private AnonymousViewCheck anonymousViewCheck;
+
+    /**
+     * Article management service.
+     */
+    private ArticleMgmtService articleMgmtService;
+
+    @Override
+    public void init(final FilterConfig filterConfig) {
+        final LatkeBeanManager beanManager = LatkeBeanManagerImpl.getInstance();
+        pageCache = beanManager.getReference(PageCache.class);
+        anonymousViewCheck = beanManager.getReference(AnonymousViewCheck.class);
+        articleMgmtService = beanManager.getReference(ArticleMgmtService.class);
+    }
+
+    @Override
+    public void doFilter(final ServletRequest req, final ServletResponse resp, final FilterChain chain)
+            throws IOException, ServletException {
+        final HttpServletRequest request = (HttpServletRequest) req;
+        final HttpServletResponse response = (HttpServletResponse) resp;
+        if (!isCacheable(request)) {
+            chain.doFilter(request, response);
+
+            return;
+        }
+
+        final String key = getKey(request);
+        final String articleId = getArticleId(request);
+        final boolean isBot = (Boolean) request.getAttribute(Keys.HttpRequest.IS_SEARCH_ENGINE_BOT);
+
+        PageCache.Page page = pageCache.getPage(key);
+        boolean locked = false;
+        if (null == page) {
+            locked = pageCache.lock(key);
+            if (!locked) {
+                page = pageCache.await(key);
+            }
+        }
+
+        if (null != page) {
+            if (null != articleId && !isBot) {
+                articleMgmtService.incArticleViewCount(articleId);
+            }
+
+            write(request, response, page);
+
+            return;
+        }
+
+        if (!locked) { // the page rendered by another request is not cacheable
+            chain.doFilter(request, response);
+
+            return;
+        }
+
+        final BufferedResponse bufferedResponse = new BufferedResponse(response);
+        PageCache.Page rendered = null;
+        try {
+            chain.doFilter(request, bufferedResponse);
+
+            final byte[] body = bufferedResponse.getBody();
+            if (bufferedResponse.isCacheable()) {
+                rendered = new PageCache.Page(response.getContentType(), body, articleId);
+            }
+
+            if (0 < body.length) {
+                if (!response.isCommitted()) {
+                    response.setContentLength(body.length);
+                }
+                response.getOutputStream().write(body);
+            }
+        } finally {
+            pageCache.unlock(key, rendered);
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    /**
+     * Determines whether the specified request could be served from the page cache.
+     *
+     * @param request the specified request
+     * @return {@code true} if it could, otherwise returns {@code false}
+     */
+    private boolean isCacheable(final HttpServletRequest request) {
+        if (!Symphonys.getBoolean("pageCache.enabled") || !"GET".equals(request.getMethod())
+                || null != request.getAttribute(User.USER) || SkinRenderer.isPJAX(request)
+                || null == request.getAttribute(Keys.HttpRequest.IS_SEARCH_ENGINE_BOT)
+                || null == request.getAttribute(Common.IS_MOBILE)) {
+            return false;
+        }
+
+        final String requestURI = request.getRequestURI();
+        boolean matched = false;
+        for (final String uri : URIS) {
+            if (AntPathMatcher.match(Latkes.getContextPath() + uri, requestURI)) {
+                matched = true;
+
+                break;
+            }
+        }
+
+        if (!matched || !PARAMS.containsAll(request.getParameterMap().keySet())) {
+            return false;
+        }
+
+        try {
+            return anonymousViewCheck.isUnlimited(request);
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Checks anonymous view failed", e);
+
+            return false;
+        }
+    }
+
+    /**
+     * Gets the cache key of the specified request.
+     *
+     * @param request the specified request
+     * @return cache key
+     */
+    private static String getKey(final HttpServletRequest request) {
+        final String queryString = request.getQueryString();
+
+        return request.getRequestURI() + (null == queryString ? "" : "?" + queryString)
+                + "|" + request.getAttribute(Keys.TEMAPLTE_DIR_NAME) + "|" + Locales.getLocale()
+                + "|" + request.getAttribute(Common.IS_MOBILE) + "|" + request.getAttribute(Keys.HttpRequest.IS_SEARCH_ENGINE_BOT);
+    }
+
+    /**
+     * Gets the id of the article shown by the specified request.
+     *
+     * @param request the specified request
+     * @return article id, returns {@code null} if it is not an article page
+     */
+    private static String getArticleId(final HttpServletRequest request) {
+        final String prefix = Latkes.getContextPath() + "/article/";
+        final String requestURI = request.getRequestURI();
+        if (!requestURI.startsWith(prefix)) {
+            return null;
+        }
+
+        final String ret = StringUtils.substringAfter(requestURI, prefix);
+        if (ret.startsWith("app")) {
+            return ret.substring("app".length());
+        }
+
+        return ret;
+    }
+
+    /**
+     * Writes the specified page to the specified response, the gzip compressed body is used if accepted.
+     *
+     * @param request  the specified request
+     * @param response the specified response
+     * @param page     the specified page
+     * @throws IOException io exception
+     */
+    private static void write(final HttpServletRequest request, final HttpServletResponse response,
+                              final PageCache.Page page) throws IOException {
+        response.setContentType(page.getContentType());
+        response.setHeader("Vary", "Accept-Encoding");
+
+        byte[] body = page.getBody();
+        final String acceptEncoding = request.getHeader("Accept-Encoding");
+        if (null != page.getGzipBody() && StringUtils.containsIgnoreCase(acceptEncoding, "gzip")) {
+            body = page.getGzipBody();
+            response.setHeader("Content-Encoding", "gzip");
+        }
+
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Response buffering the body, headers and status are passed through.
+     */
+    private static final class BufferedResponse extends HttpServletResponseWrapper {
+
+        /**
+         * Body buffer.
+         */
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+
+        /**
+         * Output stream.
+         */
+        private ServletOutputStream outputStream;
+
+        /**
+         * Writer.
+         */
+        private PrintWriter writer;
+
+        /**
+         * Whether the response is cacheable.
+         */
+        private boolean cacheable = true;
+
+        /**
+         * Constructs a buffered response with the specified response.
+         *
+         * @param response the specified response
+         */
+        private BufferedResponse(final HttpServletResponse response) {
+            super(response);
+        }
+
+        /**
+         * Gets the buffered body.
+         *
+         * @return body
+         */
+        private byte[] getBody() {
+            if (null != writer) {
+                writer.flush();
+            }
+
+            return buffer.toByteArray();
+        }
+
+        /**
+         * Determines whether the response is cacheable.
+         *
+         * @return {@code true} if it is a successful HTML response without cookies, otherwise returns {@code false}
+         */
+        private boolean isCacheable() {
+            return cacheable && HttpServletResponse.SC_OK == getStatus()
+                    && StringUtils.startsWith(getContentType(), "text/html");
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (null == outputStream) {
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(final WriteListener writeListener) {
+                    }
+
+                    @Override
+                    public void write(final int b) {
+                        buffer.write(b);
+                    }
+
+                    @Override
+                    public void write(final byte[] b, final int off, final int len) {
+                        buffer.write(b, off, len);
+                    }
+                };
+            }
+
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws UnsupportedEncodingException {
+            if (null == writer) {
+                final String charset = StringUtils.defaultIfEmpty(getCharacterEncoding(), StandardCharsets.UTF_8.name());
+                writer = new PrintWriter(new OutputStreamWriter(buffer, charset));
+            }
+
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() {
+            if (null != writer) {
+                writer.flush();
+            }
+        }
+
+        @Override
+        public void setContentLength(final int len) {
+        }
+
+        @Override
+        public void setContentLengthLong(final long len) {
+        }
+
+        @Override
+        public void addCookie(final Cookie cookie) {
+            cacheable = false;
+            super.addCookie(cookie);
+        }
+
+        @Override
+        public void sendError(final int sc) throws IOException {
+            cacheable = false;
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(final int sc, final String msg) throws IOException {
+            cacheable = false;
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(final String location) throws IOException {
+            cacheable = false;
+            super.sendRedirect(location);
+        }
+    }
+}
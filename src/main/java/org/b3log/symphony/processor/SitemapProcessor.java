@@ -17,74 +17,154 @@
  */
 package org.b3log.symphony.processor;
 
+import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.ioc.inject.Inject;
-import org.b3log.latke.logging.Level;
-import org.b3log.latke.logging.Logger;
 import org.b3log.latke.servlet.HTTPRequestContext;
 import org.b3log.latke.servlet.HTTPRequestMethod;
 import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
-import org.b3log.latke.servlet.renderer.TextXMLRenderer;
-import org.b3log.symphony.model.sitemap.Sitemap;
-import org.b3log.symphony.service.SitemapQueryService;
+import org.b3log.symphony.service.CronMgmtService;
+import org.b3log.symphony.service.SitemapMgmtService;
+import org.b3log.symphony.util.Symphonys;
+import org.b3log.symphony.util.ThreadPools;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.File;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Sitemap processor.
+ * <ul>
+ * <li>Gets sitemap index (/sitemap.xml), GET</li>
+ * <li>Gets a sitemap shard (/sitemap/*), GET</li>
+ * <li>Generates sitemaps (/cron/sitemap), GET</li>
+ * </ul>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Sep 24, 2016
+ * @version 2.0.2.0, Oct 19, 2026
  * @since 1.6.0
  */
 @RequestProcessor
 public class SitemapProcessor {
 
     /**
-     * Logger.
+     * Cron management service.
      */
-    private static final Logger LOGGER = Logger.getLogger(SitemapProcessor.class);
+    @Inject
+    private CronMgmtService cronMgmtService;
 
     /**
-     * Sitemap query service.
+     * Sitemap management service.
      */
     @Inject
-    private SitemapQueryService sitemapQueryService;
+    private SitemapMgmtService sitemapMgmtService;
 
     /**
-     * Returns the sitemap.
+     * Returns the sitemap index. Generates sitemaps in background if the index has not been generated yet.
      *
-     * @param context the specified context
+     * @param request  the specified request
+     * @param response the specified response
+     * @throws IOException io exception
      */
     @RequestProcessing(value = "/sitemap.xml", method = HTTPRequestMethod.GET)
-    public void sitemap(final HTTPRequestContext context) {
-        final TextXMLRenderer renderer = new TextXMLRenderer();
+    public void sitemap(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        final File file = sitemapMgmtService.getFile(SitemapMgmtService.INDEX_FILE_NAME);
+        if (!file.isFile()) {
+            if (!sitemapMgmtService.isGenerating()) {
+                try {
+                    ThreadPools.DB.submit(sitemapMgmtService::genSitemaps);
+                } catch (final RejectedExecutionException e) {
+                    // retries on next request
+                }
+            }
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
 
-        context.setRenderer(renderer);
+            return;
+        }
 
-        final Sitemap sitemap = new Sitemap();
+        sendFile(file, "text/xml;charset=UTF-8", request, response);
+    }
 
-        try {
-            LOGGER.log(Level.INFO, "Generating sitemap....");
+    /**
+     * Returns a sitemap shard.
+     *
+     * @param request  the specified request
+     * @param response the specified response
+     * @throws IOException io exception
+     */
+    @RequestProcessing(value = "/sitemap/*", method = HTTPRequestMethod.GET)
+    public void sitemapShard(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        final String name = StringUtils.substringAfterLast(request.getRequestURI(), "/");
+        final File file = sitemapMgmtService.getFile(name);
+        if (null == file || !file.isFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
 
-            sitemapQueryService.genIndex(sitemap);
-            sitemapQueryService.genDomains(sitemap);
-            sitemapQueryService.genArticles(sitemap);
+            return;
+        }
 
-            final String content = sitemap.toString();
+        sendFile(file, "application/x-gzip", request, response);
+    }
 
-            LOGGER.log(Level.INFO, "Generated sitemap");
+    /**
+     * Generates sitemaps, regenerates only the shards touched by articles added or updated since the previous
+     * generation.
+     *
+     * @param context  the specified context
+     * @param request  the specified request
+     * @param response the specified response
+     * @throws Exception exception
+     */
+    @RequestProcessing(value = "/cron/sitemap", method = HTTPRequestMethod.GET)
+    public void genSitemaps(final HTTPRequestContext context,
+                            final HttpServletRequest request, final HttpServletResponse response) throws Exception {
+        final String key = Symphonys.get("keyOfSymphony");
+        if (!key.equals(request.getParameter("key"))) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+
+            return;
+        }
+
+        cronMgmtService.run(CronMgmtService.JOB_GEN_SITEMAP);
+
+        context.renderJSON().renderTrueResult();
+    }
+
+    /**
+     * Sends the specified file with zero-copy transfer from the file channel to the response.
+     *
+     * @param file        the specified file
+     * @param contentType the specified content type
+     * @param request     the specified request
+     * @param response    the specified response
+     * @throws IOException io exception
+     */
+    private void sendFile(final File file, final String contentType,
+                          final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        final long lastModified = file.lastModified() / 1000 * 1000;
+        if (request.getDateHeader("If-Modified-Since") >= lastModified) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+
+            return;
+        }
 
-            renderer.setContent(content);
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Get blog article feed error", e);
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            response.setContentType(contentType);
+            response.setHeader("Content-Length", String.valueOf(size));
+            response.setDateHeader("Last-Modified", lastModified);
 
-            try {
-                context.getResponse().sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
-            } catch (final IOException ex) {
-                throw new RuntimeException(ex);
+            final WritableByteChannel output = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, output);
             }
+            response.flushBuffer();
         }
     }
 }
@@ -17,9 +17,6 @@
  */
 package org.b3log.symphony.processor;
 
-import org.apache.commons.lang.time.DateFormatUtils;
-import org.apache.commons.lang.time.DateUtils;
-import org.b3log.latke.Keys;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.servlet.HTTPRequestContext;
 import org.b3log.latke.servlet.HTTPRequestMethod;
@@ -28,6 +25,7 @@ import org.b3log.latke.servlet.annotation.Before;
 import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
 import org.b3log.latke.servlet.renderer.freemarker.AbstractFreeMarkerRenderer;
+import org.b3log.symphony.cache.StatisticCache;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Option;
 import org.b3log.symphony.model.UserExt;
@@ -37,14 +35,10 @@ import org.b3log.symphony.processor.advice.stopwatch.StopwatchEndAdvice;
 import org.b3log.symphony.processor.advice.stopwatch.StopwatchStartAdvice;
 import org.b3log.symphony.service.*;
 import org.b3log.symphony.util.Symphonys;
-import org.b3log.symphony.util.Times;
 import org.json.JSONObject;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -55,69 +49,23 @@ import java.util.Map;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 1.2.1.0, Apr 4, 2018
+ * @version 1.3.1.0, Oct 19, 2026
  * @since 1.4.0
  */
 @RequestProcessor
 public class StatisticProcessor {
 
     /**
-     * Month days.
-     */
-    private final List<String> monthDays = new ArrayList<>();
-
-    /**
-     * User counts.
-     */
-    private final List<Integer> userCnts = new ArrayList<>();
-
-    /**
-     * Article counts.
-     */
-    private final List<Integer> articleCnts = new ArrayList<>();
-
-    /**
-     * Comment counts.
-     */
-    private final List<Integer> commentCnts = new ArrayList<>();
-
-    /**
-     * History months.
-     */
-    private final List<String> months = new ArrayList<>();
-
-    /**
-     * History user counts.
-     */
-    private final List<Integer> historyUserCnts = new ArrayList<>();
-
-    /**
-     * History article counts.
-     */
-    private final List<Integer> historyArticleCnts = new ArrayList<>();
-
-    /**
-     * History comment counts.
-     */
-    private final List<Integer> historyCommentCnts = new ArrayList<>();
-
-    /**
-     * User query service.
-     */
-    @Inject
-    private UserQueryService userQueryService;
-
-    /**
-     * Article query service.
+     * Cron management service.
      */
     @Inject
-    private ArticleQueryService articleQueryService;
+    private CronMgmtService cronMgmtService;
 
     /**
-     * Comment query service.
+     * Statistic cache.
      */
     @Inject
-    private CommentQueryService commentQueryService;
+    private StatisticCache statisticCache;
 
     /**
      * Option query service.
@@ -151,57 +99,7 @@ public class StatisticProcessor {
             return;
         }
 
-        final Date end = new Date();
-        final Date dayStart = DateUtils.addDays(end, -30);
-
-        monthDays.clear();
-        userCnts.clear();
-        articleCnts.clear();
-        commentCnts.clear();
-        months.clear();
-        historyArticleCnts.clear();
-        historyCommentCnts.clear();
-        historyUserCnts.clear();
-
-        for (int i = 0; i < 31; i++) {
-            final Date day = DateUtils.addDays(dayStart, i);
-            monthDays.add(DateFormatUtils.format(day, "yyyy-MM-dd"));
-
-            final int userCnt = userQueryService.getUserCntInDay(day);
-            userCnts.add(userCnt);
-
-            final int articleCnt = articleQueryService.getArticleCntInDay(day);
-            articleCnts.add(articleCnt);
-
-            final int commentCnt = commentQueryService.getCommentCntInDay(day);
-            commentCnts.add(commentCnt);
-        }
-
-        final JSONObject firstAdmin = userQueryService.getAdmins().get(0);
-        final long monthStartTime = Times.getMonthStartTime(firstAdmin.optLong(Keys.OBJECT_ID));
-        final Date monthStart = new Date(monthStartTime);
-
-        int i = 1;
-        while (true) {
-            final Date month = DateUtils.addMonths(monthStart, i);
-
-            if (month.after(end)) {
-                break;
-            }
-
-            i++;
-
-            months.add(DateFormatUtils.format(month, "yyyy-MM"));
-
-            final int userCnt = userQueryService.getUserCntInMonth(month);
-            historyUserCnts.add(userCnt);
-
-            final int articleCnt = articleQueryService.getArticleCntInMonth(month);
-            historyArticleCnts.add(articleCnt);
-
-            final int commentCnt = commentQueryService.getCommentCntInMonth(month);
-            historyCommentCnts.add(commentCnt);
-        }
+        cronMgmtService.run(CronMgmtService.JOB_LOAD_STAT);
 
         context.renderJSON().renderTrueResult();
     }
@@ -224,15 +122,7 @@ public class StatisticProcessor {
         renderer.setTemplateName("statistic.ftl");
         final Map<String, Object> dataModel = renderer.getDataModel();
 
-        dataModel.put("monthDays", monthDays);
-        dataModel.put("userCnts", userCnts);
-        dataModel.put("articleCnts", articleCnts);
-        dataModel.put("commentCnts", commentCnts);
-
-        dataModel.put("months", months);
-        dataModel.put("historyUserCnts", historyUserCnts);
-        dataModel.put("historyArticleCnts", historyArticleCnts);
-        dataModel.put("historyCommentCnts", historyCommentCnts);
+        dataModel.putAll(statisticCache.getStatistic());
 
         dataModelService.fillHeaderAndFooter(request, response, dataModel);
 
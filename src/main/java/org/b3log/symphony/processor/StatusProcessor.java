@@ -29,8 +29,11 @@ import org.b3log.symphony.model.Common;
 import org.b3log.symphony.processor.channel.ArticleChannel;
 import org.b3log.symphony.processor.channel.ArticleListChannel;
 import org.b3log.symphony.processor.channel.ChatRoomChannel;
+import org.b3log.symphony.service.CronMgmtService;
 import org.b3log.symphony.service.OptionQueryService;
+import org.b3log.symphony.util.HttpClients;
 import org.b3log.symphony.util.Symphonys;
+import org.b3log.symphony.util.ThreadPools;
 import org.json.JSONObject;
 
 import javax.servlet.http.HttpServletRequest;
@@ -43,7 +46,7 @@ import javax.servlet.http.HttpServletResponse;
  * </ul>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.4, Apr 3, 2018
+ * @version 1.3.0.0, Oct 19, 2026
  * @since 1.3.0
  */
 @RequestProcessor
@@ -54,6 +57,12 @@ public class StatusProcessor {
      */
     private static final Logger LOGGER = Logger.getLogger(StatusProcessor.class);
 
+    /**
+     * Cron management service.
+     */
+    @Inject
+    private CronMgmtService cronMgmtService;
+
     /**
      * Option query service.
      */
@@ -96,6 +105,10 @@ public class StatusProcessor {
         memory.put("used", (runtime.totalMemory() - runtime.freeMemory()) / mb);
         memory.put("max", runtime.maxMemory() / mb);
 
+        ret.put("cron", cronMgmtService.getStat());
+        ret.put("pools", ThreadPools.getStat());
+        ret.put("http", HttpClients.getStat());
+
         LOGGER.info(ret.toString(SymphonyServletListener.JSON_PRINT_INDENT_FACTOR));
         ret.put(Keys.STATUS_CODE, true);
     }
@@ -25,6 +25,7 @@ import org.b3log.latke.logging.Logger;
 import org.b3log.latke.model.Pagination;
 import org.b3log.latke.model.User;
 import org.b3log.latke.service.LangPropsService;
+import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.servlet.HTTPRequestContext;
 import org.b3log.latke.servlet.HTTPRequestMethod;
 import org.b3log.latke.servlet.annotation.After;
@@ -78,7 +79,7 @@ import java.util.Map;
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://zephyr.b3log.org">Zephyr</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 1.27.0.1, May 23, 2018
+ * @version 1.29.1.1, Oct 19, 2026
  * @since 0.2.0
  */
 @RequestProcessor
@@ -90,10 +91,10 @@ public class UserProcessor {
     private static final Logger LOGGER = Logger.getLogger(UserProcessor.class);
 
     /**
-     * User management service.
+     * Cron management service.
      */
     @Inject
-    private UserMgmtService userMgmtService;
+    private CronMgmtService cronMgmtService;
 
     /**
      * Article management service.
@@ -594,7 +595,7 @@ public class UserProcessor {
     }
 
     /**
-     * Exports posts(article/comment) to a file.
+     * Exports posts(article/comment) to a file in background.
      *
      * @param context the specified context
      * @param request the specified request
@@ -607,15 +608,35 @@ public class UserProcessor {
         final JSONObject user = (JSONObject) request.getAttribute(User.USER);
         final String userId = user.optString(Keys.OBJECT_ID);
 
-        final String downloadURL = postExportService.exportPosts(userId);
-        if ("-1".equals(downloadURL)) {
-            context.renderJSONValue(Keys.MSG, langPropsService.get("insufficientBalanceLabel"));
+        try {
+            final JSONObject progress = postExportService.exportPosts(userId);
 
-        } else if (StringUtils.isBlank(downloadURL)) {
+            context.renderJSON(true).renderJSONValue(Common.DATA, progress);
+        } catch (final ServiceException e) {
+            context.renderMsg(e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the progress of the latest posts export.
+     *
+     * @param context the specified context
+     * @param request the specified request
+     */
+    @RequestProcessing(value = "/export/posts", method = HTTPRequestMethod.GET)
+    @Before(adviceClass = {LoginCheck.class})
+    public void getExportPostsProgress(final HTTPRequestContext context, final HttpServletRequest request) {
+        context.renderJSON();
+
+        final JSONObject user = (JSONObject) request.getAttribute(User.USER);
+        final String userId = user.optString(Keys.OBJECT_ID);
+
+        final JSONObject progress = postExportService.getExportProgress(userId);
+        if (null == progress) {
             return;
         }
 
-        context.renderJSON(true).renderJSONValue("url", downloadURL);
+        context.renderJSON(true).renderJSONValue(Common.DATA, progress);
     }
 
     /**
@@ -1257,7 +1278,7 @@ public class UserProcessor {
             return;
         }
 
-        userMgmtService.resetUnverifiedUsers();
+        cronMgmtService.run(CronMgmtService.JOB_RESET_UNVERIFIED_USERS);
 
         context.renderJSON().renderTrueResult();
     }
@@ -1351,7 +1372,7 @@ public class UserProcessor {
             return;
         }
 
-        userQueryService.loadUserNames();
+        cronMgmtService.run(CronMgmtService.JOB_LOAD_USER_NAMES);
 
         context.renderJSON().renderTrueResult();
     }
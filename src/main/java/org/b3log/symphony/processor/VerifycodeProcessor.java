@@ -22,7 +22,7 @@ import org.b3log.latke.servlet.HTTPRequestContext;
 import org.b3log.latke.servlet.HTTPRequestMethod;
 import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
-import org.b3log.symphony.service.VerifycodeMgmtService;
+import org.b3log.symphony.service.CronMgmtService;
 import org.b3log.symphony.util.Symphonys;
 
 import javax.servlet.http.HttpServletRequest;
@@ -36,17 +36,17 @@ import javax.servlet.http.HttpServletResponse;
  * </ul>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.5, May 31, 2018
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 1.3.0
  */
 @RequestProcessor
 public class VerifycodeProcessor {
 
     /**
-     * Verifycode management service.
+     * Cron management service.
      */
     @Inject
-    private VerifycodeMgmtService verifycodeMgmtService;
+    private CronMgmtService cronMgmtService;
 
     /**
      * Sends email register verifycode.
@@ -66,7 +66,7 @@ public class VerifycodeProcessor {
             return;
         }
 
-        verifycodeMgmtService.sendEmailVerifycode();
+        cronMgmtService.run(CronMgmtService.JOB_SEND_EMAIL_VERIFYCODE);
 
         context.renderJSON().renderTrueResult();
     }
@@ -89,7 +89,7 @@ public class VerifycodeProcessor {
             return;
         }
 
-        verifycodeMgmtService.removeExpiredVerifycodes();
+        cronMgmtService.run(CronMgmtService.JOB_REMOVE_EXPIRED_VERIFYCODE);
 
         context.renderJSON().renderTrueResult();
     }
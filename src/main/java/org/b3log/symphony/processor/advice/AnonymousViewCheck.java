@@ -51,7 +51,7 @@ import java.util.Map;
  * Anonymous view check.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.1.6, Jun 2, 2018
+ * @version 1.4.0.0, Oct 19, 2026
  * @since 1.6.0
  */
 @Named
@@ -113,6 +113,42 @@ public class AnonymousViewCheck extends BeforeRequestProcessAdvice {
         response.addCookie(cookie);
     }
 
+    /**
+     * Determines whether the specified request URI is configured in {@code anonymousViewSkips}.
+     *
+     * @param requestURI the specified request URI
+     * @return {@code true} if it is skipped, otherwise returns {@code false}
+     */
+    private static boolean isSkipped(final String requestURI) {
+        final String[] skips = Symphonys.get("anonymousViewSkips").split(",");
+        for (final String skip : skips) {
+            if (AntPathMatcher.match(Latkes.getContextPath() + skip, requestURI)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Determines whether anonymous views of the specified request are unlimited, that is this check will neither
+     * count nor reject them.
+     *
+     * @param request the specified request
+     * @return {@code true} if unlimited, otherwise returns {@code false}
+     */
+    public boolean isUnlimited(final HttpServletRequest request) {
+        if ((Boolean) request.getAttribute(Keys.HttpRequest.IS_SEARCH_ENGINE_BOT)
+                || (Boolean) request.getAttribute(Common.IS_MOBILE)
+                || isSkipped(request.getRequestURI())) {
+            return true;
+        }
+
+        final JSONObject option = optionQueryService.getOption(Option.ID_C_MISC_ALLOW_ANONYMOUS_VIEW);
+
+        return null != option && "0".equals(option.optString(Option.OPTION_VALUE));
+    }
+
     @Override
     public void doAdvice(final HTTPRequestContext context, final Map<String, Object> args) throws RequestProcessAdviceException {
         final HttpServletRequest request = context.getRequest();
@@ -127,11 +163,8 @@ public class AnonymousViewCheck extends BeforeRequestProcessAdvice {
 
         final String requestURI = request.getRequestURI();
 
-        final String[] skips = Symphonys.get("anonymousViewSkips").split(",");
-        for (final String skip : skips) {
-            if (AntPathMatcher.match(Latkes.getContextPath() + skip, requestURI)) {
-                return;
-            }
+        if (isSkipped(requestURI)) {
+            return;
         }
 
         final JSONObject exception404 = new JSONObject();
@@ -146,7 +179,7 @@ public class AnonymousViewCheck extends BeforeRequestProcessAdvice {
             final String articleId = StringUtils.substringAfter(requestURI, Latkes.getContextPath() + "/article/");
 
             try {
-                final JSONObject article = articleRepository.get(articleId);
+                final JSONObject article = articleRepository.getReadOnly(articleId);
                 if (null == article) {
                     throw new RequestProcessAdviceException(exception404);
                 }
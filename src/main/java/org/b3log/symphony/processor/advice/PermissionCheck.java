@@ -17,22 +17,19 @@
  */
 package org.b3log.symphony.processor.advice;
 
+import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.ioc.inject.Named;
 import org.b3log.latke.ioc.inject.Singleton;
-import org.b3log.latke.logging.Level;
-import org.b3log.latke.logging.Logger;
 import org.b3log.latke.model.User;
 import org.b3log.latke.service.LangPropsService;
-import org.b3log.latke.servlet.DispatcherServlet;
 import org.b3log.latke.servlet.HTTPRequestContext;
 import org.b3log.latke.servlet.advice.BeforeRequestProcessAdvice;
 import org.b3log.latke.servlet.advice.RequestProcessAdviceException;
-import org.b3log.latke.servlet.handler.MatchResult;
-import org.b3log.latke.servlet.handler.RequestDispatchHandler;
 import org.b3log.latke.util.Stopwatchs;
-import org.b3log.symphony.model.Permission;
+import org.b3log.symphony.cache.PermissionCache;
 import org.b3log.symphony.model.Role;
 import org.b3log.symphony.service.RoleQueryService;
 import org.b3log.symphony.util.Symphonys;
@@ -40,32 +37,28 @@ import org.json.JSONObject;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.lang.reflect.Method;
 import java.util.*;
 
 /**
  * Permission check.
+ * <p>
+ * URL permission rules are compiled at class loading into an exact lookup for plain URIs and per-method pattern lists
+ * for URIs with path variables ({@code /article/{id}}), requisite permissions are held as bits of
+ * {@link PermissionCache}.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.0, May 1, 2018
+ * @version 1.1.0.1, Oct 19, 2026
  * @since 1.8.0
  */
 @Named
 @Singleton
 public class PermissionCheck extends BeforeRequestProcessAdvice {
 
-    /**
-     * Logger.
-     */
-    private static final Logger LOGGER = Logger.getLogger(PermissionCheck.class);
-
     /**
      * URL permission rules.
-     * <p>
-     * &lt;"url:method", permissions&gt;
-     * </p>
      */
-    private static final Map<String, Set<String>> URL_PERMISSION_RULES = new HashMap<>();
+    private static final URLRules URL_RULES = new URLRules();
 
     static {
         // Loads permission URL rules
@@ -73,12 +66,20 @@ public class PermissionCheck extends BeforeRequestProcessAdvice {
 
         final Set<String> keys = Symphonys.CFG.keySet();
         for (final String key : keys) {
-            if (key.startsWith(prefix)) {
-                final String value = Symphonys.CFG.getString(key);
-                final Set<String> permissions = new HashSet<>(Arrays.asList(value.split(",")));
+            if (!key.startsWith(prefix)) {
+                continue;
+            }
 
-                URL_PERMISSION_RULES.put(key, permissions);
+            final String rule = key.substring(prefix.length());
+            final String pattern = StringUtils.substringBeforeLast(rule, ".");
+            final String method = StringUtils.substringAfterLast(rule, ".").toUpperCase();
+
+            final Set<String> permissions = new HashSet<>();
+            for (final String permission : Symphonys.CFG.getString(key).split(",")) {
+                permissions.add(permission.trim());
             }
+
+            URL_RULES.add(pattern, method, PermissionCache.toBits(permissions));
         }
     }
 
@@ -87,12 +88,39 @@ public class PermissionCheck extends BeforeRequestProcessAdvice {
      */
     @Inject
     private LangPropsService langPropsService;
+
     /**
      * Role query service.
      */
     @Inject
     private RoleQueryService roleQueryService;
 
+    /**
+     * Gets requisite permissions of the specified URI and method.
+     *
+     * @param uri    the specified URI (without context path)
+     * @param method the specified method
+     * @return requisite permission bits, returns {@code null} if no rule matched
+     */
+    static BitSet getRequisitePermissions(final String uri, final String method) {
+        return URL_RULES.get(uri, method);
+    }
+
+    /**
+     * Gets the URI without the specified context path of the specified request URI.
+     *
+     * @param requestURI  the specified request URI
+     * @param contextPath the specified context path, for example "/sym", may be blank
+     * @return URI without context path
+     */
+    static String getURI(final String requestURI, final String contextPath) {
+        if (StringUtils.isNotBlank(contextPath) && requestURI.startsWith(contextPath)) {
+            return requestURI.substring(contextPath.length());
+        }
+
+        return requestURI;
+    }
+
     @Override
     public void doAdvice(final HTTPRequestContext context, final Map<String, Object> args) throws RequestProcessAdviceException {
         Stopwatchs.start("Check Permissions");
@@ -100,45 +128,161 @@ public class PermissionCheck extends BeforeRequestProcessAdvice {
         try {
             final HttpServletRequest request = context.getRequest();
 
-            final JSONObject exception = new JSONObject();
-            exception.put(Keys.MSG, langPropsService.get("noPermissionLabel"));
-            exception.put(Keys.STATUS_CODE, HttpServletResponse.SC_FORBIDDEN);
-
-            final String prefix = "permission.rule.url.";
-            final String requestURI = request.getRequestURI();
-            final String method = request.getMethod();
-            String rule = prefix;
-
-            final RequestDispatchHandler requestDispatchHandler
-                    = (RequestDispatchHandler) DispatcherServlet.SYS_HANDLER.get(2 /* DispatcherServlet#L69 */);
-
-            try {
-                final Method doMatch = RequestDispatchHandler.class.getDeclaredMethod("doMatch",
-                        String.class, String.class);
-                doMatch.setAccessible(true);
-                final MatchResult matchResult = (MatchResult) doMatch.invoke(requestDispatchHandler, requestURI, method);
-
-                rule += matchResult.getMatchedPattern() + "." + method;
-            } catch (final Exception e) {
-                LOGGER.log(Level.ERROR, "Match method failed", e);
-
-                throw new RequestProcessAdviceException(exception);
-            }
+            final String uri = getURI(request.getRequestURI(), Latkes.getContextPath());
 
-            final Set<String> requisitePermissions = URL_PERMISSION_RULES.get(rule);
+            final BitSet requisitePermissions = getRequisitePermissions(uri, request.getMethod());
             if (null == requisitePermissions) {
                 return;
             }
 
             final JSONObject user = (JSONObject) request.getAttribute(User.USER);
             final String roleId = null != user ? user.optString(User.USER_ROLE) : Role.ROLE_ID_C_VISITOR;
-            final Set<String> grantPermissions = roleQueryService.getPermissions(roleId);
 
-            if (!Permission.hasPermission(requisitePermissions, grantPermissions)) {
+            if (!roleQueryService.hasPermissions(roleId, requisitePermissions)) {
+                final JSONObject exception = new JSONObject();
+                exception.put(Keys.MSG, langPropsService.get("noPermissionLabel"));
+                exception.put(Keys.STATUS_CODE, HttpServletResponse.SC_FORBIDDEN);
+
                 throw new RequestProcessAdviceException(exception);
             }
         } finally {
             Stopwatchs.end();
         }
     }
+
+    /**
+     * URL permission rules, an exact lookup for plain URIs and per-method pattern lists for URIs with path variables.
+     */
+    static final class URLRules {
+
+        /**
+         * Rules of plain URIs.
+         * <p>
+         * &lt;"method uri", permissions&gt;
+         * </p>
+         */
+        private final Map<String, BitSet> exactRules = new HashMap<>();
+
+        /**
+         * Rules of URI patterns.
+         * <p>
+         * &lt;method, rules&gt;, rules are ordered by literal segment count descending
+         * </p>
+         */
+        private final Map<String, List<PatternRule>> patternRules = new HashMap<>();
+
+        /**
+         * Adds a rule with the specified URI pattern, method and requisite permissions.
+         *
+         * @param pattern     the specified URI pattern, for example {@code /admin/user/{userId}/email}
+         * @param method      the specified method, for example "GET"
+         * @param permissions the specified requisite permissions
+         */
+        void add(final String pattern, final String method, final BitSet permissions) {
+            if (!pattern.contains("{")) {
+                exactRules.put(method + " " + pattern, permissions);
+
+                return;
+            }
+
+            List<PatternRule> rules = patternRules.get(method);
+            if (null == rules) {
+                rules = new ArrayList<>();
+                patternRules.put(method, rules);
+            }
+            rules.add(new PatternRule(pattern, permissions));
+            rules.sort((r1, r2) -> r2.literalCnt - r1.literalCnt);
+        }
+
+        /**
+         * Gets requisite permissions of the specified URI and method.
+         *
+         * @param uri    the specified URI (without context path)
+         * @param method the specified method
+         * @return requisite permission bits, returns {@code null} if no rule matched
+         */
+        BitSet get(final String uri, final String method) {
+            final BitSet ret = exactRules.get(method + " " + uri);
+            if (null != ret) {
+                return ret;
+            }
+
+            final List<PatternRule> rules = patternRules.get(method);
+            if (null == rules) {
+                return null;
+            }
+
+            final String[] segments = StringUtils.split(uri, '/');
+            for (final PatternRule rule : rules) {
+                if (rule.matches(segments)) {
+                    return rule.permissions;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * URL permission rule of a URI pattern.
+     */
+    private static final class PatternRule {
+
+        /**
+         * Pattern segments, {@code null} for a path variable.
+         */
+        private final String[] segments;
+
+        /**
+         * Literal segment count.
+         */
+        private final int literalCnt;
+
+        /**
+         * Requisite permissions.
+         */
+        private final BitSet permissions;
+
+        /**
+         * Constructs a rule with the specified pattern and requisite permissions.
+         *
+         * @param pattern     the specified pattern, for example {@code /admin/user/{userId}/email}
+         * @param permissions the specified requisite permissions
+         */
+        private PatternRule(final String pattern, final BitSet permissions) {
+            segments = StringUtils.split(pattern, '/');
+
+            int cnt = 0;
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].startsWith("{") && segments[i].endsWith("}")) {
+                    segments[i] = null;
+                } else {
+                    cnt++;
+                }
+            }
+            literalCnt = cnt;
+
+            this.permissions = permissions;
+        }
+
+        /**
+         * Checks whether the specified URI segments match this rule.
+         *
+         * @param uriSegments the specified URI segments
+         * @return {@code true} if matched, returns {@code false} otherwise
+         */
+        private boolean matches(final String[] uriSegments) {
+            if (uriSegments.length != segments.length) {
+                return false;
+            }
+
+            for (int i = 0; i < segments.length; i++) {
+                if (null != segments[i] && !segments[i].equals(uriSegments[i])) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
 }
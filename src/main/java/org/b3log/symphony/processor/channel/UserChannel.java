@@ -21,14 +21,10 @@ import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.ioc.LatkeBeanManager;
 import org.b3log.latke.ioc.LatkeBeanManagerImpl;
-import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.model.User;
-import org.b3log.latke.repository.Transaction;
-import org.b3log.latke.repository.jdbc.JdbcRepository;
 import org.b3log.symphony.model.Common;
-import org.b3log.symphony.model.UserExt;
-import org.b3log.symphony.repository.UserRepository;
+import org.b3log.symphony.service.UserPresenceService;
 import org.json.JSONObject;
 
 import javax.websocket.*;
@@ -42,7 +38,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * User channel.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.0, Nov 3, 2016
+ * @version 1.0.2.0, Oct 19, 2026
  * @since 1.4.0
  */
 @ServerEndpoint(value = "/user-channel", configurator = Channels.WebSocketConfigurator.class)
@@ -180,27 +176,20 @@ public class UserChannel {
         }
     }
 
+    /**
+     * Updates the online flag of the specified user.
+     *
+     * @param userId the specified user id
+     * @param online the specified online flag
+     */
     private void updateUserOnlineFlag(final String userId, final boolean online) {
         final LatkeBeanManager beanManager = LatkeBeanManagerImpl.getInstance();
-        final UserRepository userRepository = beanManager.getReference(UserRepository.class);
-
-        final Transaction transaction = userRepository.beginTransaction();
-        try {
-            final JSONObject user = userRepository.get(userId);
-            user.put(UserExt.USER_ONLINE_FLAG, online);
-            user.put(UserExt.USER_LATEST_LOGIN_TIME, System.currentTimeMillis());
-
-            userRepository.update(userId, user);
-
-            transaction.commit();
-        } catch (final Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
+        final UserPresenceService userPresenceService = beanManager.getReference(UserPresenceService.class);
 
-            LOGGER.log(Level.ERROR, "Update user error", e);
-        } finally {
-            JdbcRepository.dispose();
+        if (online) {
+            userPresenceService.online(userId, null);
+        } else {
+            userPresenceService.offline(userId);
         }
     }
 }
@@ -23,7 +23,10 @@ import org.b3log.latke.repository.*;
 import org.b3log.latke.repository.annotation.Repository;
 import org.b3log.latke.util.CollectionUtils;
 import org.b3log.symphony.cache.ArticleCache;
+import org.b3log.symphony.cache.RelevantArticleCache;
 import org.b3log.symphony.model.Article;
+import org.b3log.symphony.util.JSONs;
+import org.b3log.symphony.util.SingleFlight;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -34,11 +37,16 @@ import java.util.List;
  * Article repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.1.5, Apr 6, 2018
+ * @version 1.4.0.2, Oct 19, 2026
  * @since 0.2.0
  */
 @Repository
-public class ArticleRepository extends AbstractRepository {
+public class ArticleRepository extends MeteredRepository {
+
+    /**
+     * Single flight of loading articles.
+     */
+    private static final SingleFlight<JSONObject> SINGLE_FLIGHT = new SingleFlight<>("article", JSONs::clone);
 
     /**
      * Article cache.
@@ -46,6 +54,12 @@ public class ArticleRepository extends AbstractRepository {
     @Inject
     private ArticleCache articleCache;
 
+    /**
+     * Relevant article cache.
+     */
+    @Inject
+    private RelevantArticleCache relevantArticleCache;
+
     /**
      * Public constructor.
      */
@@ -58,16 +72,35 @@ public class ArticleRepository extends AbstractRepository {
         super.remove(id);
 
         articleCache.removeArticle(id);
+        afterCommit(() -> {
+            articleCache.articleRemoved(id);
+            relevantArticleCache.articleRemoved(id);
+        });
     }
 
     @Override
     public JSONObject get(final String id) throws RepositoryException {
-        JSONObject ret = articleCache.getArticle(id);
+        final JSONObject ret = articleCache.getArticle(id);
         if (null != ret) {
             return ret;
         }
 
-        ret = super.get(id);
+        if (hasTransactionBegun()) { // may read uncommitted changes of this transaction, do not share them
+            return load(id);
+        }
+
+        return SINGLE_FLIGHT.execute(id, () -> load(id));
+    }
+
+    /**
+     * Loads a article specified by the given id from database and caches it.
+     *
+     * @param id the given id
+     * @return article, returns {@code null} if not found
+     * @throws RepositoryException repository exception
+     */
+    private JSONObject load(final String id) throws RepositoryException {
+        final JSONObject ret = super.get(id);
         if (null == ret) {
             return null;
         }
@@ -77,12 +110,44 @@ public class ArticleRepository extends AbstractRepository {
         return ret;
     }
 
+    /**
+     * Gets an article by the specified id, a cached one is returned without being copied.
+     *
+     * @param id the specified id
+     * @return article, callers must not modify it, returns {@code null} if not found
+     * @throws RepositoryException repository exception
+     */
+    public JSONObject getReadOnly(final String id) throws RepositoryException {
+        final JSONObject ret = articleCache.getReadOnlyArticle(id);
+        if (null != ret) {
+            return ret;
+        }
+
+        return get(id);
+    }
+
+    @Override
+    public String add(final JSONObject article) throws RepositoryException {
+        final String ret = super.add(article);
+
+        article.put(Keys.OBJECT_ID, ret);
+        final JSONObject added = JSONs.clone(article);
+        afterCommit(() -> articleCache.articleAdded(added));
+
+        return ret;
+    }
+
     @Override
     public void update(final String id, final JSONObject article) throws RepositoryException {
         super.update(id, article);
 
         article.put(Keys.OBJECT_ID, id);
         articleCache.putArticle(article);
+        final JSONObject updated = JSONs.clone(article);
+        afterCommit(() -> {
+            articleCache.articleUpdated(updated);
+            relevantArticleCache.articleUpdated(updated);
+        });
     }
 
     @Override
@@ -93,9 +158,10 @@ public class ArticleRepository extends AbstractRepository {
 
         Query query = new Query().setFilter(
                 CompositeFilterOperator.and(new PropertyFilter(Article.ARTICLE_RANDOM_DOUBLE, FilterOperator.GREATER_THAN_OR_EQUAL, mid),
-                        new PropertyFilter(Article.ARTICLE_RANDOM_DOUBLE, FilterOperator.LESS_THAN_OR_EQUAL, mid),
+                        new PropertyFilter(Article.ARTICLE_RANDOM_DOUBLE, FilterOperator.LESS_THAN_OR_EQUAL, 1D),
                         new PropertyFilter(Article.ARTICLE_STATUS, FilterOperator.NOT_EQUAL, Article.ARTICLE_STATUS_C_INVALID),
                         new PropertyFilter(Article.ARTICLE_TYPE, FilterOperator.NOT_EQUAL, Article.ARTICLE_TYPE_C_DISCUSSION))).
+                addProjection(Keys.OBJECT_ID, String.class).
                 addProjection(Article.ARTICLE_TITLE, String.class).
                 addProjection(Article.ARTICLE_PERMALINK, String.class).
                 addProjection(Article.ARTICLE_AUTHOR_ID, String.class).
@@ -113,6 +179,7 @@ public class ArticleRepository extends AbstractRepository {
                             new PropertyFilter(Article.ARTICLE_RANDOM_DOUBLE, FilterOperator.LESS_THAN_OR_EQUAL, mid),
                             new PropertyFilter(Article.ARTICLE_STATUS, FilterOperator.NOT_EQUAL, Article.ARTICLE_STATUS_C_INVALID),
                             new PropertyFilter(Article.ARTICLE_TYPE, FilterOperator.NOT_EQUAL, Article.ARTICLE_TYPE_C_DISCUSSION))).
+                    addProjection(Keys.OBJECT_ID, String.class).
                     addProjection(Article.ARTICLE_TITLE, String.class).
                     addProjection(Article.ARTICLE_PERMALINK, String.class).
                     addProjection(Article.ARTICLE_AUTHOR_ID, String.class).
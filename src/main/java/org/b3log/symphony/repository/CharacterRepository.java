@@ -17,18 +17,17 @@
  */
 package org.b3log.symphony.repository;
 
-import org.b3log.latke.repository.AbstractRepository;
 import org.b3log.latke.repository.annotation.Repository;
 
 /**
  * Character repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Jun 8, 2016
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Repository
-public class CharacterRepository extends AbstractRepository {
+public class CharacterRepository extends MeteredRepository {
 
     /**
      * Public constructor.
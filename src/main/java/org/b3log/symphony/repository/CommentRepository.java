@@ -24,19 +24,23 @@ import org.b3log.latke.model.User;
 import org.b3log.latke.repository.*;
 import org.b3log.latke.repository.annotation.Repository;
 import org.b3log.symphony.cache.CommentCache;
+import org.b3log.symphony.cache.CommentPageCache;
+import org.b3log.symphony.cache.ParticipantCache;
 import org.b3log.symphony.model.*;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.List;
+
 /**
  * Comment repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.1.0, May 7, 2018
+ * @version 1.3.1.1, Oct 19, 2026
  * @since 0.2.0
  */
 @Repository
-public class CommentRepository extends AbstractRepository {
+public class CommentRepository extends MeteredRepository {
 
     /**
      * Comment cache.
@@ -44,12 +48,30 @@ public class CommentRepository extends AbstractRepository {
     @Inject
     private CommentCache commentCache;
 
+    /**
+     * Comment page cache.
+     */
+    @Inject
+    private CommentPageCache commentPageCache;
+
+    /**
+     * Participant cache.
+     */
+    @Inject
+    private ParticipantCache participantCache;
+
     /**
      * Article repository.
      */
     @Inject
     private ArticleRepository articleRepository;
 
+    /**
+     * Tag-Article relation repository.
+     */
+    @Inject
+    private TagArticleRepository tagArticleRepository;
+
     /**
      * User repository.
      */
@@ -118,6 +140,14 @@ public class CommentRepository extends AbstractRepository {
         }
         articleRepository.update(articleId, article);
 
+        final List<JSONObject> tagArticleRels = tagArticleRepository.getByArticleId(articleId);
+        for (final JSONObject tagArticleRel : tagArticleRels) {
+            tagArticleRel.put(Article.ARTICLE_LATEST_CMT_TIME, article.optLong(Article.ARTICLE_LATEST_CMT_TIME));
+            tagArticleRel.put(Article.ARTICLE_COMMENT_CNT, article.optInt(Article.ARTICLE_COMMENT_CNT));
+
+            tagArticleRepository.update(tagArticleRel.optString(Keys.OBJECT_ID), tagArticleRel);
+        }
+
         final Query query = new Query().setFilter(CompositeFilterOperator.and(
                 new PropertyFilter(Revision.REVISION_DATA_ID, FilterOperator.EQUAL, commentId),
                 new PropertyFilter(Revision.REVISION_DATA_TYPE, FilterOperator.EQUAL, Revision.DATA_TYPE_C_COMMENT)
@@ -145,11 +175,25 @@ public class CommentRepository extends AbstractRepository {
         notificationRepository.removeByDataId(commentId);
     }
 
+    @Override
+    public String add(final JSONObject comment) throws RepositoryException {
+        final String ret = super.add(comment);
+
+        removeArticleCaches(comment.optString(Comment.COMMENT_ON_ARTICLE_ID), false);
+
+        return ret;
+    }
+
     @Override
     public void remove(final String id) throws RepositoryException {
+        final JSONObject comment = getReadOnly(id);
+
         super.remove(id);
 
         commentCache.removeComment(id);
+        if (null != comment) {
+            removeArticleCaches(comment.optString(Comment.COMMENT_ON_ARTICLE_ID), true);
+        }
     }
 
     @Override
@@ -169,11 +213,48 @@ public class CommentRepository extends AbstractRepository {
         return ret;
     }
 
+    /**
+     * Gets a comment by the specified id, a cached one is returned without being copied.
+     *
+     * @param id the specified id
+     * @return comment, callers must not modify it, returns {@code null} if not found
+     * @throws RepositoryException repository exception
+     */
+    public JSONObject getReadOnly(final String id) throws RepositoryException {
+        final JSONObject ret = commentCache.getReadOnlyComment(id);
+        if (null != ret) {
+            return ret;
+        }
+
+        return get(id);
+    }
+
     @Override
     public void update(final String id, final JSONObject comment) throws RepositoryException {
         super.update(id, comment);
 
         comment.put(Keys.OBJECT_ID, id);
         commentCache.putComment(comment);
+        removeArticleCaches(comment.optString(Comment.COMMENT_ON_ARTICLE_ID), false);
+    }
+
+    /**
+     * Evicts the cached comment pages (and participants) of an article specified by the given article id. Evicts
+     * both now and after the current transaction committed, so that a page read meanwhile from the old rows does not
+     * stay cached.
+     *
+     * @param articleId    the given article id
+     * @param participants whether evicts the cached participants too
+     */
+    private void removeArticleCaches(final String articleId, final boolean participants) {
+        final Runnable eviction = () -> {
+            commentPageCache.removeArticle(articleId);
+            if (participants) {
+                participantCache.removeArticle(articleId);
+            }
+        };
+
+        eviction.run();
+        afterCommit(eviction);
     }
 }
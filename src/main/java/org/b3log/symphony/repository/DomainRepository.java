@@ -28,11 +28,11 @@ import org.json.JSONObject;
  * Domain repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Mar 13, 2013
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Repository
-public class DomainRepository extends AbstractRepository {
+public class DomainRepository extends MeteredRepository {
 
     /**
      * Public constructor.
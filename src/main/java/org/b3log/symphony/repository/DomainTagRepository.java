@@ -29,11 +29,11 @@ import org.json.JSONObject;
  * Domain-Tag relation repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.0, Apr 12, 2016
+ * @version 1.1.1.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Repository
-public class DomainTagRepository extends AbstractRepository {
+public class DomainTagRepository extends MeteredRepository {
 
     /**
      * Public constructor.
@@ -29,11 +29,11 @@ import org.json.JSONObject;
  *
  * @author Zephyr
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.0, Aug 18, 2016
+ * @version 1.0.2.0, Oct 19, 2026
  * @since 1.5.0
  */
 @Repository
-public class EmotionRepository extends AbstractRepository {
+public class EmotionRepository extends MeteredRepository {
 
     /**
      * Public constructor.
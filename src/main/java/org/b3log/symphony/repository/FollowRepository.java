@@ -31,11 +31,11 @@ import java.util.List;
  * Follow repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.1, Jan 18, 2018
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 0.2.5
  */
 @Repository
-public class FollowRepository extends AbstractRepository {
+public class FollowRepository extends MeteredRepository {
 
     /**
      * Public constructor.
@@ -20,7 +20,6 @@ package org.b3log.symphony.repository;
 import org.b3log.latke.Keys;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
-import org.b3log.latke.repository.AbstractRepository;
 import org.b3log.latke.repository.FilterOperator;
 import org.b3log.latke.repository.PropertyFilter;
 import org.b3log.latke.repository.Query;
@@ -33,11 +32,11 @@ import org.json.JSONObject;
  * Link repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Sep 7, 2016
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 1.6.0
  */
 @Repository
-public class LinkRepository extends AbstractRepository {
+public class LinkRepository extends MeteredRepository {
 
     /**
      * Logger.
@@ -0,0 +1,221 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.repository;
+
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.AbstractRepository;
+import org.b3log.latke.repository.Query;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.symphony.util.RequestContext;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Metered repository, counts calls reaching the underlying store into the current {@link RequestContext}.
+ * <p>
+ * Transactions begun through {@link #beginTransaction()} also run the actions registered with
+ * {@link #afterCommit(Runnable)} once they committed, so caches are not changed by data which may be rolled back.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+public abstract class MeteredRepository extends AbstractRepository {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(MeteredRepository.class);
+
+    /**
+     * Transaction begun in the current thread.
+     */
+    private static final ThreadLocal<CommitHookTransaction> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Constructs a repository with the specified name.
+     *
+     * @param name the specified name
+     */
+    public MeteredRepository(final String name) {
+        super(name);
+    }
+
+    /**
+     * Runs the specified action after the transaction of the current thread committed, drops it if the transaction
+     * rolled back. Runs it immediately if there is no transaction begun through {@link #beginTransaction()}, for
+     * example in a {@code @Transactional} method.
+     *
+     * @param action the specified action
+     */
+    protected static void afterCommit(final Runnable action) {
+        final CommitHookTransaction transaction = CURRENT.get();
+        if (null == transaction || !transaction.isActive()) {
+            action.run();
+
+            return;
+        }
+
+        transaction.actions.add(action);
+    }
+
+    @Override
+    public Transaction beginTransaction() {
+        final Transaction transaction = super.beginTransaction();
+        final CommitHookTransaction current = CURRENT.get();
+        if (null != current && current.delegate == transaction) { // joins the transaction begun before
+            return current;
+        }
+
+        final CommitHookTransaction ret = new CommitHookTransaction(transaction);
+        CURRENT.set(ret);
+
+        return ret;
+    }
+
+    @Override
+    public String add(final JSONObject jsonObject) throws RepositoryException {
+        RequestContext.countRepositoryCall();
+
+        return super.add(jsonObject);
+    }
+
+    @Override
+    public void update(final String id, final JSONObject jsonObject) throws RepositoryException {
+        RequestContext.countRepositoryCall();
+
+        super.update(id, jsonObject);
+    }
+
+    @Override
+    public void remove(final String id) throws RepositoryException {
+        RequestContext.countRepositoryCall();
+
+        super.remove(id);
+    }
+
+    @Override
+    public JSONObject get(final String id) throws RepositoryException {
+        RequestContext.countRepositoryCall();
+
+        return super.get(id);
+    }
+
+    @Override
+    public JSONObject get(final Query query) throws RepositoryException {
+        RequestContext.countRepositoryCall();
+
+        return super.get(query);
+    }
+
+    @Override
+    public long count(final Query query) throws RepositoryException {
+        RequestContext.countRepositoryCall();
+
+        return super.count(query);
+    }
+
+    @Override
+    public List<JSONObject> select(final String statement, final Object... params) throws RepositoryException {
+        RequestContext.countRepositoryCall();
+
+        return super.select(statement, params);
+    }
+
+    /**
+     * Transaction running the registered actions after it committed.
+     */
+    private static final class CommitHookTransaction implements Transaction {
+
+        /**
+         * Underlying transaction.
+         */
+        private final Transaction delegate;
+
+        /**
+         * Actions to run after committed.
+         */
+        private final List<Runnable> actions = new ArrayList<>();
+
+        /**
+         * Constructs a transaction with the specified underlying transaction.
+         *
+         * @param delegate the specified underlying transaction
+         */
+        private CommitHookTransaction(final Transaction delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public void commit() {
+            try {
+                delegate.commit();
+            } catch (final RuntimeException e) {
+                actions.clear();
+
+                throw e;
+            } finally {
+                end();
+            }
+
+            final List<Runnable> committed = new ArrayList<>(actions);
+            actions.clear();
+            for (final Runnable action : committed) {
+                try {
+                    action.run();
+                } catch (final Exception e) {
+                    LOGGER.log(Level.ERROR, "Runs an after commit action failed", e);
+                }
+            }
+        }
+
+        @Override
+        public void rollback() {
+            actions.clear();
+            try {
+                delegate.rollback();
+            } finally {
+                end();
+            }
+        }
+
+        @Override
+        public boolean isActive() {
+            return delegate.isActive();
+        }
+
+        /**
+         * Unbinds this transaction from the current thread.
+         */
+        private void end() {
+            if (this == CURRENT.get()) {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -28,11 +28,11 @@ import org.json.JSONObject;
  * Notification repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.0.0.0, Mar 19, 2016
+ * @version 2.0.1.0, Oct 19, 2026
  * @since 0.2.5
  */
 @Repository
-public class NotificationRepository extends AbstractRepository {
+public class NotificationRepository extends MeteredRepository {
 
     /**
      * Public constructor.
@@ -19,22 +19,22 @@ package org.b3log.symphony.repository;
 
 import org.b3log.latke.Keys;
 import org.b3log.latke.ioc.inject.Inject;
-import org.b3log.latke.repository.AbstractRepository;
 import org.b3log.latke.repository.RepositoryException;
 import org.b3log.latke.repository.annotation.Repository;
 import org.b3log.symphony.cache.OptionCache;
 import org.b3log.symphony.model.Option;
+import org.b3log.symphony.util.RequestContext;
 import org.json.JSONObject;
 
 /**
  * Option repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.1.0, Jul 16, 2017
+ * @version 1.2.2.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Repository
-public class OptionRepository extends AbstractRepository {
+public class OptionRepository extends MeteredRepository {
 
     /**
      * Option cache.
@@ -54,6 +54,11 @@ public class OptionRepository extends AbstractRepository {
         super.remove(id);
 
         optionCache.removeOption(id);
+
+        final RequestContext requestContext = RequestContext.get();
+        if (null != requestContext) {
+            requestContext.removeOption(id);
+        }
     }
 
     @Override
@@ -79,5 +84,10 @@ public class OptionRepository extends AbstractRepository {
 
         option.put(Keys.OBJECT_ID, id);
         optionCache.putOption(option);
+
+        final RequestContext requestContext = RequestContext.get();
+        if (null != requestContext) {
+            requestContext.removeOption(id);
+        }
     }
 }
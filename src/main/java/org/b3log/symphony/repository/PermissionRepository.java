@@ -17,7 +17,6 @@
  */
 package org.b3log.symphony.repository;
 
-import org.b3log.latke.repository.AbstractRepository;
 import org.b3log.latke.repository.annotation.Repository;
 import org.b3log.symphony.model.Permission;
 
@@ -25,11 +24,11 @@ import org.b3log.symphony.model.Permission;
  * Permission repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Dec 3, 2016
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 1.8.0
  */
 @Repository
-public class PermissionRepository extends AbstractRepository {
+public class PermissionRepository extends MeteredRepository {
 
     /**
      * Public constructor.
@@ -19,7 +19,6 @@ package org.b3log.symphony.repository;
 
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
-import org.b3log.latke.repository.AbstractRepository;
 import org.b3log.latke.repository.annotation.Repository;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Pointtransfer;
@@ -31,11 +30,11 @@ import java.util.List;
  * Pointtransfer repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.1.0, Dec 12, 2016
+ * @version 1.1.2.0, Oct 19, 2026
  * @since 1.3.0
  */
 @Repository
-public class PointtransferRepository extends AbstractRepository {
+public class PointtransferRepository extends MeteredRepository {
 
     /**
      * Logger.
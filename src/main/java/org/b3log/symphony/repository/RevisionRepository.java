@@ -17,7 +17,6 @@
  */
 package org.b3log.symphony.repository;
 
-import org.b3log.latke.repository.AbstractRepository;
 import org.b3log.latke.repository.annotation.Repository;
 import org.b3log.symphony.model.Revision;
 
@@ -25,11 +24,11 @@ import org.b3log.symphony.model.Revision;
  * Revision repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Apr 20, 2016
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Repository
-public class RevisionRepository extends AbstractRepository {
+public class RevisionRepository extends MeteredRepository {
 
     /**
      * Public constructor.
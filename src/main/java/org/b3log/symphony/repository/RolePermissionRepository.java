@@ -32,11 +32,11 @@ import java.util.List;
  * Role-Permission repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Dec 3, 2016
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 1.8.0
  */
 @Repository
-public class RolePermissionRepository extends AbstractRepository {
+public class RolePermissionRepository extends MeteredRepository {
 
     /**
      * Public constructor.
@@ -32,11 +32,11 @@ import java.util.List;
  * Tag-Article relation repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.0, Mar 19, 2016
+ * @version 1.1.1.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Repository
-public class TagArticleRepository extends AbstractRepository {
+public class TagArticleRepository extends MeteredRepository {
 
     /**
      * Public constructor.
@@ -25,6 +25,8 @@ import org.b3log.latke.repository.annotation.Repository;
 import org.b3log.latke.util.CollectionUtils;
 import org.b3log.symphony.cache.TagCache;
 import org.b3log.symphony.model.Tag;
+import org.b3log.symphony.util.JSONs;
+import org.b3log.symphony.util.SingleFlight;
 import org.b3log.symphony.util.URLs;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -36,17 +38,22 @@ import java.util.List;
  * Tag repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.0.1, Nov 4, 2016
+ * @version 1.4.0.1, Oct 19, 2026
  * @since 0.2.0
  */
 @Repository
-public class TagRepository extends AbstractRepository {
+public class TagRepository extends MeteredRepository {
 
     /**
      * Logger.
      */
     private static final Logger LOGGER = Logger.getLogger(TagRepository.class);
 
+    /**
+     * Single flight of loading tags.
+     */
+    private static final SingleFlight<JSONObject> SINGLE_FLIGHT = new SingleFlight<>("tag", JSONs::clone);
+
     /**
      * Tag cache.
      */
@@ -70,35 +77,68 @@ public class TagRepository extends AbstractRepository {
     public String add(final JSONObject tag) throws RepositoryException {
         final String ret = super.add(tag);
 
+        tag.put(Keys.OBJECT_ID, ret);
         tagCache.putTag(tag);
+        final String title = tag.optString(Tag.TAG_TITLE);
+        afterCommit(() -> tagCache.putTitle(ret, title));
 
         return ret;
     }
 
     @Override
     public void remove(final String id) throws RepositoryException {
+        final JSONObject old = tagCache.getReadOnlyTag(id);
+
         super.remove(id);
 
         tagCache.removeTag(id);
+        if (null != old) {
+            final String oldTitle = old.optString(Tag.TAG_TITLE);
+            afterCommit(() -> tagCache.removeTitle(id, oldTitle));
+        }
     }
 
     @Override
-    public void update(final String id, final JSONObject article) throws RepositoryException {
-        super.update(id, article);
+    public void update(final String id, final JSONObject tag) throws RepositoryException {
+        final JSONObject old = tagCache.getReadOnlyTag(id);
+
+        super.update(id, tag);
 
-        article.put(Keys.OBJECT_ID, id);
-        tagCache.putTag(article);
+        tag.put(Keys.OBJECT_ID, id);
+        tagCache.putTag(tag);
+        final String oldTitle = null == old ? null : old.optString(Tag.TAG_TITLE);
+        final String title = tag.optString(Tag.TAG_TITLE);
+        afterCommit(() -> {
+            if (null != oldTitle) {
+                tagCache.removeTitle(id, oldTitle);
+            }
+            tagCache.putTitle(id, title);
+        });
     }
 
     @Override
     public JSONObject get(final String id) throws RepositoryException {
-        JSONObject ret = tagCache.getTag(id);
+        final JSONObject ret = tagCache.getTag(id);
         if (null != ret) {
             return ret;
         }
 
-        ret = super.get(id);
+        if (hasTransactionBegun()) { // may read uncommitted changes of this transaction, do not share them
+            return load(id);
+        }
+
+        return SINGLE_FLIGHT.execute(id, () -> load(id));
+    }
 
+    /**
+     * Loads a tag specified by the given id from database and caches it.
+     *
+     * @param id the given id
+     * @return tag, returns {@code null} if not found
+     * @throws RepositoryException repository exception
+     */
+    private JSONObject load(final String id) throws RepositoryException {
+        final JSONObject ret = super.get(id);
         if (null == ret) {
             return null;
         }
@@ -109,7 +149,23 @@ public class TagRepository extends AbstractRepository {
     }
 
     /**
-     * Gets a tag URI with the specified tag title.
+     * Gets a tag by the specified id, a cached one is returned without being copied.
+     *
+     * @param id the specified id
+     * @return tag, callers must not modify it, returns {@code null} if not found
+     * @throws RepositoryException repository exception
+     */
+    public JSONObject getReadOnly(final String id) throws RepositoryException {
+        final JSONObject ret = tagCache.getReadOnlyTag(id);
+        if (null != ret) {
+            return ret;
+        }
+
+        return get(id);
+    }
+
+    /**
+     * Gets a tag URI with the specified tag title, case-insensitive.
      *
      * @param title the specified tag title
      * @return tag URI, returns {@code null} if not found
@@ -141,13 +197,23 @@ public class TagRepository extends AbstractRepository {
     }
 
     /**
-     * Gets a tag by the specified tag title.
+     * Gets a tag by the specified tag title, case-insensitive.
      *
      * @param tagTitle the specified tag title
      * @return a tag, {@code null} if not found
      * @throws RepositoryException repository exception
      */
     public JSONObject getByTitle(final String tagTitle) throws RepositoryException {
+        final JSONObject ret = tagCache.getTagByTitle(tagTitle);
+        if (null != ret) {
+            return ret;
+        }
+
+        // A tag added in this transaction is not in the dictionary until committed
+        if (!hasTransactionBegun() && tagCache.isTitleAbsent(tagTitle)) {
+            return null;
+        }
+
         final Query query = new Query().setFilter(new PropertyFilter(Tag.TAG_TITLE, FilterOperator.EQUAL, tagTitle)).setPageCount(1);
 
         final JSONObject result = get(query);
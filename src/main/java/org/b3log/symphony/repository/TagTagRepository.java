@@ -17,15 +17,22 @@
  */
 package org.b3log.symphony.repository;
 
+import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
 import org.b3log.latke.repository.*;
 import org.b3log.latke.repository.annotation.Repository;
+import org.b3log.latke.repository.jdbc.util.Connections;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Tag;
+import org.b3log.symphony.util.RequestContext;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -33,11 +40,11 @@ import java.util.List;
  * Tag-Tag relation repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.1, Oct 19, 2016
+ * @version 1.1.0.0, Oct 19, 2026
  * @since 1.3.0
  */
 @Repository
-public class TagTagRepository extends AbstractRepository {
+public class TagTagRepository extends MeteredRepository {
 
     /**
      * Weight threshold.
@@ -152,4 +159,46 @@ public class TagTagRepository extends AbstractRepository {
 
         return result.optJSONObject(0);
     }
+
+    /**
+     * Increases weights of the specified written relations in a batch, each one by its own weight. The increase is
+     * done by the database so increments written by other nodes are kept.
+     *
+     * @param relations the specified relations, for example,
+     *                  <pre>
+     * [{
+     *     "oId": "",
+     *     "weight": int // increment
+     * }, ....]
+     * </pre>
+     * @throws RepositoryException repository exception
+     */
+    public void incWeights(final List<JSONObject> relations) throws RepositoryException {
+        RequestContext.countRepositoryCall();
+
+        final String tablePrefix = StringUtils.isNotBlank(Latkes.getLocalProperty("jdbc.tablePrefix"))
+                ? Latkes.getLocalProperty("jdbc.tablePrefix") + "_" : "";
+        final String sql = "UPDATE " + tablePrefix + Tag.TAG + "_" + Tag.TAG + " SET " + Common.WEIGHT + " = "
+                + Common.WEIGHT + " + ? WHERE " + Keys.OBJECT_ID + " = ?";
+        try (final Connection connection = Connections.getConnection()) {
+            connection.setAutoCommit(false);
+            try (final PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (final JSONObject relation : relations) {
+                    statement.setInt(1, relation.optInt(Common.WEIGHT));
+                    statement.setString(2, relation.optString(Keys.OBJECT_ID));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (final SQLException e) {
+                connection.rollback();
+
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (final SQLException e) {
+            throw new RepositoryException(e);
+        }
+    }
 }
@@ -34,11 +34,11 @@ import java.util.List;
  * Tag-User-Link relation repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.2, Dec 18, 2016
+ * @version 1.1.1.0, Oct 19, 2026
  * @since 1.6.0
  */
 @Repository
-public class TagUserLinkRepository extends AbstractRepository {
+public class TagUserLinkRepository extends MeteredRepository {
 
     /**
      * Public constructor.
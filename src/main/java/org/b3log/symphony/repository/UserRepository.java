@@ -25,6 +25,9 @@ import org.b3log.latke.repository.annotation.Repository;
 import org.b3log.latke.util.CollectionUtils;
 import org.b3log.symphony.cache.UserCache;
 import org.b3log.symphony.model.Role;
+import org.b3log.symphony.util.JSONs;
+import org.b3log.symphony.util.RequestContext;
+import org.b3log.symphony.util.SingleFlight;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -34,11 +37,16 @@ import java.util.List;
  * User repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.1.2.0, Oct 2, 2017
+ * @version 2.3.0.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Repository
-public class UserRepository extends AbstractRepository {
+public class UserRepository extends MeteredRepository {
+
+    /**
+     * Single flight of loading users.
+     */
+    private static final SingleFlight<JSONObject> SINGLE_FLIGHT = new SingleFlight<>("user", JSONs::clone);
 
     /**
      * User cache.
@@ -55,13 +63,27 @@ public class UserRepository extends AbstractRepository {
 
     @Override
     public JSONObject get(final String id) throws RepositoryException {
-        JSONObject ret = userCache.getUser(id);
+        final JSONObject ret = userCache.getUser(id);
         if (null != ret) {
             return ret;
         }
 
-        ret = super.get(id);
+        if (hasTransactionBegun()) { // may read uncommitted changes of this transaction, do not share them
+            return load(id);
+        }
+
+        return SINGLE_FLIGHT.execute(id, () -> load(id));
+    }
 
+    /**
+     * Loads a user specified by the given id from database and caches it.
+     *
+     * @param id the given id
+     * @return user, returns {@code null} if not found
+     * @throws RepositoryException repository exception
+     */
+    private JSONObject load(final String id) throws RepositoryException {
+        final JSONObject ret = super.get(id);
         if (null == ret) {
             return null;
         }
@@ -71,6 +93,22 @@ public class UserRepository extends AbstractRepository {
         return ret;
     }
 
+    /**
+     * Gets a user by the specified id, a cached one is returned without being copied.
+     *
+     * @param id the specified id
+     * @return user, callers must not modify it, returns {@code null} if not found
+     * @throws RepositoryException repository exception
+     */
+    public JSONObject getReadOnly(final String id) throws RepositoryException {
+        final JSONObject ret = userCache.getReadOnlyUser(id);
+        if (null != ret) {
+            return ret;
+        }
+
+        return get(id);
+    }
+
     @Override
     public void update(final String id, final JSONObject user) throws RepositoryException {
         final JSONObject old = get(id);
@@ -78,10 +116,30 @@ public class UserRepository extends AbstractRepository {
             return;
         }
 
-        userCache.RemoveUser(old);
         super.update(id, user);
         user.put(Keys.OBJECT_ID, id);
-        userCache.putUser(user);
+        userCache.putUser(user); // also re-indexes the name if renamed
+
+        final RequestContext requestContext = RequestContext.get();
+        if (null != requestContext) {
+            requestContext.removeUser(id);
+        }
+    }
+
+    @Override
+    public void remove(final String id) throws RepositoryException {
+        final JSONObject old = get(id);
+
+        super.remove(id);
+
+        if (null != old) {
+            userCache.RemoveUser(old);
+        }
+
+        final RequestContext requestContext = RequestContext.get();
+        if (null != requestContext) {
+            requestContext.removeUser(id);
+        }
     }
 
     /**
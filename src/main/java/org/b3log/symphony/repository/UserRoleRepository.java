@@ -18,7 +18,6 @@
 package org.b3log.symphony.repository;
 
 import org.b3log.latke.model.User;
-import org.b3log.latke.repository.AbstractRepository;
 import org.b3log.latke.repository.annotation.Repository;
 import org.b3log.symphony.model.Role;
 
@@ -26,11 +25,11 @@ import org.b3log.symphony.model.Role;
  * User-Role repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Dec 3, 2016
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 1.8.0
  */
 @Repository
-public class UserRoleRepository extends AbstractRepository {
+public class UserRoleRepository extends MeteredRepository {
 
     /**
      * Public constructor.
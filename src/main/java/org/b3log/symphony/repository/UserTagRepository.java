@@ -30,11 +30,11 @@ import org.json.JSONObject;
  * User-Tag relation repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.0, Apr 17, 2017
+ * @version 1.1.1.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Repository
-public class UserTagRepository extends AbstractRepository {
+public class UserTagRepository extends MeteredRepository {
 
     /**
      * Public constructor.
@@ -17,7 +17,6 @@
  */
 package org.b3log.symphony.repository;
 
-import org.b3log.latke.repository.AbstractRepository;
 import org.b3log.latke.repository.annotation.Repository;
 import org.b3log.symphony.model.Verifycode;
 
@@ -25,11 +24,11 @@ import org.b3log.symphony.model.Verifycode;
  * Verifycode repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Jul 3, 2015
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 1.3.0
  */
 @Repository
-public class VerifycodeRepository extends AbstractRepository {
+public class VerifycodeRepository extends MeteredRepository {
 
     /**
      * Public constructor.
@@ -31,11 +31,11 @@ import java.util.List;
  * Vote repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.1, Jul 31, 2016
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 1.3.0
  */
 @Repository
-public class VoteRepository extends AbstractRepository {
+public class VoteRepository extends MeteredRepository {
 
     /**
      * Removes vote if it exists.
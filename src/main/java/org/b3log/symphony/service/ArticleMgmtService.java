@@ -58,6 +58,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.FileTime;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
@@ -65,7 +66,7 @@ import java.util.stream.Collectors;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://zephyr.b3log.org">Zephyr</a>
- * @version 2.18.2.0, Mar 5, 2018
+ * @version 2.18.3.1, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -419,6 +420,15 @@ public class ArticleMgmtService {
             if (Symphonys.getBoolean("es.enabled")) {
                 searchMgmtService.removeESDocument(article, Article.ARTICLE);
             }
+
+            // Event
+            final JSONObject eventData = new JSONObject();
+            eventData.put(Article.ARTICLE, article);
+            try {
+                eventManager.fireEventAsynchronously(new Event<>(EventTypes.REMOVE_ARTICLE, eventData));
+            } catch (final EventException e) {
+                LOGGER.log(Level.ERROR, e.getMessage(), e);
+            }
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Removes an article error [id=" + articleId + "]", e);
         }
@@ -430,33 +440,37 @@ public class ArticleMgmtService {
      * @param articleId the given article id
      */
     public void incArticleViewCount(final String articleId) {
-        Symphonys.EXECUTOR_SERVICE.submit(() -> {
-            final Transaction transaction = articleRepository.beginTransaction();
-            try {
-                final JSONObject article = articleRepository.get(articleId);
-                if (null == article) {
-                    if (transaction.isActive()) {
-                        transaction.rollback();
+        try {
+            ThreadPools.DB.submit(() -> {
+                final Transaction transaction = articleRepository.beginTransaction();
+                try {
+                    final JSONObject article = articleRepository.get(articleId);
+                    if (null == article) {
+                        if (transaction.isActive()) {
+                            transaction.rollback();
+                        }
+
+                        return;
                     }
 
-                    return;
-                }
+                    final int viewCnt = article.optInt(Article.ARTICLE_VIEW_CNT);
+                    article.put(Article.ARTICLE_VIEW_CNT, viewCnt + 1);
+                    article.put(Article.ARTICLE_RANDOM_DOUBLE, Math.random());
 
-                final int viewCnt = article.optInt(Article.ARTICLE_VIEW_CNT);
-                article.put(Article.ARTICLE_VIEW_CNT, viewCnt + 1);
-                article.put(Article.ARTICLE_RANDOM_DOUBLE, Math.random());
+                    articleRepository.update(articleId, article);
 
-                articleRepository.update(articleId, article);
+                    transaction.commit();
+                } catch (final RepositoryException e) {
+                    if (transaction.isActive()) {
+                        transaction.rollback();
+                    }
 
-                transaction.commit();
-            } catch (final RepositoryException e) {
-                if (transaction.isActive()) {
-                    transaction.rollback();
+                    LOGGER.log(Level.ERROR, "Incs an article view count failed", e);
                 }
-
-                LOGGER.log(Level.ERROR, "Incs an article view count failed", e);
-            }
-        });
+            });
+        } catch (final RejectedExecutionException e) {
+            // drops the increment if the pool is overloaded
+        }
     }
 
     /**
@@ -34,6 +34,9 @@ import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.*;
 import org.b3log.symphony.cache.ArticleCache;
+import org.b3log.symphony.cache.ParticipantCache;
+import org.b3log.symphony.cache.RelevantArticleCache;
+import org.b3log.symphony.cache.TagRelationCache;
 import org.b3log.symphony.model.*;
 import org.b3log.symphony.processor.advice.validate.UserRegisterValidation;
 import org.b3log.symphony.processor.channel.ArticleChannel;
@@ -53,13 +56,14 @@ import org.owasp.encoder.Encode;
 import javax.servlet.http.HttpServletRequest;
 import java.text.DecimalFormat;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Article query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 2.27.36.8, Jun 11, 2018
+ * @version 2.29.1.1, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -71,9 +75,14 @@ public class ArticleQueryService {
     private static final Logger LOGGER = Logger.getLogger(ArticleQueryService.class);
 
     /**
-     * Count to fetch article tags for relevant articles.
+     * Count of co-occurring tags of each article tag to score relevant articles.
      */
-    private static final int RELEVANT_ARTICLE_RANDOM_FETCH_TAG_CNT = 3;
+    private static final int RELEVANT_ARTICLE_RELATED_TAG_CNT = 2;
+
+    /**
+     * Score factor of relevant articles found by co-occurring tags.
+     */
+    private static final double RELEVANT_ARTICLE_RELATED_TAG_FACTOR = 0.5D;
 
     /**
      * Article repository.
@@ -153,6 +162,24 @@ public class ArticleQueryService {
     @Inject
     private ArticleCache articleCache;
 
+    /**
+     * Participant cache.
+     */
+    @Inject
+    private ParticipantCache participantCache;
+
+    /**
+     * Relevant article cache.
+     */
+    @Inject
+    private RelevantArticleCache relevantArticleCache;
+
+    /**
+     * Tag-Tag relation cache.
+     */
+    @Inject
+    private TagRelationCache tagRelationCache;
+
     /**
      * Gets following user articles.
      *
@@ -569,7 +596,9 @@ public class ArticleQueryService {
     /**
      * Gets the relevant articles of the specified article with the specified fetch size.
      * <p>
-     * The relevant articles exist the same tag with the specified article.
+     * The relevant articles are served from {@link RelevantArticleCache}, an absent or expired entry is built in
+     * background, so an empty list is returned on the first view of an article. An entry is built with
+     * {@link RelevantArticleCache#MAX_LIST_SIZE} articles whatever the fetch size, so at most that many are returned.
      * </p>
      *
      * @param avatarViewMode the specified avatar view mode
@@ -580,66 +609,139 @@ public class ArticleQueryService {
      */
     public List<JSONObject> getRelevantArticles(final int avatarViewMode, final JSONObject article, final int fetchSize)
             throws ServiceException {
-        final String tagsString = article.optString(Article.ARTICLE_TAGS);
-        String[] tagTitles = tagsString.split(",");
-        final List<String> excludedB3logTitles = new ArrayList<>();
-        for (int i = 0; i < tagTitles.length; i++) {
-            if (!"B3log".equalsIgnoreCase(tagTitles[i])) {
-                excludedB3logTitles.add(tagTitles[i]);
+        final String articleId = article.optString(Keys.OBJECT_ID);
+        if (relevantArticleCache.shouldBuild(articleId)) {
+            final String tagsString = article.optString(Article.ARTICLE_TAGS);
+            try {
+                ThreadPools.DB.submit(() -> buildRelevantArticles(articleId, tagsString, RelevantArticleCache.MAX_LIST_SIZE));
+            } catch (final RejectedExecutionException e) {
+                relevantArticleCache.buildFailed(articleId);
             }
         }
-        if (excludedB3logTitles.size() < 1) {
-            excludedB3logTitles.add("B3log");
-        }
-        tagTitles = excludedB3logTitles.toArray(new String[0]);
-        final int tagTitlesLength = tagTitles.length;
-        final int subCnt = tagTitlesLength > RELEVANT_ARTICLE_RANDOM_FETCH_TAG_CNT
-                ? RELEVANT_ARTICLE_RANDOM_FETCH_TAG_CNT : tagTitlesLength;
-
-        final List<Integer> tagIdx = CollectionUtils.getRandomIntegers(0, tagTitlesLength, subCnt);
-        final int subFetchSize = fetchSize / subCnt;
-        final Set<String> fetchedArticleIds = new HashSet<>();
 
         final List<JSONObject> ret = new ArrayList<>();
+        final List<JSONObject> relevantArticles = relevantArticleCache.getRelevantArticles(articleId);
+        if (null == relevantArticles) {
+            return ret;
+        }
+
         try {
-            for (int i = 0; i < tagIdx.size(); i++) {
-                final String tagTitle = tagTitles[tagIdx.get(i)].trim();
+            for (final JSONObject relevantArticle : relevantArticles) {
+                if (ret.size() >= fetchSize) {
+                    break;
+                }
 
-                final JSONObject tag = tagRepository.getByTitle(tagTitle);
-                final String tagId = tag.optString(Keys.OBJECT_ID);
-                JSONObject result = tagArticleRepository.getByTagId(tagId, 1, subFetchSize);
+                final JSONObject relevant = JSONs.clone(relevantArticle);
+                genArticleAuthor(avatarViewMode, relevant);
+                final String title = Encode.forHtml(relevant.optString(Article.ARTICLE_TITLE));
+                relevant.put(Article.ARTICLE_TITLE, title);
+                relevant.put(Article.ARTICLE_T_TITLE_EMOJI, Emotions.convert(title));
 
-                final JSONArray tagArticleRelations = result.optJSONArray(Keys.RESULTS);
+                ret.add(relevant);
+            }
 
-                final Set<String> articleIds = new HashSet<>();
-                for (int j = 0; j < tagArticleRelations.length(); j++) {
-                    final String articleId = tagArticleRelations.optJSONObject(j).optString(Article.ARTICLE + '_' + Keys.OBJECT_ID);
+            return ret;
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Gets relevant articles failed", e);
+            throw new ServiceException(e);
+        }
+    }
 
-                    if (fetchedArticleIds.contains(articleId)) {
-                        continue;
-                    }
+    /**
+     * Builds relevant articles of an article specified by the given article id and puts them into
+     * {@link RelevantArticleCache}.
+     * <p>
+     * A candidate article is scored by its tags shared with the article, a rarer tag scores higher. Articles of the
+     * tags which co-occur most with the article tags are scored as well, with a lower factor.
+     * </p>
+     *
+     * @param articleId  the given article id
+     * @param tagsString the specified tags of the article
+     * @param fetchSize  the specified fetch size
+     */
+    private void buildRelevantArticles(final String articleId, final String tagsString, final int fetchSize) {
+        try {
+            final List<String> tagTitles = new ArrayList<>();
+            for (final String tagTitle : tagsString.split(",")) {
+                if (!"B3log".equalsIgnoreCase(tagTitle.trim())) {
+                    tagTitles.add(tagTitle.trim());
+                }
+            }
+            if (tagTitles.isEmpty()) {
+                tagTitles.add("B3log");
+            }
 
-                    articleIds.add(articleId);
-                    fetchedArticleIds.add(articleId);
+            final Map<String, JSONObject> tags = new LinkedHashMap<>();
+            for (final String tagTitle : tagTitles) {
+                final JSONObject tag = tagRepository.getByTitle(tagTitle);
+                if (null != tag) {
+                    tags.put(tag.optString(Keys.OBJECT_ID), tag);
                 }
+            }
 
-                articleIds.remove(article.optString(Keys.OBJECT_ID));
+            final Map<String, Double> scores = new HashMap<>();
+            for (final JSONObject tag : tags.values()) {
+                final String tagId = tag.optString(Keys.OBJECT_ID);
+                final double weight = 1D / Math.log(2 + tag.optInt(Tag.TAG_REFERENCE_CNT));
+                scoreTagArticles(tagId, weight, fetchSize * 2, scores);
 
-                final Query query = new Query().setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, articleIds)).
+                for (final String relatedTagId : tagRelationCache.getRelatedTagIds(tagId, RELEVANT_ARTICLE_RELATED_TAG_CNT)) {
+                    if (!tags.containsKey(relatedTagId)) {
+                        scoreTagArticles(relatedTagId, weight * RELEVANT_ARTICLE_RELATED_TAG_FACTOR, fetchSize, scores);
+                    }
+                }
+            }
+            scores.remove(articleId);
+
+            final List<String> candidateIds = new ArrayList<>(scores.keySet());
+            candidateIds.sort((id1, id2) -> {
+                final int ret = Double.compare(scores.get(id2), scores.get(id1));
+
+                return 0 != ret ? ret : id2.compareTo(id1);
+            });
+
+            final List<JSONObject> relevantArticles = new ArrayList<>();
+            if (!candidateIds.isEmpty()) {
+                final Query query = new Query().setFilter(CompositeFilterOperator.and(
+                        new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN,
+                                candidateIds.subList(0, Math.min(candidateIds.size(), fetchSize * 2))),
+                        new PropertyFilter(Article.ARTICLE_STATUS, FilterOperator.EQUAL, Article.ARTICLE_STATUS_C_VALID))).
+                        addProjection(Keys.OBJECT_ID, String.class).
                         addProjection(Article.ARTICLE_TITLE, String.class).
                         addProjection(Article.ARTICLE_PERMALINK, String.class).
-                        addProjection(Article.ARTICLE_AUTHOR_ID, String.class);
-                result = articleRepository.get(query);
-
-                ret.addAll(CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS)));
+                        addProjection(Article.ARTICLE_AUTHOR_ID, String.class).
+                        addProjection(Article.ARTICLE_ANONYMOUS, Integer.class).
+                        addProjection(Article.ARTICLE_STATUS, Integer.class).
+                        setPageCount(1);
+                final List<JSONObject> articles = CollectionUtils.jsonArrayToList(
+                        articleRepository.get(query).optJSONArray(Keys.RESULTS));
+                articles.sort(Comparator.comparingInt(a -> candidateIds.indexOf(a.optString(Keys.OBJECT_ID))));
+                relevantArticles.addAll(articles.subList(0, Math.min(articles.size(), fetchSize)));
             }
 
-            organizeArticles(avatarViewMode, ret);
+            relevantArticleCache.putRelevantArticles(articleId, tagsString, relevantArticles);
+        } catch (final Exception e) {
+            relevantArticleCache.buildFailed(articleId);
 
-            return ret;
-        } catch (final RepositoryException e) {
-            LOGGER.log(Level.ERROR, "Gets relevant articles failed", e);
-            throw new ServiceException(e);
+            LOGGER.log(Level.ERROR, "Builds relevant articles of article [" + articleId + "] failed", e);
+        }
+    }
+
+    /**
+     * Adds the specified weight to scores of the latest articles of a tag specified by the given tag id.
+     *
+     * @param tagId     the given tag id
+     * @param weight    the specified weight
+     * @param fetchSize the specified count of the latest articles
+     * @param scores    the specified scores &lt;articleId, score&gt;
+     * @throws RepositoryException repository exception
+     */
+    private void scoreTagArticles(final String tagId, final double weight, final int fetchSize,
+                                  final Map<String, Double> scores) throws RepositoryException {
+        final JSONArray tagArticleRelations = tagArticleRepository.getByTagId(tagId, 1, fetchSize).optJSONArray(Keys.RESULTS);
+        for (int i = 0; i < tagArticleRelations.length(); i++) {
+            final String id = tagArticleRelations.optJSONObject(i).optString(Article.ARTICLE + '_' + Keys.OBJECT_ID);
+            scores.merge(id, weight, Double::sum);
         }
     }
 
@@ -881,48 +983,42 @@ public class ArticleQueryService {
     public List<JSONObject> getArticlesByTag(final int avatarViewMode, final int sortMode, final JSONObject tag,
                                              final int currentPageNum, final int pageSize) throws ServiceException {
         try {
-            Query query = new Query();
+            // Orders by the denormalized columns of tag-article relations, see indexes of tag_article in repository.json
+            String sortKey;
             switch (sortMode) {
                 case 0:
-                    query.addSort(Keys.OBJECT_ID, SortDirection.DESCENDING).
-                            setFilter(new PropertyFilter(Tag.TAG + '_' + Keys.OBJECT_ID, FilterOperator.EQUAL, tag.optString(Keys.OBJECT_ID)))
-                            .setPageCount(1).setPageSize(pageSize).setCurrentPageNum(currentPageNum);
+                    sortKey = null;
 
                     break;
                 case 1:
-                    query.addSort(Article.ARTICLE_COMMENT_CNT, SortDirection.DESCENDING).
-                            addSort(Keys.OBJECT_ID, SortDirection.DESCENDING).
-                            setFilter(new PropertyFilter(Tag.TAG + '_' + Keys.OBJECT_ID, FilterOperator.EQUAL, tag.optString(Keys.OBJECT_ID)))
-                            .setPageCount(1).setPageSize(pageSize).setCurrentPageNum(currentPageNum);
+                    sortKey = Article.ARTICLE_COMMENT_CNT;
 
                     break;
                 case 2:
-                    query.addSort(Article.REDDIT_SCORE, SortDirection.DESCENDING).
-                            addSort(Keys.OBJECT_ID, SortDirection.DESCENDING).
-                            setFilter(new PropertyFilter(Tag.TAG + '_' + Keys.OBJECT_ID, FilterOperator.EQUAL, tag.optString(Keys.OBJECT_ID)))
-                            .setPageCount(1).setPageSize(pageSize).setCurrentPageNum(currentPageNum);
+                    sortKey = Article.REDDIT_SCORE;
 
                     break;
                 case 3:
-                    query.addSort(Article.ARTICLE_LATEST_CMT_TIME, SortDirection.DESCENDING).
-                            addSort(Keys.OBJECT_ID, SortDirection.DESCENDING).
-                            setFilter(new PropertyFilter(Tag.TAG + '_' + Keys.OBJECT_ID, FilterOperator.EQUAL, tag.optString(Keys.OBJECT_ID)))
-                            .setPageCount(1).setPageSize(pageSize).setCurrentPageNum(currentPageNum);
+                    sortKey = Article.ARTICLE_LATEST_CMT_TIME;
 
                     break;
                 case 4:
-                    query.addSort(Article.ARTICLE_PERFECT, SortDirection.DESCENDING).
-                            addSort(Keys.OBJECT_ID, SortDirection.DESCENDING).
-                            setFilter(new PropertyFilter(Tag.TAG + '_' + Keys.OBJECT_ID, FilterOperator.EQUAL, tag.optString(Keys.OBJECT_ID)))
-                            .setPageCount(1).setPageSize(pageSize).setCurrentPageNum(currentPageNum);
+                    sortKey = Article.ARTICLE_PERFECT;
 
                     break;
                 default:
                     LOGGER.warn("Unknown sort mode [" + sortMode + "]");
-                    query.addSort(Keys.OBJECT_ID, SortDirection.DESCENDING).
-                            setFilter(new PropertyFilter(Tag.TAG + '_' + Keys.OBJECT_ID, FilterOperator.EQUAL, tag.optString(Keys.OBJECT_ID)))
-                            .setPageCount(1).setPageSize(pageSize).setCurrentPageNum(currentPageNum);
+                    sortKey = null;
+            }
+
+            Query query = new Query().
+                    setFilter(new PropertyFilter(Tag.TAG + '_' + Keys.OBJECT_ID, FilterOperator.EQUAL, tag.optString(Keys.OBJECT_ID))).
+                    addProjection(Article.ARTICLE + '_' + Keys.OBJECT_ID, String.class).
+                    setPageCount(1).setPageSize(pageSize).setCurrentPageNum(currentPageNum);
+            if (null != sortKey) {
+                query.addSort(sortKey, SortDirection.DESCENDING);
             }
+            query.addSort(Keys.OBJECT_ID, SortDirection.DESCENDING);
 
             JSONObject result = tagArticleRepository.get(query);
             final JSONArray tagArticleRelations = result.optJSONArray(Keys.RESULTS);
@@ -932,6 +1028,10 @@ public class ArticleQueryService {
                 articleIds.add(tagArticleRelations.optJSONObject(i).optString(Article.ARTICLE + '_' + Keys.OBJECT_ID));
             }
 
+            if (articleIds.isEmpty()) {
+                return new ArrayList<>();
+            }
+
             query = new Query().setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, articleIds)).
                     addProjection(Keys.OBJECT_ID, String.class).
                     addProjection(Article.ARTICLE_STICK, Long.class).
@@ -950,67 +1050,27 @@ public class ArticleQueryService {
                     addProjection(Article.ARTICLE_COMMENT_CNT, Integer.class).
                     addProjection(Article.ARTICLE_ANONYMOUS, Integer.class).
                     addProjection(Article.ARTICLE_PERFECT, Integer.class).
-                    addProjection(Article.ARTICLE_CONTENT, String.class).
                     addProjection(Article.ARTICLE_QNA_OFFER_POINT, Integer.class);
 
             result = articleRepository.get(query);
 
-            final List<JSONObject> ret = CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS));
-
-            switch (sortMode) {
-                default:
-                    LOGGER.warn("Unknown sort mode [" + sortMode + "]");
-                case 0:
-                    Collections.sort(ret, (o1, o2) -> o2.optString(Keys.OBJECT_ID).compareTo(o1.optString(Keys.OBJECT_ID)));
-
-                    break;
-                case 1:
-                    Collections.sort(ret, (o1, o2) -> {
-                        final int v = o2.optInt(Article.ARTICLE_COMMENT_CNT) - o1.optInt(Article.ARTICLE_COMMENT_CNT);
-                        if (0 == v) {
-                            return o2.optString(Keys.OBJECT_ID).compareTo(o1.optString(Keys.OBJECT_ID));
-                        }
-
-                        return v > 0 ? 1 : -1;
-                    });
-
-                    break;
-                case 2:
-                    Collections.sort(ret, (o1, o2) -> {
-                        final double v = o2.optDouble(Article.REDDIT_SCORE) - o1.optDouble(Article.REDDIT_SCORE);
-                        if (0 == v) {
-                            return o2.optString(Keys.OBJECT_ID).compareTo(o1.optString(Keys.OBJECT_ID));
-                        }
-
-                        return v > 0 ? 1 : -1;
-                    });
-
-                    break;
-                case 3:
-                    Collections.sort(ret, (o1, o2) -> {
-                        final long v = (o2.optLong(Article.ARTICLE_LATEST_CMT_TIME)
-                                - o1.optLong(Article.ARTICLE_LATEST_CMT_TIME));
-                        if (0 == v) {
-                            return o2.optString(Keys.OBJECT_ID).compareTo(o1.optString(Keys.OBJECT_ID));
-                        }
-
-                        return v > 0 ? 1 : -1;
-                    });
-
-                    break;
-                case 4:
-                    Collections.sort(ret, (o1, o2) -> {
-                        final long v = (o2.optLong(Article.ARTICLE_PERFECT) - o1.optLong(Article.ARTICLE_PERFECT));
-                        if (0 == v) {
-                            return o2.optString(Keys.OBJECT_ID).compareTo(o1.optString(Keys.OBJECT_ID));
-                        }
-
-                        return v > 0 ? 1 : -1;
-                    });
+            // Keeps the order of the relations
+            final Map<String, JSONObject> articles = new HashMap<>();
+            final JSONArray records = result.optJSONArray(Keys.RESULTS);
+            for (int i = 0; i < records.length(); i++) {
+                final JSONObject article = records.optJSONObject(i);
+                articles.put(article.optString(Keys.OBJECT_ID), article);
+            }
 
-                    break;
+            final List<JSONObject> ret = new ArrayList<>(articles.size());
+            for (final String articleId : articleIds) {
+                final JSONObject article = articles.get(articleId);
+                if (null != article) {
+                    ret.add(article);
+                }
             }
 
+            fillListContent(ret);
             organizeArticles(avatarViewMode, ret);
 
             final Integer participantsCnt = Symphonys.getInt("tagArticleParticipantsCnt");
@@ -1023,6 +1083,42 @@ public class ArticleQueryService {
         }
     }
 
+    /**
+     * Fills content into the specified articles which are queried without content for listing. Only articles whose
+     * abstract or thumbnail has not been cached are filled, the content is needed for generating them.
+     *
+     * @param articles the specified articles
+     * @throws RepositoryException repository exception
+     */
+    private void fillListContent(final List<JSONObject> articles) throws RepositoryException {
+        final Map<String, JSONObject> toFill = new HashMap<>();
+        for (final JSONObject article : articles) {
+            final String articleId = article.optString(Keys.OBJECT_ID);
+            final String articleAbstract = articleCache.getArticleAbstract(articleId);
+            if (null == articleAbstract
+                    || (StringUtils.length(articleAbstract) > 100 && null == articleCache.getArticleThumbnail(articleId))) {
+                toFill.put(articleId, article);
+            }
+        }
+
+        if (toFill.isEmpty()) {
+            return;
+        }
+
+        final Query query = new Query().setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, toFill.keySet())).
+                addProjection(Keys.OBJECT_ID, String.class).
+                addProjection(Article.ARTICLE_CONTENT, String.class).
+                setPageCount(1);
+        final JSONArray records = articleRepository.get(query).optJSONArray(Keys.RESULTS);
+        for (int i = 0; i < records.length(); i++) {
+            final JSONObject record = records.optJSONObject(i);
+            final JSONObject article = toFill.get(record.optString(Keys.OBJECT_ID));
+            if (null != article) {
+                article.put(Article.ARTICLE_CONTENT, record.optString(Article.ARTICLE_CONTENT));
+            }
+        }
+    }
+
     /**
      * Gets an article by the specified client article id.
      *
@@ -1959,7 +2055,7 @@ public class ArticleQueryService {
      * <li>builds tag objects</li>
      * <li>generates article preview content</li>
      * <li>extracts the first image URL</li>
-     * <li>image processing if using Qiniu</li>
+     * <li>image processing (Qiniu or local)</li>
      * </ul>
      *
      * @param avatarViewMode the specified avatar view mode
@@ -2076,6 +2172,27 @@ public class ArticleQueryService {
             return "";
         }
 
+        final String articleId = article.optString(Keys.OBJECT_ID);
+        final String cached = articleCache.getArticleThumbnail(articleId);
+        if (null != cached) {
+            return cached;
+        }
+
+        final String ret = genArticleThumbnail(article);
+        if (article.has(Article.ARTICLE_CONTENT)) {
+            articleCache.putArticleThumbnail(articleId, ret);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Generates the first image URL of the specified article.
+     *
+     * @param article the specified article
+     * @return the first image URL, returns {@code ""} if not found
+     */
+    private String genArticleThumbnail(final JSONObject article) {
         final String content = article.optString(Article.ARTICLE_CONTENT);
         final String html = Markdowns.toHTML(content);
         String ret = StringUtils.substringBetween(html, "<img src=\"", "\"");
@@ -2092,6 +2209,9 @@ public class ArticleQueryService {
         } else {
             if (!StringUtils.startsWith(ret, Latkes.getServePath())) {
                 ret = "";
+            } else if (StringUtils.startsWith(ret, Latkes.getServePath() + "/upload/")) {
+                ret = StringUtils.substringBefore(ret, "?");
+                ret += "?imageView2/1/w/" + 180 + "/h/" + 135 + "/format/jpg/interlace/1/q";
             }
         }
 
@@ -2103,23 +2223,19 @@ public class ArticleQueryService {
     }
 
     /**
-     * Qiniu image processing.
+     * Qiniu image processing, images uploaded to local will be processed by {@link ImageQueryService} with the same
+     * parameters.
      *
      * @param article the specified article
-     * @return the first image URL, returns {@code ""} if not found
      */
     private void qiniuImgProcessing(final JSONObject article) {
-        final boolean qiniuEnabled = Symphonys.getBoolean("qiniu.enabled");
-        if (!qiniuEnabled) {
-            return;
-        }
-
         final int articleType = article.optInt(Article.ARTICLE_TYPE);
         if (Article.ARTICLE_TYPE_C_THOUGHT == articleType) {
             return;
         }
 
-        final String qiniuDomain = Symphonys.get("qiniu.domain");
+        final boolean qiniuEnabled = Symphonys.getBoolean("qiniu.enabled");
+        final String qiniuDomain = qiniuEnabled ? Symphonys.get("qiniu.domain") : Latkes.getServePath() + "/upload/";
         String content = article.optString(Article.ARTICLE_CONTENT);
         final String html = Markdowns.toHTML(content);
 
@@ -2129,7 +2245,8 @@ public class ArticleQueryService {
         }
 
         for (final String imgSrc : imgSrcs) {
-            if (!StringUtils.startsWith(imgSrc, qiniuDomain) || StringUtils.contains(imgSrc, ".gif")) {
+            if (!StringUtils.startsWith(imgSrc, qiniuDomain) || StringUtils.contains(imgSrc, ".gif")
+                    || StringUtils.contains(imgSrc, "?")) {
                 continue;
             }
 
@@ -2236,41 +2353,29 @@ public class ArticleQueryService {
      */
     public List<JSONObject> getArticleLatestParticipants(final int avatarViewMode,
                                                          final String articleId, final int fetchSize) throws ServiceException {
-        final Query query = new Query().addSort(Keys.OBJECT_ID, SortDirection.DESCENDING)
-                .setFilter(new PropertyFilter(Comment.COMMENT_ON_ARTICLE_ID, FilterOperator.EQUAL, articleId))
-                .addProjection(Keys.OBJECT_ID, String.class)
-                .addProjection(Comment.COMMENT_AUTHOR_ID, String.class)
-                .setPageCount(1).setCurrentPageNum(1).setPageSize(fetchSize);
         final List<JSONObject> ret = new ArrayList<>();
 
         try {
-            final JSONObject result = commentRepository.get(query);
-
-            final List<JSONObject> comments = new ArrayList<>();
-            final JSONArray records = result.optJSONArray(Keys.RESULTS);
-            for (int i = 0; i < records.length(); i++) {
-                final JSONObject comment = records.optJSONObject(i);
-
-                boolean exist = false;
-                // deduplicate
-                for (final JSONObject c : comments) {
-                    if (comment.optString(Comment.COMMENT_AUTHOR_ID).equals(
-                            c.optString(Comment.COMMENT_AUTHOR_ID))) {
-                        exist = true;
-
-                        break;
-                    }
+            List<JSONObject> comments;
+            if (fetchSize <= ParticipantCache.PARTICIPANT_CNT) {
+                comments = participantCache.getParticipants(articleId);
+                if (null == comments) {
+                    final long version = participantCache.getVersion(articleId);
+                    comments = getLatestCommentsOfDistinctCommenters(articleId, ParticipantCache.PARTICIPANT_CNT * 4);
+                    participantCache.putParticipants(articleId, version, comments);
                 }
 
-                if (!exist) {
-                    comments.add(comment);
+                if (comments.size() > fetchSize) {
+                    comments = comments.subList(0, fetchSize);
                 }
+            } else {
+                comments = getLatestCommentsOfDistinctCommenters(articleId, fetchSize);
             }
 
             for (final JSONObject comment : comments) {
                 final String userId = comment.optString(Comment.COMMENT_AUTHOR_ID);
 
-                final JSONObject commenter = userRepository.get(userId);
+                final JSONObject commenter = userRepository.getReadOnly(userId);
                 final String email = commenter.optString(User.USER_EMAIL);
 
                 String thumbnailURL = Symphonys.get("defaultThumbnailURL");
@@ -2297,6 +2402,36 @@ public class ArticleQueryService {
         }
     }
 
+    /**
+     * Gets the latest comments of distinct commenters of an article specified by the given article id.
+     *
+     * @param articleId  the given article id
+     * @param commentCnt the specified count of the latest comments to scan
+     * @return comments (projections of comment id and comment author id), newest first
+     * @throws RepositoryException repository exception
+     */
+    private List<JSONObject> getLatestCommentsOfDistinctCommenters(final String articleId, final int commentCnt)
+            throws RepositoryException {
+        final Query query = new Query().addSort(Keys.OBJECT_ID, SortDirection.DESCENDING)
+                .setFilter(new PropertyFilter(Comment.COMMENT_ON_ARTICLE_ID, FilterOperator.EQUAL, articleId))
+                .addProjection(Keys.OBJECT_ID, String.class)
+                .addProjection(Comment.COMMENT_AUTHOR_ID, String.class)
+                .setPageCount(1).setCurrentPageNum(1).setPageSize(commentCnt);
+        final JSONObject result = commentRepository.get(query);
+
+        final List<JSONObject> ret = new ArrayList<>();
+        final Set<String> commenterIds = new HashSet<>();
+        final JSONArray records = result.optJSONArray(Keys.RESULTS);
+        for (int i = 0; i < records.length(); i++) {
+            final JSONObject comment = records.optJSONObject(i);
+            if (commenterIds.add(comment.optString(Comment.COMMENT_AUTHOR_ID))) {
+                ret.add(comment);
+            }
+        }
+
+        return ret;
+    }
+
     /**
      * Processes the specified article content.
      * <ul>
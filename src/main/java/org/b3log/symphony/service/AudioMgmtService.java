@@ -29,23 +29,22 @@ import org.b3log.latke.Latkes;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.util.HttpClients;
 import org.b3log.symphony.util.Symphonys;
-import org.b3log.symphony.util.URLs;
 import org.json.JSONObject;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.FileOutputStream;
-import java.io.InputStream;
 import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Audio management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.2.3, May 6, 2018
+ * @version 1.1.0.0, Oct 19, 2026
  * @since 2.1.0
  */
 @Service
@@ -72,21 +71,13 @@ public class AudioMgmtService {
         }
 
         try {
-            final URL url = new URL("https://openapi.baidu.com/oauth/2.0/token?grant_type=client_credentials"
-                    + "&client_id=" + BAIDU_API_KEY + "&client_secret=" + BAIDU_SECRET_KEY);
+            final String url = "https://openapi.baidu.com/oauth/2.0/token?grant_type=client_credentials"
+                    + "&client_id=" + BAIDU_API_KEY + "&client_secret=" + BAIDU_SECRET_KEY;
+            final HttpClients.Response response = HttpClients.send(new HttpClients.Request("POST", url));
 
-            final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("POST");
-
-            try (final InputStream inputStream = conn.getInputStream()) {
-                final String content = IOUtils.toString(inputStream, "UTF-8");
-
-                conn.disconnect();
-
-                final JSONObject result = new JSONObject(content);
-                BAIDU_ACCESS_TOKEN = result.optString("access_token", null);
-                BAIDU_ACCESS_TOKEN_TIME = now;
-            }
+            final JSONObject result = new JSONObject(response.getBodyText());
+            BAIDU_ACCESS_TOKEN = result.optString("access_token", null);
+            BAIDU_ACCESS_TOKEN_TIME = now;
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Requires Baidu Yuyin access token failed", e);
         }
@@ -108,37 +99,24 @@ public class AudioMgmtService {
         }
 
         try {
-            final URL url = new URL("http://tsn.baidu.com/text2audio?grant_type=client_credentials"
-                    + "&client_id=" + BAIDU_API_KEY + "&client_secret=" + BAIDU_SECRET_KEY);
-
-            final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("POST");
-            conn.setDoOutput(true);
-
-            try (final OutputStream outputStream = conn.getOutputStream()) {
-                IOUtils.write("tex=" + URLs.encode(StringUtils.substring(text, 0, 1024))
-                        + "&lan=zh&cuid=" + uid + "&spd=6&pit=6&ctp=1&tok=" + BAIDU_ACCESS_TOKEN, outputStream, "UTF-8");
-            }
-
-            byte[] ret;
-            try (final InputStream inputStream = conn.getInputStream()) {
-                final int responseCode = conn.getResponseCode();
-                final String contentType = conn.getContentType();
-
-                if (HttpServletResponse.SC_OK != responseCode || !"audio/mp3".equals(contentType)) {
-                    final String msg = IOUtils.toString(inputStream, "UTF-8");
-                    LOGGER.warn("Baidu Yuyin TTS failed: " + msg.toString());
-                    conn.disconnect();
-
-                    return null;
-                }
-
-                ret = IOUtils.toByteArray(inputStream);
+            final String url = "http://tsn.baidu.com/text2audio?grant_type=client_credentials"
+                    + "&client_id=" + BAIDU_API_KEY + "&client_secret=" + BAIDU_SECRET_KEY;
+            final Map<String, Object> form = new LinkedHashMap<>();
+            form.put("tex", StringUtils.substring(text, 0, 1024));
+            form.put("lan", "zh");
+            form.put("cuid", uid);
+            form.put("spd", "6");
+            form.put("pit", "6");
+            form.put("ctp", "1");
+            form.put("tok", BAIDU_ACCESS_TOKEN);
+            final HttpClients.Response response = HttpClients.send(new HttpClients.Request("POST", url).form(form));
+            if (HttpServletResponse.SC_OK != response.getCode() || !"audio/mp3".equals(response.getContentType())) {
+                LOGGER.warn("Baidu Yuyin TTS failed: " + response.getBodyText());
+
+                return null;
             }
 
-            conn.disconnect();
-
-            return ret;
+            return response.getBody();
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Requires Baidu Yuyin access token failed", e);
         }
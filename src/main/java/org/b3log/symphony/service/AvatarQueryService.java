@@ -25,14 +25,17 @@ import org.b3log.symphony.model.UserExt;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
 
+import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 
 /**
  * User avatar query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.5.2.0, Nov 18, 2017
+ * @version 1.6.0.2, Oct 19, 2026
  * @since 0.3.0
  */
 @Service
@@ -48,6 +51,27 @@ public class AvatarQueryService {
      */
     private static final String DEFAULT_AVATAR_URL = Symphonys.get("defaultThumbnailURL");
 
+    /**
+     * Identicon size generated for new users.
+     */
+    public static final int IDENTICON_SIZE = 512;
+
+    /**
+     * Gets identicon PNG data with the specified hash string and size.
+     *
+     * @param hash the specified hash string, for example a MD5 hex string
+     * @param size the specified size
+     * @return identicon PNG data
+     * @throws IOException io exception
+     */
+    public byte[] getIdenticonData(final String hash, final int size) throws IOException {
+        final BufferedImage img = createAvatar(hash, size);
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ImageIO.write(img, "png", baos);
+
+        return baos.toByteArray();
+    }
+
     /**
      * Fills the specified user thumbnail URL.
      *
@@ -131,6 +155,10 @@ public class AvatarQueryService {
      * <p>
      * Refers to: https://github.com/superhj1987/awesome-identicon
      * </p>
+     * <p>
+     * The image is determined by the specified hash string, see {@link #getIdenticonData(String, int)} for the
+     * encoded PNG data.
+     * </p>
      *
      * @param hash the specified hash string
      * @param size the specified size
@@ -148,7 +176,7 @@ public class AvatarQueryService {
         for (int i = 0; i < hash.length(); i += 2) {
             final int s = i / 2;
 
-            final boolean v = Math.random() > 0.5;
+            final boolean v = 1 == (Character.digit(hash.charAt(i), 16) & 1);
             if (s % 3 == 0) {
                 array[s / 3][0] = v;
                 array[s / 3][4] = v;
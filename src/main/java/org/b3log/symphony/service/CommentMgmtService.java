@@ -33,6 +33,7 @@ import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.CollectionUtils;
 import org.b3log.latke.util.Ids;
+import org.b3log.symphony.cache.ParticipantCache;
 import org.b3log.symphony.event.EventTypes;
 import org.b3log.symphony.model.*;
 import org.b3log.symphony.repository.*;
@@ -48,7 +49,7 @@ import java.util.Locale;
  * Comment management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.14.0.1, Jun 12, 2017
+ * @version 2.14.1.1, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -149,6 +150,12 @@ public class CommentMgmtService {
     @Inject
     private LivenessMgmtService livenessMgmtService;
 
+    /**
+     * Participant cache.
+     */
+    @Inject
+    private ParticipantCache participantCache;
+
     /**
      * Accepts a comment specified with the given comment id.
      *
@@ -263,7 +270,22 @@ public class CommentMgmtService {
     @Transactional
     public void removeCommentByAdmin(final String commentId) {
         try {
+            final JSONObject comment = commentRepository.get(commentId);
+            if (null == comment) {
+                return;
+            }
+
             commentRepository.removeComment(commentId);
+
+            // Event
+            final JSONObject eventData = new JSONObject();
+            eventData.put(Comment.COMMENT, comment);
+            eventData.put(Article.ARTICLE, articleRepository.get(comment.optString(Comment.COMMENT_ON_ARTICLE_ID)));
+            try {
+                eventManager.fireEventAsynchronously(new Event<>(EventTypes.REMOVE_COMMENT, eventData));
+            } catch (final EventException e) {
+                LOGGER.log(Level.ERROR, e.getMessage(), e);
+            }
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Removes a comment error [id=" + commentId + "]", e);
         }
@@ -560,6 +582,8 @@ public class CommentMgmtService {
 
             transaction.commit();
 
+            participantCache.commentAdded(comment);
+
             if (!fromClient && Comment.COMMENT_ANONYMOUS_C_PUBLIC == commentAnonymous
                     && Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous
                     && !TuringQueryService.ROBOT_NAME.equals(commenterName)) {
@@ -33,6 +33,7 @@ import org.b3log.latke.util.CollectionUtils;
 import org.b3log.latke.util.Locales;
 import org.b3log.latke.util.Paginator;
 import org.b3log.latke.util.Stopwatchs;
+import org.b3log.symphony.cache.CommentPageCache;
 import org.b3log.symphony.model.*;
 import org.b3log.symphony.processor.advice.validate.UserRegisterValidation;
 import org.b3log.symphony.repository.ArticleRepository;
@@ -50,7 +51,7 @@ import java.util.*;
  * Comment management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.12.0.0, Jun 11, 2018
+ * @version 2.13.0.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -109,6 +110,12 @@ public class CommentQueryService {
     @Inject
     private ShortLinkQueryService shortLinkQueryService;
 
+    /**
+     * Comment page cache.
+     */
+    @Inject
+    private CommentPageCache commentPageCache;
+
     /**
      * Gets the offered (accepted) comment of an article specified by the given article id.
      *
@@ -457,7 +464,7 @@ public class CommentQueryService {
             for (final JSONObject comment : ret) {
                 comment.put(Comment.COMMENT_CREATE_TIME, comment.optLong(Comment.COMMENT_CREATE_TIME));
                 final String articleId = comment.optString(Comment.COMMENT_ON_ARTICLE_ID);
-                final JSONObject article = articleRepository.get(articleId);
+                final JSONObject article = articleRepository.getReadOnly(articleId);
                 comment.put(Comment.COMMENT_T_ARTICLE_TITLE, Emotions.clear(article.optString(Article.ARTICLE_TITLE)));
                 comment.put(Comment.COMMENT_T_ARTICLE_PERMALINK, article.optString(Article.ARTICLE_PERMALINK));
 
@@ -538,7 +545,7 @@ public class CommentQueryService {
                 comment.put(Comment.COMMENT_CREATE_TIME, new Date(comment.optLong(Comment.COMMENT_CREATE_TIME)));
 
                 final String articleId = comment.optString(Comment.COMMENT_ON_ARTICLE_ID);
-                final JSONObject article = articleRepository.get(articleId);
+                final JSONObject article = articleRepository.getReadOnly(articleId);
 
                 comment.put(Comment.COMMENT_T_ARTICLE_TITLE,
                         Article.ARTICLE_STATUS_C_INVALID == article.optInt(Article.ARTICLE_STATUS)
@@ -610,6 +617,10 @@ public class CommentQueryService {
 
     /**
      * Gets the article comments with the specified article id, page number and page size.
+     * <p>
+     * Pages not larger than {@code articleCommentsPageSize} are served from {@link CommentPageCache}, the returned
+     * comments do not contain per-viewer flags.
+     * </p>
      *
      * @param avatarViewMode the specified avatar view mode
      * @param articleId      the specified article id
@@ -622,6 +633,43 @@ public class CommentQueryService {
     public List<JSONObject> getArticleComments(final int avatarViewMode,
                                                final String articleId, final int currentPageNum, final int pageSize, final int sortMode)
             throws ServiceException {
+        if (pageSize > Symphonys.getInt("articleCommentsPageSize")) {
+            return loadArticleComments(avatarViewMode, articleId, currentPageNum, pageSize, sortMode);
+        }
+
+        final Locale locale = Locales.getLocale();
+        final String pageKey = CommentPageCache.pageKey(avatarViewMode, sortMode, currentPageNum, pageSize, locale);
+        List<JSONObject> ret = commentPageCache.getPage(articleId, pageKey);
+        if (null != ret) {
+            for (final JSONObject comment : ret) {
+                final Date createTime = (Date) comment.opt(Comment.COMMENT_CREATE_TIME);
+                comment.put(Common.TIME_AGO, Times.getTimeAgo(createTime.getTime(), locale));
+            }
+
+            return ret;
+        }
+
+        final long version = commentPageCache.getVersion(articleId);
+        ret = loadArticleComments(avatarViewMode, articleId, currentPageNum, pageSize, sortMode);
+        commentPageCache.putPage(articleId, version, pageKey, ret);
+
+        return ret;
+    }
+
+    /**
+     * Loads the article comments with the specified article id, page number and page size from repository.
+     *
+     * @param avatarViewMode the specified avatar view mode
+     * @param articleId      the specified article id
+     * @param currentPageNum the specified page number
+     * @param pageSize       the specified page size
+     * @param sortMode       the specified sort mode (traditional: 0, real time: 1)
+     * @return comments, return an empty list if not found
+     * @throws ServiceException service exception
+     */
+    private List<JSONObject> loadArticleComments(final int avatarViewMode,
+                                                 final String articleId, final int currentPageNum, final int pageSize, final int sortMode)
+            throws ServiceException {
         Stopwatchs.start("Get comments");
 
         final Query query = new Query()
@@ -750,7 +798,7 @@ public class CommentQueryService {
                 organizeComment(avatarViewMode, comment);
 
                 final String articleId = comment.optString(Comment.COMMENT_ON_ARTICLE_ID);
-                final JSONObject article = articleRepository.get(articleId);
+                final JSONObject article = articleRepository.getReadOnly(articleId);
 
                 comment.put(Comment.COMMENT_T_ARTICLE_TITLE,
                         Article.ARTICLE_STATUS_C_INVALID == article.optInt(Article.ARTICLE_STATUS)
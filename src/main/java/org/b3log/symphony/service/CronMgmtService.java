@@ -0,0 +1,637 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.cache.*;
+import org.b3log.symphony.util.FragmentCacheDirective;
+import org.b3log.symphony.util.Networks;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cron management service.
+ * <p>
+ * Runs the periodic jobs in process instead of HTTP-triggered cron. Each job is single-flight (a run is skipped while
+ * the previous one is still running), is scheduled with a random jitter, is interrupted once it runs longer than its
+ * timeout and records its run durations. The jobs changing shared data run only on the leader node
+ * ({@code cron.leader}), the jobs refreshing node-local caches run on every node. The {@code /cron/*} endpoints
+ * trigger jobs manually via {@link #run(java.lang.String)}.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.1, Oct 19, 2026
+ * @since 3.0.0
+ */
+@Service
+public class CronMgmtService {
+
+    /**
+     * Job - loads usernames.
+     */
+    public static final String JOB_LOAD_USER_NAMES = "users/load-names";
+
+    /**
+     * Job - expires sticked articles.
+     */
+    public static final String JOB_EXPIRE_STICK = "article/stick-expire";
+
+    /**
+     * Job - refreshes cache.
+     */
+    public static final String JOB_REFRESH_CACHE = "refresh-cache";
+
+    /**
+     * Job - generates sitemaps.
+     */
+    public static final String JOB_GEN_SITEMAP = "sitemap";
+
+    /**
+     * Job - loads statistic data.
+     */
+    public static final String JOB_LOAD_STAT = "stat";
+
+    /**
+     * Job - expires invitecodes.
+     */
+    public static final String JOB_EXPIRE_INVITECODE = "invitecode-expire";
+
+    /**
+     * Job - sends weekly newsletter.
+     */
+    public static final String JOB_SEND_WEEKLY_NEWSLETTER = "mail/weekly";
+
+    /**
+     * Job - sends email verifycodes.
+     */
+    public static final String JOB_SEND_EMAIL_VERIFYCODE = "verifycode/email";
+
+    /**
+     * Job - removes expired verifycodes.
+     */
+    public static final String JOB_REMOVE_EXPIRED_VERIFYCODE = "verifycode/remove-expired";
+
+    /**
+     * Job - resets unverified users.
+     */
+    public static final String JOB_RESET_UNVERIFIED_USERS = "users/reset-unverified";
+
+    /**
+     * Job - purges link forge.
+     */
+    public static final String JOB_PURGE_LINK_FORGE = "forge/link/purge";
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(CronMgmtService.class);
+
+    /**
+     * Whether this node is the leader node.
+     */
+    private static final boolean LEADER = Symphonys.getBoolean("cron.leader");
+
+    /**
+     * Max ratio of the random jitter to the period of a job.
+     */
+    private static final double JITTER_RATIO = 0.1D;
+
+    /**
+     * Max initial delay of a job.
+     */
+    private static final long MAX_INITIAL_DELAY = 1000 * 60;
+
+    /**
+     * Jobs, &lt;name, job&gt;.
+     */
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    /**
+     * Scheduler.
+     */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Job workers, at most one thread per job since jobs are single-flight, created on demand.
+     */
+    private ExecutorService workers;
+
+    /**
+     * User query service.
+     */
+    @Inject
+    private UserQueryService userQueryService;
+
+    /**
+     * User management service.
+     */
+    @Inject
+    private UserMgmtService userMgmtService;
+
+    /**
+     * Article management service.
+     */
+    @Inject
+    private ArticleMgmtService articleMgmtService;
+
+    /**
+     * Tag management service.
+     */
+    @Inject
+    private TagMgmtService tagMgmtService;
+
+    /**
+     * Sitemap management service.
+     */
+    @Inject
+    private SitemapMgmtService sitemapMgmtService;
+
+    /**
+     * Invitecode management service.
+     */
+    @Inject
+    private InvitecodeMgmtService invitecodeMgmtService;
+
+    /**
+     * Mail management service.
+     */
+    @Inject
+    private MailMgmtService mailMgmtService;
+
+    /**
+     * Verifycode management service.
+     */
+    @Inject
+    private VerifycodeMgmtService verifycodeMgmtService;
+
+    /**
+     * Link forge management service.
+     */
+    @Inject
+    private LinkForgeMgmtService linkForgeMgmtService;
+
+    /**
+     * Domain cache.
+     */
+    @Inject
+    private DomainCache domainCache;
+
+    /**
+     * Article cache.
+     */
+    @Inject
+    private ArticleCache articleCache;
+
+    /**
+     * Tag cache.
+     */
+    @Inject
+    private TagCache tagCache;
+
+    /**
+     * Page cache.
+     */
+    @Inject
+    private PageCache pageCache;
+
+    /**
+     * Statistic cache.
+     */
+    @Inject
+    private StatisticCache statisticCache;
+
+    /**
+     * Starts scheduling jobs if {@code cron.enabled}.
+     */
+    public synchronized void start() {
+        if (!Symphonys.getBoolean("cron.enabled") || null != scheduler) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread ret = new Thread(r, "CronScheduler");
+            ret.setDaemon(true);
+
+            return ret;
+        });
+
+        for (final Job job : getJobs().values()) {
+            if (job.leaderOnly && !LEADER) {
+                continue;
+            }
+
+            final long initialDelay = ThreadLocalRandom.current().nextLong(Math.min(job.period, MAX_INITIAL_DELAY));
+            scheduler.schedule(() -> tick(job), initialDelay, TimeUnit.MILLISECONDS);
+        }
+
+        LOGGER.info("Started cron [leader=" + LEADER + "]");
+    }
+
+    /**
+     * Stops scheduling jobs, running jobs are interrupted. Cron can be started again after stopped.
+     */
+    public synchronized void stop() {
+        if (null != scheduler) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+
+        if (null != workers) {
+            workers.shutdownNow();
+            workers = null;
+        }
+    }
+
+    /**
+     * Runs a job specified by the given job name right now and waits for it, used to trigger a job manually.
+     *
+     * @param jobName the given job name
+     * @return {@code true} if the job ran, returns {@code false} if not found or skipped since it is running
+     */
+    public boolean run(final String jobName) {
+        final Job job = getJobs().get(jobName);
+        if (null == job) {
+            return false;
+        }
+
+        final Future<?> future = submit(job);
+        if (null == future) {
+            return false;
+        }
+
+        try {
+            future.get(job.timeout, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            timeout(job, future);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException e) {
+            // Logged in the job
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the statistic of jobs.
+     *
+     * @return for example, <pre>
+     * {
+     *     "leader": true,
+     *     "jobs": {
+     *         "article/stick-expire": {
+     *             "running": false,
+     *             "runs": 1440,
+     *             "failures": 0,
+     *             "timeouts": 0,
+     *             "skips": 0,
+     *             "lastStartTime": long,
+     *             "lastElapsed": 12,
+     *             "avgElapsed": 10,
+     *             "maxElapsed": 235
+     *         }, ....
+     *     }
+     * }
+     * </pre>
+     */
+    public JSONObject getStat() {
+        final JSONObject stats = new JSONObject();
+        for (final Job job : getJobs().values()) {
+            stats.put(job.name, job.getStat());
+        }
+
+        return new JSONObject().put("leader", LEADER).put("jobs", stats);
+    }
+
+    /**
+     * Runs the specified job in background and schedules its next run.
+     *
+     * @param job the specified job
+     */
+    private void tick(final Job job) {
+        final ScheduledExecutorService currentScheduler = scheduler;
+        if (null == currentScheduler) {
+            return;
+        }
+
+        try {
+            final Future<?> future = submit(job);
+            if (null != future) {
+                currentScheduler.schedule(() -> timeout(job, future), job.timeout, TimeUnit.MILLISECONDS);
+            }
+
+            final long jitter = ThreadLocalRandom.current().nextLong((long) (job.period * JITTER_RATIO) + 1);
+            currentScheduler.schedule(() -> tick(job), job.period + jitter, TimeUnit.MILLISECONDS);
+        } catch (final RejectedExecutionException e) {
+            // Stopped
+        }
+    }
+
+    /**
+     * Submits the specified job to the workers.
+     *
+     * @param job the specified job
+     * @return future of the run, returns {@code null} if skipped since the job is running
+     */
+    private Future<?> submit(final Job job) {
+        if (!job.running.compareAndSet(false, true)) {
+            job.skips.increment();
+
+            return null;
+        }
+
+        try {
+            return getWorkers().submit(() -> {
+                final long start = System.currentTimeMillis();
+                job.lastStartTime = start;
+                try {
+                    job.task.run();
+                } catch (final Exception e) {
+                    job.failures.increment();
+                    LOGGER.log(Level.ERROR, "Runs cron job [" + job.name + "] failed", e);
+                } finally {
+                    JdbcRepository.dispose();
+                    job.ran(System.currentTimeMillis() - start);
+                    job.running.set(false);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            job.running.set(false);
+
+            return null;
+        }
+    }
+
+    /**
+     * Gets the job workers, creates them if absent.
+     *
+     * @return job workers
+     */
+    private synchronized ExecutorService getWorkers() {
+        if (null == workers) {
+            workers = Executors.newCachedThreadPool(r -> {
+                final Thread ret = new Thread(r, "CronWorker");
+                ret.setDaemon(true);
+
+                return ret;
+            });
+        }
+
+        return workers;
+    }
+
+    /**
+     * Interrupts the specified run of the specified job if it has not finished. A job which does not respond to the
+     * interruption keeps running (and keeps skipping its next runs) until it finishes.
+     *
+     * @param job    the specified job
+     * @param future the specified run
+     */
+    private void timeout(final Job job, final Future<?> future) {
+        if (future.isDone()) {
+            return;
+        }
+
+        job.timeouts.increment();
+        future.cancel(true);
+        LOGGER.log(Level.WARN, "Cron job [" + job.name + "] timeout [" + job.timeout + "ms], interruption requested");
+    }
+
+    /**
+     * Refreshes cache.
+     */
+    private void refreshCache() {
+        domainCache.loadDomains();
+        articleCache.loadPerfectArticles();
+        articleCache.loadSideHotArticles();
+        articleCache.loadSideRandomArticles();
+        tagCache.loadTags();
+        pageCache.clear();
+        FragmentCacheDirective.clear();
+        tagMgmtService.flushTagRelations();
+    }
+
+    /**
+     * Purges link forge, does nothing on local or development deployments.
+     */
+    private void purgeLinkForge() {
+        if (Latkes.getServePath().contains("localhost") || Networks.isIPv4(Latkes.getServerHost())
+                || Latkes.RuntimeMode.DEVELOPMENT == Latkes.getRuntimeMode()) {
+            return;
+        }
+
+        linkForgeMgmtService.purge();
+    }
+
+    /**
+     * Gets the jobs, defines them on the first call.
+     *
+     * @return jobs
+     */
+    private synchronized Map<String, Job> getJobs() {
+        if (!jobs.isEmpty()) {
+            return jobs;
+        }
+
+        final long second = 1000;
+        final long minute = 60 * second;
+        final long hour = 60 * minute;
+
+        addJob(JOB_LOAD_USER_NAMES, 30 * minute, 5 * minute, false, userQueryService::loadUserNames);
+        addJob(JOB_EXPIRE_STICK, minute, 30 * second, true, articleMgmtService::expireStick);
+        addJob(JOB_REFRESH_CACHE, 30 * minute, 10 * minute, false, this::refreshCache);
+        addJob(JOB_GEN_SITEMAP, 30 * minute, hour, false, sitemapMgmtService::genSitemaps);
+        addJob(JOB_LOAD_STAT, 30 * minute, 10 * minute, false, statisticCache::loadStatistic);
+        addJob(JOB_EXPIRE_INVITECODE, 6 * minute, minute, true, invitecodeMgmtService::expireInvitecodes);
+        addJob(JOB_SEND_WEEKLY_NEWSLETTER, 5 * minute, 5 * minute, true, mailMgmtService::sendWeeklyNewsletter);
+        addJob(JOB_SEND_EMAIL_VERIFYCODE, 5 * second, minute, true, verifycodeMgmtService::sendEmailVerifycode);
+        addJob(JOB_REMOVE_EXPIRED_VERIFYCODE, hour, 5 * minute, true, verifycodeMgmtService::removeExpiredVerifycodes);
+        addJob(JOB_RESET_UNVERIFIED_USERS, 24 * hour, 10 * minute, true, userMgmtService::resetUnverifiedUsers);
+        addJob(JOB_PURGE_LINK_FORGE, 7 * hour, hour, true, this::purgeLinkForge);
+
+        return jobs;
+    }
+
+    /**
+     * Adds a job.
+     *
+     * @param name       the specified job name
+     * @param period     the specified period (ms)
+     * @param timeout    the specified timeout (ms)
+     * @param leaderOnly the specified flag, {@code true} if the job runs only on the leader node
+     * @param task       the specified task
+     */
+    private void addJob(final String name, final long period, final long timeout, final boolean leaderOnly,
+                        final Task task) {
+        jobs.put(name, new Job(name, period, timeout, leaderOnly, task));
+    }
+
+    /**
+     * Job task.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.1, Oct 19, 2026
+     * @since 3.0.0
+     */
+    @FunctionalInterface
+    private interface Task {
+
+        /**
+         * Runs the task.
+         *
+         * @throws Exception exception
+         */
+        void run() throws Exception;
+    }
+
+    /**
+     * Job.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.1, Oct 19, 2026
+     * @since 3.0.0
+     */
+    private static final class Job {
+
+        /**
+         * Name.
+         */
+        private final String name;
+
+        /**
+         * Period (ms).
+         */
+        private final long period;
+
+        /**
+         * Timeout (ms).
+         */
+        private final long timeout;
+
+        /**
+         * Whether runs only on the leader node.
+         */
+        private final boolean leaderOnly;
+
+        /**
+         * Task.
+         */
+        private final Task task;
+
+        /**
+         * Running flag.
+         */
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        /**
+         * Count of runs.
+         */
+        private final LongAdder runs = new LongAdder();
+
+        /**
+         * Count of failed runs.
+         */
+        private final LongAdder failures = new LongAdder();
+
+        /**
+         * Count of timeout runs.
+         */
+        private final LongAdder timeouts = new LongAdder();
+
+        /**
+         * Count of skipped runs.
+         */
+        private final LongAdder skips = new LongAdder();
+
+        /**
+         * Total elapsed time (ms) of runs.
+         */
+        private final LongAdder totalElapsed = new LongAdder();
+
+        /**
+         * Max elapsed time (ms) of a run.
+         */
+        private final AtomicLong maxElapsed = new AtomicLong();
+
+        /**
+         * Start time of the latest run.
+         */
+        private volatile long lastStartTime;
+
+        /**
+         * Elapsed time (ms) of the latest run.
+         */
+        private volatile long lastElapsed;
+
+        /**
+         * Constructs a job.
+         *
+         * @param name       the specified name
+         * @param period     the specified period (ms)
+         * @param timeout    the specified timeout (ms)
+         * @param leaderOnly the specified flag, {@code true} if the job runs only on the leader node
+         * @param task       the specified task
+         */
+        private Job(final String name, final long period, final long timeout, final boolean leaderOnly,
+                    final Task task) {
+            this.name = name;
+            this.period = period;
+            this.timeout = timeout;
+            this.leaderOnly = leaderOnly;
+            this.task = task;
+        }
+
+        /**
+         * Records a finished run with the specified elapsed time.
+         *
+         * @param elapsed the specified elapsed time (ms)
+         */
+        private void ran(final long elapsed) {
+            runs.increment();
+            totalElapsed.add(elapsed);
+            maxElapsed.accumulateAndGet(elapsed, Math::max);
+            lastElapsed = elapsed;
+        }
+
+        /**
+         * Gets the statistic of this job.
+         *
+         * @return statistic, see {@link CronMgmtService#getStat()} for details
+         */
+        private JSONObject getStat() {
+            final long runCnt = runs.sum();
+
+            return new JSONObject().put("running", running.get()).put("runs", runCnt).
+                    put("failures", failures.sum()).put("timeouts", timeouts.sum()).put("skips", skips.sum()).
+                    put("lastStartTime", lastStartTime).put("lastElapsed", lastElapsed).
+                    put("avgElapsed", 0 == runCnt ? 0 : totalElapsed.sum() / runCnt).put("maxElapsed", maxElapsed.get());
+        }
+    }
+}
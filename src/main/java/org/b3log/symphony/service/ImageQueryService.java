@@ -0,0 +1,261 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import jodd.io.FileUtil;
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.latke.util.MD5;
+import org.b3log.symphony.util.Images;
+import org.b3log.symphony.util.Symphonys;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Image query service, processes (resize/crop/quality/format) images uploaded to local with Qiniu imageView2
+ * parameters.
+ * <p>
+ * Processed images are saved in a size-bounded disk cache dir (evicts least recently used files), processing runs
+ * in a bounded worker pool and concurrent requests for the same processed image share one processing.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+@Service
+public class ImageQueryService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ImageQueryService.class);
+
+    /**
+     * Processed image cache dir.
+     */
+    private static final String CACHE_DIR = Symphonys.get("upload.img.cacheDir");
+
+    /**
+     * Max size (in bytes) of the processed image cache dir.
+     */
+    private static final long CACHE_MAX_SIZE = Symphonys.getLong("upload.img.cacheMaxSize");
+
+    /**
+     * Processing timeout (in milliseconds).
+     */
+    private static final int PROCESS_TIMEOUT = Symphonys.getInt("upload.img.processTimeout");
+
+    /**
+     * Processable image suffixes.
+     */
+    private static final String[] PROCESSABLE_SUFFIXES = new String[]{"jpg", "jpeg", "png", "bmp"};
+
+    /**
+     * Image processing worker pool.
+     */
+    private static final ExecutorService WORKERS = new ThreadPoolExecutor(
+            Symphonys.getInt("upload.img.workers"), Symphonys.getInt("upload.img.workers"),
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Symphonys.getInt("upload.img.queueSize")),
+            r -> {
+                final Thread ret = new Thread(r, "ImageProcessor");
+                ret.setDaemon(true);
+
+                return ret;
+            });
+
+    /**
+     * In-flight processings, &lt;cache file name, processing&gt;.
+     */
+    private static final Map<String, Future<File>> PROCESSINGS = new ConcurrentHashMap<>();
+
+    /**
+     * Current size of the cache dir.
+     */
+    private static final AtomicLong CACHE_SIZE = new AtomicLong();
+
+    static {
+        final File dir = new File(CACHE_DIR);
+        try {
+            if (!FileUtil.isExistingFolder(dir)) {
+                FileUtil.mkdirs(dir);
+            }
+
+            final File[] files = dir.listFiles();
+            if (null != files) {
+                for (final File file : files) {
+                    CACHE_SIZE.addAndGet(file.length());
+                }
+            }
+
+            LOGGER.info("Uses dir [" + dir.getAbsolutePath() + "] for caching processed images");
+        } catch (final IOException e) {
+            LOGGER.log(Level.ERROR, "Init processed image cache dir error", e);
+        }
+    }
+
+    /**
+     * Gets the processed image file of the specified original image file with the specified imageView2 query.
+     *
+     * @param original  the specified original image file
+     * @param imageView the specified imageView2 query, for example "imageView2/1/w/180/h/135/format/jpg/interlace/1/q"
+     * @return processed image file, returns the specified original image file if can't process it
+     */
+    public File getProcessedImage(final File original, final String imageView) {
+        final String suffix = StringUtils.lowerCase(StringUtils.substringAfterLast(original.getName(), "."));
+        if (!Arrays.asList(PROCESSABLE_SUFFIXES).contains(suffix)) {
+            return original;
+        }
+
+        final Images.Operation operation = Images.parseImageView(imageView);
+        if (null == operation) {
+            return original;
+        }
+
+        String format = operation.getFormat();
+        if (null == format) {
+            format = "jpeg".equals(suffix) ? "jpg" : suffix;
+        }
+
+        final String cacheName = MD5.hash(original.getAbsolutePath() + ":" + original.lastModified() + ":"
+                + operation.toKey()) + "." + format;
+        final File cached = new File(CACHE_DIR, cacheName);
+        if (cached.exists()) {
+            cached.setLastModified(System.currentTimeMillis());
+
+            return cached;
+        }
+
+        final String targetFormat = format;
+        final FutureTask<File> task = new FutureTask<>(() -> process(original, operation, targetFormat, cached));
+        Future<File> processing = PROCESSINGS.putIfAbsent(cacheName, task);
+        try {
+            if (null == processing) {
+                processing = task;
+                try {
+                    WORKERS.execute(task);
+                } catch (final RejectedExecutionException e) {
+                    LOGGER.log(Level.WARN, "Image processing queue is full, serves the original image [" + original.getName() + "]");
+                    PROCESSINGS.remove(cacheName, task);
+
+                    return original;
+                }
+            }
+
+            final File ret = processing.get(PROCESS_TIMEOUT, TimeUnit.MILLISECONDS);
+
+            return null == ret ? original : ret;
+        } catch (final TimeoutException e) {
+            LOGGER.log(Level.WARN, "Processes image [" + original.getName() + "] timeout");
+
+            return original;
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Processes image [" + original.getName() + "] failed", e);
+
+            return original;
+        }
+    }
+
+    /**
+     * Processes the specified original image file and saves the result to the specified cache file.
+     *
+     * @param original  the specified original image file
+     * @param operation the specified operation
+     * @param format    the specified target format
+     * @param cached    the specified cache file
+     * @return the specified cache file, returns {@code null} if the original image file can't be read
+     * @throws IOException io exception
+     */
+    private File process(final File original, final Images.Operation operation, final String format,
+                         final File cached) throws IOException {
+        try {
+            final BufferedImage src = ImageIO.read(original);
+            if (null == src) {
+                return null;
+            }
+
+            final BufferedImage processed = Images.process(src, operation);
+            final File tmp = new File(CACHE_DIR, cached.getName() + ".tmp");
+            try (final OutputStream output = new BufferedOutputStream(new FileOutputStream(tmp))) {
+                Images.write(processed, format, operation.getQuality(), operation.isInterlace(), output);
+            }
+
+            if (!tmp.renameTo(cached)) {
+                tmp.delete();
+
+                throw new IOException("Renames processed image [" + tmp.getName() + "] failed");
+            }
+
+            if (CACHE_SIZE.addAndGet(cached.length()) > CACHE_MAX_SIZE) {
+                evict();
+            }
+
+            return cached;
+        } finally {
+            PROCESSINGS.remove(cached.getName());
+        }
+    }
+
+    /**
+     * Evicts the least recently used processed images until the cache dir size is below 90% of the max size.
+     */
+    private static synchronized void evict() {
+        if (CACHE_SIZE.get() <= CACHE_MAX_SIZE) {
+            return;
+        }
+
+        final File[] files = new File(CACHE_DIR).listFiles();
+        if (null == files) {
+            return;
+        }
+
+        long size = 0;
+        for (final File file : files) {
+            size += file.length();
+        }
+
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        final long threshold = CACHE_MAX_SIZE / 10 * 9;
+        for (final File file : files) {
+            if (size <= threshold) {
+                break;
+            }
+
+            if (StringUtils.endsWith(file.getName(), ".tmp")) {
+                continue;
+            }
+
+            final long length = file.length();
+            if (file.delete()) {
+                size -= length;
+            }
+        }
+
+        CACHE_SIZE.set(size);
+        LOGGER.log(Level.DEBUG, "Evicted processed images, current cache size [" + size + "]");
+    }
+}
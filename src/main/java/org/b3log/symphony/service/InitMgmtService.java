@@ -17,6 +17,8 @@
  */
 package org.b3log.symphony.service;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.inject.Inject;
@@ -24,6 +26,7 @@ import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.model.User;
 import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.util.Connections;
 import org.b3log.latke.repository.jdbc.util.JdbcRepositories;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
@@ -32,18 +35,18 @@ import org.b3log.latke.util.MD5;
 import org.b3log.symphony.model.*;
 import org.b3log.symphony.repository.*;
 import org.b3log.symphony.util.Symphonys;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Random;
-import java.util.Set;
+import java.io.InputStream;
+import java.sql.*;
+import java.util.*;
 
 /**
  * Initialization management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.1.10, May 24, 2018
+ * @version 1.3.0.0, Oct 19, 2026
  * @since 1.8.0
  */
 @Service
@@ -213,6 +216,70 @@ public class InitMgmtService {
     @Inject
     private UserQueryService userQueryService;
 
+    /**
+     * Creates indexes declared in repository.json if they do not exist.
+     * <p>
+     * Tables are generated from repository.json by Latke without indexes, so the declared indexes are created here
+     * both for a new setup and for an existing database. An index which exists already is skipped.
+     * </p>
+     */
+    public void initIndexes() {
+        final JSONArray repositories;
+        try (final InputStream inputStream = InitMgmtService.class.getResourceAsStream("/repository.json")) {
+            repositories = new JSONObject(IOUtils.toString(inputStream, "UTF-8")).optJSONArray("repositories");
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Reads repository definitions failed", e);
+
+            return;
+        }
+
+        final String tablePrefix = StringUtils.isNotBlank(Latkes.getLocalProperty("jdbc.tablePrefix"))
+                ? Latkes.getLocalProperty("jdbc.tablePrefix") + "_" : "";
+        try (final Connection connection = Connections.getConnection()) {
+            final DatabaseMetaData metaData = connection.getMetaData();
+            for (int i = 0; i < repositories.length(); i++) {
+                final JSONObject repository = repositories.optJSONObject(i);
+                final JSONArray indexes = repository.optJSONArray("indexes");
+                if (null == indexes) {
+                    continue;
+                }
+
+                final String tableName = tablePrefix + repository.optString("name");
+                final Set<String> existingIndexes = new HashSet<>();
+                try (final ResultSet resultSet = metaData.getIndexInfo(null, null, tableName, false, true)) {
+                    while (resultSet.next()) {
+                        existingIndexes.add(StringUtils.lowerCase(resultSet.getString("INDEX_NAME")));
+                    }
+                }
+
+                for (int j = 0; j < indexes.length(); j++) {
+                    final JSONObject index = indexes.optJSONObject(j);
+                    final String indexName = index.optString("name");
+                    if (existingIndexes.contains(indexName.toLowerCase())) {
+                        continue;
+                    }
+
+                    final List<String> keys = new ArrayList<>();
+                    final JSONArray keysArray = index.optJSONArray("keys");
+                    for (int k = 0; k < keysArray.length(); k++) {
+                        keys.add(keysArray.optString(k));
+                    }
+
+                    final String sql = "CREATE INDEX " + indexName + " ON " + tableName + " ("
+                            + StringUtils.join(keys, ", ") + ")";
+                    try (final Statement statement = connection.createStatement()) {
+                        statement.executeUpdate(sql);
+                        LOGGER.log(Level.INFO, "Created index [{0}]", sql);
+                    } catch (final SQLException e) {
+                        LOGGER.log(Level.ERROR, "Creates index [" + sql + "] failed", e);
+                    }
+                }
+            }
+        } catch (final SQLException e) {
+            LOGGER.log(Level.ERROR, "Creates indexes failed", e);
+        }
+    }
+
     /**
      * Initializes Sym if first time setup.
      */
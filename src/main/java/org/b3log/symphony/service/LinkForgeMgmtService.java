@@ -42,6 +42,7 @@ import org.b3log.symphony.repository.TagUserLinkRepository;
 import org.b3log.symphony.util.Links;
 import org.b3log.symphony.util.Pangu;
 import org.b3log.symphony.util.Symphonys;
+import org.b3log.symphony.util.ThreadPools;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.jsoup.Jsoup;
@@ -57,7 +58,7 @@ import java.util.concurrent.TimeUnit;
  * Link forge management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.2.0, Nov 30, 2017
+ * @version 1.1.3.0, Oct 19, 2026
  * @since 1.6.0
  */
 @Service
@@ -285,7 +286,7 @@ public class LinkForgeMgmtService {
                 final CountDownLatch countDownLatch = new CountDownLatch(links.length());
                 for (int i = 0; i < links.length(); i++) {
                     final JSONObject link = links.getJSONObject(i);
-                    Symphonys.EXECUTOR_SERVICE.submit(new CheckTask(link, countDownLatch));
+                    ThreadPools.HTTP.submit(new CheckTask(link, countDownLatch));
                 }
                 countDownLatch.await(1, TimeUnit.HOURS);
                 LOGGER.info("Pinged links [size=" + links.length()
@@ -30,19 +30,20 @@ import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Notification;
 import org.b3log.symphony.processor.channel.UserChannel;
 import org.b3log.symphony.repository.NotificationRepository;
-import org.b3log.symphony.util.Symphonys;
+import org.b3log.symphony.util.ThreadPools;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Notification management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.17.0.0, Jun 11, 2017
+ * @version 1.17.1.0, Oct 19, 2026
  * @since 0.2.5
  */
 @Service
@@ -866,12 +867,16 @@ public class NotificationMgmtService {
 
         notificationRepository.add(notification);
 
-        Symphonys.EXECUTOR_SERVICE.submit(() -> {
-            final JSONObject cmd = new JSONObject();
-            cmd.put(Common.USER_ID, requestJSONObject.optString(Notification.NOTIFICATION_USER_ID));
-            cmd.put(Common.COMMAND, "refreshNotification");
+        try {
+            ThreadPools.PUSH.submit(() -> {
+                final JSONObject cmd = new JSONObject();
+                cmd.put(Common.USER_ID, requestJSONObject.optString(Notification.NOTIFICATION_USER_ID));
+                cmd.put(Common.COMMAND, "refreshNotification");
 
-            UserChannel.sendCmd(cmd);
-        });
+                UserChannel.sendCmd(cmd);
+            });
+        } catch (final RejectedExecutionException e) {
+            // the client refreshes notifications on next page load
+        }
     }
 }
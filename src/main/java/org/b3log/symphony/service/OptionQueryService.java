@@ -31,20 +31,18 @@ import org.b3log.symphony.model.Option;
 import org.b3log.symphony.processor.channel.ArticleChannel;
 import org.b3log.symphony.processor.channel.ArticleListChannel;
 import org.b3log.symphony.processor.channel.ChatRoomChannel;
-import org.b3log.symphony.processor.channel.UserChannel;
 import org.b3log.symphony.repository.OptionRepository;
+import org.b3log.symphony.util.RequestContext;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import javax.websocket.Session;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Option query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.4.0.12, Jan 30, 2018
+ * @version 1.4.2.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -67,18 +65,19 @@ public class OptionQueryService {
     @Inject
     private LangPropsService langPropsService;
 
+    /**
+     * User presence service.
+     */
+    @Inject
+    private UserPresenceService userPresenceService;
+
     /**
      * Gets the online member count.
      *
      * @return online member count
      */
     public int getOnlineMemberCount() {
-        int ret = 0;
-        for (final Set<Session> value : UserChannel.SESSIONS.values()) {
-            ret += value.size();
-        }
-
-        return ret;
+        return userPresenceService.getOnlineUserCount();
     }
 
     /**
@@ -264,6 +263,14 @@ public class OptionQueryService {
      * @return option, return {@code null} if not found
      */
     public JSONObject getOption(final String optionId) {
+        final RequestContext requestContext = RequestContext.get();
+        if (null != requestContext) {
+            final JSONObject ret = requestContext.getOption(optionId);
+            if (null != ret) {
+                return ret;
+            }
+        }
+
         try {
             final JSONObject ret = optionRepository.get(optionId);
 
@@ -271,6 +278,10 @@ public class OptionQueryService {
                 return null;
             }
 
+            if (null != requestContext) {
+                requestContext.putOption(ret);
+            }
+
             return ret;
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Gets an option [optionId=" + optionId + "] failed", e);
@@ -42,7 +42,7 @@ import java.util.List;
  * Pointtransfer query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.21.2.3, Jun 11, 2017
+ * @version 1.21.3.0, Oct 19, 2026
  * @since 1.3.0
  */
 @Service
@@ -277,7 +277,7 @@ public class PointtransferQueryService {
 
                         break;
                     case Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE:
-                        final JSONObject addArticle = articleRepository.get(dataId);
+                        final JSONObject addArticle = articleRepository.getReadOnly(dataId);
                         if (null == addArticle) {
                             desTemplate = langPropsService.get("removedLabel");
 
@@ -291,7 +291,7 @@ public class PointtransferQueryService {
 
                         break;
                     case Pointtransfer.TRANSFER_TYPE_C_UPDATE_ARTICLE:
-                        final JSONObject updateArticle = articleRepository.get(dataId);
+                        final JSONObject updateArticle = articleRepository.getReadOnly(dataId);
                         if (null == updateArticle) {
                             desTemplate = langPropsService.get("removedLabel");
 
@@ -305,7 +305,7 @@ public class PointtransferQueryService {
 
                         break;
                     case Pointtransfer.TRANSFER_TYPE_C_ADD_COMMENT:
-                        final JSONObject comment = commentRepository.get(dataId);
+                        final JSONObject comment = commentRepository.getReadOnly(dataId);
 
                         if (null == comment) {
                             desTemplate = langPropsService.get("removedLabel");
@@ -314,7 +314,7 @@ public class PointtransferQueryService {
                         }
 
                         final String articleId = comment.optString(Comment.COMMENT_ON_ARTICLE_ID);
-                        final JSONObject commentArticle = articleRepository.get(articleId);
+                        final JSONObject commentArticle = articleRepository.getReadOnly(articleId);
 
                         final String commentArticleLink = "<a href=\""
                                 + commentArticle.optString(Article.ARTICLE_PERMALINK) + "\">"
@@ -322,7 +322,7 @@ public class PointtransferQueryService {
                         desTemplate = desTemplate.replace("{article}", commentArticleLink);
 
                         if ("3In".equals(typeStr)) {
-                            final JSONObject commenter = userRepository.get(fromId);
+                            final JSONObject commenter = userRepository.getReadOnly(fromId);
                             final String commenterLink = UserExt.getUserLink(commenter);
 
                             desTemplate = desTemplate.replace("{user}", commenterLink);
@@ -330,7 +330,7 @@ public class PointtransferQueryService {
 
                         break;
                     case Pointtransfer.TRANSFER_TYPE_C_UPDATE_COMMENT:
-                        final JSONObject comment32 = commentRepository.get(dataId);
+                        final JSONObject comment32 = commentRepository.getReadOnly(dataId);
 
                         if (null == comment32) {
                             desTemplate = langPropsService.get("removedLabel");
@@ -339,7 +339,7 @@ public class PointtransferQueryService {
                         }
 
                         final String articleId32 = comment32.optString(Comment.COMMENT_ON_ARTICLE_ID);
-                        final JSONObject commentArticle32 = articleRepository.get(articleId32);
+                        final JSONObject commentArticle32 = articleRepository.getReadOnly(articleId32);
 
                         final String commentArticleLink32 = "<a href=\""
                                 + commentArticle32.optString(Article.ARTICLE_PERMALINK) + "\">"
@@ -348,7 +348,7 @@ public class PointtransferQueryService {
 
                         break;
                     case Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE_REWARD:
-                        final JSONObject addArticleReword = articleRepository.get(dataId);
+                        final JSONObject addArticleReword = articleRepository.getReadOnly(dataId);
                         if (null == addArticleReword) {
                             desTemplate = langPropsService.get("removedLabel");
 
@@ -369,11 +369,11 @@ public class PointtransferQueryService {
                         }
                         final String rewardArticleId = reward.optString(Reward.DATA_ID);
 
-                        final JSONObject sender = userRepository.get(senderId);
+                        final JSONObject sender = userRepository.getReadOnly(senderId);
                         final String senderLink = UserExt.getUserLink(sender);
                         desTemplate = desTemplate.replace("{user}", senderLink);
 
-                        final JSONObject articleReward = articleRepository.get(rewardArticleId);
+                        final JSONObject articleReward = articleRepository.getReadOnly(rewardArticleId);
                         if (null == articleReward) {
                             desTemplate = langPropsService.get("removedLabel");
 
@@ -390,14 +390,14 @@ public class PointtransferQueryService {
                         final JSONObject reward14 = rewardRepository.get(dataId);
                         JSONObject user14;
                         if ("14In".equals(typeStr)) {
-                            user14 = userRepository.get(fromId);
+                            user14 = userRepository.getReadOnly(fromId);
                         } else {
-                            user14 = userRepository.get(toId);
+                            user14 = userRepository.getReadOnly(toId);
                         }
                         final String userLink14 = UserExt.getUserLink(user14);
                         desTemplate = desTemplate.replace("{user}", userLink14);
                         final String articleId14 = reward14.optString(Reward.DATA_ID);
-                        final JSONObject article14 = articleRepository.get(articleId14);
+                        final JSONObject article14 = articleRepository.getReadOnly(articleId14);
                         if (null == article14) {
                             desTemplate = langPropsService.get("removedLabel");
 
@@ -413,12 +413,12 @@ public class PointtransferQueryService {
                         final JSONObject thank22 = rewardRepository.get(dataId);
                         JSONObject user22;
                         if ("22In".equals(typeStr)) {
-                            user22 = userRepository.get(fromId);
+                            user22 = userRepository.getReadOnly(fromId);
                         } else {
-                            user22 = userRepository.get(toId);
+                            user22 = userRepository.getReadOnly(toId);
                         }
                         final String articleId22 = thank22.optString(Reward.DATA_ID);
-                        final JSONObject article22 = articleRepository.get(articleId22);
+                        final JSONObject article22 = articleRepository.getReadOnly(articleId22);
                         if (null == article22) {
                             desTemplate = langPropsService.get("removedLabel");
 
@@ -435,19 +435,19 @@ public class PointtransferQueryService {
 
                         break;
                     case Pointtransfer.TRANSFER_TYPE_C_INVITE_REGISTER:
-                        final JSONObject newUser = userRepository.get(dataId);
+                        final JSONObject newUser = userRepository.getReadOnly(dataId);
                         final String newUserLink = UserExt.getUserLink(newUser);
                         desTemplate = desTemplate.replace("{user}", newUserLink);
 
                         break;
                     case Pointtransfer.TRANSFER_TYPE_C_INVITED_REGISTER:
-                        final JSONObject referralUser = userRepository.get(dataId);
+                        final JSONObject referralUser = userRepository.getReadOnly(dataId);
                         final String referralUserLink = UserExt.getUserLink(referralUser);
                         desTemplate = desTemplate.replace("{user}", referralUserLink);
 
                         break;
                     case Pointtransfer.TRANSFER_TYPE_C_INVITECODE_USED:
-                        final JSONObject newUser1 = userRepository.get(dataId);
+                        final JSONObject newUser1 = userRepository.getReadOnly(dataId);
                         final String newUserLink1 = UserExt.getUserLink(newUser1);
                         desTemplate = desTemplate.replace("{user}", newUserLink1);
 
@@ -464,7 +464,7 @@ public class PointtransferQueryService {
                     case Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_GOBANG_COLLECT:
                         break;
                     case Pointtransfer.TRANSFER_TYPE_C_AT_PARTICIPANTS:
-                        final JSONObject comment20 = commentRepository.get(dataId);
+                        final JSONObject comment20 = commentRepository.getReadOnly(dataId);
                         if (null == comment20) {
                             desTemplate = langPropsService.get("removedLabel");
 
@@ -472,7 +472,7 @@ public class PointtransferQueryService {
                         }
 
                         final String articleId20 = comment20.optString(Comment.COMMENT_ON_ARTICLE_ID);
-                        final JSONObject atParticipantsArticle = articleRepository.get(articleId20);
+                        final JSONObject atParticipantsArticle = articleRepository.getReadOnly(articleId20);
                         if (null == atParticipantsArticle) {
                             desTemplate = langPropsService.get("removedLabel");
 
@@ -486,7 +486,7 @@ public class PointtransferQueryService {
 
                         break;
                     case Pointtransfer.TRANSFER_TYPE_C_STICK_ARTICLE:
-                        final JSONObject stickArticle = articleRepository.get(dataId);
+                        final JSONObject stickArticle = articleRepository.getReadOnly(dataId);
                         if (null == stickArticle) {
                             desTemplate = langPropsService.get("removedLabel");
 
@@ -502,9 +502,9 @@ public class PointtransferQueryService {
                     case Pointtransfer.TRANSFER_TYPE_C_ACCOUNT2ACCOUNT:
                         JSONObject user9;
                         if ("9In".equals(typeStr)) {
-                            user9 = userRepository.get(fromId);
+                            user9 = userRepository.getReadOnly(fromId);
                         } else {
-                            user9 = userRepository.get(toId);
+                            user9 = userRepository.getReadOnly(toId);
                         }
 
                         final String userLink = UserExt.getUserLink(user9);
@@ -531,7 +531,7 @@ public class PointtransferQueryService {
 
                         break;
                     case Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE_BROADCAST:
-                        final JSONObject addArticleBroadcast = articleRepository.get(dataId);
+                        final JSONObject addArticleBroadcast = articleRepository.getReadOnly(dataId);
                         if (null == addArticleBroadcast) {
                             desTemplate = langPropsService.get("removedLabel");
 
@@ -545,7 +545,7 @@ public class PointtransferQueryService {
 
                         break;
                     case Pointtransfer.TRANSFER_TYPE_C_PERFECT_ARTICLE:
-                        final JSONObject perfectArticle = articleRepository.get(dataId);
+                        final JSONObject perfectArticle = articleRepository.getReadOnly(dataId);
                         if (null == perfectArticle) {
                             desTemplate = langPropsService.get("removedLabel");
 
@@ -562,14 +562,14 @@ public class PointtransferQueryService {
                         final JSONObject reward34 = rewardRepository.get(dataId);
                         JSONObject user34;
                         if ("34In".equals(typeStr)) {
-                            user34 = userRepository.get(fromId);
+                            user34 = userRepository.getReadOnly(fromId);
                         } else {
-                            user34 = userRepository.get(toId);
+                            user34 = userRepository.getReadOnly(toId);
                         }
                         final String userLink34 = UserExt.getUserLink(user34);
                         desTemplate = desTemplate.replace("{user}", userLink34);
                         final String articleId34 = reward34.optString(Reward.DATA_ID);
-                        final JSONObject article34 = articleRepository.get(articleId34);
+                        final JSONObject article34 = articleRepository.getReadOnly(articleId34);
                         if (null == article34) {
                             desTemplate = langPropsService.get("removedLabel");
 
@@ -17,24 +17,24 @@
  */
 package org.b3log.symphony.service;
 
+import com.qiniu.storage.BucketManager;
 import com.qiniu.storage.Configuration;
 import com.qiniu.storage.UploadManager;
 import com.qiniu.util.Auth;
-import jodd.io.ZipUtil;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
-import org.b3log.latke.repository.FilterOperator;
-import org.b3log.latke.repository.PropertyFilter;
-import org.b3log.latke.repository.Query;
-import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.*;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.latke.service.LangPropsService;
+import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.symphony.model.Article;
 import org.b3log.symphony.model.Comment;
+import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Pointtransfer;
 import org.b3log.symphony.model.UserExt;
 import org.b3log.symphony.repository.ArticleRepository;
@@ -44,27 +44,83 @@ import org.b3log.symphony.util.Symphonys;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.OutputStream;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Post (article/comment) export service.
+ * <p>
+ * An export runs as a background job on a bounded worker pool, it pages through the articles and comments of the
+ * user and streams them as JSON into a zip file, so the posts are never held in memory as a whole. The progress of
+ * the latest export of each user is kept for querying.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.2, Apr 5, 2018
+ * @version 2.0.0.1, Oct 19, 2026
  * @since 1.4.0
  */
 @Service
 public class PostExportService {
 
+    /**
+     * Export state - queued.
+     */
+    public static final String EXPORT_STATE_C_QUEUED = "queued";
+
+    /**
+     * Export state - running.
+     */
+    public static final String EXPORT_STATE_C_RUNNING = "running";
+
+    /**
+     * Export state - done.
+     */
+    public static final String EXPORT_STATE_C_DONE = "done";
+
+    /**
+     * Export state - failed.
+     */
+    public static final String EXPORT_STATE_C_FAILED = "failed";
+
     /**
      * Logger.
      */
     private static final Logger LOGGER = Logger.getLogger(PostExportService.class);
 
+    /**
+     * Count of posts read from repository in a chunk.
+     */
+    private static final int CHUNK_SIZE = 100;
+
+    /**
+     * Expiration of a finished export progress.
+     */
+    private static final long PROGRESS_EXPIRE = 1000 * 60 * 60 * 24;
+
+    /**
+     * Export worker pool.
+     */
+    private static final ExecutorService WORKERS = new ThreadPoolExecutor(
+            Symphonys.getInt("export.workers"), Symphonys.getInt("export.workers"),
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Symphonys.getInt("export.queueSize")),
+            r -> {
+                final Thread ret = new Thread(r, "PostExporter");
+                ret.setDaemon(true);
+                ret.setPriority(Thread.MIN_PRIORITY);
+
+                return ret;
+            });
+
+    /**
+     * Export progresses, &lt;userId, progress&gt;.
+     */
+    private static final Map<String, JSONObject> PROGRESSES = new ConcurrentHashMap<>();
+
     /**
      * User repository.
      */
@@ -90,142 +146,322 @@ public class PostExportService {
     private PointtransferMgmtService pointtransferMgmtService;
 
     /**
-     * Exports all posts of a user's specified with the given user id.
+     * Language service.
+     */
+    @Inject
+    private LangPropsService langPropsService;
+
+    /**
+     * Gets the progress of the latest export of a user specified with the given user id.
      *
      * @param userId the given user id
-     * @return download URL, returns {@code "-1"} if in sufficient balance, returns {@code null} if other exceptions
+     * @return progress, for example,
+     * <pre>
+     * {
+     *     "state": "running", // queued/running/done/failed
+     *     "processed": 120,
+     *     "total": 300,
+     *     "url": "", // download URL, available when done
+     *     "msg": "" // available when failed
+     * }
+     * </pre>, returns {@code null} if not found
      */
-    public String exportPosts(final String userId) {
-        final int pointDataExport = Symphonys.getInt("pointDataExport");
-        try {
-            final JSONObject user = userRepository.get(userId);
-            final int balance = user.optInt(UserExt.USER_POINT);
+    public JSONObject getExportProgress(final String userId) {
+        final JSONObject progress = PROGRESSES.get(userId);
+        if (null == progress) {
+            return null;
+        }
+
+        synchronized (progress) {
+            return new JSONObject(progress, JSONObject.getNames(progress));
+        }
+    }
 
-            if (balance - pointDataExport < 0) {
-                return "-1";
+    /**
+     * Exports all posts of a user's specified with the given user id in background. Returns the progress of the
+     * export of the user in queue or running if it exists.
+     *
+     * @param userId the given user id
+     * @return progress, see {@link #getExportProgress(java.lang.String)} for details
+     * @throws ServiceException if insufficient balance, or too many exports in queue
+     */
+    public JSONObject exportPosts(final String userId) throws ServiceException {
+        final long now = System.currentTimeMillis();
+        PROGRESSES.values().removeIf(progress -> {
+            synchronized (progress) {
+                return progress.has(Common.TIME) && now - progress.optLong(Common.TIME) > PROGRESS_EXPIRE;
             }
+        });
+
+        final JSONObject user;
+        try {
+            user = userRepository.get(userId);
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Checks user failed", e);
 
-            return null;
+            throw new ServiceException(e);
         }
 
-        final JSONArray posts = new JSONArray();
+        final int pointDataExport = Symphonys.getInt("pointDataExport");
+        if (user.optInt(UserExt.USER_POINT) - pointDataExport < 0) {
+            throw new ServiceException(langPropsService.get("insufficientBalanceLabel"));
+        }
 
-        Query query = new Query().setFilter(
-                new PropertyFilter(Article.ARTICLE_AUTHOR_ID, FilterOperator.EQUAL, userId)).
-                addProjection(Keys.OBJECT_ID, String.class).
-                addProjection(Article.ARTICLE_TITLE, String.class).
-                addProjection(Article.ARTICLE_TAGS, String.class).
-                addProjection(Article.ARTICLE_CONTENT, String.class).
-                addProjection(Article.ARTICLE_CREATE_TIME, Long.class);
+        final JSONObject progress = new JSONObject();
+        progress.put("state", EXPORT_STATE_C_QUEUED);
+        progress.put("processed", 0);
+        progress.put("total", user.optInt(UserExt.USER_ARTICLE_COUNT) + user.optInt(UserExt.USER_COMMENT_COUNT));
 
-        try {
-            final JSONArray articles = articleRepository.get(query).optJSONArray(Keys.RESULTS);
+        final JSONObject current = PROGRESSES.merge(userId, progress, (existing, queued) -> {
+            synchronized (existing) {
+                return existing.has(Common.TIME) ? queued : existing;
+            }
+        });
+        if (current != progress) {
+            return getExportProgress(userId);
+        }
 
-            for (int i = 0; i < articles.length(); i++) {
-                final JSONObject article = articles.getJSONObject(i);
-                final JSONObject post = new JSONObject();
+        try {
+            WORKERS.execute(() -> {
+                try {
+                    export(userId, progress);
+                } finally {
+                    JdbcRepository.dispose();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            PROGRESSES.remove(userId, progress);
+            LOGGER.log(Level.WARN, "Export queue is full, rejects export of user [" + userId + "]");
+
+            throw new ServiceException(langPropsService.get("exportBusyLabel"));
+        }
 
-                post.put("id", article.optString(Keys.OBJECT_ID));
+        return getExportProgress(userId);
+    }
 
-                final JSONObject content = new JSONObject();
-                content.put("title", article.optString(Article.ARTICLE_TITLE));
-                content.put("tags", article.optString(Article.ARTICLE_TAGS));
-                content.put("body", article.optString(Article.ARTICLE_CONTENT));
+    /**
+     * Exports all posts of a user's specified with the given user id, streams them into a zip file and uploads it.
+     *
+     * @param userId   the given user id
+     * @param progress the specified progress to update
+     */
+    private void export(final String userId, final JSONObject progress) {
+        updateProgress(progress, EXPORT_STATE_C_RUNNING, null);
 
-                post.put("content", content.toString());
-                post.put("created", Article.ARTICLE_CREATE_TIME);
-                post.put("type", "article");
+        final String uuid = UUID.randomUUID().toString().replaceAll("-", "");
+        final String fileKey = "export/" + userId + "/" + uuid + ".zip";
+        final File zipFile = new File(System.getProperty("java.io.tmpdir"), uuid + ".zip");
 
-                posts.put(post);
+        try {
+            int cnt;
+            try (final ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zipFile)))) {
+                zip.putNextEntry(new ZipEntry(uuid + ".json"));
+                final Writer writer = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+                writer.write("[");
+                cnt = exportArticles(userId, writer, progress);
+                cnt += exportComments(userId, writer, progress, cnt);
+                writer.write("\n]");
+                writer.flush();
+                zip.closeEntry();
             }
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Export articles failed", e);
 
-            return null;
-        }
-
-        query = new Query().setFilter(
-                new PropertyFilter(Comment.COMMENT_AUTHOR_ID, FilterOperator.EQUAL, userId)).
-                addProjection(Keys.OBJECT_ID, String.class).
-                addProjection(Comment.COMMENT_CONTENT, String.class).
-                addProjection(Comment.COMMENT_CREATE_TIME, Long.class);
+            LOGGER.info("Exported posts [userId=" + userId + ", size=" + cnt + ", zip=" + zipFile.length() + "]");
 
-        try {
-            final JSONArray comments = commentRepository.get(query).optJSONArray(Keys.RESULTS);
+            final boolean qiniuEnabled = Symphonys.getBoolean("qiniu.enabled");
+            final Auth auth = qiniuEnabled ? Auth.create(Symphonys.get("qiniu.accessKey"), Symphonys.get("qiniu.secretKey")) : null;
+            final File uploadFile = new File(Symphonys.get("upload.dir") + fileKey);
+            final String url;
+            if (qiniuEnabled) {
+                final UploadManager uploadManager = new UploadManager(new Configuration());
 
-            for (int i = 0; i < comments.length(); i++) {
-                final JSONObject comment = comments.getJSONObject(i);
-                final JSONObject post = new JSONObject();
+                uploadManager.put(zipFile, fileKey, auth.uploadToken(Symphonys.get("qiniu.bucket")),
+                        null, "application/zip", false);
 
-                post.put("id", comment.optString(Keys.OBJECT_ID));
+                url = Symphonys.get("qiniu.domain") + "/" + fileKey;
+            } else {
+                FileUtils.copyFile(zipFile, uploadFile);
 
-                final JSONObject content = new JSONObject();
-                content.put("title", "");
-                content.put("tags", "");
-                content.put("body", comment.optString(Comment.COMMENT_CONTENT));
+                url = Latkes.getServePath() + "/upload/" + fileKey;
+            }
 
-                post.put("content", content.toString());
-                post.put("created", Comment.COMMENT_CREATE_TIME);
-                post.put("type", "comment");
+            // Charges only for an export uploaded, removes the upload if the charge failed
+            final boolean succ = null != pointtransferMgmtService.transfer(userId, Pointtransfer.ID_C_SYS,
+                    Pointtransfer.TRANSFER_TYPE_C_DATA_EXPORT, Pointtransfer.TRANSFER_SUM_C_DATA_EXPORT,
+                    String.valueOf(cnt), System.currentTimeMillis());
+            if (!succ) {
+                if (qiniuEnabled) {
+                    try {
+                        new BucketManager(auth, new Configuration()).delete(Symphonys.get("qiniu.bucket"), fileKey);
+                    } catch (final Exception e) {
+                        LOGGER.log(Level.WARN, "Removes export [" + fileKey + "] failed", e);
+                    }
+                } else {
+                    FileUtils.deleteQuietly(uploadFile);
+                }
+
+                updateProgress(progress, EXPORT_STATE_C_FAILED, langPropsService.get("insufficientBalanceLabel"));
+
+                return;
+            }
 
-                posts.put(post);
+            synchronized (progress) {
+                progress.put(Common.URL, url);
             }
+            updateProgress(progress, EXPORT_STATE_C_DONE, null);
         } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Export comments failed", e);
+            LOGGER.log(Level.ERROR, "Exports posts of user [" + userId + "] failed", e);
 
-            return null;
+            updateProgress(progress, EXPORT_STATE_C_FAILED, langPropsService.get("systemErrLabel"));
+        } finally {
+            FileUtils.deleteQuietly(zipFile);
         }
+    }
 
-        LOGGER.info("Exporting posts [size=" + posts.length() + "]");
+    /**
+     * Writes articles of a user specified with the given user id to the specified writer chunk by chunk.
+     *
+     * @param userId   the given user id
+     * @param writer   the specified writer
+     * @param progress the specified progress to update
+     * @return count of articles written
+     * @throws Exception exception
+     */
+    private int exportArticles(final String userId, final Writer writer, final JSONObject progress) throws Exception {
+        int ret = 0;
+        String lastId = "0";
+        JSONArray articles;
+        do {
+            final Query query = new Query().setFilter(CompositeFilterOperator.and(
+                    new PropertyFilter(Article.ARTICLE_AUTHOR_ID, FilterOperator.EQUAL, userId),
+                    new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN, lastId))).
+                    setCurrentPageNum(1).setPageSize(CHUNK_SIZE).setPageCount(1).
+                    addSort(Keys.OBJECT_ID, SortDirection.ASCENDING).
+                    addProjection(Keys.OBJECT_ID, String.class).
+                    addProjection(Article.ARTICLE_TITLE, String.class).
+                    addProjection(Article.ARTICLE_TAGS, String.class).
+                    addProjection(Article.ARTICLE_CONTENT, String.class).
+                    addProjection(Article.ARTICLE_CREATE_TIME, Long.class);
+            articles = articleRepository.get(query).optJSONArray(Keys.RESULTS);
 
-        final boolean succ = null != pointtransferMgmtService.transfer(userId, Pointtransfer.ID_C_SYS,
-                Pointtransfer.TRANSFER_TYPE_C_DATA_EXPORT, Pointtransfer.TRANSFER_SUM_C_DATA_EXPORT,
-                String.valueOf(posts.length()), System.currentTimeMillis());
-        if (!succ) {
-            return null;
-        }
+            for (int i = 0; i < articles.length(); i++) {
+                final JSONObject article = articles.optJSONObject(i);
+                lastId = article.optString(Keys.OBJECT_ID);
 
-        final String uuid = UUID.randomUUID().toString().replaceAll("-", "");
-        String fileKey = "export/" + userId + "/" + uuid + ".zip";
+                final JSONObject content = new JSONObject();
+                content.put("title", article.optString(Article.ARTICLE_TITLE));
+                content.put("tags", article.optString(Article.ARTICLE_TAGS));
+                content.put("body", article.optString(Article.ARTICLE_CONTENT));
 
-        final String tmpDir = System.getProperty("java.io.tmpdir");
-        String localFilePath = tmpDir + "/" + uuid + ".json";
-        LOGGER.info(localFilePath);
-        final File localFile = new File(localFilePath);
+                writePost(writer, ret++, lastId, content, article.optLong(Article.ARTICLE_CREATE_TIME), "article");
+            }
 
-        try {
-            final byte[] data = posts.toString(2).getBytes("UTF-8");
+            writer.flush();
+            updateProgress(progress, ret);
+        } while (CHUNK_SIZE == articles.length());
 
-            try (final OutputStream output = new FileOutputStream(localFile)) {
-                IOUtils.write(data, output);
-            }
+        return ret;
+    }
+
+    /**
+     * Writes comments of a user specified with the given user id to the specified writer chunk by chunk.
+     *
+     * @param userId   the given user id
+     * @param writer   the specified writer
+     * @param progress the specified progress to update
+     * @param written  the specified count of posts written before
+     * @return count of comments written
+     * @throws Exception exception
+     */
+    private int exportComments(final String userId, final Writer writer, final JSONObject progress, final int written)
+            throws Exception {
+        int ret = 0;
+        String lastId = "0";
+        JSONArray comments;
+        do {
+            final Query query = new Query().setFilter(CompositeFilterOperator.and(
+                    new PropertyFilter(Comment.COMMENT_AUTHOR_ID, FilterOperator.EQUAL, userId),
+                    new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN, lastId))).
+                    setCurrentPageNum(1).setPageSize(CHUNK_SIZE).setPageCount(1).
+                    addSort(Keys.OBJECT_ID, SortDirection.ASCENDING).
+                    addProjection(Keys.OBJECT_ID, String.class).
+                    addProjection(Comment.COMMENT_CONTENT, String.class).
+                    addProjection(Comment.COMMENT_CREATE_TIME, Long.class);
+            comments = commentRepository.get(query).optJSONArray(Keys.RESULTS);
 
-            final File zipFile = ZipUtil.zip(localFile);
+            for (int i = 0; i < comments.length(); i++) {
+                final JSONObject comment = comments.optJSONObject(i);
+                lastId = comment.optString(Keys.OBJECT_ID);
 
-            final FileInputStream inputStream = new FileInputStream(zipFile);
-            final byte[] zipData = IOUtils.toByteArray(inputStream);
+                final JSONObject content = new JSONObject();
+                content.put("title", "");
+                content.put("tags", "");
+                content.put("body", comment.optString(Comment.COMMENT_CONTENT));
 
-            if (Symphonys.getBoolean("qiniu.enabled")) {
-                final Auth auth = Auth.create(Symphonys.get("qiniu.accessKey"), Symphonys.get("qiniu.secretKey"));
-                final UploadManager uploadManager = new UploadManager(new Configuration());
+                writePost(writer, written + ret++, lastId, content, comment.optLong(Comment.COMMENT_CREATE_TIME), "comment");
+            }
 
-                uploadManager.put(zipData, fileKey, auth.uploadToken(Symphonys.get("qiniu.bucket")),
-                        null, "application/zip", false);
+            writer.flush();
+            updateProgress(progress, written + ret);
+        } while (CHUNK_SIZE == comments.length());
 
-                return Symphonys.get("qiniu.domain") + "/" + fileKey;
-            } else {
-                final String filePath = Symphonys.get("upload.dir") + fileKey;
+        return ret;
+    }
 
-                FileUtils.copyFile(zipFile, new File(filePath));
+    /**
+     * Writes a post to the specified writer as an element of a JSON array.
+     *
+     * @param writer  the specified writer
+     * @param index   the specified index of the post in the array
+     * @param id      the specified post id
+     * @param content the specified post content
+     * @param created the specified post created time
+     * @param type    the specified post type, article/comment
+     * @throws IOException io exception
+     */
+    private void writePost(final Writer writer, final int index, final String id, final JSONObject content,
+                           final long created, final String type) throws IOException {
+        final JSONObject post = new JSONObject();
+        post.put("id", id);
+        post.put("content", content.toString());
+        post.put("created", created);
+        post.put("type", type);
+
+        if (0 < index) {
+            writer.write(",");
+        }
+        writer.write("\n");
+        writer.write(post.toString());
+    }
 
-                return Latkes.getServePath() + "/upload/" + fileKey;
-            }
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Uploading exprted data failed", e);
+    /**
+     * Updates the specified progress with the specified count of processed posts.
+     *
+     * @param progress  the specified progress
+     * @param processed the specified count of processed posts
+     */
+    private void updateProgress(final JSONObject progress, final int processed) {
+        synchronized (progress) {
+            progress.put("processed", processed);
+            progress.put("total", Math.max(processed, progress.optInt("total")));
+        }
+    }
 
-            return null;
+    /**
+     * Updates the specified progress with the specified state.
+     *
+     * @param progress the specified progress
+     * @param state    the specified state
+     * @param msg      the specified message, {@code null} for nothing
+     */
+    private void updateProgress(final JSONObject progress, final String state, final String msg) {
+        synchronized (progress) {
+            progress.put("state", state);
+            if (null != msg) {
+                progress.put(Keys.MSG, msg);
+            }
+            if (EXPORT_STATE_C_DONE.equals(state) || EXPORT_STATE_C_FAILED.equals(state)) {
+                progress.put(Common.TIME, System.currentTimeMillis());
+            }
         }
     }
 }
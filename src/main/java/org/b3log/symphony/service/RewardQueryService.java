@@ -17,6 +17,7 @@
  */
 package org.b3log.symphony.service;
 
+import org.b3log.latke.Keys;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
@@ -25,14 +26,16 @@ import org.b3log.latke.service.annotation.Service;
 import org.b3log.symphony.model.Reward;
 import org.b3log.symphony.repository.RewardRepository;
 
-import java.util.ArrayList;
-import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.*;
 
 /**
  * Reward query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.1, Oct 17, 2015
+ * @version 1.2.0.0, Oct 19, 2026
  * @since 1.3.0
  */
 @Service
@@ -98,4 +101,68 @@ public class RewardQueryService {
             return false;
         }
     }
+
+    /**
+     * Gets rewarded counts of the specified data in one query.
+     *
+     * @param dataIds the specified data ids
+     * @param type    the specified type
+     * @return &lt;dataId, rewarded count&gt;, data not rewarded yet are absent
+     */
+    public Map<String, Long> rewardedCounts(final Collection<String> dataIds, final int type) {
+        final Map<String, Long> ret = new HashMap<>();
+        if (dataIds.isEmpty()) {
+            return ret;
+        }
+
+        final List<Filter> filters = new ArrayList<>();
+        filters.add(new PropertyFilter(Reward.DATA_ID, FilterOperator.IN, dataIds));
+        filters.add(new PropertyFilter(Reward.TYPE, FilterOperator.EQUAL, type));
+        final Query query = new Query().setPageCount(1).addProjection(Reward.DATA_ID, String.class).
+                setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters));
+
+        try {
+            final JSONArray rewards = rewardRepository.get(query).optJSONArray(Keys.RESULTS);
+            for (int i = 0; i < rewards.length(); i++) {
+                ret.merge(rewards.optJSONObject(i).optString(Reward.DATA_ID), 1L, Long::sum);
+            }
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Rewarded counts error", e);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the data (article/comment/user) rewarded by the user specified by the given user id in one query.
+     *
+     * @param userId  the specified user id
+     * @param dataIds the specified data ids
+     * @param type    the specified type
+     * @return ids of the rewarded data
+     */
+    public Set<String> getRewardedDataIds(final String userId, final Collection<String> dataIds, final int type) {
+        final Set<String> ret = new HashSet<>();
+        if (dataIds.isEmpty()) {
+            return ret;
+        }
+
+        final List<Filter> filters = new ArrayList<>();
+        filters.add(new PropertyFilter(Reward.SENDER_ID, FilterOperator.EQUAL, userId));
+        filters.add(new PropertyFilter(Reward.DATA_ID, FilterOperator.IN, dataIds));
+        filters.add(new PropertyFilter(Reward.TYPE, FilterOperator.EQUAL, type));
+        final Query query = new Query().setPageCount(1).addProjection(Reward.DATA_ID, String.class).
+                setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters));
+
+        try {
+            final JSONArray rewards = rewardRepository.get(query).optJSONArray(Keys.RESULTS);
+            for (int i = 0; i < rewards.length(); i++) {
+                ret.add(rewards.optJSONObject(i).optString(Reward.DATA_ID));
+            }
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Determines rewards error", e);
+        }
+
+        return ret;
+    }
 }
@@ -24,8 +24,10 @@ import org.b3log.latke.repository.FilterOperator;
 import org.b3log.latke.repository.PropertyFilter;
 import org.b3log.latke.repository.Query;
 import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.Transaction;
 import org.b3log.latke.repository.annotation.Transactional;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.cache.PermissionCache;
 import org.b3log.symphony.model.Permission;
 import org.b3log.symphony.model.Role;
 import org.b3log.symphony.repository.RolePermissionRepository;
@@ -38,7 +40,7 @@ import java.util.Set;
  * Role management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Dec 8, 2016
+ * @version 1.1.0.1, Oct 19, 2026
  * @since 1.8.0
  */
 @Service
@@ -61,6 +63,12 @@ public class RoleMgmtService {
     @Inject
     private RolePermissionRepository rolePermissionRepository;
 
+    /**
+     * Permission cache.
+     */
+    @Inject
+    private PermissionCache permissionCache;
+
     /**
      * Adds the specified role.
      *
@@ -85,11 +93,16 @@ public class RoleMgmtService {
 
     /**
      * Updates role permissions.
+     * <p>
+     * The cached permissions and grants of the role are evicted after the transaction committed, so that a concurrent
+     * reader can not cache the old permissions again.
+     * </p>
      *
-     * @param roleId the specified role id
+     * @param roleId        the specified role id
+     * @param permissionIds the specified permission ids
      */
-    @Transactional
     public void updateRolePermissions(final String roleId, final Set<String> permissionIds) {
+        final Transaction transaction = rolePermissionRepository.beginTransaction();
         try {
             rolePermissionRepository.removeByRoleId(roleId);
 
@@ -100,7 +113,15 @@ public class RoleMgmtService {
 
                 rolePermissionRepository.add(rel);
             }
+
+            transaction.commit();
+
+            permissionCache.removeRolePermissions(roleId);
         } catch (final RepositoryException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
             LOGGER.log(Level.ERROR, "Updates role permissions failed", e);
         }
     }
@@ -30,6 +30,7 @@ import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.CollectionUtils;
 import org.b3log.latke.util.Paginator;
 import org.b3log.latke.util.Strings;
+import org.b3log.symphony.cache.PermissionCache;
 import org.b3log.symphony.model.Permission;
 import org.b3log.symphony.model.Role;
 import org.b3log.symphony.model.UserExt;
@@ -37,6 +38,7 @@ import org.b3log.symphony.repository.PermissionRepository;
 import org.b3log.symphony.repository.RolePermissionRepository;
 import org.b3log.symphony.repository.RoleRepository;
 import org.b3log.symphony.repository.UserRepository;
+import org.b3log.symphony.util.JSONs;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -46,7 +48,7 @@ import java.util.*;
  * Role query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.5.0.2, Apr 23, 2017
+ * @version 1.7.0.0, Oct 19, 2026
  * @since 1.8.0
  */
 @Service
@@ -81,6 +83,12 @@ public class RoleQueryService {
     @Inject
     private UserRepository userRepository;
 
+    /**
+     * Permission cache.
+     */
+    @Inject
+    private PermissionCache permissionCache;
+
     /**
      * Language service.
      */
@@ -98,9 +106,8 @@ public class RoleQueryService {
         try {
             final JSONObject user = userRepository.get(userId);
             final String roleId = user.optString(User.USER_ROLE);
-            final Set<String> permissions = getPermissions(roleId);
 
-            return Permission.hasPermission(requisitePermissions, permissions);
+            return hasPermissions(roleId, requisitePermissions);
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Checks user [" + userId + "] has permission failed", e);
 
@@ -116,9 +123,18 @@ public class RoleQueryService {
      * @return @code true} if the role has the specified requisite permissions, returns @code false} otherwise
      */
     public boolean hasPermissions(final String roleId, final Set<String> requisitePermissions) {
-        final Set<String> permissions = getPermissions(roleId);
+        return hasPermissions(roleId, PermissionCache.toBits(requisitePermissions));
+    }
 
-        return Permission.hasPermission(requisitePermissions, permissions);
+    /**
+     * Checks whether the specified role has the specified requisite permission bits.
+     *
+     * @param roleId               the specified role id
+     * @param requisitePermissions the specified requisite permission bits
+     * @return {@code true} if the role has the specified requisite permissions, returns {@code false} otherwise
+     */
+    public boolean hasPermissions(final String roleId, final BitSet requisitePermissions) {
+        return PermissionCache.hasPermission(requisitePermissions, getPermissionBits(roleId));
     }
 
     /**
@@ -159,17 +175,20 @@ public class RoleQueryService {
      * @return a map of permissions&lt;permissionId, permission&gt;, returns an empty map if not found
      */
     public Map<String, JSONObject> getUserPermissionsGrantMap(final String userId) {
-        final List<JSONObject> permissions = getUserPermissionsGrant(userId);
-        if (permissions.isEmpty()) {
-            return Collections.emptyMap();
-        }
+        try {
+            final JSONObject user = userRepository.get(userId);
+            if (null == user) {
+                return getPermissionsGrantMap(Role.ROLE_ID_C_VISITOR);
+            }
 
-        final Map<String, JSONObject> ret = new HashMap<>();
-        for (final JSONObject permission : permissions) {
-            ret.put(permission.optString(Keys.OBJECT_ID), permission);
-        }
+            final String roleId = user.optString(User.USER_ROLE);
 
-        return ret;
+            return getPermissionsGrantMap(roleId);
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Gets user permissions grant failed", e);
+
+            return getPermissionsGrantMap(Role.ROLE_ID_C_VISITOR);
+        }
     }
 
     /**
@@ -219,12 +238,18 @@ public class RoleQueryService {
     }
 
     /**
-     * Gets all permissions and marks grant of an role specified by the given role id.
+     * Gets all permissions and marks grant of an role specified by the given role id. The map is built once per role
+     * and shared until the role is changed via {@link RoleMgmtService}.
      *
      * @param roleId the given role id
-     * @return a map of permissions&lt;permissionId, permission&gt;, returns an empty map if not found
+     * @return a read-only map of permissions&lt;permissionId, permission&gt;, returns an empty map if not found
      */
     public Map<String, JSONObject> getPermissionsGrantMap(final String roleId) {
+        final Map<String, JSONObject> cached = permissionCache.getRoleGrants(roleId);
+        if (null != cached) {
+            return cached;
+        }
+
         final List<JSONObject> permissions = getPermissionsGrant(roleId);
         if (permissions.isEmpty()) {
             return Collections.emptyMap();
@@ -235,7 +260,7 @@ public class RoleQueryService {
             ret.put(permission.optString(Keys.OBJECT_ID), permission);
         }
 
-        return ret;
+        return permissionCache.putRoleGrants(roleId, ret);
     }
 
     /**
@@ -247,31 +272,38 @@ public class RoleQueryService {
     public List<JSONObject> getPermissionsGrant(final String roleId) {
         final List<JSONObject> ret = new ArrayList<>();
 
-        try {
-            final List<JSONObject> permissions = CollectionUtils.jsonArrayToList(
-                    permissionRepository.get(new Query()).optJSONArray(Keys.RESULTS));
-            final List<JSONObject> rolePermissions = rolePermissionRepository.getByRoleId(roleId);
+        final BitSet grantPermissions = getPermissionBits(roleId);
+        for (final JSONObject cached : getAllPermissions().values()) {
+            final JSONObject permission = JSONs.clone(cached);
+            final String permissionId = permission.optString(Keys.OBJECT_ID);
+            permission.put(Permission.PERMISSION_T_GRANT, grantPermissions.get(PermissionCache.indexOf(permissionId)));
+            ret.add(permission);
+        }
 
-            for (final JSONObject permission : permissions) {
-                final String permissionId = permission.optString(Keys.OBJECT_ID);
-                permission.put(Permission.PERMISSION_T_GRANT, false);
-                ret.add(permission);
+        return ret;
+    }
 
-                for (final JSONObject rolePermission : rolePermissions) {
-                    final String grantPermissionId = rolePermission.optString(Permission.PERMISSION_ID);
+    /**
+     * Gets all permissions, loads the permission table once and then serves it from {@link PermissionCache}.
+     *
+     * @return permissions &lt;permissionId, permission&gt; (read-only), returns an empty map if load failed
+     */
+    private Map<String, JSONObject> getAllPermissions() {
+        final Map<String, JSONObject> ret = permissionCache.getPermissions();
+        if (null != ret) {
+            return ret;
+        }
 
-                    if (permissionId.equals(grantPermissionId)) {
-                        permission.put(Permission.PERMISSION_T_GRANT, true);
+        try {
+            final List<JSONObject> permissions = CollectionUtils.jsonArrayToList(
+                    permissionRepository.get(new Query()).optJSONArray(Keys.RESULTS));
 
-                        break;
-                    }
-                }
-            }
+            return permissionCache.putPermissions(permissions);
         } catch (final RepositoryException e) {
-            LOGGER.log(Level.ERROR, "Gets permissions grant of role [id=" + roleId + "] failed", e);
-        }
+            LOGGER.log(Level.ERROR, "Gets permissions failed", e);
 
-        return ret;
+            return Collections.emptyMap();
+        }
     }
 
     /**
@@ -281,21 +313,36 @@ public class RoleQueryService {
      * @return a list of permissions, returns an empty list if not found
      */
     public Set<String> getPermissions(final String roleId) {
-        final Set<String> ret = new HashSet<>();
+        return PermissionCache.toIds(getPermissionBits(roleId));
+    }
+
+    /**
+     * Gets permission bits of an role specified by the given role id. The bits are loaded once and then served from
+     * {@link PermissionCache} until the role is changed via {@link RoleMgmtService}.
+     *
+     * @param roleId the given role id
+     * @return permission bits (read-only), returns empty bits if not found
+     */
+    public BitSet getPermissionBits(final String roleId) {
+        final BitSet ret = permissionCache.getRolePermissions(roleId);
+        if (null != ret) {
+            return ret;
+        }
 
         try {
+            final Set<String> permissionIds = new HashSet<>();
             final List<JSONObject> rolePermissions = rolePermissionRepository.getByRoleId(roleId);
             for (final JSONObject rolePermission : rolePermissions) {
                 final String permissionId = rolePermission.optString(Permission.PERMISSION_ID);
 
-                ret.add(permissionId);
+                permissionIds.add(permissionId);
             }
 
-            return ret;
+            return permissionCache.putRolePermissions(roleId, permissionIds);
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Gets permissions of role [id=" + roleId + "] failed", e);
 
-            return Collections.emptySet();
+            return new BitSet();
         }
     }
 
@@ -357,17 +404,17 @@ public class RoleQueryService {
         final List<JSONObject> roles = CollectionUtils.<JSONObject>jsonArrayToList(data);
 
         try {
+            final Map<String, JSONObject> allPermissions = getAllPermissions();
             for (final JSONObject role : roles) {
                 final List<JSONObject> permissions = new ArrayList<>();
                 role.put(Permission.PERMISSIONS, (Object) permissions);
 
                 final String roleId = role.optString(Keys.OBJECT_ID);
-                final List<JSONObject> rolePermissions = rolePermissionRepository.getByRoleId(roleId);
-                for (final JSONObject rolePermission : rolePermissions) {
-                    final String permissionId = rolePermission.optString(Permission.PERMISSION_ID);
-                    final JSONObject permission = permissionRepository.get(permissionId);
-
-                    permissions.add(permission);
+                for (final String permissionId : getPermissions(roleId)) {
+                    final JSONObject permission = allPermissions.get(permissionId);
+                    if (null != permission) {
+                        permissions.add(JSONs.clone(permission));
+                    }
                 }
 
                 final Query userCountQuery = new Query().
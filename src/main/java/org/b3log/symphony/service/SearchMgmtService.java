@@ -21,15 +21,13 @@ import org.b3log.latke.Keys;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.service.annotation.Service;
-import org.b3log.latke.servlet.HTTPRequestMethod;
-import org.b3log.latke.urlfetch.*;
 import org.b3log.symphony.model.Article;
+import org.b3log.symphony.util.HttpClients;
 import org.b3log.symphony.util.Markdowns;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
 import org.jsoup.Jsoup;
 
-import java.net.URL;
 import java.net.UnknownHostException;
 
 /**
@@ -39,7 +37,7 @@ import java.net.UnknownHostException;
  * <a href="https://www.algolia.com">Algolia</a> as the underlying engine.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.2.6, May 22, 2018
+ * @version 1.4.0.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Service
@@ -60,29 +58,13 @@ public class SearchMgmtService {
      */
     private static final Logger LOGGER = Logger.getLogger(SearchMgmtService.class);
 
-    /**
-     * URL fetch service.
-     */
-    private static final URLFetchService URL_FETCH_SVC = URLFetchServiceFactory.getURLFetchService();
-
     /**
      * Rebuilds ES index.
      */
     public void rebuildESIndex() {
         try {
-            final HTTPRequest removeRequest = new HTTPRequest();
-            removeRequest.setRequestMethod(HTTPRequestMethod.DELETE);
-            removeRequest.setURL(new URL(ES_SERVER + "/" + ES_INDEX_NAME));
-            URL_FETCH_SVC.fetch(removeRequest);
-
-            final HTTPRequest createRequest = new HTTPRequest();
-            createRequest.setRequestMethod(HTTPRequestMethod.PUT);
-            createRequest.setURL(new URL(ES_SERVER + "/" + ES_INDEX_NAME));
-            URL_FETCH_SVC.fetch(createRequest);
-
-            final HTTPRequest mappingRequest = new HTTPRequest();
-            mappingRequest.setRequestMethod(HTTPRequestMethod.POST);
-            mappingRequest.setURL(new URL(ES_SERVER + "/" + ES_INDEX_NAME + "/" + Article.ARTICLE + "/_mapping"));
+            HttpClients.send(new HttpClients.Request("DELETE", ES_SERVER + "/" + ES_INDEX_NAME));
+            HttpClients.send(new HttpClients.Request("PUT", ES_SERVER + "/" + ES_INDEX_NAME));
 
             final JSONObject mapping = new JSONObject();
             final JSONObject article = new JSONObject();
@@ -100,9 +82,8 @@ public class SearchMgmtService {
             content.put("analyzer", "ik_smart");
             content.put("search_analyzer", "ik_smart");
 
-            mappingRequest.setPayload(mapping.toString().getBytes("UTF-8"));
-
-            URL_FETCH_SVC.fetch(mappingRequest);
+            HttpClients.send(new HttpClients.Request("POST", ES_SERVER + "/" + ES_INDEX_NAME + "/" + Article.ARTICLE + "/_mapping").
+                    json(mapping));
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Removes index failed", e);
         }
@@ -123,16 +104,10 @@ public class SearchMgmtService {
             String host = appId + "-" + retries + ".algolianet.com";
 
             try {
-                final HTTPRequest request = new HTTPRequest();
-                request.addHeader(new HTTPHeader("X-Algolia-API-Key", key));
-                request.addHeader(new HTTPHeader("X-Algolia-Application-Id", appId));
-                request.setRequestMethod(HTTPRequestMethod.POST);
-
-                request.setURL(new URL("https://" + host + "/1/indexes/" + index + "/clear"));
-
-                final HTTPResponse response = URL_FETCH_SVC.fetch(request);
-                if (200 != response.getResponseCode()) {
-                    LOGGER.warn(response.toString());
+                final HttpClients.Response response = HttpClients.send(new HttpClients.Request("POST", "https://" + host + "/1/indexes/" + index + "/clear").
+                        header("X-Algolia-API-Key", key).header("X-Algolia-Application-Id", appId));
+                if (200 != response.getCode()) {
+                    LOGGER.warn(response.getBodyText());
                 }
 
                 break;
@@ -159,22 +134,16 @@ public class SearchMgmtService {
      * @param type the specified document type
      */
     public void updateESDocument(final JSONObject doc, final String type) {
-        final HTTPRequest request = new HTTPRequest();
-        request.setRequestMethod(HTTPRequestMethod.POST);
-
-        try {
-            request.setURL(new URL(ES_SERVER + "/" + ES_INDEX_NAME + "/" + type + "/" + doc.optString(Keys.OBJECT_ID) + "/_update"));
+        final JSONObject payload = new JSONObject();
+        payload.put("doc", doc);
+        payload.put("upsert", doc);
 
-            final JSONObject payload = new JSONObject();
-            payload.put("doc", doc);
-            payload.put("upsert", doc);
-
-            request.setPayload(payload.toString().getBytes("UTF-8"));
-
-            URL_FETCH_SVC.fetchAsync(request);
-        } catch (final Exception e) {
+        HttpClients.sendAsync(new HttpClients.Request("POST", ES_SERVER + "/" + ES_INDEX_NAME + "/" + type + "/" + doc.optString(Keys.OBJECT_ID) + "/_update").
+                json(payload)).exceptionally(e -> {
             LOGGER.log(Level.ERROR, "Updates doc failed", e);
-        }
+
+            return null;
+        });
     }
 
     /**
@@ -184,16 +153,12 @@ public class SearchMgmtService {
      * @param type the specified document type
      */
     public void removeESDocument(final JSONObject doc, final String type) {
-        final HTTPRequest request = new HTTPRequest();
-        request.setRequestMethod(HTTPRequestMethod.DELETE);
-
-        try {
-            request.setURL(new URL(ES_SERVER + "/" + ES_INDEX_NAME + "/" + type + "/" + doc.optString(Keys.OBJECT_ID)));
+        HttpClients.sendAsync(new HttpClients.Request("DELETE", ES_SERVER + "/" + ES_INDEX_NAME + "/" + type + "/" + doc.optString(Keys.OBJECT_ID))).
+                exceptionally(e -> {
+                    LOGGER.log(Level.ERROR, "Removes doc failed", e);
 
-            URL_FETCH_SVC.fetchAsync(request);
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Updates doc failed", e);
-        }
+                    return null;
+                });
     }
 
     /**
@@ -213,11 +178,6 @@ public class SearchMgmtService {
             String host = appId + "-" + retries + ".algolianet.com";
 
             try {
-                final HTTPRequest request = new HTTPRequest();
-                request.addHeader(new HTTPHeader("X-Algolia-API-Key", key));
-                request.addHeader(new HTTPHeader("X-Algolia-Application-Id", appId));
-                request.setRequestMethod(HTTPRequestMethod.PUT);
-
                 final String id = doc.optString(Keys.OBJECT_ID);
 
                 String content = doc.optString(Article.ARTICLE_CONTENT);
@@ -239,12 +199,11 @@ public class SearchMgmtService {
                     return;
                 }
 
-                request.setURL(new URL("https://" + host + "/1/indexes/" + index + "/" + id));
-                request.setPayload(data);
-
-                final HTTPResponse response = URL_FETCH_SVC.fetch(request);
-                if (200 != response.getResponseCode()) {
-                    LOGGER.warn(new String(response.getContent(), "UTF-8"));
+                final HttpClients.Response response = HttpClients.send(new HttpClients.Request("PUT", "https://" + host + "/1/indexes/" + index + "/" + id).
+                        header("X-Algolia-API-Key", key).header("X-Algolia-Application-Id", appId).
+                        body("application/json;charset=UTF-8", data));
+                if (200 != response.getCode()) {
+                    LOGGER.warn(response.getBodyText());
                 }
 
                 break;
@@ -287,19 +246,11 @@ public class SearchMgmtService {
             String host = appId + "-" + retries + ".algolianet.com";
 
             try {
-                final HTTPRequest request = new HTTPRequest();
-                request.addHeader(new HTTPHeader("X-Algolia-API-Key", key));
-                request.addHeader(new HTTPHeader("X-Algolia-Application-Id", appId));
-                request.setRequestMethod(HTTPRequestMethod.DELETE);
-
                 final String id = doc.optString(Keys.OBJECT_ID);
-                request.setURL(new URL("https://" + host + "/1/indexes/" + index + "/" + id));
-
-                request.setPayload(doc.toString().getBytes("UTF-8"));
-
-                final HTTPResponse response = URL_FETCH_SVC.fetch(request);
-                if (200 != response.getResponseCode()) {
-                    LOGGER.warn(response.toString());
+                final HttpClients.Response response = HttpClients.send(new HttpClients.Request("DELETE", "https://" + host + "/1/indexes/" + index + "/" + id).
+                        header("X-Algolia-API-Key", key).header("X-Algolia-Application-Id", appId).json(doc));
+                if (200 != response.getCode()) {
+                    LOGGER.warn(response.getBodyText());
                 }
 
                 break;
@@ -20,15 +20,13 @@ package org.b3log.symphony.service;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.service.annotation.Service;
-import org.b3log.latke.servlet.HTTPRequestMethod;
-import org.b3log.latke.urlfetch.*;
 import org.b3log.symphony.model.Article;
+import org.b3log.symphony.util.HttpClients;
 import org.b3log.symphony.util.Symphonys;
 import org.b3log.symphony.util.URLs;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.net.URL;
 import java.net.UnknownHostException;
 
 /**
@@ -40,7 +38,7 @@ import java.net.UnknownHostException;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://zephyr.b3log.org">Zephyr</a>
- * @version 1.2.1.2, Aug 23, 2016
+ * @version 1.3.0.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Service
@@ -51,11 +49,6 @@ public class SearchQueryService {
      */
     private static final Logger LOGGER = Logger.getLogger(SearchQueryService.class);
 
-    /**
-     * URL fetch service.
-     */
-    private static final URLFetchService URL_FETCH_SVC = URLFetchServiceFactory.getURLFetchService();
-
     /**
      * Searches by Elasticsearch.
      *
@@ -66,12 +59,7 @@ public class SearchQueryService {
      * @return search result, returns {@code null} if not found
      */
     public JSONObject searchElasticsearch(final String type, final String keyword, final int currentPage, final int pageSize) {
-        final HTTPRequest request = new HTTPRequest();
-        request.setRequestMethod(HTTPRequestMethod.POST);
         try {
-            request.setURL(new URL(SearchMgmtService.ES_SERVER + "/" + SearchMgmtService.ES_INDEX_NAME + "/" + type
-                    + "/_search"));
-
             final JSONObject reqData = new JSONObject();
             final JSONObject query = new JSONObject();
             final JSONObject bool = new JSONObject();
@@ -102,10 +90,10 @@ public class SearchQueryService {
             final JSONObject contentField = new JSONObject();
             fields.put(Article.ARTICLE_CONTENT, contentField);
             LOGGER.debug(reqData.toString(4));
-            request.setPayload(reqData.toString().getBytes("UTF-8"));
-            final HTTPResponse response = URL_FETCH_SVC.fetch(request);
+            final HttpClients.Response response = HttpClients.send(new HttpClients.Request("POST",
+                    SearchMgmtService.ES_SERVER + "/" + SearchMgmtService.ES_INDEX_NAME + "/" + type + "/_search").json(reqData));
 
-            return new JSONObject(new String(response.getContent(), "UTF-8"));
+            return new JSONObject(response.getBodyText());
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Queries failed", e);
 
@@ -133,13 +121,6 @@ public class SearchQueryService {
             String host = appId + "-" + retries + ".algolianet.com";
 
             try {
-                final HTTPRequest request = new HTTPRequest();
-                request.addHeader(new HTTPHeader("X-Algolia-API-Key", key));
-                request.addHeader(new HTTPHeader("X-Algolia-Application-Id", appId));
-
-                request.setRequestMethod(HTTPRequestMethod.POST);
-                request.setURL(new URL("https://" + host + "/1/indexes/" + index + "/query"));
-
                 final JSONObject params = new JSONObject();
                 params.put("params", "query=" + URLs.encode(keyword)
                         + "&getRankingInfo=1&facets=*&attributesToRetrieve=*&highlightPreTag=%3Cem%3E"
@@ -147,12 +128,11 @@ public class SearchQueryService {
                         + "&facetFilters=%5B%5D&maxValuesPerFacet=100"
                         + "&hitsPerPage=" + pageSize + "&page=" + (currentPage - 1));
 
-                request.setPayload(params.toString().getBytes("UTF-8"));
-
-                final HTTPResponse response = URL_FETCH_SVC.fetch(request);
+                final HttpClients.Response response = HttpClients.send(new HttpClients.Request("POST", "https://" + host + "/1/indexes/" + index + "/query").
+                        header("X-Algolia-API-Key", key).header("X-Algolia-Application-Id", appId).json(params));
 
-                final JSONObject ret = new JSONObject(new String(response.getContent(), "UTF-8"));
-                if (200 != response.getResponseCode()) {
+                final JSONObject ret = new JSONObject(response.getBodyText());
+                if (200 != response.getCode()) {
                     LOGGER.warn(ret.toString(4));
 
                     return null;
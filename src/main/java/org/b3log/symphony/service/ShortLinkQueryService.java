@@ -44,7 +44,7 @@ import java.util.regex.Pattern;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 1.2.2.0, Jun 9, 2018
+ * @version 1.2.3.0, Oct 19, 2026
  * @since 1.3.0
  */
 @Service
@@ -192,16 +192,11 @@ public class ShortLinkQueryService {
                         continue;
                     }
 
-                    final Query query = new Query().addProjection(Tag.TAG_TITLE, String.class)
-                            .addProjection(Tag.TAG_URI, String.class)
-                            .setFilter(new PropertyFilter(Tag.TAG_TITLE, FilterOperator.EQUAL, linkTagTitle));
-                    final JSONArray results = tagRepository.get(query).optJSONArray(Keys.RESULTS);
-                    if (0 == results.length()) {
+                    final JSONObject linkTag = tagRepository.getByTitle(linkTagTitle);
+                    if (null == linkTag) {
                         continue;
                     }
 
-                    final JSONObject linkTag = results.optJSONObject(0);
-
                     final String linkTitle = linkTag.optString(Tag.TAG_TITLE);
                     final String linkURI = linkTag.optString(Tag.TAG_URI);
                     final String link = " [" + linkTitle + "](" + Latkes.getServePath() + "/tag/" + linkURI + ") ";
@@ -0,0 +1,415 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.model.sitemap.Sitemap;
+import org.b3log.symphony.model.sitemap.SitemapIndex;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sitemap management service.
+ * <p>
+ * Sitemaps are written to {@code sitemap.dir} as gzip-compressed shards plus a sitemap index. Articles are read in
+ * id-ordered chunks and streamed into shards of at most {@value #SHARD_URL_CNT} URLs, shard i holds the articles whose
+ * id is in (start id i, start id i + 1]. A generation rewrites only the shards holding articles added or updated since
+ * the previous generation, a full generation runs on startup and every {@code sitemap.fullGenInterval} milliseconds.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+@Service
+public class SitemapMgmtService {
+
+    /**
+     * Sitemap index file name.
+     */
+    public static final String INDEX_FILE_NAME = "sitemap.xml";
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(SitemapMgmtService.class);
+
+    /**
+     * Sitemap directory.
+     */
+    private static final String SITEMAP_DIR = Symphonys.get("sitemap.dir");
+
+    /**
+     * Full generation interval.
+     */
+    private static final long FULL_GEN_INTERVAL = Symphonys.getLong("sitemap.fullGenInterval");
+
+    /**
+     * Max count of URLs in a shard, limited by the sitemap protocol.
+     */
+    private static final int SHARD_URL_CNT = 50000;
+
+    /**
+     * Size of an article chunk read from repository.
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * Shard holding the index page and domains.
+     */
+    private static final String MAIN_SHARD_NAME = "sitemap-main.xml.gz";
+
+    /**
+     * Article shard file name pattern.
+     */
+    private static final Pattern ARTICLE_SHARD_NAME_PATTERN = Pattern.compile("sitemap-articles-(\\d+)\\.xml\\.gz");
+
+    /**
+     * Start id of the first shard, less than any article id.
+     */
+    private static final String FIRST_START_ID = "0";
+
+    /**
+     * Generating flag.
+     */
+    private static final AtomicBoolean GENERATING = new AtomicBoolean();
+
+    /**
+     * Start ids of article shards, the shard i holds the articles whose id is in (SHARD_START_IDS[i], SHARD_START_IDS[i + 1]].
+     */
+    private static final List<String> SHARD_START_IDS = new ArrayList<>();
+
+    /**
+     * Time of the latest generation.
+     */
+    private static long genTime;
+
+    /**
+     * Time of the latest full generation.
+     */
+    private static long fullGenTime;
+
+    /**
+     * Sitemap query service.
+     */
+    @Inject
+    private SitemapQueryService sitemapQueryService;
+
+    /**
+     * Gets a sitemap file by the specified name.
+     *
+     * @param name the specified name, index file name or shard file name
+     * @return sitemap file, returns {@code null} if the name is not a sitemap file name
+     */
+    public File getFile(final String name) {
+        if (!INDEX_FILE_NAME.equals(name) && !MAIN_SHARD_NAME.equals(name)
+                && !ARTICLE_SHARD_NAME_PATTERN.matcher(name).matches()) {
+            return null;
+        }
+
+        return new File(SITEMAP_DIR, name);
+    }
+
+    /**
+     * Whether sitemaps are being generated.
+     *
+     * @return {@code true} if generating, returns {@code false} otherwise
+     */
+    public boolean isGenerating() {
+        return GENERATING.get();
+    }
+
+    /**
+     * Generates sitemaps. Does nothing if another generation is running.
+     */
+    public void genSitemaps() {
+        if (!GENERATING.compareAndSet(false, true)) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        try {
+            Files.createDirectories(Paths.get(SITEMAP_DIR));
+
+            if (SHARD_START_IDS.isEmpty() || now - fullGenTime > FULL_GEN_INTERVAL) {
+                LOGGER.log(Level.INFO, "Generating sitemaps....");
+
+                SHARD_START_IDS.clear();
+                SHARD_START_IDS.add(FIRST_START_ID);
+                writeArticleShards(0);
+                fullGenTime = now;
+
+                LOGGER.log(Level.INFO, "Generated sitemaps [shards=" + SHARD_START_IDS.size() + ", elapsed="
+                        + (System.currentTimeMillis() - now) + "ms]");
+            } else {
+                final Set<Integer> shardIndices = new TreeSet<>();
+                for (final String articleId : sitemapQueryService.getUpdatedArticleIds(genTime, CHUNK_SIZE)) {
+                    shardIndices.add(getShardIndex(articleId));
+                }
+                for (final int shardIndex : shardIndices) {
+                    writeArticleShards(shardIndex);
+                }
+
+                LOGGER.log(Level.DEBUG, "Regenerated sitemap shards " + shardIndices);
+            }
+            genTime = now;
+
+            writeMainShard();
+            writeIndex();
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Generates sitemaps failed", e);
+
+            SHARD_START_IDS.clear();
+        } finally {
+            GENERATING.set(false);
+        }
+    }
+
+    /**
+     * Writes the article shards from the specified shard index. The last shard is split into new shards once it is
+     * full. A middle shard may overflow only if some invalid articles restored, then the overflowed articles are left
+     * to the next generation which will be a full one.
+     *
+     * @param shardIndex the specified shard index
+     * @throws Exception exception
+     */
+    private void writeArticleShards(final int shardIndex) throws Exception {
+        final boolean last = shardIndex == SHARD_START_IDS.size() - 1;
+        final String toId = last ? null : SHARD_START_IDS.get(shardIndex + 1);
+
+        int index = shardIndex;
+        String afterId = SHARD_START_IDS.get(index);
+        ShardWriter writer = new ShardWriter(getArticleShardName(index));
+        try {
+            List<JSONObject> articles;
+            do {
+                articles = sitemapQueryService.getArticles(afterId, toId, CHUNK_SIZE);
+                for (final JSONObject article : articles) {
+                    if (SHARD_URL_CNT <= writer.getURLCnt()) {
+                        if (!last) {
+                            LOGGER.log(Level.WARN, "Sitemap shard [" + index + "] overflowed");
+                            fullGenTime = 0;
+                            writer.commit();
+
+                            return;
+                        }
+
+                        writer.commit();
+                        writer = new ShardWriter(getArticleShardName(++index));
+                        SHARD_START_IDS.add(afterId);
+                    }
+
+                    writer.write(sitemapQueryService.genArticle(article));
+                    afterId = article.optString(Keys.OBJECT_ID);
+                }
+            } while (CHUNK_SIZE == articles.size());
+
+            writer.commit();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes the shard holding the index page and domains.
+     *
+     * @throws Exception exception
+     */
+    private void writeMainShard() throws Exception {
+        final Sitemap sitemap = new Sitemap();
+        sitemapQueryService.genIndex(sitemap);
+        sitemapQueryService.genDomains(sitemap);
+
+        final Path tmpPath = Paths.get(SITEMAP_DIR, MAIN_SHARD_NAME + ".tmp");
+        try (final OutputStream output = new GZIPOutputStream(Files.newOutputStream(tmpPath))) {
+            output.write(sitemap.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        Files.move(tmpPath, Paths.get(SITEMAP_DIR, MAIN_SHARD_NAME),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes the sitemap index, and removes the article shards not referenced any more.
+     *
+     * @throws Exception exception
+     */
+    private void writeIndex() throws Exception {
+        final SitemapIndex sitemapIndex = new SitemapIndex();
+        sitemapIndex.addEntry(genIndexEntry(MAIN_SHARD_NAME));
+        for (int i = 0; i < SHARD_START_IDS.size(); i++) {
+            sitemapIndex.addEntry(genIndexEntry(getArticleShardName(i)));
+        }
+
+        final Path indexPath = Paths.get(SITEMAP_DIR, INDEX_FILE_NAME);
+        final Path tmpPath = Paths.get(SITEMAP_DIR, INDEX_FILE_NAME + ".tmp");
+        Files.write(tmpPath, sitemapIndex.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(tmpPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        try (final DirectoryStream<Path> shards = Files.newDirectoryStream(Paths.get(SITEMAP_DIR))) {
+            for (final Path shard : shards) {
+                final Matcher matcher = ARTICLE_SHARD_NAME_PATTERN.matcher(shard.getFileName().toString());
+                if (matcher.matches() && Integer.parseInt(matcher.group(1)) >= SHARD_START_IDS.size()) {
+                    Files.deleteIfExists(shard);
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates a sitemap index entry for a shard specified by the given shard name.
+     *
+     * @param shardName the given shard name
+     * @return sitemap index entry
+     */
+    private SitemapIndex.Entry genIndexEntry(final String shardName) {
+        final SitemapIndex.Entry ret = new SitemapIndex.Entry();
+        ret.setLoc(Latkes.getServePath() + "/sitemap/" + shardName);
+        final long lastModified = new File(SITEMAP_DIR, shardName).lastModified();
+        ret.setLastMod(DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format(new Date(lastModified)));
+
+        return ret;
+    }
+
+    /**
+     * Gets the index of the shard holding an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     * @return shard index
+     */
+    private static int getShardIndex(final String articleId) {
+        final int pos = Collections.binarySearch(SHARD_START_IDS, articleId);
+
+        return pos >= 0 ? pos - 1 : -pos - 2;
+    }
+
+    /**
+     * Gets the file name of the article shard specified by the given shard index.
+     *
+     * @param shardIndex the given shard index
+     * @return shard file name
+     */
+    private static String getArticleShardName(final int shardIndex) {
+        return "sitemap-articles-" + shardIndex + ".xml.gz";
+    }
+
+    /**
+     * Shard writer, streams URLs into a gzip-compressed temporary file which replaces the shard on commit.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.0, Oct 19, 2026
+     * @since 3.0.0
+     */
+    private static final class ShardWriter implements Closeable {
+
+        /**
+         * Shard path.
+         */
+        private final Path path;
+
+        /**
+         * Temporary file path.
+         */
+        private final Path tmpPath;
+
+        /**
+         * Writer.
+         */
+        private final Writer writer;
+
+        /**
+         * Count of URLs written.
+         */
+        private int urlCnt;
+
+        /**
+         * Whether committed.
+         */
+        private boolean committed;
+
+        /**
+         * Constructs a shard writer with the specified shard name.
+         *
+         * @param name the specified shard name
+         * @throws IOException io exception
+         */
+        private ShardWriter(final String name) throws IOException {
+            path = Paths.get(SITEMAP_DIR, name);
+            tmpPath = Paths.get(SITEMAP_DIR, name + ".tmp");
+            writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(tmpPath)), StandardCharsets.UTF_8));
+            writer.write(Sitemap.getStart());
+        }
+
+        /**
+         * Writes the specified URL.
+         *
+         * @param url the specified URL
+         * @throws IOException io exception
+         */
+        private void write(final Sitemap.URL url) throws IOException {
+            writer.write(url.toString());
+            urlCnt++;
+        }
+
+        /**
+         * Gets the count of URLs written.
+         *
+         * @return count of URLs written
+         */
+        private int getURLCnt() {
+            return urlCnt;
+        }
+
+        /**
+         * Finishes the shard and replaces the shard file with it.
+         *
+         * @throws IOException io exception
+         */
+        private void commit() throws IOException {
+            writer.write(Sitemap.getEnd());
+            writer.close();
+            Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (committed) {
+                return;
+            }
+
+            writer.close();
+            Files.deleteIfExists(tmpPath);
+        }
+    }
+}
@@ -21,13 +21,9 @@ import org.apache.commons.lang.time.DateFormatUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.inject.Inject;
-import org.b3log.latke.logging.Level;
-import org.b3log.latke.logging.Logger;
-import org.b3log.latke.repository.FilterOperator;
-import org.b3log.latke.repository.PropertyFilter;
-import org.b3log.latke.repository.Query;
-import org.b3log.latke.repository.SortDirection;
+import org.b3log.latke.repository.*;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.latke.util.CollectionUtils;
 import org.b3log.symphony.cache.DomainCache;
 import org.b3log.symphony.model.Article;
 import org.b3log.symphony.model.Domain;
@@ -36,6 +32,7 @@ import org.b3log.symphony.repository.ArticleRepository;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -43,17 +40,12 @@ import java.util.List;
  * Sitemap query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.1, Mar 31, 2018
+ * @version 2.0.0.1, Oct 19, 2026
  * @since 1.6.0
  */
 @Service
 public class SitemapQueryService {
 
-    /**
-     * Logger.
-     */
-    private static final Logger LOGGER = Logger.getLogger(SitemapQueryService.class);
-
     /**
      * Article repository.
      */
@@ -101,35 +93,77 @@ public class SitemapQueryService {
     }
 
     /**
-     * Generates articles for the specified sitemap.
+     * Generates a sitemap URL for the specified article.
      *
-     * @param sitemap the specified sitemap
+     * @param article the specified article, with projection of id and update time
+     * @return sitemap URL
+     */
+    public Sitemap.URL genArticle(final JSONObject article) {
+        final Sitemap.URL ret = new Sitemap.URL();
+        ret.setLoc(Latkes.getServePath() + "/article/" + article.optString(Keys.OBJECT_ID));
+        final Date updateDate = new Date(article.optLong(Article.ARTICLE_UPDATE_TIME));
+        ret.setLastMod(DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format(updateDate));
+
+        return ret;
+    }
+
+    /**
+     * Gets a chunk of articles in the specified id range, sorted by id ascending.
+     *
+     * @param afterId   the specified article id the range starts after (exclusive)
+     * @param toId      the specified article id the range ends with (inclusive), {@code null} for unbounded
+     * @param fetchSize the specified fetch size
+     * @return articles with projection of id and update time, returns an empty list if not found
+     * @throws RepositoryException repository exception
      */
-    public void genArticles(final Sitemap sitemap) {
-        final Query query = new Query().setCurrentPageNum(1).setPageCount(Integer.MAX_VALUE).
+    public List<JSONObject> getArticles(final String afterId, final String toId, final int fetchSize)
+            throws RepositoryException {
+        final List<Filter> filters = new ArrayList<>();
+        filters.add(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN, afterId));
+        if (null != toId) {
+            filters.add(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.LESS_THAN_OR_EQUAL, toId));
+        }
+        filters.add(new PropertyFilter(Article.ARTICLE_STATUS, FilterOperator.NOT_EQUAL, Article.ARTICLE_STATUS_C_INVALID));
+
+        final Query query = new Query().setCurrentPageNum(1).setPageSize(fetchSize).setPageCount(1).
                 addProjection(Keys.OBJECT_ID, String.class).
                 addProjection(Article.ARTICLE_UPDATE_TIME, Long.class).
-                setFilter(new PropertyFilter(Article.ARTICLE_STATUS, FilterOperator.NOT_EQUAL, Article.ARTICLE_STATUS_C_INVALID)).
-                addSort(Keys.OBJECT_ID, SortDirection.DESCENDING);
+                setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters)).
+                addSort(Keys.OBJECT_ID, SortDirection.ASCENDING);
 
-        try {
-            final JSONArray articles = articleRepository.get(query).getJSONArray(Keys.RESULTS);
+        return CollectionUtils.jsonArrayToList(articleRepository.get(query).optJSONArray(Keys.RESULTS));
+    }
 
+    /**
+     * Gets ids of articles added or updated since the specified time, fetched chunk by chunk after the last fetched id.
+     *
+     * @param since     the specified time
+     * @param fetchSize the specified size of a chunk to fetch
+     * @return article ids sorted by id ascending, returns an empty list if not found
+     * @throws RepositoryException repository exception
+     */
+    public List<String> getUpdatedArticleIds(final long since, final int fetchSize) throws RepositoryException {
+        final List<String> ret = new ArrayList<>();
+
+        String afterId = "0";
+        while (true) {
+            final Query query = new Query().setCurrentPageNum(1).setPageSize(fetchSize).setPageCount(1).
+                    addProjection(Keys.OBJECT_ID, String.class).
+                    setFilter(CompositeFilterOperator.and(
+                            new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN, afterId),
+                            new PropertyFilter(Article.ARTICLE_UPDATE_TIME, FilterOperator.GREATER_THAN_OR_EQUAL, since))).
+                    addSort(Keys.OBJECT_ID, SortDirection.ASCENDING);
+            final JSONArray articles = articleRepository.get(query).optJSONArray(Keys.RESULTS);
             for (int i = 0; i < articles.length(); i++) {
-                final JSONObject article = articles.getJSONObject(i);
-                final long id = article.getLong(Keys.OBJECT_ID);
-                final String permalink = Latkes.getServePath() + "/article/" + id;
-
-                final Sitemap.URL url = new Sitemap.URL();
-                url.setLoc(permalink);
-                final Date updateDate = new Date(id);
-                final String lastMod = DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format(updateDate);
-                url.setLastMod(lastMod);
+                afterId = articles.optJSONObject(i).optString(Keys.OBJECT_ID);
+                ret.add(afterId);
+            }
 
-                sitemap.addURL(url);
+            if (articles.length() < fetchSize) {
+                break;
             }
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Gets sitemap articles failed", e);
         }
+
+        return ret;
     }
 }
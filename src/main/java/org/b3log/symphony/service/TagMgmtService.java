@@ -31,11 +31,13 @@ import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.symphony.cache.DomainCache;
 import org.b3log.symphony.cache.TagCache;
+import org.b3log.symphony.cache.TagRelationCache;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Option;
 import org.b3log.symphony.model.Tag;
 import org.b3log.symphony.model.UserExt;
 import org.b3log.symphony.repository.*;
+import org.b3log.symphony.util.Symphonys;
 import org.b3log.symphony.util.URLs;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -47,7 +49,7 @@ import java.util.List;
  * Tag management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.1.6, Apr 16, 2017
+ * @version 1.4.1.0, Oct 19, 2026
  * @since 1.1.0
  */
 @Service
@@ -118,6 +120,12 @@ public class TagMgmtService {
     @Inject
     private TagCache tagCache;
 
+    /**
+     * Tag-Tag relation cache.
+     */
+    @Inject
+    private TagRelationCache tagRelationCache;
+
     /**
      * Removes unused tags.
      */
@@ -273,61 +281,18 @@ public class TagMgmtService {
         }
     }
 
-    /**
-     * Adds a tag-tag relation.
-     *
-     * @param tagRelation the specified tag-tag relation
-     * @throws ServiceException service exception
-     */
-    void addTagRelation(final JSONObject tagRelation) throws ServiceException {
-        final Transaction transaction = tagTagRepository.beginTransaction();
-
-        try {
-            tagTagRepository.add(tagRelation);
-
-            transaction.commit();
-        } catch (final RepositoryException e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-
-            LOGGER.log(Level.ERROR, "Adds a tag-tag failed", e);
-            throw new ServiceException(e);
-        }
-    }
-
-    /**
-     * Updates the specified tag-tag relation by the given tag relation id.
-     *
-     * @param tagRelationId the given tag relation id
-     * @param tagRelation   the specified tag-tag relation
-     * @throws ServiceException service exception
-     */
-    void updateTagRelation(final String tagRelationId, final JSONObject tagRelation) throws ServiceException {
-        final Transaction transaction = tagTagRepository.beginTransaction();
-
-        try {
-            tagTagRepository.update(tagRelationId, tagRelation);
-
-            transaction.commit();
-        } catch (final RepositoryException e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-
-            LOGGER.log(Level.ERROR, "Updates a tag-tag relation [id=" + tagRelationId + "] failed", e);
-            throw new ServiceException(e);
-        }
-    }
-
     /**
      * Relates the specified tag string.
+     * <p>
+     * Weights are grown in memory by {@link TagRelationCache}, changed relations are written to tag_tag once
+     * {@code tagRelationFlushSize} of them are pending, or by {@link #flushTagRelations()}.
+     * </p>
      *
      * @param tagString the specified tag string
      * @throws ServiceException service exception
      */
     public void relateTags(final String tagString) throws ServiceException {
-        final List<JSONObject> tags = new ArrayList<>();
+        final List<String> tagIds = new ArrayList<>();
 
         try {
             final String[] tagTitles = tagString.split(",");
@@ -335,47 +300,89 @@ public class TagMgmtService {
                 final JSONObject tag = tagRepository.getByTitle(tagTitle.trim());
 
                 if (null != tag) {
-                    tags.add(tag);
+                    tagIds.add(tag.optString(Keys.OBJECT_ID));
                 }
             }
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Relates tag and tag [" + tagString + "] failed", e);
+            throw new ServiceException(e);
+        }
 
-            for (int i = 0; i < tags.size(); i++) {
-                final JSONObject tag1 = tags.get(i);
-                final String tag1Id = tag1.optString(Keys.OBJECT_ID);
-
-                for (int j = i + 1; j < tags.size(); j++) {
-                    final JSONObject tag2 = tags.get(j);
-                    final String tag2Id = tag2.optString(Keys.OBJECT_ID);
+        if (tagRelationCache.relate(tagIds) >= Symphonys.getInt("tagRelationFlushSize")) {
+            flushTagRelations();
+        }
+    }
 
-                    JSONObject relation = tagTagRepository.getByTag1IdAndTag2Id(tag1Id, tag2Id);
-                    if (null != relation) {
-                        relation.put(Common.WEIGHT, relation.optInt(Common.WEIGHT) + 1);
+    /**
+     * Writes weight increments of pending tag-tag relations to tag_tag in batches.
+     * <p>
+     * Relations not written yet are added (or joined if another node added them), written ones are increased by the
+     * database, so every node of a cluster can flush the relations it grew.
+     * </p>
+     */
+    public synchronized void flushTagRelations() {
+        final List<JSONObject> relations = tagRelationCache.drain();
+        if (relations.isEmpty()) {
+            return;
+        }
 
-                        updateTagRelation(relation.optString(Keys.OBJECT_ID), relation);
+        final List<JSONObject> newRelations = new ArrayList<>();
+        final List<JSONObject> grownRelations = new ArrayList<>();
+        for (final JSONObject relation : relations) {
+            if (relation.has(Keys.OBJECT_ID)) {
+                grownRelations.add(relation);
+            } else {
+                newRelations.add(relation);
+            }
+        }
 
-                        continue;
+        if (!newRelations.isEmpty()) {
+            final List<JSONObject> joinedRelations = new ArrayList<>();
+            final Transaction transaction = tagTagRepository.beginTransaction();
+            try {
+                for (final JSONObject relation : newRelations) {
+                    final String tag1Id = relation.optString(Tag.TAG + "1_" + Keys.OBJECT_ID);
+                    final String tag2Id = relation.optString(Tag.TAG + "2_" + Keys.OBJECT_ID);
+                    JSONObject existing = tagTagRepository.getByTag1IdAndTag2Id(tag1Id, tag2Id);
+                    if (null == existing) {
+                        existing = tagTagRepository.getByTag1IdAndTag2Id(tag2Id, tag1Id);
                     }
 
-                    relation = tagTagRepository.getByTag1IdAndTag2Id(tag2Id, tag1Id);
-                    if (null != relation) {
-                        relation.put(Common.WEIGHT, relation.optInt(Common.WEIGHT) + 1);
-
-                        updateTagRelation(relation.optString(Keys.OBJECT_ID), relation);
-
-                        continue;
+                    if (null == existing) {
+                        relation.put(Keys.OBJECT_ID, tagTagRepository.add(relation));
+                    } else { // added by another node
+                        relation.put(Keys.OBJECT_ID, existing.optString(Keys.OBJECT_ID));
+                        joinedRelations.add(relation);
                     }
+                }
 
-                    relation = new JSONObject();
-                    relation.put(Tag.TAG + "1_" + Keys.OBJECT_ID, tag1Id);
-                    relation.put(Tag.TAG + "2_" + Keys.OBJECT_ID, tag2Id);
-                    relation.put(Common.WEIGHT, 1);
+                transaction.commit();
 
-                    addTagRelation(relation);
+                for (final JSONObject relation : newRelations) {
+                    tagRelationCache.flushed(relation);
+                }
+                grownRelations.addAll(joinedRelations);
+            } catch (final RepositoryException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
                 }
+
+                tagRelationCache.redirty(newRelations);
+
+                LOGGER.log(Level.ERROR, "Adds [" + newRelations.size() + "] tag-tag relations failed", e);
             }
+        }
+
+        if (grownRelations.isEmpty()) {
+            return;
+        }
+
+        try {
+            tagTagRepository.incWeights(grownRelations);
         } catch (final RepositoryException e) {
-            LOGGER.log(Level.ERROR, "Relates tag and tag [" + tagString + "] failed", e);
-            throw new ServiceException(e);
+            tagRelationCache.redirty(grownRelations);
+
+            LOGGER.log(Level.ERROR, "Increases [" + grownRelations.size() + "] tag-tag relation weights failed", e);
         }
     }
 }
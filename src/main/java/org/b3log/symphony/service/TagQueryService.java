@@ -33,6 +33,7 @@ import org.b3log.latke.urlfetch.*;
 import org.b3log.latke.util.CollectionUtils;
 import org.b3log.latke.util.Paginator;
 import org.b3log.symphony.cache.TagCache;
+import org.b3log.symphony.cache.TagRelationCache;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Domain;
 import org.b3log.symphony.model.Tag;
@@ -51,7 +52,7 @@ import java.util.*;
  * Tag query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.8.7.0, Feb 22, 2018
+ * @version 1.9.0.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -80,10 +81,10 @@ public class TagQueryService {
     private UserTagRepository userTagRepository;
 
     /**
-     * Tag-Tag repository.
+     * Tag-Tag relation cache.
      */
     @Inject
-    private TagTagRepository tagTagRepository;
+    private TagRelationCache tagRelationCache;
 
     /**
      * User repository.
@@ -586,38 +587,8 @@ public class TagQueryService {
     public List<JSONObject> getRelatedTags(final String tagId, final int fetchSize) throws ServiceException {
         final List<JSONObject> ret = new ArrayList<>();
 
-        final Set<String> tagIds = new HashSet<>();
-
         try {
-            JSONObject result = tagTagRepository.getByTag1Id(tagId, 1, fetchSize);
-            JSONArray relations = result.optJSONArray(Keys.RESULTS);
-
-            boolean full = false;
-
-            for (int i = 0; i < relations.length(); i++) {
-                tagIds.add(relations.optJSONObject(i).optString(Tag.TAG + "2_" + Keys.OBJECT_ID));
-
-                if (tagIds.size() >= fetchSize) {
-                    full = true;
-
-                    break;
-                }
-            }
-
-            if (!full) {
-                result = tagTagRepository.getByTag2Id(tagId, 1, fetchSize);
-                relations = result.optJSONArray(Keys.RESULTS);
-
-                for (int i = 0; i < relations.length(); i++) {
-                    tagIds.add(relations.optJSONObject(i).optString(Tag.TAG + "1_" + Keys.OBJECT_ID));
-
-                    if (tagIds.size() >= fetchSize) {
-                        break;
-                    }
-                }
-            }
-
-            for (final String tId : tagIds) {
+            for (final String tId : tagRelationCache.getRelatedTagIds(tagId, fetchSize)) {
                 final JSONObject tag = tagRepository.get(tId);
                 if (null != tag) {
                     Tag.fillDescription(tag);
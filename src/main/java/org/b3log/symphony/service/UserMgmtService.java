@@ -44,12 +44,9 @@ import org.b3log.symphony.util.*;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import javax.imageio.ImageIO;
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -61,7 +58,7 @@ import java.util.regex.Pattern;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author Bill Ho
- * @version 1.15.22.3, May 23, 2018
+ * @version 1.16.0.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -132,6 +129,12 @@ public class UserMgmtService {
     @Inject
     private NotificationMgmtService notificationMgmtService;
 
+    /**
+     * User presence service.
+     */
+    @Inject
+    private UserPresenceService userPresenceService;
+
     /**
      * Tries to login with cookie.
      *
@@ -204,6 +207,9 @@ public class UserMgmtService {
 
     /**
      * Updates a user's online status and saves the login time and IP.
+     * <p>
+     * The status is recorded by {@link UserPresenceService} in memory and flushed to the user table in background.
+     * </p>
      *
      * @param userId     the specified user id
      * @param ip         the specified IP, could be "" if the {@code onlineFlag} is {@code false}
@@ -211,46 +217,10 @@ public class UserMgmtService {
      * @throws ServiceException service exception
      */
     public void updateOnlineStatus(final String userId, final String ip, final boolean onlineFlag) throws ServiceException {
-        Transaction transaction = null;
-
-        try {
-            final JSONObject address = Geos.getAddress(ip);
-
-            final JSONObject user = userRepository.get(userId);
-            if (null == user) {
-                return;
-            }
-
-            if (null != address) {
-                final String country = address.optString(Common.COUNTRY);
-                final String province = address.optString(Common.PROVINCE);
-                final String city = address.optString(Common.CITY);
-
-                user.put(UserExt.USER_COUNTRY, country);
-                user.put(UserExt.USER_PROVINCE, province);
-                user.put(UserExt.USER_CITY, city);
-            }
-
-            transaction = userRepository.beginTransaction();
-
-            user.put(UserExt.USER_ONLINE_FLAG, onlineFlag);
-            user.put(UserExt.USER_LATEST_LOGIN_TIME, System.currentTimeMillis());
-
-            if (onlineFlag) {
-                user.put(UserExt.USER_LATEST_LOGIN_IP, ip);
-            }
-
-            userRepository.update(userId, user);
-
-            transaction.commit();
-        } catch (final RepositoryException e) {
-            LOGGER.log(Level.ERROR, "Updates user online status failed [id=" + userId + "]", e);
-
-            if (null != transaction && transaction.isActive()) {
-                transaction.rollback();
-            }
-
-            throw new ServiceException(e);
+        if (onlineFlag) {
+            userPresenceService.online(userId, ip);
+        } else {
+            userPresenceService.offline(userId);
         }
     }
 
@@ -548,13 +518,12 @@ public class UserMgmtService {
 
                     final String hash = MD5.hash(ret);
                     avatarData = Gravatars.getRandomAvatarData(hash); // https://github.com/b3log/symphony/issues/569
+                    String mimeType = "image/jpeg";
+                    String suffix = ".jpg";
                     if (null == avatarData) {
-                        final BufferedImage img = avatarQueryService.createAvatar(hash, 512);
-                        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                        ImageIO.write(img, "jpg", baos);
-                        baos.flush();
-                        avatarData = baos.toByteArray();
-                        baos.close();
+                        avatarData = avatarQueryService.getIdenticonData(hash, AvatarQueryService.IDENTICON_SIZE);
+                        mimeType = "image/png";
+                        suffix = ".png";
                     }
 
                     if (Symphonys.getBoolean("qiniu.enabled")) {
@@ -562,10 +531,10 @@ public class UserMgmtService {
                         final UploadManager uploadManager = new UploadManager(new Configuration());
 
                         uploadManager.put(avatarData, "avatar/" + ret, auth.uploadToken(Symphonys.get("qiniu.bucket")),
-                                null, "image/jpeg", false);
+                                null, mimeType, false);
                         user.put(UserExt.USER_AVATAR_URL, Symphonys.get("qiniu.domain") + "/avatar/" + ret + "?" + new Date().getTime());
                     } else {
-                        final String fileName = UUID.randomUUID().toString().replaceAll("-", "") + ".jpg";
+                        final String fileName = UUID.randomUUID().toString().replaceAll("-", "") + suffix;
                         try (final OutputStream output = new FileOutputStream(Symphonys.get("upload.dir") + fileName)) {
                             IOUtils.write(avatarData, output);
                         }
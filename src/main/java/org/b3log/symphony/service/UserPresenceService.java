@@ -0,0 +1,313 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.model.Common;
+import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.repository.UserRepository;
+import org.b3log.symphony.util.Geos;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User presence service.
+ * <p>
+ * Keeps online users (and their IPs) in memory and records online/last seen changes, the changes are flushed to
+ * the user table in periodic batches off request threads.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.1, Oct 19, 2026
+ * @since 3.0.0
+ */
+@Service
+public class UserPresenceService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(UserPresenceService.class);
+
+    /**
+     * Flush batch size.
+     */
+    private static final int FLUSH_BATCH_SIZE = 64;
+
+    /**
+     * Online users, &lt;userId, IP&gt;.
+     */
+    private static final Map<String, String> ONLINE_USERS = new ConcurrentHashMap<>();
+
+    /**
+     * Pending changes, &lt;userId, change&gt;.
+     */
+    private static final Map<String, JSONObject> PENDING = new ConcurrentHashMap<>();
+
+    /**
+     * Flusher.
+     */
+    private ScheduledExecutorService flusher;
+
+    /**
+     * User repository.
+     */
+    @Inject
+    private UserRepository userRepository;
+
+    /**
+     * Starts the periodic flushing.
+     */
+    public synchronized void start() {
+        if (null != flusher) {
+            return;
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread ret = new Thread(r, "UserPresenceFlusher");
+            ret.setDaemon(true);
+
+            return ret;
+        });
+        final long interval = Symphonys.getLong("user.presence.flushInterval");
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Flushes user presences failed", e);
+            } finally {
+                JdbcRepository.dispose();
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic flushing and flushes the pending changes.
+     */
+    public synchronized void stop() {
+        if (null == flusher) {
+            return;
+        }
+
+        flusher.shutdownNow();
+        flusher = null;
+
+        try {
+            flush();
+        } finally {
+            JdbcRepository.dispose();
+        }
+    }
+
+    /**
+     * Records the specified user is online with the specified IP.
+     *
+     * @param userId the specified user id
+     * @param ip     the specified IP, {@code null} or blank if unknown (keeps the previous IP)
+     */
+    public void online(final String userId, final String ip) {
+        if (StringUtils.isNotBlank(ip)) {
+            ONLINE_USERS.put(userId, ip);
+        } else {
+            ONLINE_USERS.putIfAbsent(userId, "");
+        }
+
+        record(userId, true, ip);
+    }
+
+    /**
+     * Records the specified user is offline.
+     *
+     * @param userId the specified user id
+     */
+    public void offline(final String userId) {
+        ONLINE_USERS.remove(userId);
+
+        record(userId, false, null);
+    }
+
+    /**
+     * Is the specified user online?
+     *
+     * @param userId the specified user id
+     * @return {@code true} if online, returns {@code false} otherwise
+     */
+    public boolean isOnline(final String userId) {
+        return ONLINE_USERS.containsKey(userId);
+    }
+
+    /**
+     * Gets the IP of the specified online user.
+     *
+     * @param userId the specified user id
+     * @return IP, returns {@code null} if the specified user is offline or the IP is unknown
+     */
+    public String getOnlineIP(final String userId) {
+        return StringUtils.trimToNull(ONLINE_USERS.get(userId));
+    }
+
+    /**
+     * Gets the online user count.
+     *
+     * @return online user count
+     */
+    public int getOnlineUserCount() {
+        return ONLINE_USERS.size();
+    }
+
+    /**
+     * Flushes the pending changes to the user table in batches.
+     */
+    public void flush() {
+        final List<String> userIds = new ArrayList<>(PENDING.keySet());
+        for (int i = 0; i < userIds.size(); i += FLUSH_BATCH_SIZE) {
+            final List<JSONObject> changes = new ArrayList<>();
+            for (final String userId : userIds.subList(i, Math.min(i + FLUSH_BATCH_SIZE, userIds.size()))) {
+                final JSONObject change = PENDING.remove(userId);
+                if (null != change) {
+                    change.put(Common.USER_ID, userId);
+                    changes.add(change);
+                }
+            }
+
+            flush(changes);
+        }
+    }
+
+    /**
+     * Flushes the specified changes in one transaction, puts the changes back to the pending changes if failed.
+     *
+     * @param changes the specified changes
+     */
+    private void flush(final List<JSONObject> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        // Resolves addresses before the transaction, a remote lookup may take seconds
+        final boolean remoteGeo = Symphonys.getBoolean("geo.remote.enabled");
+        final Map<String, JSONObject> addresses = new HashMap<>();
+        for (final JSONObject change : changes) {
+            final String ip = change.optString(UserExt.USER_LATEST_LOGIN_IP);
+            if (StringUtils.isBlank(ip) || addresses.containsKey(ip)) {
+                continue;
+            }
+
+            JSONObject address = Geos.getAddress(ip);
+            if (null == address && remoteGeo) {
+                address = Geos.getAddressRemote(ip);
+            }
+            addresses.put(ip, address);
+        }
+
+        final Transaction transaction = userRepository.beginTransaction();
+        try {
+            for (final JSONObject change : changes) {
+                final String userId = change.optString(Common.USER_ID);
+                final JSONObject user = userRepository.get(userId);
+                if (null == user) {
+                    continue;
+                }
+
+                user.put(UserExt.USER_ONLINE_FLAG, change.optBoolean(UserExt.USER_ONLINE_FLAG));
+                user.put(UserExt.USER_LATEST_LOGIN_TIME, change.optLong(UserExt.USER_LATEST_LOGIN_TIME));
+
+                final String ip = change.optString(UserExt.USER_LATEST_LOGIN_IP);
+                if (StringUtils.isNotBlank(ip)) {
+                    user.put(UserExt.USER_LATEST_LOGIN_IP, ip);
+
+                    final JSONObject address = addresses.get(ip);
+                    if (null != address) {
+                        user.put(UserExt.USER_COUNTRY, address.optString(Common.COUNTRY));
+                        user.put(UserExt.USER_PROVINCE, address.optString(Common.PROVINCE));
+                        user.put(UserExt.USER_CITY, address.optString(Common.CITY));
+                    }
+                }
+
+                userRepository.update(userId, user);
+            }
+
+            transaction.commit();
+
+            LOGGER.log(Level.DEBUG, "Flushed [" + changes.size() + "] user presences");
+        } catch (final Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            LOGGER.log(Level.ERROR, "Flushes user presences failed, retries in the next flushing", e);
+
+            for (final JSONObject change : changes) {
+                requeue(change);
+            }
+        }
+    }
+
+    /**
+     * Puts the specified failed change back to the pending changes, a newer change of the same user wins but
+     * inherits the IP of the failed change if it has none.
+     *
+     * @param change the specified failed change
+     */
+    private void requeue(final JSONObject change) {
+        final String userId = (String) change.remove(Common.USER_ID);
+        PENDING.merge(userId, change, (newer, failed) -> {
+            if (!newer.has(UserExt.USER_LATEST_LOGIN_IP) && failed.has(UserExt.USER_LATEST_LOGIN_IP)) {
+                newer.put(UserExt.USER_LATEST_LOGIN_IP, failed.optString(UserExt.USER_LATEST_LOGIN_IP));
+            }
+
+            return newer;
+        });
+    }
+
+    /**
+     * Records a change of the specified user.
+     *
+     * @param userId the specified user id
+     * @param online the specified online flag
+     * @param ip     the specified IP, {@code null} or blank if unknown
+     */
+    private void record(final String userId, final boolean online, final String ip) {
+        final long now = System.currentTimeMillis();
+        PENDING.compute(userId, (id, change) -> {
+            final JSONObject ret = null == change ? new JSONObject() : change;
+            ret.put(UserExt.USER_ONLINE_FLAG, online);
+            ret.put(UserExt.USER_LATEST_LOGIN_TIME, now);
+            if (online && StringUtils.isNotBlank(ip)) {
+                ret.put(UserExt.USER_LATEST_LOGIN_IP, ip);
+            }
+
+            return ret;
+        });
+    }
+}
@@ -34,6 +34,7 @@ import org.b3log.symphony.model.*;
 import org.b3log.symphony.repository.FollowRepository;
 import org.b3log.symphony.repository.PointtransferRepository;
 import org.b3log.symphony.repository.UserRepository;
+import org.b3log.symphony.util.RequestContext;
 import org.b3log.symphony.util.Sessions;
 import org.b3log.symphony.util.Times;
 import org.b3log.symphony.util.URLs;
@@ -49,7 +50,7 @@ import java.util.*;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://zephyr.b3log.org">Zephyr</a>
- * @version 1.8.6.14, Jan 25, 2018
+ * @version 1.8.7.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -370,7 +371,7 @@ public class UserQueryService {
     }
 
     /**
-     * Gets the current user.
+     * Gets the current user. The user is resolved once per request and shared via {@link RequestContext}.
      *
      * @param request the specified request
      * @return the current user, {@code null} if not found
@@ -384,7 +385,22 @@ public class UserQueryService {
 
         final String id = currentUser.optString(Keys.OBJECT_ID);
 
-        return getUser(id);
+        final RequestContext requestContext = RequestContext.get();
+        if (null == requestContext) {
+            return getUser(id);
+        }
+
+        JSONObject ret = requestContext.getUser(id);
+        if (null != ret) {
+            return ret;
+        }
+
+        ret = getUser(id);
+        if (null != ret) {
+            requestContext.putUser(ret);
+        }
+
+        return ret;
     }
 
     /**
@@ -32,14 +32,13 @@ import org.b3log.symphony.repository.VoteRepository;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * Vote query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.1, Oct 17, 2016
+ * @version 1.2.0.0, Oct 19, 2026
  * @since 1.3.0
  */
 @Service
@@ -100,6 +99,38 @@ public class VoteQueryService {
         }
     }
 
+    /**
+     * Gets the vote types of the specified user on the specified entities in one query.
+     *
+     * @param userId  the specified user id
+     * @param dataIds the specified entity ids
+     * @return &lt;dataId, voted type&gt;, entities not voted yet are absent
+     */
+    public Map<String, Integer> getVoteTypes(final String userId, final Collection<String> dataIds) {
+        final Map<String, Integer> ret = new HashMap<>();
+        if (dataIds.isEmpty()) {
+            return ret;
+        }
+
+        try {
+            final List<Filter> filters = new ArrayList<>();
+            filters.add(new PropertyFilter(Vote.USER_ID, FilterOperator.EQUAL, userId));
+            filters.add(new PropertyFilter(Vote.DATA_ID, FilterOperator.IN, dataIds));
+
+            final Query query = new Query().setPageCount(1).setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters));
+
+            final JSONArray votes = voteRepository.get(query).optJSONArray(Keys.RESULTS);
+            for (int i = 0; i < votes.length(); i++) {
+                final JSONObject vote = votes.optJSONObject(i);
+                ret.put(vote.optString(Vote.DATA_ID), vote.optInt(Vote.TYPE));
+            }
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, e.getMessage());
+        }
+
+        return ret;
+    }
+
     /**
      * Determines whether the specified data dose belong to the specified user.
      *
@@ -111,7 +142,7 @@ public class VoteQueryService {
     public boolean isOwn(final String userId, final String dataId, final int dataType) {
         try {
             if (Vote.DATA_TYPE_C_ARTICLE == dataType) {
-                final JSONObject article = articleRepository.get(dataId);
+                final JSONObject article = articleRepository.getReadOnly(dataId);
                 if (null == article) {
                     LOGGER.log(Level.ERROR, "Not found article [id={0}]", dataId);
 
@@ -120,7 +151,7 @@ public class VoteQueryService {
 
                 return article.optString(Article.ARTICLE_AUTHOR_ID).equals(userId);
             } else if (Vote.DATA_TYPE_C_COMMENT == dataType) {
-                final JSONObject comment = commentRepository.get(dataId);
+                final JSONObject comment = commentRepository.getReadOnly(dataId);
                 if (null == comment) {
                     LOGGER.log(Level.ERROR, "Not found comment [id={0}]", dataId);
 
@@ -0,0 +1,127 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import freemarker.core.Environment;
+import freemarker.template.*;
+import org.b3log.latke.util.Locales;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fragment cache directive.
+ * <p>
+ * Caches the rendered body per skin, key and locale for {@code pageCache.fragmentExpire} milliseconds, for example,
+ * <pre>
+ * &lt;@fragmentCache key="side"&gt;...&lt;/@fragmentCache&gt;
+ * </pre>
+ * The body must not depend on the current viewer.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+public final class FragmentCacheDirective implements TemplateDirectiveModel {
+
+    /**
+     * Expiration of a fragment in milliseconds.
+     */
+    private static final long EXPIRE = Symphonys.getLong("pageCache.fragmentExpire");
+
+    /**
+     * &lt;skinDirName|key|locale, fragment&gt;
+     */
+    private static final Map<String, Fragment> FRAGMENTS = new ConcurrentHashMap<>();
+
+    /**
+     * Skin directory name.
+     */
+    private final String skinDirName;
+
+    /**
+     * Constructs a fragment cache directive with the specified skin directory name.
+     *
+     * @param skinDirName the specified skin directory name
+     */
+    public FragmentCacheDirective(final String skinDirName) {
+        this.skinDirName = skinDirName;
+    }
+
+    /**
+     * Clears all cached fragments.
+     */
+    public static void clear() {
+        FRAGMENTS.clear();
+    }
+
+    @Override
+    public void execute(final Environment env, final Map params, final TemplateModel[] loopVars,
+                        final TemplateDirectiveBody body) throws TemplateException, IOException {
+        if (null == body) {
+            return;
+        }
+
+        final Object keyModel = params.get("key");
+        if (!(keyModel instanceof TemplateScalarModel)) {
+            throw new TemplateModelException("The [key] parameter of fragment cache is required");
+        }
+
+        final String key = skinDirName + "|" + ((TemplateScalarModel) keyModel).getAsString() + "|" + Locales.getLocale();
+        final long now = System.currentTimeMillis();
+        Fragment fragment = FRAGMENTS.get(key);
+        if (null == fragment || now - fragment.createTime > EXPIRE) {
+            final StringWriter writer = new StringWriter();
+            body.render(writer);
+            fragment = new Fragment(writer.toString(), now);
+            FRAGMENTS.put(key, fragment);
+        }
+
+        env.getOut().write(fragment.html);
+    }
+
+    /**
+     * A rendered fragment.
+     */
+    private static final class Fragment {
+
+        /**
+         * HTML.
+         */
+        private final String html;
+
+        /**
+         * Create time.
+         */
+        private final long createTime;
+
+        /**
+         * Constructs a fragment with the specified HTML and create time.
+         *
+         * @param html       the specified HTML
+         * @param createTime the specified create time
+         */
+        private Fragment(final String html, final long createTime) {
+            this.html = html;
+            this.createTime = createTime;
+        }
+    }
+}
@@ -23,17 +23,19 @@ import org.b3log.latke.logging.Logger;
 import org.b3log.symphony.model.Common;
 import org.json.JSONObject;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
+import java.io.*;
 import java.net.SocketTimeoutException;
-import java.net.URL;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Geography utilities.
+ * <p>
+ * {@link #getAddress(String)} resolves IP with the local IP region table (configured by {@code geo.ipDataFile}),
+ * {@link #getAddressRemote(String)} queries Baidu/Taobao HTTP APIs and should not be called on request threads.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.0.0, Jun 10, 2018
+ * @version 1.4.1.0, Oct 19, 2026
  * @since 1.3.0
  */
 public final class Geos {
@@ -43,6 +45,11 @@ public final class Geos {
      */
     private static final Logger LOGGER = Logger.getLogger(Geos.class);
 
+    /**
+     * Local IP region table, {@code null} if not configured.
+     */
+    private static final IPRegions IP_REGIONS = loadIPRegions();
+
     /**
      * Private constructor.
      */
@@ -50,7 +57,7 @@ public final class Geos {
     }
 
     /**
-     * Gets country, province and city of the specified IP.
+     * Gets country, province and city of the specified IP with the local IP region table.
      *
      * @param ip the specified IP
      * @return address info, for example      <pre>
@@ -62,25 +69,45 @@ public final class Geos {
      * </pre>, returns {@code null} if not found
      */
     public static JSONObject getAddress(final String ip) {
+        if (null == IP_REGIONS) {
+            return null;
+        }
+
+        final String[] region = IP_REGIONS.find(ip);
+        if (null == region || StringUtils.isBlank(region[0])) {
+            return null;
+        }
+
+        final JSONObject ret = new JSONObject();
+        ret.put(Common.COUNTRY, region[0]);
+        ret.put(Common.PROVINCE, region[1]);
+        ret.put(Common.CITY, StringUtils.replace(region[2], "市", ""));
+
+        return ret;
+    }
+
+    /**
+     * Gets country, province and city of the specified IP by Baidu (falls back to Taobao) HTTP API.
+     *
+     * @param ip the specified IP
+     * @return address info, for example      <pre>
+     * {
+     *     "country": "",
+     *     "province": "",
+     *     "city": ""
+     * }
+     * </pre>, returns {@code null} if not found
+     */
+    public static JSONObject getAddressRemote(final String ip) {
         final String ak = Symphonys.get("baidu.lbs.ak");
         if (StringUtils.isBlank(ak) || !Networks.isIPv4(ip)) {
             return null;
         }
 
-        HttpURLConnection conn = null;
         try {
-            final URL url = new URL("http://api.map.baidu.com/location/ip?ip=" + ip + "&ak=" + ak);
-            conn = (HttpURLConnection) url.openConnection();
-            conn.setConnectTimeout(1000);
-            conn.setReadTimeout(1000);
-            final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(conn.getInputStream(), "UTF-8"));
-            String line;
-            final StringBuilder sb = new StringBuilder();
-            while (null != (line = bufferedReader.readLine())) {
-                sb.append(line);
-            }
-
-            final JSONObject data = new JSONObject(sb.toString());
+            final String url = "http://api.map.baidu.com/location/ip?ip=" + ip + "&ak=" + ak;
+            final HttpClients.Response response = HttpClients.send(new HttpClients.Request("GET", url).timeout(1000, 1000));
+            final JSONObject data = new JSONObject(response.getBodyText());
             if (0 != data.optInt("status")) {
                 return getAddressTaobao(ip);
             }
@@ -115,14 +142,6 @@ public final class Geos {
             LOGGER.log(Level.ERROR, "Can't get location from Baidu [ip=" + ip + "]", e);
 
             return null;
-        } finally {
-            if (null != conn) {
-                try {
-                    conn.disconnect();
-                } catch (final Exception e) {
-                    LOGGER.log(Level.ERROR, "Close HTTP connection error", e);
-                }
-            }
         }
     }
 
@@ -138,20 +157,10 @@ public final class Geos {
      * </pre>, returns {@code null} if not found
      */
     private static JSONObject getAddressSina(final String ip) {
-        HttpURLConnection conn = null;
         try {
-            final URL url = new URL("http://int.dpool.sina.com.cn/iplookup/iplookup.php?ip=" + ip + "&format=json");
-            conn = (HttpURLConnection) url.openConnection();
-            conn.setConnectTimeout(1000);
-            conn.setReadTimeout(1000);
-            final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(conn.getInputStream(), "UTF-8"));
-            String line;
-            final StringBuilder sb = new StringBuilder();
-            while (null != (line = bufferedReader.readLine())) {
-                sb.append(line);
-            }
-
-            final JSONObject data = new JSONObject(sb.toString());
+            final String url = "http://int.dpool.sina.com.cn/iplookup/iplookup.php?ip=" + ip + "&format=json";
+            final HttpClients.Response response = HttpClients.send(new HttpClients.Request("GET", url).timeout(1000, 1000));
+            final JSONObject data = new JSONObject(response.getBodyText());
             if (1 != data.optInt("ret")) {
                 return null;
             }
@@ -171,14 +180,6 @@ public final class Geos {
             LOGGER.log(Level.ERROR, "Can't get location from Sina [ip=" + ip + "]", e);
 
             return null;
-        } finally {
-            if (null != conn) {
-                try {
-                    conn.disconnect();
-                } catch (final Exception e) {
-                    LOGGER.log(Level.ERROR, "Close HTTP connection error", e);
-                }
-            }
         }
     }
 
@@ -194,20 +195,10 @@ public final class Geos {
      * </pre>, returns {@code null} if not found
      */
     private static JSONObject getAddressTaobao(final String ip) {
-        HttpURLConnection conn = null;
         try {
-            final URL url = new URL("http://ip.taobao.com/service/getIpInfo.php?ip=" + ip);
-            conn = (HttpURLConnection) url.openConnection();
-            conn.setConnectTimeout(1000);
-            conn.setReadTimeout(1000);
-            final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(conn.getInputStream(), "UTF-8"));
-            String line;
-            final StringBuilder sb = new StringBuilder();
-            while (null != (line = bufferedReader.readLine())) {
-                sb.append(line);
-            }
-
-            final JSONObject data = new JSONObject(sb.toString());
+            final String url = "http://ip.taobao.com/service/getIpInfo.php?ip=" + ip;
+            final HttpClients.Response response = HttpClients.send(new HttpClients.Request("GET", url).timeout(1000, 1000));
+            final JSONObject data = new JSONObject(response.getBodyText());
             if (0 != data.optInt("code")) {
                 return null;
             }
@@ -227,15 +218,29 @@ public final class Geos {
             LOGGER.log(Level.ERROR, "Can't get location from Taobao [ip=" + ip + "]", e);
 
             return null;
-        } finally {
-            if (null != conn) {
-                try {
-                    conn.disconnect();
-                } catch (final Exception e) {
-                    LOGGER.log(Level.ERROR, "Close HTTP connection error", e);
-                }
-            }
         }
     }
-}
 
+    /**
+     * Loads the local IP region table from the file specified by {@code geo.ipDataFile}.
+     *
+     * @return IP region table, returns {@code null} if not configured or load failed
+     */
+    private static IPRegions loadIPRegions() {
+        final String dataFile = Symphonys.get("geo.ipDataFile");
+        if (StringUtils.isBlank(dataFile)) {
+            return null;
+        }
+
+        try (final Reader reader = new InputStreamReader(new FileInputStream(dataFile), StandardCharsets.UTF_8)) {
+            final IPRegions ret = new IPRegions(reader, Symphonys.getInt("geo.ipCacheCnt"));
+            LOGGER.info("Loaded [" + ret.size() + "] IP ranges from [" + dataFile + "]");
+
+            return ret;
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Loads IP region data [" + dataFile + "] failed", e);
+
+            return null;
+        }
+    }
+}
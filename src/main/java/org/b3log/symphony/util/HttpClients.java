@@ -0,0 +1,779 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outbound HTTP client.
+ * <p>
+ * All outbound HTTP calls go through {@link #send(Request)} (or {@link #sendAsync(Request)} on the
+ * {@link ThreadPools#HTTP http pool}) so that:
+ * <ul>
+ * <li>connections are kept alive and reused: response bodies are always fully read and closed, the JDK keep-alive
+ * cache holds at most {@code http.maxConnectionsPerHost} idle connections per host</li>
+ * <li>concurrent requests per host are limited by {@code http.maxConnectionsPerHost}, a request waits at most
+ * {@code http.acquireTimeout} for a slot and fails otherwise</li>
+ * <li>a host failing {@code http.breakerFailures} times in a row is short-circuited for {@code http.breakerOpenTime},
+ * then one trial request decides whether to close the breaker again</li>
+ * <li>response bodies are limited to {@code http.maxBodySize} bytes (see {@link Request#maxBodySize(int)}), a
+ * larger body fails the request without being read to the end</li>
+ * <li>latency of each host is recorded in a histogram, see {@link #getStat()}</li>
+ * </ul>
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+public final class HttpClients {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(HttpClients.class);
+
+    /**
+     * Default connect timeout (ms).
+     */
+    private static final int CONNECT_TIMEOUT = Symphonys.getInt("http.connectTimeout");
+
+    /**
+     * Default read timeout (ms).
+     */
+    private static final int READ_TIMEOUT = Symphonys.getInt("http.readTimeout");
+
+    /**
+     * Max concurrent requests (and kept-alive connections) per host.
+     */
+    private static final int MAX_CONNECTIONS_PER_HOST = Symphonys.getInt("http.maxConnectionsPerHost");
+
+    /**
+     * Max time waiting for a host slot (ms).
+     */
+    private static final long ACQUIRE_TIMEOUT = Symphonys.getLong("http.acquireTimeout");
+
+    /**
+     * Consecutive failures opening the circuit breaker of a host.
+     */
+    private static final int BREAKER_FAILURES = Symphonys.getInt("http.breakerFailures");
+
+    /**
+     * Circuit breaker open time (ms).
+     */
+    private static final long BREAKER_OPEN_TIME = Symphonys.getLong("http.breakerOpenTime");
+
+    /**
+     * Default max response body size (byte).
+     */
+    private static final int MAX_BODY_SIZE = Symphonys.getInt("http.maxBodySize");
+
+    /**
+     * Max tracked host count, idle hosts are dropped once exceeded.
+     */
+    private static final int MAX_HOST_CNT = 1024;
+
+    /**
+     * Time (ms) since the last use after which a host may be dropped.
+     */
+    private static final long HOST_IDLE_TIME = 1000 * 60 * 10;
+
+    /**
+     * Latency histogram bucket upper bounds (ms).
+     */
+    private static final long[] LATENCY_BUCKETS = {10, 50, 100, 500, 1000, 5000};
+
+    /**
+     * Hosts, &lt;"scheme://host:port", host&gt;.
+     */
+    private static final Map<String, Host> HOSTS = new ConcurrentHashMap<>();
+
+    static {
+        // Takes effect only if no HTTP connection has been opened before
+        System.setProperty("http.keepAlive", "true");
+        System.setProperty("http.maxConnections", String.valueOf(MAX_CONNECTIONS_PER_HOST));
+    }
+
+    /**
+     * Private constructor.
+     */
+    private HttpClients() {
+    }
+
+    /**
+     * Sends the specified request.
+     *
+     * @param request the specified request
+     * @return response, the body of 4xx/5xx responses is the error body
+     * @throws IOException if the host is short-circuited or busy, or io exception
+     */
+    public static Response send(final Request request) throws IOException {
+        final URL url = new URL(request.url);
+        final Host host = getHost(url);
+        final boolean trial = !host.isClosed();
+        if (trial && !host.tryTrial()) {
+            host.shortCircuits.increment();
+
+            throw new IOException("Circuit breaker of [" + host.name + "] is open");
+        }
+
+        boolean acquired;
+        try {
+            acquired = host.permits.tryAcquire(ACQUIRE_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            if (trial) {
+                host.trialDone();
+            }
+            host.rejected.increment();
+
+            throw new IOException("Too many concurrent requests to [" + host.name + "]");
+        }
+
+        final long startTime = System.currentTimeMillis();
+        HttpURLConnection conn = null;
+        try {
+            conn = (HttpURLConnection) url.openConnection();
+            conn.setRequestMethod(request.method);
+            conn.setConnectTimeout(request.connectTimeout);
+            conn.setReadTimeout(request.readTimeout);
+            conn.setInstanceFollowRedirects(request.followRedirects);
+            for (final Map.Entry<String, String> header : request.headers.entrySet()) {
+                conn.setRequestProperty(header.getKey(), header.getValue());
+            }
+
+            if (null != request.body) {
+                conn.setDoOutput(true);
+                conn.setFixedLengthStreamingMode(request.body.length);
+                try (final OutputStream outputStream = conn.getOutputStream()) {
+                    outputStream.write(request.body);
+                }
+            }
+
+            final int code = conn.getResponseCode();
+            byte[] body = new byte[0];
+            // Reads the body to the end and closes it, the connection goes back to the keep-alive cache then
+            try (final InputStream inputStream = HttpURLConnection.HTTP_BAD_REQUEST <= code ? conn.getErrorStream() : conn.getInputStream()) {
+                if (null != inputStream) {
+                    if (conn.getContentLengthLong() > request.maxBodySize) {
+                        throw new BodyTooLargeException(request, conn.getContentLengthLong());
+                    }
+
+                    body = readBody(inputStream, request);
+                }
+            }
+
+            if (HttpURLConnection.HTTP_INTERNAL_ERROR <= code) {
+                host.failed();
+            } else {
+                host.succeeded();
+            }
+
+            return new Response(code, conn.getContentType(), body);
+        } catch (final BodyTooLargeException e) {
+            // The host works, drops the connection as the rest of the body is not read
+            conn.disconnect();
+
+            throw e;
+        } catch (final IOException e) {
+            host.failed();
+            if (null != conn) {
+                conn.disconnect();
+            }
+
+            throw e;
+        } finally {
+            host.permits.release();
+            if (trial) {
+                host.trialDone();
+            }
+            host.record(System.currentTimeMillis() - startTime);
+        }
+    }
+
+    /**
+     * Reads the specified body stream to the end, at most max body size of the specified request.
+     *
+     * @param inputStream the specified body stream
+     * @param request     the specified request
+     * @return body
+     * @throws IOException if the body is larger than the max body size, or io exception
+     */
+    private static byte[] readBody(final InputStream inputStream, final Request request) throws IOException {
+        final ByteArrayOutputStream ret = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int n;
+        while (-1 != (n = inputStream.read(buffer))) {
+            if (ret.size() + n > request.maxBodySize) {
+                throw new BodyTooLargeException(request, ret.size() + n);
+            }
+
+            ret.write(buffer, 0, n);
+        }
+
+        return ret.toByteArray();
+    }
+
+    /**
+     * Sends the specified request on the {@link ThreadPools#HTTP http pool}.
+     *
+     * @param request the specified request
+     * @return response future, completes exceptionally if {@link #send(Request)} throws
+     */
+    public static CompletableFuture<Response> sendAsync(final Request request) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return send(request);
+            } catch (final IOException e) {
+                throw new CompletionException(e);
+            }
+        }, ThreadPools.HTTP);
+    }
+
+    /**
+     * Gets the statistic of hosts.
+     *
+     * @return for example, <pre>
+     * {
+     *     "https://api.map.baidu.com:443": {
+     *         "breaker": "closed", // "open"/"half-open"
+     *         "inFlight": 0,
+     *         "requests": 1024,
+     *         "failures": 3,
+     *         "shortCircuits": 0,
+     *         "rejected": 0,
+     *         "avgElapsed": 52,
+     *         "maxElapsed": 1003,
+     *         "latency": {
+     *             "10": 0, "50": 710, "100": 280, "500": 30, "1000": 3, "5000": 1, "inf": 0
+     *         }
+     *     }, ....
+     * }
+     * </pre>
+     */
+    public static JSONObject getStat() {
+        final JSONObject ret = new JSONObject();
+        for (final Host host : HOSTS.values()) {
+            ret.put(host.name, host.getStat());
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the host of the specified URL.
+     *
+     * @param url the specified URL
+     * @return host
+     */
+    private static Host getHost(final URL url) {
+        final String name = url.getProtocol() + "://" + url.getHost() + ":" + (-1 == url.getPort() ? url.getDefaultPort() : url.getPort());
+        Host ret = HOSTS.get(name);
+        if (null == ret) {
+            if (HOSTS.size() >= MAX_HOST_CNT) {
+                synchronized (HOSTS) { // one thread drops, a host used recently may be held by a request about to start
+                    if (HOSTS.size() >= MAX_HOST_CNT) {
+                        final long now = System.currentTimeMillis();
+                        HOSTS.values().removeIf(host -> host.isIdle(now));
+                    }
+                }
+            }
+
+            ret = HOSTS.computeIfAbsent(name, Host::new);
+        }
+        ret.lastUsed = System.currentTimeMillis();
+
+        return ret;
+    }
+
+    /**
+     * Request.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.1.0.0, Oct 19, 2026
+     * @since 3.0.0
+     */
+    public static final class Request {
+
+        /**
+         * Method.
+         */
+        private final String method;
+
+        /**
+         * URL.
+         */
+        private final String url;
+
+        /**
+         * Headers.
+         */
+        private final Map<String, String> headers = new LinkedHashMap<>();
+
+        /**
+         * Body.
+         */
+        private byte[] body;
+
+        /**
+         * Connect timeout (ms).
+         */
+        private int connectTimeout = CONNECT_TIMEOUT;
+
+        /**
+         * Read timeout (ms).
+         */
+        private int readTimeout = READ_TIMEOUT;
+
+        /**
+         * Whether follows redirects.
+         */
+        private boolean followRedirects = true;
+
+        /**
+         * Max response body size (byte).
+         */
+        private int maxBodySize = MAX_BODY_SIZE;
+
+        /**
+         * Constructs a request with the specified method and URL.
+         *
+         * @param method the specified method, for example "GET"
+         * @param url    the specified URL
+         */
+        public Request(final String method, final String url) {
+            this.method = method;
+            this.url = url;
+        }
+
+        /**
+         * Sets a header.
+         *
+         * @param name  the specified header name
+         * @param value the specified header value
+         * @return this request
+         */
+        public Request header(final String name, final String value) {
+            headers.put(name, value);
+
+            return this;
+        }
+
+        /**
+         * Sets the body.
+         *
+         * @param contentType the specified content type
+         * @param body        the specified body
+         * @return this request
+         */
+        public Request body(final String contentType, final byte[] body) {
+            headers.put("Content-Type", contentType);
+            this.body = body;
+
+            return this;
+        }
+
+        /**
+         * Sets a JSON body.
+         *
+         * @param json the specified JSON
+         * @return this request
+         */
+        public Request json(final JSONObject json) {
+            return body("application/json;charset=UTF-8", json.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Sets an URL encoded form body.
+         *
+         * @param form the specified form
+         * @return this request
+         */
+        public Request form(final Map<String, ?> form) {
+            final StringBuilder builder = new StringBuilder();
+            for (final Map.Entry<String, ?> field : form.entrySet()) {
+                if (0 < builder.length()) {
+                    builder.append('&');
+                }
+                builder.append(URLs.encode(field.getKey())).append('=').append(URLs.encode(String.valueOf(field.getValue())));
+            }
+
+            return body("application/x-www-form-urlencoded;charset=UTF-8", builder.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Sets the timeouts.
+         *
+         * @param connectTimeout the specified connect timeout (ms)
+         * @param readTimeout    the specified read timeout (ms)
+         * @return this request
+         */
+        public Request timeout(final int connectTimeout, final int readTimeout) {
+            this.connectTimeout = connectTimeout;
+            this.readTimeout = readTimeout;
+
+            return this;
+        }
+
+        /**
+         * Sets whether follows redirects.
+         *
+         * @param followRedirects the specified flag
+         * @return this request
+         */
+        public Request followRedirects(final boolean followRedirects) {
+            this.followRedirects = followRedirects;
+
+            return this;
+        }
+
+        /**
+         * Sets the max response body size, a larger body fails the request.
+         *
+         * @param maxBodySize the specified max body size (byte)
+         * @return this request
+         */
+        public Request maxBodySize(final int maxBodySize) {
+            this.maxBodySize = maxBodySize;
+
+            return this;
+        }
+    }
+
+    /**
+     * Thrown if a response body is larger than the max body size of its request.
+     */
+    private static final class BodyTooLargeException extends IOException {
+
+        /**
+         * Constructs an exception with the specified request and body size.
+         *
+         * @param request  the specified request
+         * @param bodySize the specified (already read or declared) body size
+         */
+        private BodyTooLargeException(final Request request, final long bodySize) {
+            super("Response body of [" + request.url + "] exceeds [" + request.maxBodySize + "] bytes, got at least ["
+                    + bodySize + "]");
+        }
+    }
+
+    /**
+     * Response.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.0, Oct 19, 2026
+     * @since 3.0.0
+     */
+    public static final class Response {
+
+        /**
+         * Status code.
+         */
+        private final int code;
+
+        /**
+         * Content type, may be {@code null}.
+         */
+        private final String contentType;
+
+        /**
+         * Body.
+         */
+        private final byte[] body;
+
+        /**
+         * Constructs a response with the specified status code, content type and body.
+         *
+         * @param code        the specified status code
+         * @param contentType the specified content type
+         * @param body        the specified body
+         */
+        private Response(final int code, final String contentType, final byte[] body) {
+            this.code = code;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        /**
+         * Gets the status code.
+         *
+         * @return status code
+         */
+        public int getCode() {
+            return code;
+        }
+
+        /**
+         * Gets the content type.
+         *
+         * @return content type, returns {@code null} if not specified
+         */
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * Gets the charset specified in the content type.
+         *
+         * @return charset, returns {@code null} if not specified
+         */
+        public String getCharset() {
+            final String ret = StringUtils.substringAfter(StringUtils.lowerCase(contentType), "charset=");
+            if (StringUtils.isBlank(ret)) {
+                return null;
+            }
+
+            return StringUtils.trim(StringUtils.substringBefore(ret, ";")).replace("\"", "");
+        }
+
+        /**
+         * Gets the body.
+         *
+         * @return body
+         */
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * Gets the body as text decoded with the charset of the content type (defaults to UTF-8).
+         *
+         * @return body text
+         */
+        public String getBodyText() {
+            final String charset = getCharset();
+            try {
+                return new String(body, null == charset ? "UTF-8" : charset);
+            } catch (final Exception e) {
+                return new String(body, StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    /**
+     * Host holding the concurrency limit, circuit breaker and latency statistic.
+     */
+    private static final class Host {
+
+        /**
+         * Name, "scheme://host:port".
+         */
+        private final String name;
+
+        /**
+         * Concurrency limit.
+         */
+        private final Semaphore permits = new Semaphore(MAX_CONNECTIONS_PER_HOST);
+
+        /**
+         * Consecutive failure count.
+         */
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+        /**
+         * Circuit breaker open until (ms).
+         */
+        private volatile long openUntil;
+
+        /**
+         * Whether a half-open trial request is running.
+         */
+        private final AtomicBoolean trial = new AtomicBoolean();
+
+        /**
+         * Last used time (ms).
+         */
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        /**
+         * Request count.
+         */
+        private final LongAdder requests = new LongAdder();
+
+        /**
+         * Failure count.
+         */
+        private final LongAdder failures = new LongAdder();
+
+        /**
+         * Short-circuited request count.
+         */
+        private final LongAdder shortCircuits = new LongAdder();
+
+        /**
+         * Rejected (host busy) request count.
+         */
+        private final LongAdder rejected = new LongAdder();
+
+        /**
+         * Total elapsed time (ms).
+         */
+        private final LongAdder totalElapsed = new LongAdder();
+
+        /**
+         * Max elapsed time (ms).
+         */
+        private final AtomicLong maxElapsed = new AtomicLong();
+
+        /**
+         * Latency histogram, the last bucket holds the requests slower than the last bound.
+         */
+        private final LongAdder[] latency = new LongAdder[LATENCY_BUCKETS.length + 1];
+
+        /**
+         * Constructs a host with the specified name.
+         *
+         * @param name the specified name
+         */
+        private Host(final String name) {
+            this.name = name;
+            for (int i = 0; i < latency.length; i++) {
+                latency[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Checks whether the circuit breaker is closed.
+         *
+         * @return {@code true} if closed, otherwise returns {@code false}
+         */
+        private boolean isClosed() {
+            return consecutiveFailures.get() < BREAKER_FAILURES;
+        }
+
+        /**
+         * Tries to start the half-open trial request of an open breaker, the caller must call {@link #trialDone()}
+         * once the trial ends if returns {@code true}.
+         *
+         * @return {@code true} if the open time passed and no other trial is running, otherwise returns {@code false}
+         */
+        private boolean tryTrial() {
+            if (System.currentTimeMillis() < openUntil) {
+                return false;
+            }
+
+            return trial.compareAndSet(false, true);
+        }
+
+        /**
+         * Marks a request succeeded, closes the breaker.
+         */
+        private void succeeded() {
+            if (BREAKER_FAILURES <= consecutiveFailures.getAndSet(0)) {
+                LOGGER.log(Level.INFO, "Circuit breaker of [" + name + "] is closed");
+            }
+        }
+
+        /**
+         * Marks a request failed, opens the breaker once the consecutive failures reach the threshold.
+         */
+        private void failed() {
+            failures.increment();
+            if (BREAKER_FAILURES <= consecutiveFailures.incrementAndGet()) {
+                if (System.currentTimeMillis() >= openUntil) {
+                    LOGGER.log(Level.WARN, "Circuit breaker of [" + name + "] is open");
+                }
+                openUntil = System.currentTimeMillis() + BREAKER_OPEN_TIME;
+            }
+        }
+
+        /**
+         * Ends the half-open trial started by {@link #tryTrial()}.
+         */
+        private void trialDone() {
+            trial.set(false);
+        }
+
+        /**
+         * Records a request with the specified elapsed time.
+         *
+         * @param elapsed the specified elapsed time (ms)
+         */
+        private void record(final long elapsed) {
+            requests.increment();
+            totalElapsed.add(elapsed);
+            maxElapsed.accumulateAndGet(elapsed, Math::max);
+
+            int i = 0;
+            while (i < LATENCY_BUCKETS.length && elapsed > LATENCY_BUCKETS[i]) {
+                i++;
+            }
+            latency[i].increment();
+        }
+
+        /**
+         * Checks whether this host has not been used for {@link #HOST_IDLE_TIME}, has no running request and a closed
+         * breaker.
+         *
+         * @param now the specified current time (ms)
+         * @return {@code true} if it is idle, otherwise returns {@code false}
+         */
+        private boolean isIdle(final long now) {
+            return now - lastUsed > HOST_IDLE_TIME
+                    && MAX_CONNECTIONS_PER_HOST == permits.availablePermits() && 0 == consecutiveFailures.get();
+        }
+
+        /**
+         * Gets the statistic of this host.
+         *
+         * @return statistic, see {@link HttpClients#getStat()} for details
+         */
+        private JSONObject getStat() {
+            String breaker = "closed";
+            if (BREAKER_FAILURES <= consecutiveFailures.get()) {
+                breaker = System.currentTimeMillis() < openUntil ? "open" : "half-open";
+            }
+
+            final JSONObject histogram = new JSONObject();
+            for (int i = 0; i < LATENCY_BUCKETS.length; i++) {
+                histogram.put(String.valueOf(LATENCY_BUCKETS[i]), latency[i].sum());
+            }
+            histogram.put("inf", latency[LATENCY_BUCKETS.length].sum());
+
+            final long requestCnt = requests.sum();
+
+            return new JSONObject().put("breaker", breaker).
+                    put("inFlight", MAX_CONNECTIONS_PER_HOST - permits.availablePermits()).
+                    put("requests", requestCnt).put("failures", failures.sum()).
+                    put("shortCircuits", shortCircuits.sum()).put("rejected", rejected.sum()).
+                    put("avgElapsed", 0 == requestCnt ? 0 : totalElapsed.sum() / requestCnt).
+                    put("maxElapsed", maxElapsed.get()).put("latency", histogram);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.apache.commons.lang.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * IP region table, resolves an IPv4 address to its region (country, province and city) locally.
+ * <p>
+ * Ranges are loaded from a text data file, each line is a range like {@code startIP|endIP|country|province|city},
+ * "0" or blank means unknown, lines starting with "#" are ignored. Ranges are held in sorted primitive arrays and
+ * looked up with binary search, recent results are cached in a LRU.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+public final class IPRegions {
+
+    /**
+     * Not found region.
+     */
+    private static final String[] NOT_FOUND = new String[0];
+
+    /**
+     * Range start IPs (sign flipped for unsigned comparison), sorted.
+     */
+    private final int[] starts;
+
+    /**
+     * Range end IPs (sign flipped for unsigned comparison).
+     */
+    private final int[] ends;
+
+    /**
+     * Region index of ranges.
+     */
+    private final int[] regionIndexes;
+
+    /**
+     * Regions, each one is [country, province, city].
+     */
+    private final String[][] regions;
+
+    /**
+     * Recent results, &lt;IP, region&gt;.
+     */
+    private final Map<String, String[]> recent;
+
+    /**
+     * Constructs an IP region table with the specified data reader and the specified recent results cache size.
+     *
+     * @param reader   the specified data reader
+     * @param cacheCnt the specified recent results cache size
+     * @throws IOException io exception
+     */
+    public IPRegions(final Reader reader, final int cacheCnt) throws IOException {
+        final List<String[]> regionList = new ArrayList<>();
+        final Map<String, Integer> regionIndex = new HashMap<>();
+        int[] s = new int[1024];
+        int[] e = new int[1024];
+        int[] r = new int[1024];
+        int size = 0;
+
+        final BufferedReader bufferedReader = new BufferedReader(reader);
+        String line;
+        while (null != (line = bufferedReader.readLine())) {
+            line = line.trim();
+            if (StringUtils.isBlank(line) || line.startsWith("#")) {
+                continue;
+            }
+
+            final String[] fields = StringUtils.splitPreserveAllTokens(line, '|');
+            if (3 > fields.length) {
+                continue;
+            }
+
+            final long start = toLong(fields[0].trim());
+            final long end = toLong(fields[1].trim());
+            if (0 > start || start > end) {
+                continue;
+            }
+
+            final String country = region(fields, 2);
+            final String province = region(fields, 3);
+            final String city = region(fields, 4);
+            final String key = country + '|' + province + '|' + city;
+            Integer index = regionIndex.get(key);
+            if (null == index) {
+                index = regionList.size();
+                regionList.add(new String[]{country, province, city});
+                regionIndex.put(key, index);
+            }
+
+            if (size == s.length) {
+                s = Arrays.copyOf(s, size * 2);
+                e = Arrays.copyOf(e, size * 2);
+                r = Arrays.copyOf(r, size * 2);
+            }
+
+            s[size] = flip(start);
+            e[size] = flip(end);
+            r[size] = index;
+            size++;
+        }
+
+        // Sorts by start, packs (start, position) into a long to sort primitives only
+        final long[] order = new long[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = ((long) s[i] << 32) | i;
+        }
+        Arrays.sort(order);
+
+        starts = new int[size];
+        ends = new int[size];
+        regionIndexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            final int pos = (int) order[i];
+            starts[i] = s[pos];
+            ends[i] = e[pos];
+            regionIndexes[i] = r[pos];
+        }
+
+        regions = regionList.toArray(new String[regionList.size()][]);
+        recent = Collections.synchronizedMap(new LinkedHashMap<String, String[]>(cacheCnt, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, String[]> eldest) {
+                return size() > cacheCnt;
+            }
+        });
+    }
+
+    /**
+     * Finds the region of the specified IP.
+     *
+     * @param ip the specified IP
+     * @return region [country, province, city], returns {@code null} if not found
+     */
+    public String[] find(final String ip) {
+        String[] ret = recent.get(ip);
+        if (null == ret) {
+            ret = search(ip);
+            recent.put(ip, ret);
+        }
+
+        return NOT_FOUND == ret ? null : ret.clone();
+    }
+
+    /**
+     * Gets the range count.
+     *
+     * @return range count
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Searches the region of the specified IP in the range table.
+     *
+     * @param ip the specified IP
+     * @return region, returns {@link #NOT_FOUND} if not found
+     */
+    private String[] search(final String ip) {
+        final long value = toLong(ip);
+        if (0 > value) {
+            return NOT_FOUND;
+        }
+
+        final int key = flip(value);
+        int low = 0;
+        int high = starts.length - 1;
+        int found = -1;
+        while (low <= high) { // finds the last range whose start <= key
+            final int mid = (low + high) >>> 1;
+            if (starts[mid] <= key) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        if (0 > found || ends[found] < key) {
+            return NOT_FOUND;
+        }
+
+        return regions[regionIndexes[found]];
+    }
+
+    /**
+     * Gets a region field at the specified index of the specified fields.
+     *
+     * @param fields the specified fields
+     * @param index  the specified index
+     * @return region field, returns {@code ""} if not found or unknown
+     */
+    private static String region(final String[] fields, final int index) {
+        if (index >= fields.length) {
+            return "";
+        }
+
+        final String ret = fields[index].trim();
+
+        return "0".equals(ret) ? "" : ret;
+    }
+
+    /**
+     * Converts the specified unsigned IP value to a sign flipped int for signed comparison.
+     *
+     * @param ip the specified unsigned IP value
+     * @return sign flipped int
+     */
+    private static int flip(final long ip) {
+        return (int) ip ^ Integer.MIN_VALUE;
+    }
+
+    /**
+     * Converts the specified IPv4 string to an unsigned long value.
+     *
+     * @param ip the specified IPv4 string
+     * @return unsigned IP value, returns {@code -1} if the specified string is not a valid IPv4 address
+     */
+    static long toLong(final String ip) {
+        if (StringUtils.isBlank(ip)) {
+            return -1;
+        }
+
+        long ret = 0;
+        int part = 0;
+        int parts = 0;
+        int digits = 0;
+        for (int i = 0; i < ip.length(); i++) {
+            final char c = ip.charAt(i);
+            if ('.' == c) {
+                if (0 == digits || 3 == parts) {
+                    return -1;
+                }
+
+                ret = (ret << 8) | part;
+                part = 0;
+                digits = 0;
+                parts++;
+            } else if ('0' <= c && '9' >= c) {
+                part = part * 10 + (c - '0');
+                digits++;
+                if (255 < part || 3 < digits) {
+                    return -1;
+                }
+            } else {
+                return -1;
+            }
+        }
+
+        if (3 != parts || 0 == digits) {
+            return -1;
+        }
+
+        return (ret << 8) | part;
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.apache.commons.lang.StringUtils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Image utilities.
+ * <p>
+ * Implements a subset of <a href="https://developer.qiniu.com/dora/api/1279/basic-processing-images-imageview2">Qiniu
+ * imageView2</a> (mode, w, h, format, interlace, q) so that local uploads accept the same URL parameters as Qiniu.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.2, Oct 19, 2026
+ * @since 3.0.0
+ */
+public final class Images {
+
+    /**
+     * Max width/height of a processed image.
+     */
+    public static final int MAX_EDGE = 4096;
+
+    /**
+     * Default quality.
+     */
+    public static final int DEFAULT_QUALITY = 85;
+
+    /**
+     * Private constructor.
+     */
+    private Images() {
+    }
+
+    /**
+     * Parses the specified query string (for example "imageView2/1/w/180/h/135/format/jpg/interlace/1/q/80").
+     *
+     * @param query the specified query string
+     * @return operation, returns {@code null} if the specified query string is not a valid imageView2 query
+     */
+    public static Operation parseImageView(final String query) {
+        if (!StringUtils.startsWith(query, "imageView2/")) {
+            return null;
+        }
+
+        final String[] parts = StringUtils.substringBefore(query, "&").split("/");
+        if (2 > parts.length) {
+            return null;
+        }
+
+        final Operation ret = new Operation();
+        try {
+            ret.mode = Integer.valueOf(parts[1]);
+            if (0 > ret.mode || 5 < ret.mode) {
+                return null;
+            }
+
+            for (int i = 2; i < parts.length; i += 2) {
+                final String name = parts[i];
+                final String value = i + 1 < parts.length ? parts[i + 1] : "";
+                switch (name) {
+                    case "w":
+                        ret.width = Integer.valueOf(value);
+
+                        break;
+                    case "h":
+                        ret.height = Integer.valueOf(value);
+
+                        break;
+                    case "format":
+                        ret.format = StringUtils.lowerCase(value);
+
+                        break;
+                    case "interlace":
+                        ret.interlace = "1".equals(value);
+
+                        break;
+                    case "q":
+                        if (StringUtils.isNotBlank(value)) {
+                            ret.quality = Integer.valueOf(value);
+                        }
+
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+
+        if (0 > ret.width || 0 > ret.height || MAX_EDGE < ret.width || MAX_EDGE < ret.height
+                || (0 == ret.width && 0 == ret.height)) {
+            return null;
+        }
+
+        if (1 > ret.quality || 100 < ret.quality) {
+            ret.quality = DEFAULT_QUALITY;
+        }
+
+        if ("jpeg".equals(ret.format)) {
+            ret.format = "jpg";
+        }
+
+        if (null != ret.format && !"jpg".equals(ret.format) && !"png".equals(ret.format) && !"bmp".equals(ret.format)) {
+            ret.format = null; // unsupported target format, keeps the original format
+        }
+
+        return ret;
+    }
+
+    /**
+     * Resizes/crops the specified source image with the specified operation.
+     *
+     * @param src       the specified source image
+     * @param operation the specified operation
+     * @return processed image
+     */
+    public static BufferedImage process(final BufferedImage src, final Operation operation) {
+        final int srcW = src.getWidth();
+        final int srcH = src.getHeight();
+        final int w = 0 == operation.width ? operation.height : operation.width;
+        final int h = 0 == operation.height ? operation.width : operation.height;
+
+        int targetW, targetH, cropX = 0, cropY = 0, cropW = srcW, cropH = srcH;
+        switch (operation.mode) {
+            case 1:
+            case 5: {
+                // Mode 5 takes w/h as long/short edges, lays the box out along the source orientation
+                int boxW = w, boxH = h;
+                if (5 == operation.mode && srcW < srcH) {
+                    boxW = h;
+                    boxH = w;
+                }
+
+                // Scales to cover then crops the center area, shrinks the box by a common factor to keep its aspect
+                final double k = Math.min(1D, Math.min((double) srcW / boxW, (double) srcH / boxH));
+                targetW = (int) Math.round(boxW * k);
+                targetH = (int) Math.round(boxH * k);
+                final double scale = Math.max((double) targetW / srcW, (double) targetH / srcH);
+                cropW = (int) Math.min(srcW, Math.round(targetW / scale));
+                cropH = (int) Math.min(srcH, Math.round(targetH / scale));
+                cropX = (srcW - cropW) / 2;
+                cropY = (srcH - cropH) / 2;
+
+                break;
+            }
+            case 3: {
+                // Scales to cover without cropping
+                final double scale = Math.min(1D, Math.max((double) w / srcW, (double) h / srcH));
+                targetW = (int) Math.round(srcW * scale);
+                targetH = (int) Math.round(srcH * scale);
+
+                break;
+            }
+            case 0: {
+                // Limits long/short edges to at most w/h
+                final int longEdge = Math.max(srcW, srcH);
+                final int shortEdge = Math.min(srcW, srcH);
+                final int maxLong = 0 == operation.width ? Integer.MAX_VALUE : operation.width;
+                final int maxShort = 0 == operation.height ? Integer.MAX_VALUE : operation.height;
+                final double scale = Math.min(1D, Math.min((double) maxLong / longEdge, (double) maxShort / shortEdge));
+                targetW = (int) Math.round(srcW * scale);
+                targetH = (int) Math.round(srcH * scale);
+
+                break;
+            }
+            case 4: {
+                // Limits long/short edges to at least w/h, never enlarges
+                final int longEdge = Math.max(srcW, srcH);
+                final int shortEdge = Math.min(srcW, srcH);
+                final double minLong = (double) operation.width / longEdge;
+                final double minShort = (double) operation.height / shortEdge;
+                final double scale = Math.min(1D, Math.max(minShort, minLong));
+                targetW = (int) Math.round(srcW * scale);
+                targetH = (int) Math.round(srcH * scale);
+
+                break;
+            }
+            default: {
+                // Scales to fit
+                final double scale = Math.min(1D, Math.min(
+                        0 == operation.width ? Double.MAX_VALUE : (double) operation.width / srcW,
+                        0 == operation.height ? Double.MAX_VALUE : (double) operation.height / srcH));
+                targetW = (int) Math.round(srcW * scale);
+                targetH = (int) Math.round(srcH * scale);
+            }
+        }
+
+        targetW = Math.max(1, targetW);
+        targetH = Math.max(1, targetH);
+
+        final boolean opaque = "jpg".equals(operation.format) || "bmp".equals(operation.format) || !src.getColorModel().hasAlpha();
+        final BufferedImage ret = new BufferedImage(targetW, targetH,
+                opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D graphics = ret.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            if (opaque) {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, targetW, targetH);
+            }
+
+            graphics.drawImage(src, 0, 0, targetW, targetH, cropX, cropY, cropX + cropW, cropY + cropH, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return ret;
+    }
+
+    /**
+     * Writes the specified image to the specified output stream.
+     *
+     * @param image     the specified image
+     * @param format    the specified format, jpg/png/bmp
+     * @param quality   the specified quality, [1, 100], only for jpg
+     * @param interlace whether progressive (jpg)
+     * @param output    the specified output stream
+     * @throws IOException io exception
+     */
+    public static void write(final BufferedImage image, final String format, final int quality, final boolean interlace,
+                             final OutputStream output) throws IOException {
+        final String formatName = "jpg".equals(format) ? "jpeg" : format;
+        final Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(formatName);
+        if (!writers.hasNext()) {
+            throw new IOException("Not found image writer for format [" + format + "]");
+        }
+
+        final ImageWriter writer = writers.next();
+        try (final ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            final ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(formatName)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality / 100F);
+                param.setProgressiveMode(interlace ? ImageWriteParam.MODE_DEFAULT : ImageWriteParam.MODE_DISABLED);
+            }
+
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Image processing operation.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.0, Oct 19, 2026
+     * @since 3.0.0
+     */
+    public static final class Operation {
+
+        /**
+         * Mode, [0, 5].
+         */
+        private int mode;
+
+        /**
+         * Width, {@code 0} for unspecified.
+         */
+        private int width;
+
+        /**
+         * Height, {@code 0} for unspecified.
+         */
+        private int height;
+
+        /**
+         * Target format, {@code null} for keeping the original format.
+         */
+        private String format;
+
+        /**
+         * Progressive.
+         */
+        private boolean interlace;
+
+        /**
+         * Quality.
+         */
+        private int quality = DEFAULT_QUALITY;
+
+        /**
+         * Gets the mode.
+         *
+         * @return mode
+         */
+        public int getMode() {
+            return mode;
+        }
+
+        /**
+         * Gets the width.
+         *
+         * @return width
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * Gets the height.
+         *
+         * @return height
+         */
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * Gets the target format.
+         *
+         * @return target format, returns {@code null} if keeps the original format
+         */
+        public String getFormat() {
+            return format;
+        }
+
+        /**
+         * Is interlace?
+         *
+         * @return {@code true} if it is, returns {@code false} otherwise
+         */
+        public boolean isInterlace() {
+            return interlace;
+        }
+
+        /**
+         * Gets the quality.
+         *
+         * @return quality
+         */
+        public int getQuality() {
+            return quality;
+        }
+
+        /**
+         * Gets the normalized key of this operation, used as cache key.
+         *
+         * @return normalized key
+         */
+        public String toKey() {
+            return mode + "/w/" + width + "/h/" + height + "/format/" + format + "/interlace/" + (interlace ? 1 : 0)
+                    + "/q/" + quality;
+        }
+    }
+}
@@ -17,14 +17,13 @@
  */
 package org.b3log.symphony.util;
 
-import org.b3log.latke.util.CollectionUtils;
 import org.json.JSONObject;
 
 /**
  * JSON utilities.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Apr 18, 2016
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 1.4.0
  */
 public final class JSONs {
@@ -42,6 +41,11 @@ public final class JSONs {
      * @return cloned object
      */
     public static JSONObject clone(final JSONObject src) {
-        return new JSONObject(src, CollectionUtils.jsonArrayToArray(src.names(), String[].class));
+        final String[] names = JSONObject.getNames(src);
+        if (null == names) {
+            return new JSONObject();
+        }
+
+        return new JSONObject(src, names);
     }
 }
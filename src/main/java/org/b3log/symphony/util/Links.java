@@ -17,22 +17,18 @@
  */
 package org.b3log.symphony.util;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Link;
 import org.json.JSONObject;
-import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
 import javax.servlet.http.HttpServletResponse;
-import java.io.InputStream;
-import java.net.HttpURLConnection;
 import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.util.*;
@@ -45,7 +41,7 @@ import java.util.regex.Pattern;
  * Link utilities.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.1, Apr 5, 2018
+ * @version 1.1.0.1, Oct 19, 2026
  * @since 1.6.0
  */
 public final class Links {
@@ -115,7 +111,7 @@ public final class Links {
                 spiders.add(new Spider(u));
             }
 
-            final List<Future<JSONObject>> results = Symphonys.EXECUTOR_SERVICE.invokeAll(spiders);
+            final List<Future<JSONObject>> results = ThreadPools.HTTP.invokeAll(spiders);
             for (final Future<JSONObject> result : results) {
                 final JSONObject link = result.get();
                 if (null == link) {
@@ -145,6 +141,12 @@ public final class Links {
     }
 
     static class Spider implements Callable<JSONObject> {
+
+        /**
+         * Max HTML size (byte) of a page to parse.
+         */
+        private static final int MAX_HTML_SIZE = 1024 * 1024;
+
         private final String url;
 
         Spider(final String url) {
@@ -159,16 +161,18 @@ public final class Links {
                 final JSONObject ret = new JSONObject();
 
                 // Get meta info of the URL
-                final Connection.Response res = Jsoup.connect(url).timeout(TIMEOUT).followRedirects(false).execute();
-                if (HttpServletResponse.SC_OK != res.statusCode()) {
+                final HttpClients.Response res = HttpClients.send(new HttpClients.Request("GET", url).
+                        header("Accept", "text/html").timeout(TIMEOUT, TIMEOUT).followRedirects(false).
+                        maxBodySize(MAX_HTML_SIZE));
+                if (HttpServletResponse.SC_OK != res.getCode()) {
                     return null;
                 }
 
-                String charset = res.charset();
-                if (StringUtils.isBlank(charset)) {
-                    charset = "UTF-8";
+                if (!StringUtils.startsWithIgnoreCase(res.getContentType(), "text/html")) {
+                    return null;
                 }
-                final String html = new String(res.bodyAsBytes(), charset);
+
+                final String html = res.getBodyText();
 
                 String title = StringUtils.substringBetween(html, "<title>", "</title>");
                 title = StringUtils.trim(title);
@@ -188,17 +192,8 @@ public final class Links {
                 ret.put(Link.LINK_T_TEXT, doc.text());
 
                 // Evaluate the URL
-                URL baiduURL = new URL("https://www.baidu.com/s?pn=0&wd=" + URLs.encode(url));
-                HttpURLConnection conn = (HttpURLConnection) baiduURL.openConnection();
-                conn.setConnectTimeout(TIMEOUT);
-                conn.setReadTimeout(TIMEOUT);
-                conn.addRequestProperty(Common.USER_AGENT, Symphonys.USER_AGENT_BOT);
-
-                String baiduRes;
-                try (final InputStream inputStream = conn.getInputStream()) {
-                    baiduRes = IOUtils.toString(inputStream, "UTF-8");
-                }
-                conn.disconnect();
+                String baiduRes = HttpClients.send(new HttpClients.Request("GET", "https://www.baidu.com/s?pn=0&wd=" + URLs.encode(url)).
+                        header(Common.USER_AGENT, Symphonys.USER_AGENT_BOT).timeout(TIMEOUT, TIMEOUT)).getBodyText();
 
                 int baiduRefCnt = StringUtils.countMatches(baiduRes, "<em>" + url + "</em>");
                 if (1 > baiduRefCnt) {
@@ -207,16 +202,8 @@ public final class Links {
 
                     return ret;
                 } else {
-                    baiduURL = new URL("https://www.baidu.com/s?pn=10&wd=" + URLs.encode(url));
-                    conn = (HttpURLConnection) baiduURL.openConnection();
-                    conn.setConnectTimeout(TIMEOUT);
-                    conn.setReadTimeout(TIMEOUT);
-                    conn.addRequestProperty(Common.USER_AGENT, Symphonys.USER_AGENT_BOT);
-
-                    try (final InputStream inputStream = conn.getInputStream()) {
-                        baiduRes = IOUtils.toString(inputStream, "UTF-8");
-                    }
-                    conn.disconnect();
+                    baiduRes = HttpClients.send(new HttpClients.Request("GET", "https://www.baidu.com/s?pn=10&wd=" + URLs.encode(url)).
+                            header(Common.USER_AGENT, Symphonys.USER_AGENT_BOT).timeout(TIMEOUT, TIMEOUT)).getBodyText();
 
                     baiduRefCnt += StringUtils.countMatches(baiduRes, "<em>" + url + "</em>");
 
@@ -20,8 +20,6 @@ package org.b3log.symphony.util;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateExceptionHandler;
-import jodd.http.HttpRequest;
-import jodd.http.HttpResponse;
 import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.logging.Level;
@@ -51,7 +49,7 @@ import java.util.regex.Pattern;
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://blog.thinkjava.top">VirutalPier</a>
  * @author <a href="https://github.com/snowflake3721">snowflake</a>
- * @version 1.2.6.7, Jun 12, 2018
+ * @version 1.3.0.0, Oct 19, 2026
  * @since 1.3.0
  */
 public final class Mails {
@@ -211,9 +209,8 @@ public final class Mails {
             formData.put("to", toMail);
             formData.put("html", html);
 
-            final HttpResponse response = HttpRequest.post("http://api.sendcloud.net/apiv2/mail/send").form(formData).send();
-            LOGGER.debug(response.bodyText());
-            response.close();
+            final HttpClients.Response response = HttpClients.send(new HttpClients.Request("POST", "http://api.sendcloud.net/apiv2/mail/send").form(formData));
+            LOGGER.debug(response.getBodyText());
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Send mail error", e);
         }
@@ -279,7 +276,6 @@ public final class Mails {
             int index = 0;
             final int size = toMails.size();
             List<String> batch = new ArrayList<>();
-            HttpResponse response;
             while (index < size) {
                 final String mail = toMails.get(index);
                 batch.add(mail);
@@ -300,9 +296,8 @@ public final class Mails {
                             xsmtpapi.put("sub", new JSONObject());
                             formData.put("xsmtpapi", xsmtpapi.toString());
 
-                            response = HttpRequest.post("http://api.sendcloud.net/apiv2/mail/sendtemplate").form(formData).send();
-                            LOGGER.debug(response.bodyText());
-                            response.close();
+                            final HttpClients.Response response = HttpClients.send(new HttpClients.Request("POST", "http://api.sendcloud.net/apiv2/mail/sendtemplate").form(formData));
+                            LOGGER.debug(response.getBodyText());
 
                             LOGGER.info("Sent [" + batch.size() + "] mails");
                         } catch (final Exception e) {
@@ -328,9 +323,8 @@ public final class Mails {
                         xsmtpapi.put("sub", new JSONObject());
                         formData.put("xsmtpapi", xsmtpapi.toString());
 
-                        response = HttpRequest.post("http://api.sendcloud.net/apiv2/mail/sendtemplate").form(formData).send();
-                        LOGGER.debug(response.bodyText());
-                        response.close();
+                        final HttpClients.Response response = HttpClients.send(new HttpClients.Request("POST", "http://api.sendcloud.net/apiv2/mail/sendtemplate").form(formData));
+                        LOGGER.debug(response.getBodyText());
 
                         LOGGER.info("Sent [" + batch.size() + "] mails");
                     } catch (final Exception e) {
@@ -352,7 +346,7 @@ public final class Mails {
      * @param html     send html
      */
     private static void aliSendHtml(final String sendMail, final String fromName, final String subject, final String toMail,
-                                    final String html, final String accessKey, final String accessSecret) {
+                                    final String html, final String accessKey, final String accessSecret) throws IOException {
         final Map<String, Object> map = new HashMap<>();
         map.put("Action", "SingleSendMail");
         map.put("Format", "JSON");
@@ -387,10 +381,8 @@ public final class Mails {
 
         map.put("Signature", Crypts.signHmacSHA1(stringToSign.toString(), accessSecret + "&"));
 
-        final HttpResponse response = HttpRequest.post("https://dm.aliyuncs.com").form(map).send();
-        LOGGER.debug(response.bodyText());
-
-        response.close();
+        final HttpClients.Response response = HttpClients.send(new HttpClients.Request("POST", "https://dm.aliyuncs.com").form(map));
+        LOGGER.debug(response.getBodyText());
     }
 
     private static String percentEncode(final String value) {
@@ -415,7 +407,7 @@ public final class Mails {
         return mails.toString();
     }
 
-    private static void refreshWeeklyTemplate(final String html) {
+    private static void refreshWeeklyTemplate(final String html) throws IOException {
         final Map<String, Object> addData = new HashMap<>();
         addData.put("apiUser", SENDCLOUD_BATCH_API_USER);
         addData.put("apiKey", SENDCLOUD_BATCH_API_KEY);
@@ -425,7 +417,7 @@ public final class Mails {
         addData.put("templateType", "1"); // 批量邮件
 
         addData.put("html", html);
-        HttpRequest.post("http://api.sendcloud.net/apiv2/template/add").form(addData).send();
+        HttpClients.send(new HttpClients.Request("POST", "http://api.sendcloud.net/apiv2/template/add").form(addData));
 
         final Map<String, Object> updateData = new HashMap<>();
         updateData.put("apiUser", SENDCLOUD_BATCH_API_USER);
@@ -433,7 +425,7 @@ public final class Mails {
         updateData.put("invokeName", TEMPLATE_NAME_WEEKLY);
 
         updateData.put("html", html);
-        HttpRequest.post("http://api.sendcloud.net/apiv2/template/update").form(updateData).send();
+        HttpClients.send(new HttpClients.Request("POST", "http://api.sendcloud.net/apiv2/template/update").form(updateData));
     }
 }
 
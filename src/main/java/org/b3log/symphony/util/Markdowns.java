@@ -22,7 +22,6 @@ import com.vladsch.flexmark.profiles.pegdown.Extensions;
 import com.vladsch.flexmark.profiles.pegdown.PegdownOptionsAdapter;
 import com.vladsch.flexmark.util.options.DataHolder;
 import org.apache.commons.codec.digest.DigestUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.cache.Cache;
@@ -50,10 +49,9 @@ import org.jsoup.safety.Whitelist;
 import org.jsoup.select.Elements;
 import org.jsoup.select.NodeVisitor;
 
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.IOException;
 import java.net.HttpURLConnection;
-import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -69,7 +67,7 @@ import java.util.concurrent.*;
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://zephyr.b3log.org">Zephyr</a>
  * @author <a href="http://vanessa.b3log.org">Vanessa</a>
- * @version 1.11.20.4, May 2, 2018
+ * @version 1.13.0.2, Oct 19, 2026
  * @since 0.2.0
  */
 public final class Markdowns {
@@ -100,11 +98,26 @@ public final class Markdowns {
      */
     private static final Cache MD_CACHE = CacheFactory.getCache("markdown");
 
+    /**
+     * Single flight of rendering markdown.
+     */
+    private static final SingleFlight<String> MD_SINGLE_FLIGHT = new SingleFlight<>("markdown", html -> html);
+
     /**
      * Markdown to HTML timeout.
      */
     private static final int MD_TIMEOUT = 2000;
 
+    /**
+     * Max wait time for a render permit.
+     */
+    private static final int MD_PERMIT_TIMEOUT = 500;
+
+    /**
+     * Permits of concurrent renders, a render holds its permit until its thread ended.
+     */
+    private static final Semaphore RENDER_PERMITS = new Semaphore(Symphonys.getInt("pool.render.threads"));
+
     /**
      * Marked engine serve path.
      */
@@ -143,20 +156,7 @@ public final class Markdowns {
 
     static {
         try {
-            final URL url = new URL(MARKED_ENGINE_URL);
-            final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setDoOutput(true);
-
-            try (final OutputStream outputStream = conn.getOutputStream()) {
-                IOUtils.write("Symphony 大法好", outputStream, "UTF-8");
-            }
-
-            String html;
-            try (final InputStream inputStream = conn.getInputStream()) {
-                html = IOUtils.toString(inputStream, "UTF-8");
-            }
-
-            conn.disconnect();
+            final String html = toHtmlByMarked("Symphony 大法好");
 
             MARKED_AVAILABLE = StringUtils.contains(html, "<p>Symphony 大法好</p>");
 
@@ -287,12 +287,17 @@ public final class Markdowns {
             return cachedHTML;
         }
 
-        final ExecutorService pool = Executors.newSingleThreadExecutor();
-        final long[] threadId = new long[1];
+        return MD_SINGLE_FLIGHT.execute(DigestUtils.md5Hex(markdownText), () -> renderHTML(markdownText));
+    }
 
+    /**
+     * Renders the specified markdown text to HTML and caches it.
+     *
+     * @param markdownText the specified markdown text
+     * @return converted HTML, returns 'contentRenderFailedLabel' if exception
+     */
+    private static String renderHTML(final String markdownText) {
         final Callable<String> call = () -> {
-            threadId[0] = Thread.currentThread().getId();
-
             String html = LANG_PROPS_SERVICE.get("contentRenderFailedLabel");
 
             if (MARKED_AVAILABLE) {
@@ -393,51 +398,74 @@ public final class Markdowns {
         };
 
         Stopwatchs.start("Md to HTML");
+        boolean permitted;
+        try {
+            permitted = RENDER_PERMITS.tryAcquire(MD_PERMIT_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permitted = false;
+        }
+        if (!permitted) {
+            LOGGER.log(Level.WARN, "Renders are busy, renders markdown as plain text [md="
+                    + StringUtils.substring(markdownText, 0, 256) + "]");
+            Stopwatchs.end();
+
+            return toPlainHTML(markdownText);
+        }
+
+        // Each render runs in its own thread which can be stopped if timeout, the parser ignores interrupts
+        final FutureTask<String> task = new FutureTask<>(call);
+        final Thread thread = new Thread(() -> {
+            try {
+                task.run();
+            } finally {
+                RENDER_PERMITS.release();
+            }
+        }, "Markdowns-render");
+        thread.setDaemon(true);
+
         try {
-            final Future<String> future = pool.submit(call);
+            thread.start();
 
-            return future.get(MD_TIMEOUT, TimeUnit.MILLISECONDS);
+            return task.get(MD_TIMEOUT, TimeUnit.MILLISECONDS);
         } catch (final TimeoutException e) {
             LOGGER.log(Level.ERROR, "Markdown timeout [md=" + StringUtils.substring(markdownText, 0, 256) + "]");
             Callstacks.printCallstack(Level.ERROR, new String[]{"org.b3log"}, null);
 
-            final Set<Thread> threads = Thread.getAllStackTraces().keySet();
-            for (final Thread thread : threads) {
-                if (thread.getId() == threadId[0]) {
-                    thread.stop();
-
-                    break;
-                }
-            }
+            thread.stop();
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Markdown failed [md=" + StringUtils.substring(markdownText, 0, 256) + "]", e);
         } finally {
-            pool.shutdownNow();
-
             Stopwatchs.end();
         }
 
         return LANG_PROPS_SERVICE.get("contentRenderFailedLabel");
     }
 
-    private static String toHtmlByMarked(final String markdownText) throws Exception {
-        final URL url = new URL(MARKED_ENGINE_URL);
-        final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setConnectTimeout(100);
-        conn.setReadTimeout(1000);
-        conn.setDoOutput(true);
-
-        try (final OutputStream outputStream = conn.getOutputStream()) {
-            IOUtils.write(markdownText, outputStream, "UTF-8");
+    /**
+     * Renders the specified markdown text as escaped plain text, a paragraph per blank line separated block. Used if
+     * all render permits are taken, the result is not cached.
+     *
+     * @param markdownText the specified markdown text
+     * @return HTML
+     */
+    private static String toPlainHTML(final String markdownText) {
+        final StringBuilder ret = new StringBuilder();
+        for (final String paragraph : markdownText.trim().split("\\n\\s*\\n")) {
+            ret.append("<p>").append(Escapes.escapeHTML(paragraph.trim()).replace("\n", "<br>")).append("</p>");
         }
 
-        String ret;
-        try (final InputStream inputStream = conn.getInputStream()) {
-            ret = IOUtils.toString(inputStream, "UTF-8");
+        return ret.toString();
+    }
+
+    private static String toHtmlByMarked(final String markdownText) throws Exception {
+        final HttpClients.Response response = HttpClients.send(new HttpClients.Request("POST", MARKED_ENGINE_URL).
+                body("text/plain;charset=UTF-8", markdownText.getBytes(StandardCharsets.UTF_8)).timeout(100, 1000));
+        if (HttpURLConnection.HTTP_OK != response.getCode()) {
+            throw new IOException("Marked engine responded [" + response.getCode() + "]");
         }
-        //conn.disconnect();
 
-        return ret;
+        return new String(response.getBody(), StandardCharsets.UTF_8);
     }
 
     /**
@@ -0,0 +1,199 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.b3log.latke.Keys;
+import org.json.JSONObject;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Request-scoped context.
+ * <p>
+ * Holds users and options resolved during a request so that the listener, advices and processors
+ * share them instead of loading them again. It also counts the repository calls made by the request. The context is
+ * bound to the request thread in {@link org.b3log.symphony.SymphonyServletListener#requestInitialized} and released in
+ * {@link org.b3log.symphony.SymphonyServletListener#requestDestroyed}.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.1.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+public final class RequestContext {
+
+    /**
+     * Context of the current thread.
+     */
+    private static final ThreadLocal<RequestContext> CONTEXT = new ThreadLocal<>();
+
+    /**
+     * Request URI.
+     */
+    private final String requestURI;
+
+    /**
+     * Users &lt;userId, user&gt;.
+     */
+    private final Map<String, JSONObject> users = new HashMap<>();
+
+    /**
+     * Options &lt;optionId, option&gt;.
+     */
+    private final Map<String, JSONObject> options = new HashMap<>();
+
+    /**
+     * Repository call count.
+     */
+    private int repositoryCalls;
+
+    /**
+     * Constructs a context with the specified request URI.
+     *
+     * @param requestURI the specified request URI
+     */
+    private RequestContext(final String requestURI) {
+        this.requestURI = requestURI;
+    }
+
+    /**
+     * Binds a new context for the specified request URI to the current thread.
+     *
+     * @param requestURI the specified request URI
+     * @return the new context
+     */
+    public static RequestContext start(final String requestURI) {
+        final RequestContext ret = new RequestContext(requestURI);
+        CONTEXT.set(ret);
+
+        return ret;
+    }
+
+    /**
+     * Gets the context of the current thread.
+     *
+     * @return context, returns {@code null} if the current thread is not serving a request
+     */
+    public static RequestContext get() {
+        return CONTEXT.get();
+    }
+
+    /**
+     * Releases the context of the current thread.
+     */
+    public static void end() {
+        CONTEXT.remove();
+    }
+
+    /**
+     * Counts a repository call for the current thread.
+     */
+    public static void countRepositoryCall() {
+        final RequestContext context = CONTEXT.get();
+        if (null == context) {
+            return;
+        }
+
+        context.repositoryCalls++;
+    }
+
+    /**
+     * Gets the request URI.
+     *
+     * @return request URI
+     */
+    public String getRequestURI() {
+        return requestURI;
+    }
+
+    /**
+     * Gets the repository call count.
+     *
+     * @return repository call count
+     */
+    public int getRepositoryCalls() {
+        return repositoryCalls;
+    }
+
+    /**
+     * Gets a user by the specified user id.
+     *
+     * @param userId the specified user id
+     * @return a copy of the user, returns {@code null} if not resolved in this request
+     */
+    public JSONObject getUser(final String userId) {
+        final JSONObject user = users.get(userId);
+        if (null == user) {
+            return null;
+        }
+
+        return JSONs.clone(user);
+    }
+
+    /**
+     * Puts the specified user.
+     *
+     * @param user the specified user
+     */
+    public void putUser(final JSONObject user) {
+        users.put(user.optString(Keys.OBJECT_ID), JSONs.clone(user));
+    }
+
+    /**
+     * Removes a user by the specified user id.
+     *
+     * @param userId the specified user id
+     */
+    public void removeUser(final String userId) {
+        users.remove(userId);
+    }
+
+    /**
+     * Gets an option by the specified option id.
+     *
+     * @param optionId the specified option id
+     * @return a copy of the option, returns {@code null} if not resolved in this request
+     */
+    public JSONObject getOption(final String optionId) {
+        final JSONObject option = options.get(optionId);
+        if (null == option) {
+            return null;
+        }
+
+        return JSONs.clone(option);
+    }
+
+    /**
+     * Puts the specified option.
+     *
+     * @param option the specified option
+     */
+    public void putOption(final JSONObject option) {
+        options.put(option.optString(Keys.OBJECT_ID), JSONs.clone(option));
+    }
+
+    /**
+     * Removes an option by the specified option id.
+     *
+     * @param optionId the specified option id
+     */
+    public void removeOption(final String optionId) {
+        options.remove(optionId);
+    }
+}
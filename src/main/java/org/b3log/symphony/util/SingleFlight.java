@@ -0,0 +1,180 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Single flight, concurrent loads of the same key wait on one in-flight load.
+ * <p>
+ * The first caller of a key loads the value, callers arriving before the load finishes get the same result (or the
+ * same exception). A value handed to the waiting callers goes through the copier of the instance first, so mutable
+ * values are not shared. Statistics of all instances are exposed by {@link #getStats()}.
+ * </p>
+ *
+ * @param <V> the type of values
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+public final class SingleFlight<V> {
+
+    /**
+     * &lt;name, instance&gt;
+     */
+    private static final Map<String, SingleFlight<?>> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * Name.
+     */
+    private final String name;
+
+    /**
+     * Copier of values handed to waiting callers.
+     */
+    private final UnaryOperator<V> copier;
+
+    /**
+     * In-flight loads &lt;key, future&gt;.
+     */
+    private final Map<String, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Load count.
+     */
+    private final LongAdder loads = new LongAdder();
+
+    /**
+     * Coalesced call count.
+     */
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Constructs a single flight with the specified name and copier.
+     *
+     * @param name   the specified name, statistics are reported with it
+     * @param copier the specified copier of values handed to waiting callers
+     */
+    public SingleFlight(final String name, final UnaryOperator<V> copier) {
+        this.name = name;
+        this.copier = copier;
+
+        INSTANCES.put(name, this);
+    }
+
+    /**
+     * Gets statistics of all single flights.
+     *
+     * @return statistics, for example,
+     * <pre>
+     * {
+     *     "article": {
+     *         "loads": 100,
+     *         "coalesced": 20,
+     *         "inFlight": 1
+     *     }, ....
+     * }
+     * </pre>
+     */
+    public static JSONObject getStats() {
+        final JSONObject ret = new JSONObject();
+        for (final SingleFlight<?> singleFlight : INSTANCES.values()) {
+            ret.put(singleFlight.name, new JSONObject().put("loads", singleFlight.loads.sum()).
+                    put("coalesced", singleFlight.coalesced.sum()).put("inFlight", singleFlight.flights.size()));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Loads the value of the specified key with the specified loader, or waits for the in-flight load of the key.
+     *
+     * @param key    the specified key
+     * @param loader the specified loader
+     * @param <E>    the type of exceptions thrown by the loader
+     * @return value, may be {@code null} if the loader returns {@code null}
+     * @throws E exception thrown by the loader
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Exception> V execute(final String key, final Loader<V, E> loader) throws E {
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        final CompletableFuture<V> inFlight = flights.putIfAbsent(key, future);
+        if (null != inFlight) {
+            coalesced.increment();
+
+            try {
+                final V ret = inFlight.get();
+
+                return null == ret ? null : copier.apply(ret);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                return loader.load();
+            } catch (final ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+
+                throw (E) cause;
+            }
+        }
+
+        loads.increment();
+        try {
+            final V ret = loader.load();
+            future.complete(null == ret ? null : copier.apply(ret)); // the caller may modify the returned one
+
+            return ret;
+        } catch (final Exception | Error e) {
+            future.completeExceptionally(e);
+
+            throw e;
+        } finally {
+            flights.remove(key, future);
+        }
+    }
+
+    /**
+     * Loader of a value.
+     *
+     * @param <V> the type of values
+     * @param <E> the type of exceptions
+     */
+    @FunctionalInterface
+    public interface Loader<V, E extends Exception> {
+
+        /**
+         * Loads a value.
+         *
+         * @return value
+         * @throws E exception
+         */
+        V load() throws E;
+    }
+}
@@ -32,7 +32,7 @@ import java.util.TimeZone;
  * Skin utilities.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.1, May 14, 2018
+ * @version 1.2.0.0, Oct 19, 2026
  * @since 1.3.0
  */
 public final class Skins {
@@ -65,6 +65,7 @@ public final class Skins {
             cfg.setServletContextForTemplateLoading(servletContext, "skins/" + skinName);
             cfg.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
             cfg.setLogTemplateExceptions(false);
+            cfg.setSharedVariable("fragmentCache", new FragmentCacheDirective(skinName));
         }
     }
 
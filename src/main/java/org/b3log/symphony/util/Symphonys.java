@@ -45,14 +45,12 @@ import java.net.URL;
 import java.security.SecureRandom;
 import java.security.cert.X509Certificate;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Symphony utilities.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.7.1.10, Apr 5, 2018
+ * @version 1.7.2.0, Oct 19, 2026
  * @since 0.1.0
  */
 public final class Symphonys {
@@ -82,11 +80,6 @@ public final class Symphonys {
      */
     public static final String[] RESERVED_USER_NAMES;
 
-    /**
-     * Thread pool.
-     */
-    public static final ExecutorService EXECUTOR_SERVICE = Executors.newFixedThreadPool(50);
-
     /**
      * Logger.
      */
@@ -0,0 +1,306 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.json.JSONObject;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread pools.
+ * <p>
+ * Each workload has its own bounded pool so a burst of one kind of work (for example slow outbound HTTP) can not
+ * starve the others. Queue overflow is handled per pool: outbound HTTP runs in the submitting thread (back pressure),
+ * DB write-behind and push throw {@link RejectedExecutionException} so the caller can degrade or drop the work.
+ * Markdown rendering is not pooled, see {@link Markdowns}. Every pool records queue wait and run time of its tasks,
+ * see {@link #getStat()}. A pool thread releases its JDBC connection once a task finished, a task run by the
+ * submitting thread leaves the connection of that thread (and its transaction) alone.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+public final class ThreadPools {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ThreadPools.class);
+
+    /**
+     * DB write-behind and background loading (view count, relevant articles, sitemap etc).
+     */
+    public static final InstrumentedPool DB = new InstrumentedPool("db",
+            Symphonys.getInt("pool.db.threads"), Symphonys.getInt("pool.db.queueSize"),
+            new ThreadPoolExecutor.AbortPolicy());
+
+    /**
+     * Outbound HTTP (link spider, link check etc).
+     */
+    public static final InstrumentedPool HTTP = new InstrumentedPool("http",
+            Symphonys.getInt("pool.http.threads"), Symphonys.getInt("pool.http.queueSize"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    /**
+     * Websocket push.
+     */
+    public static final InstrumentedPool PUSH = new InstrumentedPool("push",
+            Symphonys.getInt("pool.push.threads"), Symphonys.getInt("pool.push.queueSize"),
+            new ThreadPoolExecutor.AbortPolicy());
+
+    /**
+     * Pools.
+     */
+    private static final InstrumentedPool[] POOLS = {DB, HTTP, PUSH};
+
+    /**
+     * Private constructor.
+     */
+    private ThreadPools() {
+    }
+
+    /**
+     * Shuts down all pools, waits at most 5 seconds for the running tasks.
+     */
+    public static void shutdown() {
+        for (final InstrumentedPool pool : POOLS) {
+            pool.shutdown();
+        }
+
+        for (final InstrumentedPool pool : POOLS) {
+            try {
+                if (!pool.awaitTermination(5, TimeUnit.SECONDS)) {
+                    pool.shutdownNow();
+                }
+            } catch (final InterruptedException e) {
+                pool.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Gets the statistic of all pools.
+     *
+     * @return for example, <pre>
+     * {
+     *     "db": {
+     *         "threads": 4,
+     *         "active": 1,
+     *         "queued": 0,
+     *         "queueRemaining": 256,
+     *         "completed": 10240,
+     *         "rejected": 0,
+     *         "avgWait": 0,
+     *         "maxWait": 12,
+     *         "avgRun": 3,
+     *         "maxRun": 1870
+     *     }, ....
+     * }
+     * </pre>
+     */
+    public static JSONObject getStat() {
+        final JSONObject ret = new JSONObject();
+        for (final InstrumentedPool pool : POOLS) {
+            ret.put(pool.name, pool.getStat());
+        }
+
+        return ret;
+    }
+
+    /**
+     * Bounded thread pool recording queue wait and run time of its tasks.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.1, Oct 19, 2026
+     * @since 3.0.0
+     */
+    public static final class InstrumentedPool extends ThreadPoolExecutor {
+
+        /**
+         * Pool name.
+         */
+        private final String name;
+
+        /**
+         * Completed task count.
+         */
+        private final LongAdder completed = new LongAdder();
+
+        /**
+         * Rejected task count.
+         */
+        private final LongAdder rejected = new LongAdder();
+
+        /**
+         * Total queue wait time (ms).
+         */
+        private final LongAdder totalWait = new LongAdder();
+
+        /**
+         * Max queue wait time (ms).
+         */
+        private final AtomicLong maxWait = new AtomicLong();
+
+        /**
+         * Total run time (ms).
+         */
+        private final LongAdder totalRun = new LongAdder();
+
+        /**
+         * Max run time (ms).
+         */
+        private final AtomicLong maxRun = new AtomicLong();
+
+        /**
+         * Constructs a pool with the specified name, size, queue size and rejection policy.
+         *
+         * @param name      the specified name
+         * @param threads   the specified size
+         * @param queueSize the specified queue size
+         * @param policy    the specified rejection policy
+         */
+        private InstrumentedPool(final String name, final int threads, final int queueSize,
+                                 final RejectedExecutionHandler policy) {
+            super(threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize), new NamedThreadFactory(name));
+
+            this.name = name;
+            allowCoreThreadTimeOut(true);
+            setRejectedExecutionHandler((r, executor) -> {
+                rejected.increment();
+                LOGGER.log(Level.WARN, "Pool [" + name + "] is full, rejected a task");
+                policy.rejectedExecution(r, executor);
+            });
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            if (command instanceof TimedTask) {
+                super.execute(command);
+
+                return;
+            }
+
+            super.execute(new TimedTask(command));
+        }
+
+        @Override
+        protected void afterExecute(final Runnable r, final Throwable t) {
+            super.afterExecute(r, t);
+
+            // Runs in pool threads only, tasks run by the submitting thread (CallerRunsPolicy) are not passed here
+            JdbcRepository.dispose();
+        }
+
+        /**
+         * Gets the statistic of this pool.
+         *
+         * @return statistic, see {@link ThreadPools#getStat()} for details
+         */
+        private JSONObject getStat() {
+            final long completedCnt = completed.sum();
+
+            return new JSONObject().put("threads", getPoolSize()).put("active", getActiveCount()).
+                    put("queued", getQueue().size()).put("queueRemaining", getQueue().remainingCapacity()).
+                    put("completed", completedCnt).put("rejected", rejected.sum()).
+                    put("avgWait", 0 == completedCnt ? 0 : totalWait.sum() / completedCnt).put("maxWait", maxWait.get()).
+                    put("avgRun", 0 == completedCnt ? 0 : totalRun.sum() / completedCnt).put("maxRun", maxRun.get());
+        }
+
+        /**
+         * Task recording its queue wait and run time.
+         */
+        private final class TimedTask implements Runnable {
+
+            /**
+             * Wrapped task.
+             */
+            private final Runnable task;
+
+            /**
+             * Enqueue time.
+             */
+            private final long enqueueTime = System.currentTimeMillis();
+
+            /**
+             * Constructs a timed task with the specified task.
+             *
+             * @param task the specified task
+             */
+            private TimedTask(final Runnable task) {
+                this.task = task;
+            }
+
+            @Override
+            public void run() {
+                final long startTime = System.currentTimeMillis();
+                final long wait = startTime - enqueueTime;
+                try {
+                    task.run();
+                } finally {
+                    final long run = System.currentTimeMillis() - startTime;
+                    completed.increment();
+                    totalWait.add(wait);
+                    maxWait.accumulateAndGet(wait, Math::max);
+                    totalRun.add(run);
+                    maxRun.accumulateAndGet(run, Math::max);
+                }
+            }
+        }
+    }
+
+    /**
+     * Daemon thread factory naming threads with the pool name.
+     */
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        /**
+         * Pool name.
+         */
+        private final String name;
+
+        /**
+         * Thread sequence.
+         */
+        private final AtomicInteger seq = new AtomicInteger();
+
+        /**
+         * Constructs a thread factory with the specified pool name.
+         *
+         * @param name the specified pool name
+         */
+        private NamedThreadFactory(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread ret = new Thread(r, "ThreadPools-" + name + "-" + seq.incrementAndGet());
+            ret.setDaemon(true);
+
+            return ret;
+        }
+    }
+}
@@ -21,7 +21,7 @@
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://zephyr.b3log.org">Zephyr</a>
- * @version 1.25.0.0, Jun 12, 2018
+ * @version 1.26.0.0, Oct 19, 2026
  */
 
 /**
@@ -308,20 +308,63 @@ var Settings = {
   },
   /**
    * 数据导出.
+   * @param {type} it 导出按钮
    */
-  exportPosts: function () {
+  exportPosts: function (it) {
     $.ajax({
       url: Label.servePath + "/export/posts",
       type: "POST",
       cache: false,
       success: function (result, textStatus) {
         if (!result.sc) {
-          alert("TBD: V, tip display it....");
+          alert(result.msg);
 
           return;
         }
 
-        window.open(result.url);
+        Settings._pollExportProgress(it, $(it).text());
+      }
+    });
+  },
+  /**
+   * 轮询数据导出进度，完成后下载.
+   * @param {type} it 导出按钮
+   * @param {type} label 导出按钮文字
+   */
+  _pollExportProgress: function (it, label) {
+    $(it).attr("disabled", "disabled");
+
+    $.ajax({
+      url: Label.servePath + "/export/posts",
+      type: "GET",
+      cache: false,
+      success: function (result, textStatus) {
+        if (!result.sc) {
+          $(it).text(label).removeAttr("disabled");
+
+          return;
+        }
+
+        var progress = result.data;
+        if ("done" === progress.state) {
+          $(it).text(label).removeAttr("disabled");
+          window.open(progress.url);
+
+          return;
+        }
+
+        if ("failed" === progress.state) {
+          $(it).text(label).removeAttr("disabled");
+          alert(progress.msg);
+
+          return;
+        }
+
+        $(it).text(label + " " + (0 === progress.total ? 0 :
+          Math.floor(progress.processed * 100 / progress.total)) + "%");
+        setTimeout(function () {
+          Settings._pollExportProgress(it, label);
+        }, 2000);
       }
     });
   },
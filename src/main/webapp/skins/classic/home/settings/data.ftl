@@ -24,7 +24,7 @@
     <div class="module-panel form fn-clear">
         ${articleLabel}${colonLabel}${currentUser.userArticleCount?c}&nbsp;&nbsp;&nbsp;&nbsp;
         ${cmtLabel}${colonLabel}${currentUser.userCommentCount?c}
-        <button class="red fn-right" onclick="Settings.exportPosts()">${exportLabel}</button>
+        <button class="red fn-right" onclick="Settings.exportPosts(this)">${exportLabel}</button>
     </div>
 </div>
 </@home>
\ No newline at end of file
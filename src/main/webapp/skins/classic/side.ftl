@@ -17,6 +17,7 @@
     along with this program.  If not, see <https://www.gnu.org/licenses/>.
 
 -->
+<@fragmentCache key="side">
 <#if ADLabel!="">
 <div class="module">
     <div class="module-header">
@@ -133,3 +134,4 @@
         </ul>
     </div>
 </div>
+</@fragmentCache>
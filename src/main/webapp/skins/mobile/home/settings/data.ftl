@@ -25,7 +25,7 @@
         <br>
         ${articleLabel}${colonLabel}${currentUser.userArticleCount?c}&nbsp;&nbsp;&nbsp;&nbsp;
         ${cmtLabel}${colonLabel}${currentUser.userCommentCount?c}
-        <button class="green fn-right" onclick="Settings.exportPosts()">${exportLabel}</button>
+        <button class="green fn-right" onclick="Settings.exportPosts(this)">${exportLabel}</button>
     </div>
 </div>
 </@home>
\ No newline at end of file
@@ -0,0 +1,197 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.model.User;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Tag;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache hit cost benchmark, compares the copying getters of {@link ArticleCache}, {@link TagCache} and
+ * {@link UserCache} with their read-only getters.
+ * <p>
+ * Runs with {@code mvn test-compile exec:java -Dexec.mainClass=org.b3log.symphony.cache.CacheHitBenchmark
+ * -Dexec.classpathScope=test} or from the IDE.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheHitBenchmark {
+
+    /**
+     * Cached entity count of each cache, less than cache.articleCnt so that no article is evicted.
+     */
+    private static final int ENTITY_CNT = 100;
+
+    /**
+     * Article cache.
+     */
+    private ArticleCache articleCache;
+
+    /**
+     * Tag cache.
+     */
+    private TagCache tagCache;
+
+    /**
+     * User cache.
+     */
+    private UserCache userCache;
+
+    /**
+     * Populates the caches.
+     */
+    @Setup
+    public void setup() {
+        Latkes.initRuntimeEnv();
+
+        articleCache = new ArticleCache();
+        tagCache = new TagCache();
+        userCache = new UserCache();
+        for (int i = 0; i < ENTITY_CNT; i++) {
+            final String id = String.valueOf(i);
+
+            final JSONObject article = entity(id);
+            article.put(Article.ARTICLE_TITLE, "Article " + id);
+            articleCache.putArticle(article);
+
+            final JSONObject tag = entity(id);
+            tag.put(Tag.TAG_TITLE, "Tag" + id);
+            tagCache.putTag(tag);
+
+            final JSONObject user = entity(id);
+            user.put(User.USER_NAME, "user" + id);
+            userCache.putUser(user);
+        }
+    }
+
+    /**
+     * Article hit through {@link ArticleCache#getArticle(String)}.
+     *
+     * @return article
+     */
+    @Benchmark
+    public JSONObject articleHit() {
+        return articleCache.getArticle(randomId());
+    }
+
+    /**
+     * Article hit through {@link ArticleCache#getReadOnlyArticle(String)}.
+     *
+     * @return article
+     */
+    @Benchmark
+    public JSONObject readOnlyArticleHit() {
+        return articleCache.getReadOnlyArticle(randomId());
+    }
+
+    /**
+     * Tag hit through {@link TagCache#getTag(String)}.
+     *
+     * @return tag
+     */
+    @Benchmark
+    public JSONObject tagHit() {
+        return tagCache.getTag(randomId());
+    }
+
+    /**
+     * Tag hit through {@link TagCache#getReadOnlyTag(String)}.
+     *
+     * @return tag
+     */
+    @Benchmark
+    public JSONObject readOnlyTagHit() {
+        return tagCache.getReadOnlyTag(randomId());
+    }
+
+    /**
+     * User hit through {@link UserCache#getUser(String)}.
+     *
+     * @return user
+     */
+    @Benchmark
+    public JSONObject userHit() {
+        return userCache.getUser(randomId());
+    }
+
+    /**
+     * User hit through {@link UserCache#getReadOnlyUser(String)}.
+     *
+     * @return user
+     */
+    @Benchmark
+    public JSONObject readOnlyUserHit() {
+        return userCache.getReadOnlyUser(randomId());
+    }
+
+    /**
+     * Creates an entity with the specified id and 36 fields.
+     *
+     * @param id the specified id
+     * @return entity
+     */
+    private static JSONObject entity(final String id) {
+        final JSONObject ret = new JSONObject();
+        ret.put(Keys.OBJECT_ID, id);
+        for (int j = 0; j < 12; j++) {
+            ret.put("stringField" + j, "value " + id + "-" + j);
+            ret.put("intField" + j, j);
+            ret.put("longField" + j, System.currentTimeMillis() + j);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets a random cached entity id.
+     *
+     * @return entity id
+     */
+    private static String randomId() {
+        return String.valueOf(ThreadLocalRandom.current().nextInt(ENTITY_CNT));
+    }
+
+    /**
+     * Main entry.
+     *
+     * @param args the specified arguments
+     * @throws RunnerException runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CacheHitBenchmark.class.getSimpleName()).build()).run();
+    }
+}
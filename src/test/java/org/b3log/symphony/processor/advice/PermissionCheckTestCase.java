@@ -0,0 +1,109 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.processor.advice;
+
+import org.b3log.symphony.cache.PermissionCache;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * {@link PermissionCheck} test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+public class PermissionCheckTestCase {
+
+    private static final BitSet ADMIN_USERS = PermissionCache.toBits(Arrays.asList("menuAdminUsers"));
+
+    private static final BitSet USER_EMAIL = PermissionCache.toBits(Arrays.asList("userUpdateUserEmail"));
+
+    private static final BitSet USER_FIELD = PermissionCache.toBits(Arrays.asList("userUpdateUserBasic"));
+
+    private static final BitSet UPDATE_ARTICLE = PermissionCache.toBits(Arrays.asList("commonUpdateArticle"));
+
+    private static final BitSet ARTICLE_HISTORY = PermissionCache.toBits(Arrays.asList("commonViewArticleHistory"));
+
+    private static PermissionCheck.URLRules rules() {
+        final PermissionCheck.URLRules ret = new PermissionCheck.URLRules();
+        ret.add("/admin/users", "GET", ADMIN_USERS);
+        ret.add("/admin/user/{userId}/{field}", "POST", USER_FIELD);
+        ret.add("/admin/user/{userId}/email", "POST", USER_EMAIL);
+        ret.add("/article/{id}", "PUT", UPDATE_ARTICLE);
+        ret.add("/article/{articleId}/revisions", "GET", ARTICLE_HISTORY);
+
+        return ret;
+    }
+
+    @Test
+    public void exactRule() {
+        final PermissionCheck.URLRules rules = rules();
+        Assert.assertEquals(rules.get("/admin/users", "GET"), ADMIN_USERS);
+        Assert.assertNull(rules.get("/admin/users/", "GET"));
+        Assert.assertNull(rules.get("/admin/user", "GET"));
+    }
+
+    @Test
+    public void pathVariable() {
+        final PermissionCheck.URLRules rules = rules();
+        Assert.assertEquals(rules.get("/article/1353745196354", "PUT"), UPDATE_ARTICLE);
+        Assert.assertEquals(rules.get("/article/1353745196354/revisions", "GET"), ARTICLE_HISTORY);
+        Assert.assertEquals(rules.get("/admin/user/1353745196354/name", "POST"), USER_FIELD);
+    }
+
+    @Test
+    public void specificity() {
+        final PermissionCheck.URLRules rules = rules();
+        // Added after the {field} rule but has more literal segments
+        Assert.assertEquals(rules.get("/admin/user/1353745196354/email", "POST"), USER_EMAIL);
+    }
+
+    @Test
+    public void methodMismatch() {
+        final PermissionCheck.URLRules rules = rules();
+        Assert.assertNull(rules.get("/admin/users", "POST"));
+        Assert.assertNull(rules.get("/article/1353745196354", "GET"));
+        Assert.assertNull(rules.get("/article/1353745196354/revisions", "DELETE"));
+    }
+
+    @Test
+    public void notMatched() {
+        final PermissionCheck.URLRules rules = rules();
+        Assert.assertNull(rules.get("/", "GET"));
+        Assert.assertNull(rules.get("/article", "PUT"));
+        Assert.assertNull(rules.get("/article/1353745196354/comments", "GET"));
+        Assert.assertNull(rules.get("/article/1353745196354/revisions/1", "GET"));
+        Assert.assertNull(rules.get("/admin/user/1353745196354", "POST"));
+        Assert.assertNull(rules.get("/admin/tag/1353745196354/email", "POST"));
+    }
+
+    @Test
+    public void getURI() {
+        Assert.assertEquals(PermissionCheck.getURI("/sym/admin/users", "/sym"), "/admin/users");
+        Assert.assertEquals(PermissionCheck.getURI("/admin/users", ""), "/admin/users");
+        Assert.assertEquals(PermissionCheck.getURI("/admin/users", null), "/admin/users");
+        Assert.assertEquals(PermissionCheck.getURI("/article/1", "/sym"), "/article/1");
+
+        final PermissionCheck.URLRules rules = rules();
+        Assert.assertEquals(rules.get(PermissionCheck.getURI("/sym/article/1", "/sym"), "PUT"), UPDATE_ARTICLE);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.StringReader;
+
+/**
+ * {@link IPRegions} test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+public class IPRegionsTestCase {
+
+    @Test
+    public void find() throws Exception {
+        final String data = "# test data\n"
+                + "223.255.255.0|223.255.255.255|中国|北京|北京\n"
+                + "1.0.1.0|1.0.3.255|中国|福建|福州\n"
+                + "8.8.8.0|8.8.8.255|美国|0|0\n"
+                + "1.0.8.0|1.0.15.255|中国|广东|广州\n"
+                + "invalid|line\n";
+        final IPRegions ipRegions = new IPRegions(new StringReader(data), 16);
+        Assert.assertEquals(ipRegions.size(), 4);
+
+        Assert.assertEquals(ipRegions.find("1.0.2.3"), new String[]{"中国", "福建", "福州"});
+        Assert.assertEquals(ipRegions.find("1.0.8.0"), new String[]{"中国", "广东", "广州"});
+        Assert.assertEquals(ipRegions.find("223.255.255.255"), new String[]{"中国", "北京", "北京"});
+        Assert.assertEquals(ipRegions.find("8.8.8.8"), new String[]{"美国", "", ""});
+        Assert.assertNull(ipRegions.find("1.0.4.1"));
+        Assert.assertNull(ipRegions.find("0.0.0.1"));
+        Assert.assertNull(ipRegions.find("255.255.255.255"));
+        Assert.assertNull(ipRegions.find("1.0.2"));
+        Assert.assertNull(ipRegions.find("::1"));
+
+        // Cached result
+        Assert.assertEquals(ipRegions.find("1.0.2.3"), new String[]{"中国", "福建", "福州"});
+    }
+
+    @Test
+    public void toLong() {
+        Assert.assertEquals(IPRegions.toLong("0.0.0.0"), 0L);
+        Assert.assertEquals(IPRegions.toLong("255.255.255.255"), 4294967295L);
+        Assert.assertEquals(IPRegions.toLong("192.168.1.1"), 3232235777L);
+        Assert.assertEquals(IPRegions.toLong("256.1.1.1"), -1L);
+        Assert.assertEquals(IPRegions.toLong("1..1.1"), -1L);
+        Assert.assertEquals(IPRegions.toLong("1.1.1.1.1"), -1L);
+    }
+}
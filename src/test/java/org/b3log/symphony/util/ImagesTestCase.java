@@ -0,0 +1,72 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * {@link Images} test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+public class ImagesTestCase {
+
+    @Test
+    public void parseImageView() {
+        Images.Operation operation = Images.parseImageView("imageView2/1/w/180/h/135/format/jpg/interlace/1/q");
+        Assert.assertNotNull(operation);
+        Assert.assertEquals(operation.getMode(), 1);
+        Assert.assertEquals(operation.getWidth(), 180);
+        Assert.assertEquals(operation.getHeight(), 135);
+        Assert.assertEquals(operation.getFormat(), "jpg");
+        Assert.assertTrue(operation.isInterlace());
+        Assert.assertEquals(operation.getQuality(), Images.DEFAULT_QUALITY);
+
+        operation = Images.parseImageView("imageView2/2/w/768/format/webp/interlace/0/q/100");
+        Assert.assertNotNull(operation);
+        Assert.assertNull(operation.getFormat());
+        Assert.assertEquals(operation.getQuality(), 100);
+
+        Assert.assertNull(Images.parseImageView("imageMogr2/thumbnail/100x"));
+        Assert.assertNull(Images.parseImageView("imageView2/1/w/99999/h/1"));
+        Assert.assertNull(Images.parseImageView("imageView2/x/w/1/h/1"));
+    }
+
+    @Test
+    public void process() throws Exception {
+        final BufferedImage src = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+
+        final BufferedImage cropped = Images.process(src, Images.parseImageView("imageView2/1/w/180/h/135"));
+        Assert.assertEquals(cropped.getWidth(), 180);
+        Assert.assertEquals(cropped.getHeight(), 135);
+
+        final BufferedImage fitted = Images.process(src, Images.parseImageView("imageView2/2/w/100/h/100"));
+        Assert.assertEquals(fitted.getWidth(), 100);
+        Assert.assertEquals(fitted.getHeight(), 50);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Images.write(fitted, "jpg", 80, true, output);
+        Assert.assertTrue(0 < output.size());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018, b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link SingleFlight} test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.0.0
+ */
+public class SingleFlightTestCase {
+
+    @Test
+    public void execute() throws Exception {
+        final SingleFlight<JSONObject> singleFlight = new SingleFlight<>("test", JSONs::clone);
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            final Future<JSONObject> leader = pool.submit(() -> singleFlight.execute("1", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+
+                return new JSONObject().put("oId", "1");
+            }));
+            loading.await();
+
+            final List<Future<JSONObject>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(pool.submit(() -> singleFlight.execute("1", () -> {
+                    loads.incrementAndGet();
+
+                    return new JSONObject().put("oId", "1");
+                })));
+            }
+
+            while (7 > SingleFlight.getStats().getJSONObject("test").getLong("coalesced")) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            final JSONObject value = leader.get();
+            for (final Future<JSONObject> follower : followers) {
+                final JSONObject copy = follower.get();
+                Assert.assertEquals(copy.optString("oId"), "1");
+                Assert.assertNotSame(copy, value);
+            }
+            Assert.assertEquals(loads.get(), 1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void executeException() throws Exception {
+        final SingleFlight<String> singleFlight = new SingleFlight<>("testException", value -> value);
+
+        singleFlight.execute("1", () -> {
+            throw new IOException("load failed");
+        });
+    }
+}